@@ -0,0 +1,103 @@
+package edu.clemson.resolve.jetbrains.benchmarks;
+
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.util.text.StringUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The sources the benchmarks chew through. An input is named by one of the benchmarks' {@code input} params:
+ * <ul>
+ * <li>{@value #TEST_DATA}: every {@code .resolve} file under the plugin's {@code testData} directory (which can be
+ * pointed elsewhere with {@code -Dresolve.testData=...}), processed one after another;</li>
+ * <li>{@code scaled_N}: a single, syntactically clean realization containing {@code N} procedure/operation pairs,
+ * for seeing how things hold up on files bigger than anything in the corpus; and</li>
+ * <li>{@code spiral_N}: {@value #SPIRAL_SPEC} (under the same {@code testData} directory) repeated {@code N} times as
+ * one text; math heavy, so it's what the lexer's math symbol fast path is measured on.</li>
+ * </ul>
+ */
+public final class BenchmarkInputs {
+
+    public static final String TEST_DATA = "testData";
+    public static final String SCALED_PREFIX = "scaled_";
+    public static final String SPIRAL_PREFIX = "spiral_";
+    public static final String SPIRAL_SPEC = "lexer/Spiral_Spec.resolve";
+
+    private BenchmarkInputs() {
+    }
+
+    @NotNull
+    public static List<String> load(@NotNull String input) throws IOException {
+        if (input.startsWith(SCALED_PREFIX)) {
+            int procedures = Integer.parseInt(input.substring(SCALED_PREFIX.length()));
+            return Collections.singletonList(scaledRealization(procedures));
+        }
+        File root = new File(System.getProperty("resolve.testData", TEST_DATA));
+        if (input.startsWith(SPIRAL_PREFIX)) {
+            int copies = Integer.parseInt(input.substring(SPIRAL_PREFIX.length()));
+            String spec = StringUtil.convertLineSeparators(FileUtil.loadFile(new File(root, SPIRAL_SPEC), "UTF-8"));
+            return Collections.singletonList(StringUtil.repeat(spec + "\n", copies));
+        }
+        if (!input.equals(TEST_DATA)) throw new IllegalArgumentException("unknown benchmark input: " + input);
+        List<File> files = new ArrayList<>();
+        collect(root, files);
+        if (files.isEmpty()) throw new IOException("no .resolve files under " + root.getAbsolutePath());
+        Collections.sort(files);
+        List<String> result = new ArrayList<>();
+        for (File file : files) {
+            result.add(StringUtil.convertLineSeparators(FileUtil.loadFile(file, "UTF-8")));
+        }
+        return result;
+    }
+
+    /** Returns the total size of {@code texts} in (1024 char) kilobytes; used to normalize allocation figures. */
+    public static double kilobytes(@NotNull List<String> texts) {
+        long chars = 0;
+        for (String text : texts) {
+            chars += text.length();
+        }
+        return chars / 1024.0;
+    }
+
+    private static void collect(@NotNull File dir, @NotNull List<File> result) {
+        File[] children = dir.listFiles();
+        if (children == null) return;
+        for (File child : children) {
+            if (child.isDirectory()) collect(child, result);
+            else if (child.getName().endsWith(".resolve")) result.add(child);
+        }
+    }
+
+    @NotNull
+    static String scaledRealization(int procedures) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Realization Scaled_Realiz for Scaled_Template;\n");
+        sb.append("    uses Std_Integer_Fac, Std_Boolean_Fac;\n\n");
+        for (int i = 0; i < procedures; i++) {
+            sb.append("    Procedure P").append(i).append("(updates S : Stack; evaluates n : Integer);\n");
+            sb.append("        Var x, y : Integer;\n");
+            sb.append("        x := 0;\n");
+            sb.append("        While x < n\n");
+            sb.append("            changing x, y;\n");
+            sb.append("            maintaining x ≤ n ∧ y ∈ {x};\n");
+            sb.append("            decreasing n - x;\n");
+            sb.append("        do\n");
+            sb.append("            If x = y then y := f(x, g(y)); else x := x + 1; end;\n");
+            sb.append("            Push(x, S);\n");
+            sb.append("        end;\n");
+            sb.append("    end P").append(i).append(";\n\n");
+            sb.append("    Operation Q").append(i).append("(restores S : Stack) : Integer;\n");
+            sb.append("        ensures Q").append(i).append(" = Depth_Of(S) ∧ S ∈ {S};\n");
+            sb.append("    Procedure\n");
+            sb.append("        Q").append(i).append(" := Depth(S);\n");
+            sb.append("    end Q").append(i).append(";\n\n");
+        }
+        sb.append("end Scaled_Realiz;\n");
+        return sb.toString();
+    }
+}
@@ -0,0 +1,117 @@
+package edu.clemson.resolve.jetbrains.benchmarks;
+
+import com.intellij.openapi.util.io.FileUtil;
+import edu.clemson.resolve.jetbrains.lexer.ResLexerBenchmark;
+import edu.clemson.resolve.jetbrains.lexer.ResMathSymbolFastPathBenchmark;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Runs the lexer and parser benchmarks and leaves two machine readable files in the output directory (the first
+ * argument, {@code out/benchmarks} by default), so a run after regenerating the lexer or parser can be diffed against
+ * one from before:
+ * <ul>
+ * <li>{@code jmh-result.json}: jmh's own, complete results; and</li>
+ * <li>{@code summary.json}: one entry per benchmark and input with its score, tokens/s for the lexer benchmarks, and
+ * bytes allocated per KB of source.</li>
+ * </ul>
+ * Anything after the output directory is taken as a regexp restricting which benchmarks run. Run from the project
+ * root (or pass {@code -Dresolve.testData=...}) so the {@code testData} corpus can be found.
+ */
+public class RESOLVEBenchmarks {
+
+    private static final String ALLOCATION_KEY = "gc.alloc.rate.norm";
+    private static final String TOKENS_KEY = "tokens";
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        File outputDir = new File(args.length > 0 ? args[0] : "out/benchmarks");
+        if (!outputDir.isDirectory() && !outputDir.mkdirs()) {
+            throw new IOException("couldn't create " + outputDir.getAbsolutePath());
+        }
+        OptionsBuilder builder = new OptionsBuilder();
+        if (args.length > 1) {
+            for (int i = 1; i < args.length; i++) {
+                builder.include(args[i]);
+            }
+        }
+        else {
+            builder.include(ResParserBenchmark.class.getSimpleName());
+            builder.include(ResLexerBenchmark.class.getSimpleName());
+            builder.include(ResMathSymbolFastPathBenchmark.class.getSimpleName());
+        }
+        Options options = builder
+                .addProfiler(GCProfiler.class)
+                .jvmArgsAppend("-Dresolve.testData=" + System.getProperty("resolve.testData", "testData"))
+                .resultFormat(ResultFormatType.JSON)
+                .result(new File(outputDir, "jmh-result.json").getPath())
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+        FileUtil.writeToFile(new File(outputDir, "summary.json"), summarize(results));
+    }
+
+    @NotNull
+    static String summarize(@NotNull Collection<RunResult> results) throws IOException {
+        List<String> entries = new ArrayList<>();
+        Map<String, Double> kilobytesByInput = new HashMap<>();
+        for (RunResult run : results) {
+            String benchmark = run.getParams().getBenchmark();
+            String input = run.getParams().getParam("input");
+            Result primary = run.getPrimaryResult();
+
+            StringBuilder sb = new StringBuilder();
+            sb.append("  {\"benchmark\": ").append(quote(benchmark))
+                    .append(", \"input\": ").append(quote(input))
+                    .append(", \"score\": ").append(primary.getScore())
+                    .append(", \"error\": ").append(primary.getScoreError())
+                    .append(", \"unit\": ").append(quote(primary.getScoreUnit()));
+
+            Result tokens = findSecondary(run, TOKENS_KEY);
+            if (tokens != null) sb.append(", \"tokensPerSecond\": ").append(tokens.getScore());
+
+            Result allocation = findSecondary(run, ALLOCATION_KEY);
+            if (allocation != null && input != null) {
+                Double kilobytes = kilobytesByInput.get(input);
+                if (kilobytes == null) {
+                    kilobytes = BenchmarkInputs.kilobytes(BenchmarkInputs.load(input));
+                    kilobytesByInput.put(input, kilobytes);
+                }
+                sb.append(", \"inputKB\": ").append(kilobytes)
+                        .append(", \"allocatedBytesPerKB\": ").append(allocation.getScore() / kilobytes);
+            }
+            sb.append("}");
+            entries.add(sb.toString());
+        }
+        StringBuilder result = new StringBuilder("[\n");
+        for (int i = 0; i < entries.size(); i++) {
+            result.append(entries.get(i)).append(i < entries.size() - 1 ? ",\n" : "\n");
+        }
+        return result.append("]\n").toString();
+    }
+
+    //the gc profiler prefixes its keys with a '·', so match on the end
+    @Nullable
+    private static Result findSecondary(@NotNull RunResult run, @NotNull String key) {
+        for (Map.Entry<String, Result> e : run.getSecondaryResults().entrySet()) {
+            if (e.getKey().endsWith(key)) return e.getValue();
+        }
+        return null;
+    }
+
+    @NotNull
+    private static String quote(@Nullable String s) {
+        if (s == null) return "null";
+        return "\"" + s.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}
@@ -0,0 +1,91 @@
+package edu.clemson.resolve.jetbrains.benchmarks;
+
+import com.intellij.core.CoreApplicationEnvironment;
+import com.intellij.lang.ASTNode;
+import com.intellij.lang.PsiBuilder;
+import com.intellij.lang.PsiBuilderFactory;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.util.Disposer;
+import com.intellij.psi.TokenType;
+import com.intellij.psi.impl.source.tree.CompositeElement;
+import edu.clemson.resolve.jetbrains.RESOLVEFileType;
+import edu.clemson.resolve.jetbrains.RESOLVEParserDefinition;
+import edu.clemson.resolve.jetbrains.ResTypes;
+import edu.clemson.resolve.jetbrains.lexer.ResolveLexer;
+import edu.clemson.resolve.jetbrains.parser.ResParser;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time (and, with the gc profiler {@link RESOLVEBenchmarks} runs with, allocation) to take each input through
+ * {@link ResParser} to an AST, and from there on to a full PSI tree via {@link ResTypes.Factory#createElement}.
+ * <p>
+ * This runs against a bare {@link CoreApplicationEnvironment} rather than a test fixture, so what's measured is the
+ * parser and element factory and not the indexing, document and vfs machinery a fixture drags along.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResParserBenchmark {
+
+    @Param({BenchmarkInputs.TEST_DATA, "scaled_100", "scaled_1000"})
+    public String input;
+
+    private List<String> texts;
+    private Disposable disposable;
+    private RESOLVEParserDefinition definition;
+    private ResParser parser;
+
+    @Setup
+    public void setUp() throws IOException {
+        texts = BenchmarkInputs.load(input);
+        disposable = Disposer.newDisposable();
+        CoreApplicationEnvironment environment = new CoreApplicationEnvironment(disposable);
+        definition = new RESOLVEParserDefinition();
+        environment.registerFileType(RESOLVEFileType.INSTANCE, RESOLVEFileType.INSTANCE.getDefaultExtension());
+        environment.registerParserDefinition(definition);
+        parser = new ResParser();
+    }
+
+    @TearDown
+    public void tearDown() {
+        Disposer.dispose(disposable);
+    }
+
+    @Benchmark
+    public void parse(Blackhole blackhole) {
+        for (String text : texts) {
+            blackhole.consume(parse(text));
+        }
+    }
+
+    @Benchmark
+    public void parseAndBuildPsi(Blackhole blackhole) {
+        for (String text : texts) {
+            buildPsi(parse(text), blackhole);
+        }
+    }
+
+    private ASTNode parse(String text) {
+        PsiBuilder builder = PsiBuilderFactory.getInstance().createBuilder(definition, new ResolveLexer(), text);
+        return parser.parse(definition.getFileNodeType(), builder);
+    }
+
+    //what getPsi() on each node would end up doing, minus the file and the caching
+    private static void buildPsi(ASTNode node, Blackhole blackhole) {
+        for (ASTNode child = node.getFirstChildNode(); child != null; child = child.getTreeNext()) {
+            if (!(child instanceof CompositeElement)) continue;
+            if (child.getElementType() != TokenType.ERROR_ELEMENT) {
+                blackhole.consume(ResTypes.Factory.createElement(child));
+            }
+            buildPsi(child, blackhole);
+        }
+    }
+}
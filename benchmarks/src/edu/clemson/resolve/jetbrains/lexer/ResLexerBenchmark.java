@@ -0,0 +1,71 @@
+package edu.clemson.resolve.jetbrains.lexer;
+
+import com.intellij.lexer.Lexer;
+import edu.clemson.resolve.jetbrains.benchmarks.BenchmarkInputs;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokens per second through the generated {@link _ResLexer} on its own, and through the {@link ResolveLexer} the
+ * parser actually sees (math symbol fast path, flex adapter and whitespace/comment merging included). Lives in the
+ * lexer's package since the generated lexer is package-private.
+ * <p>
+ * The score of interest is the {@code tokens} counter (ops/s); the primary score is passes over the input.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResLexerBenchmark {
+
+    @Param({BenchmarkInputs.TEST_DATA, "scaled_100", "scaled_1000"})
+    public String input;
+
+    private List<String> texts;
+    private _ResLexer generatedLexer;
+    private Lexer lexer;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Tokens {
+        public long tokens;
+
+        @Setup(Level.Iteration)
+        public void clear() {
+            tokens = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        texts = BenchmarkInputs.load(input);
+        generatedLexer = new _ResLexer();
+        lexer = new ResolveLexer();
+    }
+
+    @Benchmark
+    public void generatedLexer(Tokens counter) throws IOException {
+        for (String text : texts) {
+            generatedLexer.reset(text, 0, text.length(), _ResLexer.YYINITIAL);
+            while (generatedLexer.advance() != null) {
+                counter.tokens++;
+            }
+        }
+    }
+
+    @Benchmark
+    public void resolveLexer(Tokens counter) {
+        for (String text : texts) {
+            lexer.start(text);
+            while (lexer.getTokenType() != null) {
+                counter.tokens++;
+                lexer.advance();
+            }
+        }
+    }
+}
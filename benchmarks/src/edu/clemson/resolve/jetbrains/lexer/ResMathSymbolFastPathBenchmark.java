@@ -0,0 +1,67 @@
+package edu.clemson.resolve.jetbrains.lexer;
+
+import com.intellij.lexer.FlexAdapter;
+import com.intellij.lexer.FlexLexer;
+import com.intellij.lexer.Lexer;
+import com.intellij.lexer.MergingLexerAdapter;
+import com.intellij.psi.tree.TokenSet;
+import edu.clemson.resolve.jetbrains.RESOLVEParserDefinition;
+import edu.clemson.resolve.jetbrains.benchmarks.BenchmarkInputs;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokens per second through the {@link ResolveLexer} stack with and without {@link ResMathSymbolFastPath} in front
+ * of {@link _ResLexer}; everything else (flex adapter, whitespace/comment merging, input) is the same, so the
+ * difference between the two is the fast path's. The input is {@code N} copies of the math heavy Spiral_Spec.
+ * <p>
+ * The score of interest is the {@code tokens} counter (ops/s); the primary score is passes over the input.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResMathSymbolFastPathBenchmark {
+
+    @Param({"spiral_100", "spiral_1000"})
+    public String input;
+
+    private String text;
+    private Lexer withFastPath;
+    private Lexer withoutFastPath;
+
+    @Setup
+    public void setUp() throws IOException {
+        text = BenchmarkInputs.load(input).get(0);
+        withFastPath = merging(new ResMathSymbolFastPath(new _ResLexer()));
+        withoutFastPath = merging(new _ResLexer());
+    }
+
+    @Benchmark
+    public void withFastPath(ResLexerBenchmark.Tokens counter) {
+        lex(withFastPath, counter);
+    }
+
+    @Benchmark
+    public void withoutFastPath(ResLexerBenchmark.Tokens counter) {
+        lex(withoutFastPath, counter);
+    }
+
+    private void lex(Lexer lexer, ResLexerBenchmark.Tokens counter) {
+        lexer.start(text);
+        while (lexer.getTokenType() != null) {
+            counter.tokens++;
+            lexer.advance();
+        }
+    }
+
+    /** Builds what {@link ResolveLexer} does around {@code flex}. */
+    private static Lexer merging(FlexLexer flex) {
+        return new MergingLexerAdapter(new FlexAdapter(flex),
+                TokenSet.orSet(RESOLVEParserDefinition.COMMENTS, RESOLVEParserDefinition.WHITESPACES));
+    }
+}
@@ -5,8 +5,10 @@ import com.intellij.psi.tree.IElementType;
 import com.intellij.psi.PsiElement;
 import com.intellij.lang.ASTNode;
 import edu.clemson.resolve.jetbrains.psi.ResCompositeElementType;
+import edu.clemson.resolve.jetbrains.psi.ResReparseableElementType;
 import edu.clemson.resolve.jetbrains.psi.ResTokenType;
 import edu.clemson.resolve.jetbrains.psi.impl.*;
+import edu.clemson.resolve.jetbrains.stubs.types.ResElementTypeFactory;
 
 public interface ResTypes {
 
@@ -15,31 +17,31 @@ public interface ResTypes {
   IElementType CHANGING_CLAUSE = new ResCompositeElementType("CHANGING_CLAUSE");
   IElementType CLOSE_IDENTIFIER = new ResCompositeElementType("CLOSE_IDENTIFIER");
   IElementType CONCEPT_BLOCK = new ResCompositeElementType("CONCEPT_BLOCK");
-  IElementType CONCEPT_EXTENSION_MODULE_DECL = new ResCompositeElementType("CONCEPT_EXTENSION_MODULE_DECL");
-  IElementType CONCEPT_MODULE_DECL = new ResCompositeElementType("CONCEPT_MODULE_DECL");
+  IElementType CONCEPT_EXTENSION_MODULE_DECL = ResElementTypeFactory.stubFactory("CONCEPT_EXTENSION_MODULE_DECL");
+  IElementType CONCEPT_MODULE_DECL = ResElementTypeFactory.stubFactory("CONCEPT_MODULE_DECL");
   IElementType CONSTRAINTS_CLAUSE = new ResCompositeElementType("CONSTRAINTS_CLAUSE");
   IElementType CONVENTIONS_CLAUSE = new ResCompositeElementType("CONVENTIONS_CLAUSE");
   IElementType CORRESPONDENCE_CLAUSE = new ResCompositeElementType("CORRESPONDENCE_CLAUSE");
   IElementType DECREASING_CLAUSE = new ResCompositeElementType("DECREASING_CLAUSE");
   IElementType ELSE_STATEMENT = new ResCompositeElementType("ELSE_STATEMENT");
-  IElementType ENSURES_CLAUSE = new ResCompositeElementType("ENSURES_CLAUSE");
+  IElementType ENSURES_CLAUSE = ResReparseableElementType.factory("ENSURES_CLAUSE");
   IElementType ENTAILS_CLAUSE = new ResCompositeElementType("ENTAILS_CLAUSE");
   IElementType EXEMPLAR_DECL = new ResCompositeElementType("EXEMPLAR_DECL");
   IElementType EXP = new ResCompositeElementType("EXP");
   IElementType EXTENSION_PAIRING = new ResCompositeElementType("EXTENSION_PAIRING");
   IElementType FACILITY_BLOCK = new ResCompositeElementType("FACILITY_BLOCK");
-  IElementType FACILITY_DECL = new ResCompositeElementType("FACILITY_DECL");
-  IElementType FACILITY_MODULE_DECL = new ResCompositeElementType("FACILITY_MODULE_DECL");
+  IElementType FACILITY_DECL = ResElementTypeFactory.stubFactory("FACILITY_DECL");
+  IElementType FACILITY_MODULE_DECL = ResElementTypeFactory.stubFactory("FACILITY_MODULE_DECL");
   IElementType FIELD_DEF = new ResCompositeElementType("FIELD_DEF");
   IElementType FIELD_VAR_DECL_GROUP = new ResCompositeElementType("FIELD_VAR_DECL_GROUP");
   IElementType IF_STATEMENT = new ResCompositeElementType("IF_STATEMENT");
   IElementType IMPL_BLOCK = new ResCompositeElementType("IMPL_BLOCK");
-  IElementType IMPL_MODULE_DECL = new ResCompositeElementType("IMPL_MODULE_DECL");
-  IElementType IMPL_MODULE_PARAMETERS = new ResCompositeElementType("IMPL_MODULE_PARAMETERS");
+  IElementType IMPL_MODULE_DECL = ResElementTypeFactory.stubFactory("IMPL_MODULE_DECL");
+  IElementType IMPL_MODULE_PARAMETERS = ResElementTypeFactory.stubFactory("IMPL_MODULE_PARAMETERS");
   IElementType INFIX_EXP = new ResCompositeElementType("INFIX_EXP");
   IElementType INTIALIZATION_CLAUSE = new ResCompositeElementType("INTIALIZATION_CLAUSE");
   IElementType LITERAL_EXP = new ResCompositeElementType("LITERAL_EXP");
-  IElementType MAINTAINING_CLAUSE = new ResCompositeElementType("MAINTAINING_CLAUSE");
+  IElementType MAINTAINING_CLAUSE = ResReparseableElementType.factory("MAINTAINING_CLAUSE");
   IElementType MATH_ALTERNATIVES_LIST = new ResCompositeElementType("MATH_ALTERNATIVES_LIST");
   IElementType MATH_ALTERNATIVE_EXP = new ResCompositeElementType("MATH_ALTERNATIVE_EXP");
   IElementType MATH_ALTERNATIVE_ITEM_EXP = new ResCompositeElementType("MATH_ALTERNATIVE_ITEM_EXP");
@@ -53,15 +55,15 @@ public interface ResTypes {
   IElementType MATH_INCOMING_EXP = new ResCompositeElementType("MATH_INCOMING_EXP");
   IElementType MATH_INDUCTIVE_DEFN_DECL = new ResCompositeElementType("MATH_INDUCTIVE_DEFN_DECL");
   IElementType MATH_INFIX_APPLY_EXP = new ResCompositeElementType("MATH_INFIX_APPLY_EXP");
-  IElementType MATH_INFIX_DEFN_SIG = new ResCompositeElementType("MATH_INFIX_DEFN_SIG");
+  IElementType MATH_INFIX_DEFN_SIG = ResElementTypeFactory.stubFactory("MATH_INFIX_DEFN_SIG");
   IElementType MATH_LAMBDA_EXP = new ResCompositeElementType("MATH_LAMBDA_EXP");
   IElementType MATH_MIXFIX_APPLY_EXP = new ResCompositeElementType("MATH_MIXFIX_APPLY_EXP");
   IElementType MATH_NESTED_EXP = new ResCompositeElementType("MATH_NESTED_EXP");
   IElementType MATH_OUTFIX_APPLY_EXP = new ResCompositeElementType("MATH_OUTFIX_APPLY_EXP");
-  IElementType MATH_OUTFIX_DEFN_SIG = new ResCompositeElementType("MATH_OUTFIX_DEFN_SIG");
-  IElementType MATH_POSTFIX_DEFN_SIG = new ResCompositeElementType("MATH_POSTFIX_DEFN_SIG");
+  IElementType MATH_OUTFIX_DEFN_SIG = ResElementTypeFactory.stubFactory("MATH_OUTFIX_DEFN_SIG");
+  IElementType MATH_POSTFIX_DEFN_SIG = ResElementTypeFactory.stubFactory("MATH_POSTFIX_DEFN_SIG");
   IElementType MATH_PREFIX_APPLY_EXP = new ResCompositeElementType("MATH_PREFIX_APPLY_EXP");
-  IElementType MATH_PREFIX_DEFN_SIG = new ResCompositeElementType("MATH_PREFIX_DEFN_SIG");
+  IElementType MATH_PREFIX_DEFN_SIG = ResElementTypeFactory.stubFactory("MATH_PREFIX_DEFN_SIG");
   IElementType MATH_QUANTIFIED_EXP = new ResCompositeElementType("MATH_QUANTIFIED_EXP");
   IElementType MATH_REFERENCE_EXP = new ResCompositeElementType("MATH_REFERENCE_EXP");
   IElementType MATH_SELECTOR_EXP = new ResCompositeElementType("MATH_SELECTOR_EXP");
@@ -80,33 +82,33 @@ public interface ResTypes {
   IElementType MODULE_SPEC_ARG_LIST = new ResCompositeElementType("MODULE_SPEC_ARG_LIST");
   IElementType NESTED_EXP = new ResCompositeElementType("NESTED_EXP");
   IElementType NOTICE_STATEMENT = new ResCompositeElementType("NOTICE_STATEMENT");
-  IElementType OPERATION_DECL = new ResCompositeElementType("OPERATION_DECL");
-  IElementType OPERATION_PROCEDURE_DECL = new ResCompositeElementType("OPERATION_PROCEDURE_DECL");
-  IElementType OP_BLOCK = new ResCompositeElementType("OP_BLOCK");
+  IElementType OPERATION_DECL = ResElementTypeFactory.stubFactory("OPERATION_DECL");
+  IElementType OPERATION_PROCEDURE_DECL = ResElementTypeFactory.stubFactory("OPERATION_PROCEDURE_DECL");
+  IElementType OP_BLOCK = ResReparseableElementType.factory("OP_BLOCK");
   IElementType PARAMETER_MODE = new ResCompositeElementType("PARAMETER_MODE");
   IElementType PARAM_DECL = new ResCompositeElementType("PARAM_DECL");
-  IElementType PARAM_DEF = new ResCompositeElementType("PARAM_DEF");
+  IElementType PARAM_DEF = ResElementTypeFactory.stubFactory("PARAM_DEF");
   IElementType PARAM_EXP = new ResCompositeElementType("PARAM_EXP");
   IElementType PRECIS_BLOCK = new ResCompositeElementType("PRECIS_BLOCK");
-  IElementType PRECIS_EXTENSION_MODULE_DECL = new ResCompositeElementType("PRECIS_EXTENSION_MODULE_DECL");
-  IElementType PRECIS_MODULE_DECL = new ResCompositeElementType("PRECIS_MODULE_DECL");
-  IElementType PROCEDURE_DECL = new ResCompositeElementType("PROCEDURE_DECL");
+  IElementType PRECIS_EXTENSION_MODULE_DECL = ResElementTypeFactory.stubFactory("PRECIS_EXTENSION_MODULE_DECL");
+  IElementType PRECIS_MODULE_DECL = ResElementTypeFactory.stubFactory("PRECIS_MODULE_DECL");
+  IElementType PROCEDURE_DECL = ResElementTypeFactory.stubFactory("PROCEDURE_DECL");
   IElementType PROG_SYMBOL_NAME = new ResCompositeElementType("PROG_SYMBOL_NAME");
   IElementType RECORD_TYPE = new ResCompositeElementType("RECORD_TYPE");
   IElementType RECORD_VAR_DECL_GROUP = new ResCompositeElementType("RECORD_VAR_DECL_GROUP");
   IElementType REFERENCE_EXP = new ResCompositeElementType("REFERENCE_EXP");
-  IElementType REQUIRES_CLAUSE = new ResCompositeElementType("REQUIRES_CLAUSE");
+  IElementType REQUIRES_CLAUSE = ResReparseableElementType.factory("REQUIRES_CLAUSE");
   IElementType SELECTOR_EXP = new ResCompositeElementType("SELECTOR_EXP");
   IElementType SIMPLE_STATEMENT = new ResCompositeElementType("SIMPLE_STATEMENT");
-  IElementType SPEC_MODULE_PARAMETERS = new ResCompositeElementType("SPEC_MODULE_PARAMETERS");
+  IElementType SPEC_MODULE_PARAMETERS = ResElementTypeFactory.stubFactory("SPEC_MODULE_PARAMETERS");
   IElementType STATEMENT = new ResCompositeElementType("STATEMENT");
   IElementType SWAP_STATEMENT = new ResCompositeElementType("SWAP_STATEMENT");
   IElementType TYPE = new ResCompositeElementType("TYPE");
   IElementType TYPE_IMPL_INIT = new ResCompositeElementType("TYPE_IMPL_INIT");
-  IElementType TYPE_MODEL_DECL = new ResCompositeElementType("TYPE_MODEL_DECL");
-  IElementType TYPE_PARAM_DECL = new ResCompositeElementType("TYPE_PARAM_DECL");
+  IElementType TYPE_MODEL_DECL = ResElementTypeFactory.stubFactory("TYPE_MODEL_DECL");
+  IElementType TYPE_PARAM_DECL = ResElementTypeFactory.stubFactory("TYPE_PARAM_DECL");
   IElementType TYPE_REFERENCE_EXP = new ResCompositeElementType("TYPE_REFERENCE_EXP");
-  IElementType TYPE_REPR_DECL = new ResCompositeElementType("TYPE_REPR_DECL");
+  IElementType TYPE_REPR_DECL = ResElementTypeFactory.stubFactory("TYPE_REPR_DECL");
   IElementType USES_LIST = new ResCompositeElementType("USES_LIST");
   IElementType VAR_DECL_GROUP = new ResCompositeElementType("VAR_DECL_GROUP");
   IElementType VAR_DEF = new ResCompositeElementType("VAR_DEF");
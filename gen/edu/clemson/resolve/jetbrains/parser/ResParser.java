@@ -3116,7 +3116,8 @@ public class ResParser implements PsiParser, LightPsiParser {
   }
 
   /* ********************************************************** */
-  // !(end|':='|':=:'|'If'|'While'|else|'Notice'|identifier)
+  // !(end|':='|':=:'|'If'|'While'|else|'Notice'|identifier|
+  //                                'Procedure'|'Operation'|'Recursive'|'Facility'|'Type'|'Definition')
   static boolean StatementRecover(PsiBuilder b, int l) {
     if (!recursion_guard_(b, l, "StatementRecover")) return false;
     boolean r;
@@ -3126,7 +3127,8 @@ public class ResParser implements PsiParser, LightPsiParser {
     return r;
   }
 
-  // end|':='|':=:'|'If'|'While'|else|'Notice'|identifier
+  // end|':='|':=:'|'If'|'While'|else|'Notice'|identifier|
+  //                                'Procedure'|'Operation'|'Recursive'|'Facility'|'Type'|'Definition'
   private static boolean StatementRecover_0(PsiBuilder b, int l) {
     if (!recursion_guard_(b, l, "StatementRecover_0")) return false;
     boolean r;
@@ -3139,6 +3141,12 @@ public class ResParser implements PsiParser, LightPsiParser {
     if (!r) r = consumeToken(b, ELSE);
     if (!r) r = consumeToken(b, NOTICE);
     if (!r) r = consumeToken(b, IDENTIFIER);
+    if (!r) r = consumeToken(b, PROCEDURE);
+    if (!r) r = consumeToken(b, OPERATION);
+    if (!r) r = consumeToken(b, RECURSIVE);
+    if (!r) r = consumeToken(b, FACILITY);
+    if (!r) r = consumeToken(b, FAMILY_TYPE);
+    if (!r) r = consumeToken(b, DEFINITION);
     exit_section_(b, m, null, r);
     return r;
   }
@@ -3673,7 +3681,7 @@ public class ResParser implements PsiParser, LightPsiParser {
   // 3: ATOM(MathNestedExp)
   // 4: ATOM(MathIncomingExp) ATOM(MathSymbolExp) BINARY(MathSelectorExp) ATOM(MathLambdaExp)
   //    ATOM(MathAlternativeExp) BINARY(MathClssftnAssrtExp) PREFIX(MathOutfixApplyExp) ATOM(MathCartProdExp)
-  //    ATOM(MathSetExp) ATOM(MathSetRestrictionExp)
+  //    ATOM(MathSetRestrictionExp) ATOM(MathSetExp)
   public static boolean MathExp(PsiBuilder b, int l, int g) {
     if (!recursion_guard_(b, l, "MathExp")) return false;
     addVariant(b, "<math exp>");
@@ -3686,8 +3694,8 @@ public class ResParser implements PsiParser, LightPsiParser {
     if (!r) r = MathAlternativeExp(b, l + 1);
     if (!r) r = MathOutfixApplyExp(b, l + 1);
     if (!r) r = MathCartProdExp(b, l + 1);
-    if (!r) r = MathSetExp(b, l + 1);
     if (!r) r = MathSetRestrictionExp(b, l + 1);
+    if (!r) r = MathSetExp(b, l + 1);
     p = r;
     r = r && MathExp_0(b, l + 1, g);
     exit_section_(b, l, m, null, r, p, null);
@@ -3859,13 +3867,14 @@ public class ResParser implements PsiParser, LightPsiParser {
   public static boolean MathSetExp(PsiBuilder b, int l) {
     if (!recursion_guard_(b, l, "MathSetExp")) return false;
     if (!nextTokenIsSmart(b, LBRACE)) return false;
-    boolean r;
-    Marker m = enter_section_(b);
+    boolean r, p;
+    Marker m = enter_section_(b, l, _NONE_, MATH_SET_EXP, null);
     r = consumeTokenSmart(b, LBRACE);
-    r = r && MathSetExp_1(b, l + 1);
-    r = r && consumeToken(b, RBRACE);
-    exit_section_(b, m, MATH_SET_EXP, r);
-    return r;
+    p = r; // pin = 1
+    r = r && report_error_(b, MathSetExp_1(b, l + 1));
+    r = p && consumeToken(b, RBRACE) && r;
+    exit_section_(b, l, m, r, p, null);
+    return r || p;
   }
 
   // MathExp?
@@ -3882,10 +3891,10 @@ public class ResParser implements PsiParser, LightPsiParser {
     boolean r, p;
     Marker m = enter_section_(b, l, _NONE_, MATH_SET_RESTRICTION_EXP, null);
     r = consumeTokenSmart(b, LBRACE);
-    p = r; // pin = 1
-    r = r && report_error_(b, MathVarDecl(b, l + 1));
-    r = p && report_error_(b, consumeToken(b, BAR)) && r;
-    r = p && report_error_(b, MathExp(b, l + 1, -1)) && r;
+    r = r && MathVarDecl(b, l + 1);
+    r = r && consumeToken(b, BAR);
+    p = r; // pin = 3
+    r = r && report_error_(b, MathExp(b, l + 1, -1));
     r = p && consumeToken(b, RBRACE) && r;
     exit_section_(b, l, m, r, p, null);
     return r || p;
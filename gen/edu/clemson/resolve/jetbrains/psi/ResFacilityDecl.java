@@ -4,8 +4,10 @@ package edu.clemson.resolve.jetbrains.psi;
 import java.util.List;
 import org.jetbrains.annotations.*;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.StubBasedPsiElement;
+import edu.clemson.resolve.jetbrains.stubs.ResFacilityDeclStub;
 
-public interface ResFacilityDecl extends ResNamedElement {
+public interface ResFacilityDecl extends ResNamedElement, StubBasedPsiElement<ResFacilityDeclStub> {
 
   @NotNull
   List<ResExtensionPairing> getExtensionPairingList();
@@ -4,8 +4,10 @@ package edu.clemson.resolve.jetbrains.psi;
 import java.util.List;
 import org.jetbrains.annotations.*;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.StubBasedPsiElement;
+import edu.clemson.resolve.jetbrains.stubs.ResModuleParametersStub;
 
-public interface ResImplModuleParameters extends ResModuleParameters {
+public interface ResImplModuleParameters extends ResModuleParameters, StubBasedPsiElement<ResModuleParametersStub> {
 
   @NotNull
   List<ResOperationDecl> getOperationDeclList();
@@ -4,8 +4,10 @@ package edu.clemson.resolve.jetbrains.psi;
 import java.util.List;
 import org.jetbrains.annotations.*;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.StubBasedPsiElement;
+import edu.clemson.resolve.jetbrains.stubs.ResOperationLikeNodeStub;
 
-public interface ResOperationDecl extends ResOperationLikeNode {
+public interface ResOperationDecl extends ResOperationLikeNode, StubBasedPsiElement<ResOperationLikeNodeStub> {
 
   @Nullable
   ResEnsuresClause getEnsuresClause();
@@ -4,9 +4,11 @@ package edu.clemson.resolve.jetbrains.psi;
 import java.util.List;
 import org.jetbrains.annotations.*;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.StubBasedPsiElement;
+import edu.clemson.resolve.jetbrains.stubs.ResTypeLikeNodeDeclStub;
 import com.intellij.psi.ResolveState;
 
-public interface ResTypeReprDecl extends ResTypeLikeNodeDecl {
+public interface ResTypeReprDecl extends ResTypeLikeNodeDecl, StubBasedPsiElement<ResTypeLikeNodeDeclStub> {
 
   @Nullable
   ResConventionsClause getConventionsClause();
@@ -9,6 +9,8 @@ import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
 import static edu.clemson.resolve.jetbrains.ResTypes.*;
 import edu.clemson.resolve.jetbrains.psi.*;
+import edu.clemson.resolve.jetbrains.stubs.ResModuleDeclStub;
+import com.intellij.psi.stubs.IStubElementType;
 
 public class ResConceptExtensionModuleDeclImpl extends ResAbstractModuleImpl implements ResConceptExtensionModuleDecl {
 
@@ -16,6 +18,10 @@ public class ResConceptExtensionModuleDeclImpl extends ResAbstractModuleImpl imp
     super(node);
   }
 
+  public ResConceptExtensionModuleDeclImpl(ResModuleDeclStub stub, IStubElementType nodeType) {
+    super(stub, nodeType);
+  }
+
   public void accept(@NotNull ResVisitor visitor) {
     visitor.visitConceptExtensionModuleDecl(this);
   }
@@ -46,7 +52,7 @@ public class ResConceptExtensionModuleDeclImpl extends ResAbstractModuleImpl imp
   @Override
   @Nullable
   public ResSpecModuleParameters getSpecModuleParameters() {
-    return findChildByClass(ResSpecModuleParameters.class);
+    return PsiTreeUtil.getStubChildOfType(this, ResSpecModuleParameters.class);
   }
 
   @Override
@@ -9,6 +9,8 @@ import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
 import static edu.clemson.resolve.jetbrains.ResTypes.*;
 import edu.clemson.resolve.jetbrains.psi.*;
+import edu.clemson.resolve.jetbrains.stubs.ResModuleDeclStub;
+import com.intellij.psi.stubs.IStubElementType;
 
 public class ResConceptModuleDeclImpl extends ResAbstractModuleImpl implements ResConceptModuleDecl {
 
@@ -16,6 +18,10 @@ public class ResConceptModuleDeclImpl extends ResAbstractModuleImpl implements R
     super(node);
   }
 
+  public ResConceptModuleDeclImpl(ResModuleDeclStub stub, IStubElementType nodeType) {
+    super(stub, nodeType);
+  }
+
   public void accept(@NotNull ResVisitor visitor) {
     visitor.visitConceptModuleDecl(this);
   }
@@ -40,7 +46,7 @@ public class ResConceptModuleDeclImpl extends ResAbstractModuleImpl implements R
   @Override
   @Nullable
   public ResSpecModuleParameters getSpecModuleParameters() {
-    return findChildByClass(ResSpecModuleParameters.class);
+    return PsiTreeUtil.getStubChildOfType(this, ResSpecModuleParameters.class);
   }
 
   @Override
@@ -11,7 +11,7 @@ import static edu.clemson.resolve.jetbrains.ResTypes.*;
 import edu.clemson.resolve.jetbrains.psi.*;
 import com.intellij.psi.ResolveState;
 
-public class ResExemplarDeclImpl extends ResNamedElementImpl implements ResExemplarDecl {
+public class ResExemplarDeclImpl extends ResNamedCompositeElementImpl implements ResExemplarDecl {
 
   public ResExemplarDeclImpl(ASTNode node) {
     super(node);
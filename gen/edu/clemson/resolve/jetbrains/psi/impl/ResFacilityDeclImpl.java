@@ -9,13 +9,19 @@ import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
 import static edu.clemson.resolve.jetbrains.ResTypes.*;
 import edu.clemson.resolve.jetbrains.psi.*;
+import edu.clemson.resolve.jetbrains.stubs.ResFacilityDeclStub;
+import com.intellij.psi.stubs.IStubElementType;
 
-public class ResFacilityDeclImpl extends ResNamedElementImpl implements ResFacilityDecl {
+public class ResFacilityDeclImpl extends ResNamedElementImpl<ResFacilityDeclStub> implements ResFacilityDecl {
 
   public ResFacilityDeclImpl(ASTNode node) {
     super(node);
   }
 
+  public ResFacilityDeclImpl(ResFacilityDeclStub stub, IStubElementType nodeType) {
+    super(stub, nodeType);
+  }
+
   public void accept(@NotNull ResVisitor visitor) {
     visitor.visitFacilityDecl(this);
   }
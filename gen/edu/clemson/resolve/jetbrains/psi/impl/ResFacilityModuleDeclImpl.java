@@ -9,6 +9,8 @@ import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
 import static edu.clemson.resolve.jetbrains.ResTypes.*;
 import edu.clemson.resolve.jetbrains.psi.*;
+import edu.clemson.resolve.jetbrains.stubs.ResModuleDeclStub;
+import com.intellij.psi.stubs.IStubElementType;
 
 public class ResFacilityModuleDeclImpl extends ResAbstractModuleImpl implements ResFacilityModuleDecl {
 
@@ -16,6 +18,10 @@ public class ResFacilityModuleDeclImpl extends ResAbstractModuleImpl implements
     super(node);
   }
 
+  public ResFacilityModuleDeclImpl(ResModuleDeclStub stub, IStubElementType nodeType) {
+    super(stub, nodeType);
+  }
+
   public void accept(@NotNull ResVisitor visitor) {
     visitor.visitFacilityModuleDecl(this);
   }
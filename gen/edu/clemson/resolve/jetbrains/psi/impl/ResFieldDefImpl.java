@@ -10,7 +10,7 @@ import com.intellij.psi.util.PsiTreeUtil;
 import static edu.clemson.resolve.jetbrains.ResTypes.*;
 import edu.clemson.resolve.jetbrains.psi.*;
 
-public class ResFieldDefImpl extends ResNamedElementImpl implements ResFieldDef {
+public class ResFieldDefImpl extends ResNamedCompositeElementImpl implements ResFieldDef {
 
   public ResFieldDefImpl(ASTNode node) {
     super(node);
@@ -9,6 +9,8 @@ import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
 import static edu.clemson.resolve.jetbrains.ResTypes.*;
 import edu.clemson.resolve.jetbrains.psi.*;
+import edu.clemson.resolve.jetbrains.stubs.ResModuleDeclStub;
+import com.intellij.psi.stubs.IStubElementType;
 
 public class ResImplModuleDeclImpl extends ResAbstractModuleImpl implements ResImplModuleDecl {
 
@@ -16,6 +18,10 @@ public class ResImplModuleDeclImpl extends ResAbstractModuleImpl implements ResI
     super(node);
   }
 
+  public ResImplModuleDeclImpl(ResModuleDeclStub stub, IStubElementType nodeType) {
+    super(stub, nodeType);
+  }
+
   public void accept(@NotNull ResVisitor visitor) {
     visitor.visitImplModuleDecl(this);
   }
@@ -34,7 +40,7 @@ public class ResImplModuleDeclImpl extends ResAbstractModuleImpl implements ResI
   @Override
   @Nullable
   public ResImplModuleParameters getImplModuleParameters() {
-    return findChildByClass(ResImplModuleParameters.class);
+    return PsiTreeUtil.getStubChildOfType(this, ResImplModuleParameters.class);
   }
 
   @Override
@@ -9,13 +9,19 @@ import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
 import static edu.clemson.resolve.jetbrains.ResTypes.*;
 import edu.clemson.resolve.jetbrains.psi.*;
+import edu.clemson.resolve.jetbrains.stubs.ResModuleParametersStub;
+import com.intellij.psi.stubs.IStubElementType;
 
-public class ResImplModuleParametersImpl extends ResCompositeElementImpl implements ResImplModuleParameters {
+public class ResImplModuleParametersImpl extends ResStubbedElementImpl<ResModuleParametersStub> implements ResImplModuleParameters {
 
   public ResImplModuleParametersImpl(ASTNode node) {
     super(node);
   }
 
+  public ResImplModuleParametersImpl(ResModuleParametersStub stub, IStubElementType nodeType) {
+    super(stub, nodeType);
+  }
+
   public void accept(@NotNull ResVisitor visitor) {
     visitor.visitImplModuleParameters(this);
   }
@@ -28,7 +34,7 @@ public class ResImplModuleParametersImpl extends ResCompositeElementImpl impleme
   @Override
   @NotNull
   public List<ResOperationDecl> getOperationDeclList() {
-    return PsiTreeUtil.getChildrenOfTypeAsList(this, ResOperationDecl.class);
+    return PsiTreeUtil.getStubChildrenOfTypeAsList(this, ResOperationDecl.class);
   }
 
   @Override
@@ -9,6 +9,8 @@ import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
 import static edu.clemson.resolve.jetbrains.ResTypes.*;
 import edu.clemson.resolve.jetbrains.psi.*;
+import edu.clemson.resolve.jetbrains.stubs.ResMathDefnSigStub;
+import com.intellij.psi.stubs.IStubElementType;
 
 public class ResMathInfixDefnSigImpl extends ResAbstractMathSigImpl implements ResMathInfixDefnSig {
 
@@ -16,6 +18,10 @@ public class ResMathInfixDefnSigImpl extends ResAbstractMathSigImpl implements R
     super(node);
   }
 
+  public ResMathInfixDefnSigImpl(ResMathDefnSigStub stub, IStubElementType nodeType) {
+    super(stub, nodeType);
+  }
+
   public void accept(@NotNull ResVisitor visitor) {
     visitor.visitMathInfixDefnSig(this);
   }
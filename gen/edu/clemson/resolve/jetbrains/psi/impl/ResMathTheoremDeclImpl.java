@@ -10,7 +10,7 @@ import com.intellij.psi.util.PsiTreeUtil;
 import static edu.clemson.resolve.jetbrains.ResTypes.*;
 import edu.clemson.resolve.jetbrains.psi.*;
 
-public class ResMathTheoremDeclImpl extends ResNamedElementImpl implements ResMathTheoremDecl {
+public class ResMathTheoremDeclImpl extends ResNamedCompositeElementImpl implements ResMathTheoremDecl {
 
   public ResMathTheoremDeclImpl(ASTNode node) {
     super(node);
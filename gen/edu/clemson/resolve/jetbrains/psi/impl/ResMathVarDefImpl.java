@@ -10,7 +10,7 @@ import com.intellij.psi.util.PsiTreeUtil;
 import static edu.clemson.resolve.jetbrains.ResTypes.*;
 import edu.clemson.resolve.jetbrains.psi.*;
 
-public class ResMathVarDefImpl extends ResMathNamedElementImpl implements ResMathVarDef {
+public class ResMathVarDefImpl extends ResMathNamedCompositeElementImpl implements ResMathVarDef {
 
   public ResMathVarDefImpl(ASTNode node) {
     super(node);
@@ -10,7 +10,7 @@ import com.intellij.psi.util.PsiTreeUtil;
 import static edu.clemson.resolve.jetbrains.ResTypes.*;
 import edu.clemson.resolve.jetbrains.psi.*;
 
-public class ResModuleIdentifierSpecImpl extends ResNamedElementImpl implements ResModuleIdentifierSpec {
+public class ResModuleIdentifierSpecImpl extends ResNamedCompositeElementImpl implements ResModuleIdentifierSpec {
 
   public ResModuleIdentifierSpecImpl(ASTNode node) {
     super(node);
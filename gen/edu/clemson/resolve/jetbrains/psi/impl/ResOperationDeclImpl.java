@@ -9,6 +9,8 @@ import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
 import static edu.clemson.resolve.jetbrains.ResTypes.*;
 import edu.clemson.resolve.jetbrains.psi.*;
+import edu.clemson.resolve.jetbrains.stubs.ResOperationLikeNodeStub;
+import com.intellij.psi.stubs.IStubElementType;
 
 public class ResOperationDeclImpl extends ResAbstractOperationLikeNode implements ResOperationDecl {
 
@@ -16,6 +18,10 @@ public class ResOperationDeclImpl extends ResAbstractOperationLikeNode implement
     super(node);
   }
 
+  public ResOperationDeclImpl(ResOperationLikeNodeStub stub, IStubElementType nodeType) {
+    super(stub, nodeType);
+  }
+
   public void accept(@NotNull ResVisitor visitor) {
     visitor.visitOperationDecl(this);
   }
@@ -9,6 +9,8 @@ import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
 import static edu.clemson.resolve.jetbrains.ResTypes.*;
 import edu.clemson.resolve.jetbrains.psi.*;
+import edu.clemson.resolve.jetbrains.stubs.ResOperationLikeNodeStub;
+import com.intellij.psi.stubs.IStubElementType;
 
 public class ResOperationProcedureDeclImpl extends ResAbstractOperationLikeNode implements ResOperationProcedureDecl {
 
@@ -16,6 +18,10 @@ public class ResOperationProcedureDeclImpl extends ResAbstractOperationLikeNode
     super(node);
   }
 
+  public ResOperationProcedureDeclImpl(ResOperationLikeNodeStub stub, IStubElementType nodeType) {
+    super(stub, nodeType);
+  }
+
   public void accept(@NotNull ResVisitor visitor) {
     visitor.visitOperationProcedureDecl(this);
   }
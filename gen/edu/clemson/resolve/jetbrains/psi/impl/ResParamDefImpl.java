@@ -9,13 +9,19 @@ import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
 import static edu.clemson.resolve.jetbrains.ResTypes.*;
 import edu.clemson.resolve.jetbrains.psi.*;
+import edu.clemson.resolve.jetbrains.stubs.ResParamDefStub;
+import com.intellij.psi.stubs.IStubElementType;
 
-public class ResParamDefImpl extends ResNamedElementImpl implements ResParamDef {
+public class ResParamDefImpl extends ResNamedElementImpl<ResParamDefStub> implements ResParamDef {
 
   public ResParamDefImpl(ASTNode node) {
     super(node);
   }
 
+  public ResParamDefImpl(ResParamDefStub stub, IStubElementType nodeType) {
+    super(stub, nodeType);
+  }
+
   public void accept(@NotNull ResVisitor visitor) {
     visitor.visitParamDef(this);
   }
@@ -9,6 +9,8 @@ import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
 import static edu.clemson.resolve.jetbrains.ResTypes.*;
 import edu.clemson.resolve.jetbrains.psi.*;
+import edu.clemson.resolve.jetbrains.stubs.ResModuleDeclStub;
+import com.intellij.psi.stubs.IStubElementType;
 
 public class ResPrecisExtensionModuleDeclImpl extends ResAbstractModuleImpl implements ResPrecisExtensionModuleDecl {
 
@@ -16,6 +18,10 @@ public class ResPrecisExtensionModuleDeclImpl extends ResAbstractModuleImpl impl
     super(node);
   }
 
+  public ResPrecisExtensionModuleDeclImpl(ResModuleDeclStub stub, IStubElementType nodeType) {
+    super(stub, nodeType);
+  }
+
   public void accept(@NotNull ResVisitor visitor) {
     visitor.visitPrecisExtensionModuleDecl(this);
   }
@@ -9,6 +9,8 @@ import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
 import static edu.clemson.resolve.jetbrains.ResTypes.*;
 import edu.clemson.resolve.jetbrains.psi.*;
+import edu.clemson.resolve.jetbrains.stubs.ResOperationLikeNodeStub;
+import com.intellij.psi.stubs.IStubElementType;
 
 public class ResProcedureDeclImpl extends ResAbstractOperationLikeNode implements ResProcedureDecl {
 
@@ -16,6 +18,10 @@ public class ResProcedureDeclImpl extends ResAbstractOperationLikeNode implement
     super(node);
   }
 
+  public ResProcedureDeclImpl(ResOperationLikeNodeStub stub, IStubElementType nodeType) {
+    super(stub, nodeType);
+  }
+
   public void accept(@NotNull ResVisitor visitor) {
     visitor.visitProcedureDecl(this);
   }
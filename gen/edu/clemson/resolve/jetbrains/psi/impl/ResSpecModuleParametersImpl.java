@@ -9,13 +9,19 @@ import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
 import static edu.clemson.resolve.jetbrains.ResTypes.*;
 import edu.clemson.resolve.jetbrains.psi.*;
+import edu.clemson.resolve.jetbrains.stubs.ResModuleParametersStub;
+import com.intellij.psi.stubs.IStubElementType;
 
-public class ResSpecModuleParametersImpl extends ResCompositeElementImpl implements ResSpecModuleParameters {
+public class ResSpecModuleParametersImpl extends ResStubbedElementImpl<ResModuleParametersStub> implements ResSpecModuleParameters {
 
   public ResSpecModuleParametersImpl(ASTNode node) {
     super(node);
   }
 
+  public ResSpecModuleParametersImpl(ResModuleParametersStub stub, IStubElementType nodeType) {
+    super(stub, nodeType);
+  }
+
   public void accept(@NotNull ResVisitor visitor) {
     visitor.visitSpecModuleParameters(this);
   }
@@ -40,7 +46,7 @@ public class ResSpecModuleParametersImpl extends ResCompositeElementImpl impleme
   @Override
   @NotNull
   public List<ResTypeParamDecl> getTypeParamDeclList() {
-    return PsiTreeUtil.getChildrenOfTypeAsList(this, ResTypeParamDecl.class);
+    return PsiTreeUtil.getStubChildrenOfTypeAsList(this, ResTypeParamDecl.class);
   }
 
   @Override
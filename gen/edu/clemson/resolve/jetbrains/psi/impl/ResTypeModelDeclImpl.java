@@ -8,6 +8,8 @@ import com.intellij.psi.PsiElementVisitor;
 
 import static edu.clemson.resolve.jetbrains.ResTypes.*;
 import edu.clemson.resolve.jetbrains.psi.*;
+import edu.clemson.resolve.jetbrains.stubs.ResTypeLikeNodeDeclStub;
+import com.intellij.psi.stubs.IStubElementType;
 
 public class ResTypeModelDeclImpl extends ResAbstractTypeDeclLikeNodeImpl implements ResTypeModelDecl {
 
@@ -15,6 +17,10 @@ public class ResTypeModelDeclImpl extends ResAbstractTypeDeclLikeNodeImpl implem
     super(node);
   }
 
+  public ResTypeModelDeclImpl(ResTypeLikeNodeDeclStub stub, IStubElementType nodeType) {
+    super(stub, nodeType);
+  }
+
   public void accept(@NotNull ResVisitor visitor) {
     visitor.visitTypeModelDecl(this);
   }
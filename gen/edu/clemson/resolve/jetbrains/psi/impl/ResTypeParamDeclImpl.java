@@ -9,13 +9,19 @@ import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
 import static edu.clemson.resolve.jetbrains.ResTypes.*;
 import edu.clemson.resolve.jetbrains.psi.*;
+import edu.clemson.resolve.jetbrains.stubs.ResTypeParamDeclStub;
+import com.intellij.psi.stubs.IStubElementType;
 
-public class ResTypeParamDeclImpl extends ResNamedElementImpl implements ResTypeParamDecl {
+public class ResTypeParamDeclImpl extends ResNamedElementImpl<ResTypeParamDeclStub> implements ResTypeParamDecl {
 
   public ResTypeParamDeclImpl(ASTNode node) {
     super(node);
   }
 
+  public ResTypeParamDeclImpl(ResTypeParamDeclStub stub, IStubElementType nodeType) {
+    super(stub, nodeType);
+  }
+
   public void accept(@NotNull ResVisitor visitor) {
     visitor.visitTypeParamDecl(this);
   }
@@ -8,6 +8,8 @@ import com.intellij.psi.PsiElementVisitor;
 
 import static edu.clemson.resolve.jetbrains.ResTypes.*;
 import edu.clemson.resolve.jetbrains.psi.*;
+import edu.clemson.resolve.jetbrains.stubs.ResTypeLikeNodeDeclStub;
+import com.intellij.psi.stubs.IStubElementType;
 import com.intellij.psi.ResolveState;
 
 public class ResTypeReprDeclImpl extends ResAbstractTypeDeclLikeNodeImpl implements ResTypeReprDecl {
@@ -16,6 +18,10 @@ public class ResTypeReprDeclImpl extends ResAbstractTypeDeclLikeNodeImpl impleme
     super(node);
   }
 
+  public ResTypeReprDeclImpl(ResTypeLikeNodeDeclStub stub, IStubElementType nodeType) {
+    super(stub, nodeType);
+  }
+
   public void accept(@NotNull ResVisitor visitor) {
     visitor.visitTypeReprDecl(this);
   }
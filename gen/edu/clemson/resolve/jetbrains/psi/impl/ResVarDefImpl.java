@@ -12,7 +12,7 @@ import edu.clemson.resolve.jetbrains.psi.*;
 import com.intellij.psi.PsiReference;
 import com.intellij.psi.ResolveState;
 
-public class ResVarDefImpl extends ResNamedElementImpl implements ResVarDef {
+public class ResVarDefImpl extends ResNamedCompositeElementImpl implements ResVarDef {
 
   public ResVarDefImpl(ASTNode node) {
     super(node);
@@ -14,6 +14,8 @@ public class RESOLVEConstants {
     public static final NotificationGroup RESOLVE_NOTIFICATION_GROUP = NotificationGroup.balloonGroup("RESOLVE plugin notifications");
     public static final String RESOLVE_LIBRARIES_SERVICE_NAME = "RESOLVELibraries";
     public static final String RESOLVE_LIBRARIES_CONFIG_FILE = "resolveLibraries.xml";
+    public static final String RESOLVE_COMPILER_SETTINGS_NAME = "RESOLVECompilerSettings";
+    public static final String RESOLVE_COMPILER_CONFIG_FILE = "resolveCompiler.xml";
     @NonNls
     public static final String RESOLVE = "RESOLVE";
 
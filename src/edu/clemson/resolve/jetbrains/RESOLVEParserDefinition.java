@@ -14,6 +14,7 @@ import edu.clemson.resolve.jetbrains.lexer.ResolveLexer;
 import edu.clemson.resolve.jetbrains.parser.ResParser;
 import edu.clemson.resolve.jetbrains.psi.ResFile;
 import edu.clemson.resolve.jetbrains.psi.ResTokenType;
+import edu.clemson.resolve.jetbrains.stubs.ResFileElementType;
 import org.jetbrains.annotations.NotNull;
 
 import static edu.clemson.resolve.jetbrains.ResTypes.*;
@@ -26,7 +27,6 @@ import static edu.clemson.resolve.jetbrains.ResTypes.*;
  */
 public class RESOLVEParserDefinition implements ParserDefinition {
 
-    public static final IFileElementType FILE = new IFileElementType(RESOLVELanguage.INSTANCE);
 
     public static final IElementType LINE_COMMENT = new ResTokenType("RESOLVE_LINE_COMMENT");
     public static final IElementType MULTILINE_COMMENT = new ResTokenType("RESOLVE_MULTILINE_COMMENT");
@@ -65,12 +65,12 @@ public class RESOLVEParserDefinition implements ParserDefinition {
 
     /**
      * What is the IFileElementType of the root parse tree node? It is called from
-     * {@link #createFile(FileViewProvider)} at least.
+     * {@link #createFile(FileViewProvider)} at least. Ours is stub-based, see {@link ResFileElementType}.
      */
     @NotNull
     @Override
     public IFileElementType getFileNodeType() {
-        return FILE;
+        return ResFileElementType.INSTANCE;
     }
 
     /**
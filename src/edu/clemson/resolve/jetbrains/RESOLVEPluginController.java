@@ -21,7 +21,9 @@ import com.intellij.openapi.wm.ToolWindowManager;
 import com.intellij.ui.content.Content;
 import com.intellij.ui.content.ContentFactory;
 import com.intellij.util.messages.Topic;
+import edu.clemson.resolve.jetbrains.compiler.RESOLVECompilerSession;
 import edu.clemson.resolve.jetbrains.verifier.MathSymbolPanel;
+import edu.clemson.resolve.jetbrains.verifier.ProblemsPanel;
 import edu.clemson.resolve.jetbrains.verifier.VerificationPreviewEditor;
 import edu.clemson.resolve.jetbrains.verifier.VerifierPanel;
 import org.jetbrains.annotations.NotNull;
@@ -41,6 +43,7 @@ public class RESOLVEPluginController implements ProjectComponent {
     public static final String CONSOLE_WINDOW_ID = "RESOLVE Output";
     public static final String VERIFIER_WINDOW_ID = "RESOLVE Verifier";
     public static final String SYMBOL_WINDOW_ID = "Symbols";
+    public static final String PROBLEMS_WINDOW_ID = "RESOLVE Problems";
 
     public boolean projectIsClosed = false;
 
@@ -55,6 +58,9 @@ public class RESOLVEPluginController implements ProjectComponent {
     public MathSymbolPanel mathSymbolPanel;
     public ToolWindow mathSymbolWindow;
 
+    public ProblemsPanel problemsPanel;
+    public ToolWindow problemsWindow;
+
     public RESOLVEPluginController(@NotNull Project project) {
         this.project = project;
     }
@@ -82,6 +88,8 @@ public class RESOLVEPluginController implements ProjectComponent {
         LOG.info("RESOLVE Compiler Plugin version " + version + ", Java version " + SystemInfo.JAVA_VERSION);
         // make sure the tool windows are created early
         createToolWindows();
+        //get the compiler loaded and jit'd before anyone asks it for anything
+        RESOLVECompilerSession.getInstance(project).warmUpInBackground();
         //installListeners();
     }
 
@@ -91,6 +99,7 @@ public class RESOLVEPluginController implements ProjectComponent {
 
         verifierPanel = new VerifierPanel(project);
         mathSymbolPanel = new MathSymbolPanel(project);
+        problemsPanel = new ProblemsPanel(project);
 
         ContentFactory contentFactory = ContentFactory.SERVICE.getInstance();
 
@@ -113,6 +122,11 @@ public class RESOLVEPluginController implements ProjectComponent {
         consoleWindow = toolWindowManager.registerToolWindow(CONSOLE_WINDOW_ID, true, ToolWindowAnchor.BOTTOM);
         consoleWindow.getContentManager().addContent(contentFactory.createContent(consoleComponent, "", false));
         consoleWindow.setIcon(RESOLVEIcons.TOOL_ICON);
+
+        //init problems window
+        problemsWindow = toolWindowManager.registerToolWindow(PROBLEMS_WINDOW_ID, true, ToolWindowAnchor.BOTTOM);
+        problemsWindow.getContentManager().addContent(contentFactory.createContent(problemsPanel, "", false));
+        problemsWindow.setIcon(RESOLVEIcons.TOOL_ICON);
     }
 
     @Override
@@ -125,9 +139,12 @@ public class RESOLVEPluginController implements ProjectComponent {
         unregisterWindow(VERIFIER_WINDOW_ID);
         unregisterWindow(SYMBOL_WINDOW_ID);
         unregisterWindow(CONSOLE_WINDOW_ID);
+        unregisterWindow(PROBLEMS_WINDOW_ID);
 
         verifierPanel = null;
+        problemsPanel = null;
         consoleWindow = null;
+        problemsWindow = null;
         verifierWindow = null;
         project = null;
     }
@@ -153,6 +170,14 @@ public class RESOLVEPluginController implements ProjectComponent {
         return verifierPanel;
     }
 
+    public ProblemsPanel getProblemsPanel() {
+        return problemsPanel;
+    }
+
+    public ToolWindow getProblemsWindow() {
+        return problemsWindow;
+    }
+
     public static void showConsoleWindow(final Project project) {
         ApplicationManager.getApplication().invokeLater(
                 new Runnable() {
@@ -167,6 +192,20 @@ public class RESOLVEPluginController implements ProjectComponent {
         );
     }
 
+    public static void showProblemsWindow(final Project project) {
+        ApplicationManager.getApplication().invokeLater(
+                new Runnable() {
+                    @Override
+                    public void run() {
+                        RESOLVEPluginController
+                                .getInstance(project)
+                                .getProblemsWindow()
+                                .show(null);
+                    }
+                }
+        );
+    }
+
     public static void showVerifierWindow(final Project project) {
         ApplicationManager.getApplication().invokeLater(
                 new Runnable() {
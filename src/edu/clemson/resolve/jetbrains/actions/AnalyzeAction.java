@@ -1,6 +1,5 @@
 package edu.clemson.resolve.jetbrains.actions;
 
-import com.intellij.codeInsight.hint.HintManager;
 import com.intellij.execution.ui.ConsoleView;
 import com.intellij.execution.ui.ConsoleViewContentType;
 import com.intellij.notification.Notification;
@@ -10,28 +9,20 @@ import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.actionSystem.PlatformDataKeys;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.editor.Editor;
-import com.intellij.openapi.editor.event.*;
-import com.intellij.openapi.editor.markup.*;
 import com.intellij.openapi.fileEditor.FileEditorManager;
 import com.intellij.openapi.progress.ProgressIndicator;
-import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.progress.Task;
 import com.intellij.openapi.project.Project;
-import com.intellij.openapi.util.Key;
 import com.intellij.openapi.vfs.VirtualFile;
-import com.intellij.ui.JBColor;
-import edu.clemson.resolve.RESOLVECompiler;
-import edu.clemson.resolve.compiler.*;
+import com.intellij.util.Consumer;
 import edu.clemson.resolve.jetbrains.RESOLVEIcons;
 import edu.clemson.resolve.jetbrains.RESOLVEPluginController;
+import edu.clemson.resolve.jetbrains.compiler.RESOLVECompilerSession;
+import edu.clemson.resolve.jetbrains.compiler.RESOLVEModuleRun;
 import edu.clemson.resolve.misc.Utils;
-import org.antlr.v4.runtime.Token;
-import org.antlr.v4.tool.ErrorSeverity;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
-import org.stringtemplate.v4.ST;
 
-import java.awt.*;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.util.*;
@@ -40,7 +31,9 @@ import java.util.List;
 public class AnalyzeAction extends RESOLVEAction {
 
     public static final Logger LOG = Logger.getInstance("RESOLVEAnalyzeAction");
-    public static final Key<Issue> ISSUE_ANNOTATION = Key.create("ISSUE_ANNOTATION");
+
+    /** The runs queued by {@link #setupAndRunCompiler} that haven't finished yet, by project, text and arguments. */
+    private static final Set<String> PENDING = Collections.synchronizedSet(new HashSet<String>());
 
     @Override
     public void update(AnActionEvent e) {
@@ -50,189 +43,121 @@ public class AnalyzeAction extends RESOLVEAction {
     @Override
     public void actionPerformed(AnActionEvent event) {
         Project project = event.getData(PlatformDataKeys.PROJECT);
-        VirtualFile resolveFile = getRESOLVEFileFromEvent(event);
+        if (project != null && isBatchSelection(event)) {
+            runBatch(project, getSelectionFromEvent(event), Collections.<String>emptyList(),
+                    "Analyzing RESOLVE Files");
+            return;
+        }
+        final VirtualFile resolveFile = getRESOLVEFileFromEvent(event);
         if (project == null || resolveFile == null) return;
 
         commitDoc(project, resolveFile);
-        Editor editor = FileEditorManager.getInstance(project).getSelectedTextEditor();
+        final Editor editor = FileEditorManager.getInstance(project).getSelectedTextEditor();
         if (editor == null) return;
 
         Map<String, String> argMap = new LinkedHashMap<>();
         argMap.put("", resolveFile.getCanonicalPath());
         argMap.put("-lib", getContentRoot(project, resolveFile).getPath());
-        CompilerIssueListener issueListener = new CompilerIssueListener();
-
-        RESOLVECompiler compiler = setupAndRunCompiler(project, editor, resolveFile, argMap, issueListener);
-        if (compiler.commandlineTargets.get(0).hasParseErrors) return;
-
-        annotateIssues(editor, resolveFile, compiler, issueListener);
+        setupAndRunCompiler(project, editor, resolveFile, argMap, null);
     }
 
-    @Nullable
-    public static RESOLVECompiler setupAndRunCompiler(@NotNull Project project,
-                                                      @NotNull Editor editor,
-                                                      @NotNull VirtualFile targetFile,
-                                                      @NotNull Map<String, String> args) {
-        return setupAndRunCompiler(project, editor, targetFile, args, null);
-    }
-
-    @NotNull
-    public static RESOLVECompiler setupAndRunCompiler(@NotNull Project project,
-                                                      @NotNull Editor editor,
-                                                      @NotNull VirtualFile targetFile,
-                                                      @NotNull Map<String, String> args,
-                                                      @Nullable RESOLVECompilerListener customListener) {
-        RESOLVECompiler compiler = getDefaultCompiler(args);
-        ConsoleView console = RESOLVEPluginController.getInstance(project).getConsole();
+    /**
+     * Runs the compiler over {@code targetFile} in the background, under a cancellable progress indicator, so the
+     * ide stays usable while a big module is analyzed. Info goes to the console, problems to the problems window and
+     * (those in {@code targetFile}) {@code editor}, as the compiler produces them (see {@link LiveReport});
+     * {@code onFinished}, if given, is called on the event dispatch thread with the run once it's done, as long as
+     * {@code editor} is still open and its document hasn't been edited since the run started (the offsets in the
+     * compiler's messages would no longer line up with the text otherwise).
+     * <p>
+     * Runs go through {@link RESOLVECompilerSession#runDetached}, to the sdk's own compiler or the daemon if that's
+     * where compiles go.</p>
+     * <p>
+     * Asking again for the same run of the same text while one is still pending does nothing; the pending one reports
+     * for both. A pending run whose text is edited is canceled (see {@link RESOLVECompilerSession}).</p>
+     */
+    public static void setupAndRunCompiler(@NotNull final Project project,
+                                           @NotNull final Editor editor,
+                                           @NotNull final VirtualFile targetFile,
+                                           @NotNull Map<String, String> args,
+                                           @Nullable final Consumer<RESOLVEModuleRun> onFinished) {
+        final List<String> argList = getArgMapAsList(args);
+        final long documentStamp = editor.getDocument().getModificationStamp();
+        final String pendingKey = project.getLocationHash() + " " + documentStamp + " " + Utils.join(argList, " ");
+        if (!PENDING.add(pendingKey)) return;
+
+        final ConsoleView console = RESOLVEPluginController.getInstance(project).getConsole();
         console.clear();
-        String timeStamp = getTimeStamp();
-        console.print(timeStamp + ": resolve " + Utils.join(getArgMapAsList(args), " ") + "\n",
+        final String timeStamp = getTimeStamp();
+        console.print(timeStamp + ": resolve " + Utils.join(argList, " ") + "\n",
                 ConsoleViewContentType.SYSTEM_OUTPUT);
+        //the last run's issues go now; this one's come in as they're found
+        editor.getMarkupModel().removeAllHighlighters();
+        IssueHighlighter.getInstance(editor).clear();
+        RESOLVEPluginController.getInstance(project).getProblemsPanel().clear();
+        final LiveReport live = new LiveReport(project, editor, targetFile, console);
 
-        RunRESOLVEListener defaultListener = new RunRESOLVEListener(compiler, console);
-        compiler.removeListeners();
-        compiler.addListeners(defaultListener);
-        if (customListener != null) compiler.addListener(customListener);
-        try {
-            ProgressManager.getInstance().run(new Task.WithResult<Boolean, Exception>(
-                    project, "Analyzing Current Source", false) {
-                @Override
-                protected Boolean compute(@NotNull ProgressIndicator indicator) throws Exception {
-                    compiler.processCommandLineTargets();
-                    return compiler.errMgr.getErrorCount() == 0;
-                }
-            });
-        }
-        catch (Throwable e) {
-            StringWriter sw = new StringWriter();
-            PrintWriter pw = new PrintWriter(sw);
-            e.printStackTrace(pw);
-            String msg = sw.toString();
-            Notification notification =
-                    new Notification("AnalyzeAction", "failed to execute " + targetFile.getPath(),
-                            e.toString(),
-                            NotificationType.INFORMATION);
-            Notifications.Bus.notify(notification, project);
-            console.print(timeStamp + ": resolve " + msg + "\n", ConsoleViewContentType.SYSTEM_OUTPUT);
-            defaultListener.hasOutput = true; // show console below
-        }
-        if (defaultListener.hasOutput) {
-            RESOLVEPluginController.showConsoleWindow(project);
-        }
-        return compiler;
-    }
+        new Task.Backgroundable(project, "Analyzing " + targetFile.getName(), true) {
+            @Nullable private RESOLVEModuleRun result;
 
-    public static void annotateIssues(Editor editor,
-                                      VirtualFile targetFile,
-                                      RESOLVECompiler compiler,
-                                      CompilerIssueListener issueListener) {
-        editor.getMarkupModel().removeAllHighlighters();    //first
-
-        EditorMouseMotionListener mouseListener = new EditorMouseMotionListener() {
             @Override
-            public void mouseMoved(EditorMouseEvent e) {
-                int offset = MyActionUtils.getMouseOffset(e.getMouseEvent(), editor);
-                if (offset >= editor.getDocument().getTextLength()) return;
-                List<RangeHighlighter> issueHighlightersAtOffset =
-                        MyActionUtils.getRangeHighlightersAtOffset(editor, HighlighterLayer.ERROR, offset);
-                if (issueHighlightersAtOffset.size() == 0) return;
-                List<String> msgs = new ArrayList<String>();
-
-                for (RangeHighlighter highlighter : issueHighlightersAtOffset) {
-                    Issue errorUnderCursor = highlighter.getUserData(ISSUE_ANNOTATION);
-                    if (errorUnderCursor == null || errorUnderCursor.msg == null) continue;
-                    String errorMsg = getIssueDisplayString(compiler, errorUnderCursor);
-                    if (errorMsg != null) msgs.add(errorMsg);
+            public void run(@NotNull ProgressIndicator indicator) {
+                RESOLVECompilerSession session = RESOLVECompilerSession.getInstance(project);
+                try {
+                    result = session.runDetached(targetFile, argList, indicator, live);
+                }
+                finally {
+                    PENDING.remove(pendingKey);
                 }
-                String combinedErrorMsg = Utils.join(msgs, "\n");
-                showErrorToolTip(editor, offset, HintManager.getInstance(), combinedErrorMsg, e);
-            }
-            @Override
-            public void mouseDragged(EditorMouseEvent e) {
             }
-        };
-        List<RangeHighlighter> issueRelatedHighlighters = new ArrayList<>();
-        for (Issue issue : issueListener.issues) {
-            annotateIssueInEditor(targetFile, issueRelatedHighlighters, editor, issue);
-        }
 
-        editor.addEditorMouseMotionListener(mouseListener);
-        editor.getDocument().addDocumentListener(new DocumentListener() {
             @Override
-            public void beforeDocumentChange(DocumentEvent event) {
+            public void onCancel() {
+                PENDING.remove(pendingKey);
+                live.flush();
+                console.print(timeStamp + ": resolve canceled\n", ConsoleViewContentType.SYSTEM_OUTPUT);
             }
 
             @Override
-            public void documentChanged(DocumentEvent event) {
-                //remove all current issue related highlighters
-                MarkupModel markupModel = editor.getMarkupModel();
-                for (RangeHighlighter h : issueRelatedHighlighters) {
-                    int eventOffset = event.getOffset();
-                    int highlightersOffset = h.getStartOffset();
-                    if (eventOffset >= h.getStartOffset() && eventOffset < h.getEndOffset()) {
-                        h.getTextAttributes().setEffectColor(JBColor.ORANGE);
-                       // editor.getMarkupModel().removeHighlighter(h);
-                    }
-                }
+            public void onSuccess() {
+                if (project.isDisposed() || result == null) return;
+                report(project, targetFile, console, timeStamp, result.getFailure(), live);
+                if (onFinished == null) return;
+                if (editor.isDisposed() || editor.getDocument().getModificationStamp() != documentStamp) return;
+                onFinished.consume(result);
             }
-        });
-
-    }
-
-    public static String getIssueDisplayString(RESOLVECompiler compiler, Issue e) {
-        ST st = compiler.errMgr.getMessageTemplate(e.msg);
-        return st.render();
+        }.queue();
     }
 
-    public static void showErrorToolTip(Editor editor,
-                                        int offset, HintManager hintMgr,
-                                        String msg,
-                                        EditorMouseEvent event) {
-        int flags = HintManager.HIDE_BY_ANY_KEY | HintManager.HIDE_BY_TEXT_CHANGE | HintManager.HIDE_BY_SCROLLING;
-        int timeout = 0; // default?
-        hintMgr.showErrorHint(editor, msg, offset, offset + 1, HintManager.ABOVE, flags, timeout);
-    }
-
-    public static void annotateIssueInEditor(@NotNull VirtualFile file,
-                                             @NotNull List<RangeHighlighter> highlighters,
-                                             @NotNull Editor editor,
-                                             @NotNull Issue issue) {
-        MarkupModel markupModel = editor.getMarkupModel();  //ref to the current editor's markup model...
-        final TextAttributes attr = new TextAttributes();
-
-        Token offendingToken = (Token) issue.msg.offendingToken;
-        int a = offendingToken.getStartIndex();
-        int b = offendingToken.getStopIndex() + 1;
-
-        if (issue.msg instanceof LanguageSemanticsMessage) {
-            if (issue.msg.getErrorType().severity == ErrorSeverity.ERROR) {
-                attr.setForegroundColor(JBColor.RED);
-                attr.setEffectColor(JBColor.RED);
-                attr.setEffectType(EffectType.WAVE_UNDERSCORE);
-            }
-            else {  //warning (should be yellowish or something)
-                attr.setBackgroundColor(new JBColor(new Color(246, 235, 188),
-                        new Color(246, 235, 188)));
-                attr.setEffectType(EffectType.BOXED);
-            }
+    //shows what the live report hasn't yet, and any failure, then pops up the problems (or else the console) if there
+    //is something to see
+    private static void report(@NotNull Project project,
+                               @NotNull VirtualFile targetFile,
+                               @NotNull ConsoleView console,
+                               @NotNull String timeStamp,
+                               @Nullable Throwable failure,
+                               @NotNull LiveReport live) {
+        live.flush();
+        boolean hasOutput = live.hasOutput();
+        if (failure != null) {
+            Throwable e = failure;
+            StringWriter sw = new StringWriter();
+            PrintWriter pw = new PrintWriter(sw);
+            e.printStackTrace(pw);
+            String msg = sw.toString();
+            Notification notification =
+                    new Notification("AnalyzeAction", "failed to execute " + targetFile.getPath(),
+                            e.toString(),
+                            NotificationType.INFORMATION);
+            Notifications.Bus.notify(notification, project);
+            console.print(timeStamp + ": resolve " + msg + "\n", ConsoleViewContentType.SYSTEM_OUTPUT);
+            hasOutput = true; // show console below
         }
-        String sourceName = offendingToken.getTokenSource().getSourceName();
-        String vFilePath = file.getPath();
-        if (vFilePath.equals(sourceName)) { //only want highlights in the doc the user is looking at.
-            RangeHighlighter highlighter = markupModel.addRangeHighlighter(a,
-                    b,
-                    HighlighterLayer.ERROR, // layer
-                    attr,
-                    HighlighterTargetArea.EXACT_RANGE);
-            highlighters.add(highlighter);
-            highlighter.putUserData(ISSUE_ANNOTATION, issue);
+        if (live.hasProblems() && failure == null) {
+            RESOLVEPluginController.showProblemsWindow(project);
+        }
+        else if (hasOutput) {
+            RESOLVEPluginController.showConsoleWindow(project);
         }
-    }
-
-    public static class Issue {
-        String annotation;
-        RESOLVEMessage msg;
-        public Issue(RESOLVEMessage msg) { this.msg = msg; }
     }
 
 }
@@ -0,0 +1,86 @@
+package edu.clemson.resolve.jetbrains.actions;
+
+import com.intellij.execution.ui.ConsoleView;
+import com.intellij.execution.ui.ConsoleViewContentType;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import edu.clemson.resolve.jetbrains.RESOLVEPluginController;
+import edu.clemson.resolve.jetbrains.compiler.RESOLVEModuleRun;
+import edu.clemson.resolve.jetbrains.verifier.ProblemsPanel;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Reports the outcome of a run over many modules: one line per module on the console, then a summary, while the
+ * modules' errors and warnings go to the problems window (see {@link ProblemsPanel}).
+ */
+final class BatchReport {
+
+    private BatchReport() {
+    }
+
+    static void print(@NotNull Project project,
+                      @NotNull ConsoleView console,
+                      @NotNull List<RESOLVEModuleRun> runs,
+                      long wallMillis) {
+        if (runs.isEmpty()) {
+            console.print("nothing to do\n", ConsoleViewContentType.NORMAL_OUTPUT);
+            return;
+        }
+        VirtualFile base = project.getBaseDir();
+        int width = 0;
+        for (RESOLVEModuleRun run : runs) {
+            width = Math.max(width, getDisplayPath(base, run.getFile()).length());
+        }
+        ProblemsPanel problems = RESOLVEPluginController.getInstance(project).getProblemsPanel();
+        problems.clear();
+        int withErrors = 0, failed = 0;
+        long cpuMillis = 0;
+        for (RESOLVEModuleRun run : runs) {
+            if (run.getFailure() != null) failed++;
+            else if (run.getErrorCount() > 0) withErrors++;
+            cpuMillis += run.getMillis();
+
+            ConsoleViewContentType type = run.isClean() ?
+                    ConsoleViewContentType.NORMAL_OUTPUT : ConsoleViewContentType.ERROR_OUTPUT;
+            StringBuilder line = new StringBuilder();
+            line.append(StringUtil.padEnd(getDisplayPath(base, run.getFile()), width)).append("  ");
+            line.append(StringUtil.padEnd(getStatus(run), 24));
+            line.append(run.isCached() ? "  (cached)" : String.format("%8d ms", run.getMillis()));
+            console.print(line + "\n", type);
+            problems.add(run.getFile(), run.getDiagnostics());
+            if (run.getFailure() != null) {
+                console.print("    " + run.getFailure() + "\n", ConsoleViewContentType.ERROR_OUTPUT);
+            }
+        }
+        int ok = runs.size() - withErrors - failed;
+        console.print(String.format("%d modules in %.1f s (%.1f s of compiling): %d ok, %d with errors, %d failed\n",
+                runs.size(), wallMillis / 1000.0, cpuMillis / 1000.0, ok, withErrors, failed),
+                ConsoleViewContentType.SYSTEM_OUTPUT);
+        if (problems.hasProblems()) RESOLVEPluginController.showProblemsWindow(project);
+        else RESOLVEPluginController.showConsoleWindow(project);
+    }
+
+    @NotNull
+    private static String getStatus(@NotNull RESOLVEModuleRun run) {
+        if (run.getFailure() != null) return "failed";
+        StringBuilder result = new StringBuilder(run.getErrorCount() == 0 ? "ok" :
+                StringUtil.pluralize(run.getErrorCount() + " error", run.getErrorCount()));
+        if (run.getWarningCount() > 0) {
+            result.append(", ").append(StringUtil.pluralize(run.getWarningCount() + " warning",
+                    run.getWarningCount()));
+        }
+        if (run.getVCs() != null) result.append(", ").append(run.getVCs().size()).append(" vcs");
+        return result.toString();
+    }
+
+    @NotNull
+    private static String getDisplayPath(@Nullable VirtualFile base, @NotNull VirtualFile file) {
+        String relative = base != null ? VfsUtilCore.getRelativePath(file, base, '/') : null;
+        return relative != null ? relative : file.getPath();
+    }
+}
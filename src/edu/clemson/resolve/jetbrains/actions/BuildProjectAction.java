@@ -0,0 +1,76 @@
+package edu.clemson.resolve.jetbrains.actions;
+
+import com.intellij.execution.ui.ConsoleView;
+import com.intellij.execution.ui.ConsoleViewContentType;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VfsUtil;
+import edu.clemson.resolve.jetbrains.RESOLVEIcons;
+import edu.clemson.resolve.jetbrains.RESOLVEPluginController;
+import edu.clemson.resolve.jetbrains.compiler.RESOLVEModuleRun;
+import edu.clemson.resolve.jetbrains.compiler.RESOLVEProjectBuilder;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Brings the project's RESOLVE modules up to date: analyzes and generates code for every module that changed since
+ * its last clean build, along with the modules depending on it; see {@link RESOLVEProjectBuilder}.
+ */
+public class BuildProjectAction extends AnAction {
+
+    @Override
+    public void update(AnActionEvent e) {
+        Project project = e.getProject();
+        e.getPresentation().setIcon(RESOLVEIcons.CHECKMARK);
+        e.getPresentation().setEnabled(project != null && !DumbService.isDumb(project));
+    }
+
+    @Override
+    public void actionPerformed(AnActionEvent event) {
+        final Project project = event.getProject();
+        if (project == null) return;
+        //like any make, this builds what's on disk (and writes generated code there)
+        FileDocumentManager.getInstance().saveAllDocuments();
+
+        final ConsoleView console = RESOLVEPluginController.getInstance(project).getConsole();
+        console.clear();
+        final String timeStamp = RESOLVEAction.getTimeStamp();
+        console.print(timeStamp + ": resolve build\n", ConsoleViewContentType.SYSTEM_OUTPUT);
+
+        new Task.Backgroundable(project, "Building RESOLVE Modules", true) {
+            private List<RESOLVEModuleRun> runs;
+            private long millis;
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                long start = System.currentTimeMillis();
+                runs = RESOLVEProjectBuilder.getInstance(project).build(indicator);
+                millis = System.currentTimeMillis() - start;
+            }
+
+            @Override
+            public void onCancel() {
+                console.print(timeStamp + ": resolve build canceled\n", ConsoleViewContentType.SYSTEM_OUTPUT);
+            }
+
+            @Override
+            public void onSuccess() {
+                if (project.isDisposed()) return;
+                BatchReport.print(project, console, runs, millis);
+                //let the ide know about the generated code, looking only where it was written
+                Set<File> outputs = RESOLVEProjectBuilder.getInstance(project).getOutputDirs(runs);
+                if (!outputs.isEmpty()) {
+                    VfsUtil.markDirtyAndRefresh(true, true, true, outputs.toArray(new File[outputs.size()]));
+                }
+            }
+        }.queue();
+    }
+}
@@ -3,34 +3,25 @@ package edu.clemson.resolve.jetbrains.actions;
 import com.intellij.openapi.actionSystem.*;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.editor.Editor;
-import com.intellij.openapi.editor.event.DocumentEvent;
-import com.intellij.openapi.editor.event.DocumentListener;
-import com.intellij.openapi.editor.markup.GutterIconRenderer;
-import com.intellij.openapi.editor.markup.HighlighterLayer;
-import com.intellij.openapi.editor.markup.MarkupModel;
-import com.intellij.openapi.editor.markup.RangeHighlighter;
 import com.intellij.openapi.fileEditor.FileEditorManager;
 import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
-import edu.clemson.resolve.RESOLVECompiler;
+import com.intellij.util.Consumer;
 import edu.clemson.resolve.jetbrains.RESOLVEIcons;
 import edu.clemson.resolve.jetbrains.RESOLVEPluginController;
+import edu.clemson.resolve.jetbrains.compiler.RESOLVEModuleRun;
 import edu.clemson.resolve.jetbrains.verifier.ConditionCollapsiblePanel;
 import edu.clemson.resolve.jetbrains.verifier.VerificationConditionSelectorPanel;
 import edu.clemson.resolve.jetbrains.verifier.VerifierPanel;
-import edu.clemson.resolve.vcgen.VC;
 import edu.clemson.resolve.vcgen.VCOutputFile;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
-import javax.swing.*;
 import java.util.*;
 
 public class GenerateVCsAction extends RESOLVEAction implements AnAction.TransparentUpdate {
 
     private static final Logger LOGGER = Logger.getInstance("RESOLVEGenerateVCsAction");
-    private final List<RangeHighlighter> highlighters = new ArrayList<>();
 
     @Override
     public void update(AnActionEvent e) {
@@ -39,35 +30,41 @@ public class GenerateVCsAction extends RESOLVEAction implements AnAction.Transpa
 
     @Override
     public void actionPerformed(AnActionEvent event) {
-        Project project = event.getData(PlatformDataKeys.PROJECT);
-        VirtualFile resolveFile = getRESOLVEFileFromEvent(event);
+        final Project project = event.getData(PlatformDataKeys.PROJECT);
+        if (project != null && isBatchSelection(event)) {
+            runBatch(project, getSelectionFromEvent(event), Collections.singletonList("-vcs"), "Generating VCs");
+            return;
+        }
+        final VirtualFile resolveFile = getRESOLVEFileFromEvent(event);
         if (project == null || resolveFile == null) return;
 
         commitDoc(project, resolveFile);
-        Editor editor = FileEditorManager.getInstance(project).getSelectedTextEditor();
+        final Editor editor = FileEditorManager.getInstance(project).getSelectedTextEditor();
         if (editor == null) return;
 
         Map<String, String> argMap = new LinkedHashMap<>();
-        argMap.put("", resolveFile.getName());
+        //the full path, as analyze passes it: the compile may not happen in this process's working directory
+        argMap.put("", resolveFile.getCanonicalPath());
         argMap.put("-lib", getContentRoot(project, resolveFile).getPath());
         argMap.put("-vcs", "");
 
-        CompilerIssueListener issueListener = new CompilerIssueListener();
-
-        RESOLVECompiler compiler = AnalyzeAction.setupAndRunCompiler(project, editor, resolveFile, argMap, issueListener);
-        if (compiler.commandlineTargets.get(0).hasParseErrors) return;
-        AnalyzeAction.annotateIssues(editor, resolveFile, compiler, issueListener);
+        AnalyzeAction.setupAndRunCompiler(project, editor, resolveFile, argMap, new Consumer<RESOLVEModuleRun>() {
+            @Override
+            public void consume(RESOLVEModuleRun run) {
+                showVCs(project, editor, run);
+            }
+        });
+    }
 
-        if (compiler.commandlineTargets.size() == 0) return;
-        VCOutputFile vco = compiler.commandlineTargets.get(0).getVCOutput();
-        if (vco == null) return;
+    private void showVCs(@NotNull Project project, @NotNull Editor editor, @NotNull RESOLVEModuleRun run) {
+        List<RESOLVEModuleRun.VCInfo> vcs = run.getVCs();
+        if (vcs == null || run.getFailure() != null) return;
 
         RESOLVEPluginController controller = RESOLVEPluginController.getInstance(project);
         VerifierPanel verifierPanel = controller.getVerifierPanel();
 
-        Collection<VC> vcs = vco.getFinalVCs();
         verifierPanel.createVerifierView(vcs);
-        addVCGutterIcons(vco, editor, project);
+        if (!editor.isDisposed()) VCGutterIcons.getInstance(editor).show(vcs);
         RESOLVEPluginController.showVerifierWindow(project);
     }
 
@@ -93,7 +90,7 @@ public class GenerateVCsAction extends RESOLVEAction implements AnAction.Transpa
         return null;
     }
 
-    private static class VCNavigationAction extends AnAction {
+    static class VCNavigationAction extends AnAction {
 
         private final String vcNum;
         public boolean isProved = false;
@@ -128,81 +125,4 @@ public class GenerateVCsAction extends RESOLVEAction implements AnAction.Transpa
         }
     }
 
-    private void addVCGutterIcons(VCOutputFile vco, Editor editor, Project project) {
-        if (!editor.isDisposed()) {
-            highlighters.clear();
-            MarkupModel markup = editor.getMarkupModel();
-            RESOLVEPluginController controller = RESOLVEPluginController.getInstance(project);
-            markup.removeAllHighlighters();
-
-            //A mapping from [line number] -> [vc_1, .., vc_j]
-            Map<Integer, List<VC>> byLine = vco.getVCsGroupedByLineNumber();
-            List<RangeHighlighter> vcRelatedHighlighters = new ArrayList<>();
-
-            for (Map.Entry<Integer, List<VC>> vcsByLine : byLine.entrySet()) {
-                List<AnAction> actionsPerVC = new ArrayList<>();
-                //create clickable actions for each vc
-                for (VC vc : vcsByLine.getValue()) {
-                    actionsPerVC.add(new VCNavigationAction(vc.getNumber() + "", vc.getExplanation()));
-                }
-
-                RangeHighlighter highlighter =
-                        markup.addLineHighlighter(vcsByLine.getKey() - 1, HighlighterLayer.ELEMENT_UNDER_CARET, null);
-                highlighter.setGutterIconRenderer(new GutterIconRenderer() {
-                    @NotNull
-                    @Override
-                    public Icon getIcon() {
-                        return RESOLVEIcons.VC;
-                    }
-
-                    @Override
-                    public boolean equals(Object obj) {
-                        return false;
-                    }
-
-                    @Override
-                    public int hashCode() {
-                        return 0;
-                    }
-
-                    @Override
-                    public boolean isNavigateAction() {
-                        return true;
-                    }
-
-                    @Nullable
-                    public ActionGroup getPopupMenuActions() {
-                        DefaultActionGroup g = new DefaultActionGroup();
-                        g.addAll(actionsPerVC);
-                        return g;
-                    }
-
-                    @Nullable
-                    public AnAction getClickAction() {
-                        return null;
-                    }
-
-                });
-                vcRelatedHighlighters.add(highlighter);
-                highlighters.add(highlighter);
-            }
-
-            editor.getDocument().addDocumentListener(new DocumentListener() {
-                @Override
-                public void beforeDocumentChange(DocumentEvent event) {
-                }
-                @Override
-                public void documentChanged(DocumentEvent event) {
-                    //remove vc-related highlighters
-                    for (RangeHighlighter h : vcRelatedHighlighters) {
-                        markup.removeHighlighter(h);
-                    }
-                    VerifierPanel verifierPanel = controller.getVerifierPanel();
-                    //controller.getVerifierWindow().hide(null);
-                    verifierPanel.revertToBaseGUI();
-                }
-            });
-        }
-    }
-
 }
@@ -0,0 +1,75 @@
+package edu.clemson.resolve.jetbrains.actions;
+
+import com.intellij.openapi.util.TextRange;
+import com.intellij.util.Function;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * A fixed set of values with ranges, answering which ranges contain an offset in O(log n + k) for k answers. It's an
+ * interval tree laid out over the ranges sorted by start: each subtree (a slice of that array, rooted at its middle)
+ * knows the furthest any of its ranges ends, so whole slices that end before the offset are skipped. Ranges are
+ * half-open, as {@link TextRange}s are; to change the set, build a new index.
+ */
+final class IntervalIndex<T> {
+
+    @NotNull private final List<T> values;
+    @NotNull private final int[] starts;
+    @NotNull private final int[] ends;
+    @NotNull private final int[] maxEnds;
+
+    IntervalIndex(@NotNull Collection<T> values, @NotNull Function<T, TextRange> getRange) {
+        final List<T> sorted = new ArrayList<>(values);
+        final Map<T, TextRange> ranges = new IdentityHashMap<>();
+        for (T value : sorted) {
+            ranges.put(value, getRange.fun(value));
+        }
+        Collections.sort(sorted, new Comparator<T>() {
+            @Override
+            public int compare(T o1, T o2) {
+                return Integer.compare(ranges.get(o1).getStartOffset(), ranges.get(o2).getStartOffset());
+            }
+        });
+        this.values = sorted;
+        this.starts = new int[sorted.size()];
+        this.ends = new int[sorted.size()];
+        this.maxEnds = new int[sorted.size()];
+        for (int i = 0; i < sorted.size(); i++) {
+            TextRange range = ranges.get(sorted.get(i));
+            starts[i] = range.getStartOffset();
+            ends[i] = range.getEndOffset();
+        }
+        computeMaxEnds(0, sorted.size());
+    }
+
+    /** The values whose ranges contain {@code offset}, in order of where they start. */
+    @NotNull
+    List<T> getContaining(int offset) {
+        List<T> result = new ArrayList<>();
+        collect(0, values.size(), offset, result);
+        return result;
+    }
+
+    int size() {
+        return values.size();
+    }
+
+    //the slice [lo, hi) is the subtree rooted at its middle element
+    private int computeMaxEnds(int lo, int hi) {
+        if (lo >= hi) return Integer.MIN_VALUE;
+        int mid = (lo + hi) >>> 1;
+        maxEnds[mid] = Math.max(ends[mid], Math.max(computeMaxEnds(lo, mid), computeMaxEnds(mid + 1, hi)));
+        return maxEnds[mid];
+    }
+
+    private void collect(int lo, int hi, int offset, @NotNull List<T> result) {
+        if (lo >= hi) return;
+        int mid = (lo + hi) >>> 1;
+        if (maxEnds[mid] <= offset) return;
+        collect(lo, mid, offset, result);
+        if (starts[mid] > offset) return; //nothing from here on starts early enough
+        if (offset < ends[mid]) result.add(values.get(mid));
+        collect(mid + 1, hi, offset, result);
+    }
+}
@@ -0,0 +1,194 @@
+package edu.clemson.resolve.jetbrains.actions;
+
+import com.intellij.codeInsight.hint.HintManager;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.editor.EditorFactory;
+import com.intellij.openapi.editor.event.*;
+import com.intellij.openapi.editor.markup.*;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Disposer;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.ui.JBColor;
+import com.intellij.util.Function;
+import edu.clemson.resolve.jetbrains.compiler.RESOLVEDiagnostic;
+import edu.clemson.resolve.misc.Utils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The compiler issues an analysis left in one editor: their highlighters, and the tooltip shown when the mouse rests
+ * on one. There's at most one per editor (see {@link #getInstance}); it lives until the editor is released or the
+ * project closes, and installs its listeners just once, however many analyses come and go.
+ * <p>
+ * Issues are kept as {@link RESOLVEDiagnostic}s, rendered once up front, so nothing of the compiler that found them is
+ * kept around. Hover lookups go through an {@link IntervalIndex} over the highlighters' ranges, rebuilt (at most once
+ * per edit) when the text has changed under them.</p>
+ */
+final class IssueHighlighter implements Disposable {
+
+    private static final Key<IssueHighlighter> ISSUE_HIGHLIGHTER = Key.create("RESOLVE_ISSUE_HIGHLIGHTER");
+
+    @NotNull private final Editor editor;
+    @NotNull private final List<Issue> issues = new ArrayList<>();
+    @Nullable private IntervalIndex<Issue> index;
+
+    private final EditorMouseMotionListener mouseListener = new EditorMouseMotionListener() {
+        @Override
+        public void mouseMoved(EditorMouseEvent e) {
+            if (issues.isEmpty()) return;
+            int offset = MyActionUtils.getMouseOffset(e.getMouseEvent(), editor);
+            if (offset >= editor.getDocument().getTextLength()) return;
+            List<String> msgs = new ArrayList<>();
+            for (Issue issue : getIssuesAt(offset)) {
+                msgs.add(issue.diagnostic.getText());
+            }
+            if (msgs.isEmpty()) return;
+            showErrorToolTip(offset, Utils.join(msgs, "\n"));
+        }
+
+        @Override
+        public void mouseDragged(EditorMouseEvent e) {
+        }
+    };
+
+    private final DocumentListener documentListener = new DocumentListener() {
+        @Override
+        public void beforeDocumentChange(DocumentEvent event) {
+        }
+
+        @Override
+        public void documentChanged(DocumentEvent event) {
+            if (issues.isEmpty()) return;
+            //flag the issues that were edited into as possibly stale, then let the ranges settle before indexing again
+            for (Issue issue : getIssuesAt(event.getOffset())) {
+                issue.highlighter.getTextAttributes().setEffectColor(JBColor.ORANGE);
+            }
+            index = null;
+        }
+    };
+
+    private IssueHighlighter(@NotNull Editor editor) {
+        this.editor = editor;
+        editor.addEditorMouseMotionListener(mouseListener);
+        editor.getDocument().addDocumentListener(documentListener);
+    }
+
+    /** The issue highlighter of {@code editor}, installed (on the event dispatch thread) the first time it's asked. */
+    @NotNull
+    static IssueHighlighter getInstance(@NotNull final Editor editor) {
+        IssueHighlighter result = editor.getUserData(ISSUE_HIGHLIGHTER);
+        if (result != null) return result;
+        final IssueHighlighter created = new IssueHighlighter(editor);
+        editor.putUserData(ISSUE_HIGHLIGHTER, created);
+        EditorFactory.getInstance().addEditorFactoryListener(new EditorFactoryAdapter() {
+            @Override
+            public void editorReleased(@NotNull EditorFactoryEvent event) {
+                if (event.getEditor() == editor) Disposer.dispose(created);
+            }
+        }, created);
+        Project project = editor.getProject();
+        if (project != null) Disposer.register(project, created);
+        return created;
+    }
+
+    /**
+     * Replaces the issues shown with {@code diagnostics}, keeping those that are in {@code file} (the one this editor
+     * shows) and have a location in it.
+     */
+    void show(@NotNull VirtualFile file, @NotNull List<RESOLVEDiagnostic> diagnostics) {
+        clear();
+        add(file, diagnostics);
+    }
+
+    /** Like {@link #show}, but adds to the issues already shown; for diagnostics that arrive while a run goes on. */
+    void add(@NotNull VirtualFile file, @NotNull List<RESOLVEDiagnostic> diagnostics) {
+        MarkupModel markupModel = editor.getMarkupModel();
+        int length = editor.getDocument().getTextLength();
+        for (RESOLVEDiagnostic d : diagnostics) {
+            TextRange range = d.getRange();
+            if (range == null || range.getEndOffset() > length) continue;
+            //only want highlights in the doc the user is looking at
+            if (!file.getPath().equals(d.getSourcePath())) continue;
+            RangeHighlighter highlighter = markupModel.addRangeHighlighter(range.getStartOffset(),
+                    range.getEndOffset(), HighlighterLayer.ERROR, getAttributes(d), HighlighterTargetArea.EXACT_RANGE);
+            issues.add(new Issue(d, highlighter));
+        }
+        index = null;
+    }
+
+    /** Removes every issue this shows. */
+    void clear() {
+        MarkupModel markupModel = editor.getMarkupModel();
+        for (Issue issue : issues) {
+            if (issue.highlighter.isValid()) markupModel.removeHighlighter(issue.highlighter);
+        }
+        issues.clear();
+        index = null;
+    }
+
+    @Override
+    public void dispose() {
+        editor.removeEditorMouseMotionListener(mouseListener);
+        editor.getDocument().removeDocumentListener(documentListener);
+        if (!editor.isDisposed()) clear();
+        issues.clear();
+        index = null;
+        editor.putUserData(ISSUE_HIGHLIGHTER, null);
+    }
+
+    @NotNull
+    private List<Issue> getIssuesAt(int offset) {
+        if (index == null) {
+            List<Issue> live = new ArrayList<>();
+            for (Issue issue : issues) {
+                //someone may have cleared the whole markup model since
+                if (issue.highlighter.isValid()) live.add(issue);
+            }
+            index = new IntervalIndex<>(live, new Function<Issue, TextRange>() {
+                @Override
+                public TextRange fun(Issue issue) {
+                    return new TextRange(issue.highlighter.getStartOffset(), issue.highlighter.getEndOffset());
+                }
+            });
+        }
+        return index.getContaining(offset);
+    }
+
+    private void showErrorToolTip(int offset, @NotNull String msg) {
+        int flags = HintManager.HIDE_BY_ANY_KEY | HintManager.HIDE_BY_TEXT_CHANGE | HintManager.HIDE_BY_SCROLLING;
+        int timeout = 0; // default?
+        HintManager.getInstance().showErrorHint(editor, msg, offset, offset + 1, HintManager.ABOVE, flags, timeout);
+    }
+
+    @NotNull
+    private static TextAttributes getAttributes(@NotNull RESOLVEDiagnostic d) {
+        TextAttributes attr = new TextAttributes();
+        if (d.isError()) {
+            attr.setForegroundColor(JBColor.RED);
+            attr.setEffectColor(JBColor.RED);
+            attr.setEffectType(EffectType.WAVE_UNDERSCORE);
+        }
+        else {  //warning (should be yellowish or something)
+            attr.setBackgroundColor(new JBColor(new Color(246, 235, 188), new Color(246, 235, 188)));
+            attr.setEffectType(EffectType.BOXED);
+        }
+        return attr;
+    }
+
+    private static final class Issue {
+        @NotNull final RESOLVEDiagnostic diagnostic;
+        @NotNull final RangeHighlighter highlighter;
+
+        Issue(@NotNull RESOLVEDiagnostic diagnostic, @NotNull RangeHighlighter highlighter) {
+            this.diagnostic = diagnostic;
+            this.highlighter = highlighter;
+        }
+    }
+}
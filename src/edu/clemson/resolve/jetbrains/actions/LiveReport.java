@@ -0,0 +1,123 @@
+package edu.clemson.resolve.jetbrains.actions;
+
+import com.intellij.execution.ui.ConsoleView;
+import com.intellij.execution.ui.ConsoleViewContentType;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import edu.clemson.resolve.RESOLVECompiler;
+import edu.clemson.resolve.jetbrains.RESOLVEPluginController;
+import edu.clemson.resolve.jetbrains.compiler.RESOLVECompilerSession;
+import edu.clemson.resolve.jetbrains.compiler.RESOLVEDiagnostic;
+import edu.clemson.resolve.jetbrains.verifier.ProblemsPanel;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shows a run's messages while it's still going: info lines go to the console, diagnostics to the problems window (see
+ * {@link ProblemsPanel}) and, those in the editor's file, to its {@link IssueHighlighter}, so the first errors are up
+ * within moments of the compiler finding them. The compiler reports from its own thread, one message at a time;
+ * they're handed to the event dispatch thread in batches, with at most one batch waiting there at a time, so a burst
+ * of messages costs a single repaint.
+ */
+final class LiveReport implements RESOLVECompilerSession.Observer {
+
+    @NotNull private final Project project;
+    @NotNull private final Editor editor;
+    @NotNull private final VirtualFile file;
+    @NotNull private final ConsoleView console;
+
+    //guarded by this
+    @NotNull private List<Object> pending = new ArrayList<>();
+    private boolean flushQueued = false;
+    private volatile boolean singleLine = false;
+
+    //only touched on the event dispatch thread
+    private boolean hasOutput = false;
+    private boolean hasProblems = false;
+
+    private final Runnable flush = new Runnable() {
+        @Override
+        public void run() {
+            flush();
+        }
+    };
+
+    LiveReport(@NotNull Project project,
+               @NotNull Editor editor,
+               @NotNull VirtualFile file,
+               @NotNull ConsoleView console) {
+        this.project = project;
+        this.editor = editor;
+        this.file = file;
+        this.console = console;
+    }
+
+    @Override
+    public void started(@NotNull RESOLVECompiler compiler) {
+        singleLine = compiler.errMgr.formatWantsSingleLineMessage();
+    }
+
+    @Override
+    public void info(@NotNull String msg) {
+        enqueue(msg);
+    }
+
+    @Override
+    public void diagnostic(@NotNull RESOLVEDiagnostic diagnostic) {
+        enqueue(diagnostic);
+    }
+
+    /** Shows whatever hasn't been yet. Call on the event dispatch thread. */
+    void flush() {
+        List<Object> batch;
+        synchronized (this) {
+            batch = pending;
+            pending = new ArrayList<>();
+            flushQueued = false;
+        }
+        if (batch.isEmpty() || project.isDisposed()) return;
+        List<RESOLVEDiagnostic> diagnostics = new ArrayList<>();
+        for (Object o : batch) {
+            if (o instanceof RESOLVEDiagnostic) {
+                RESOLVEDiagnostic d = (RESOLVEDiagnostic) o;
+                diagnostics.add(d);
+            }
+            else {
+                print((String) o);
+            }
+        }
+        if (diagnostics.isEmpty()) return;
+        RESOLVEPluginController.getInstance(project).getProblemsPanel().add(file, diagnostics);
+        hasProblems = true;
+        if (!editor.isDisposed()) IssueHighlighter.getInstance(editor).add(file, diagnostics);
+    }
+
+    /** Returns {@code true} if anything has been printed to the console so far. */
+    boolean hasOutput() {
+        return hasOutput;
+    }
+
+    /** Returns {@code true} if any errors or warnings have been shown so far. */
+    boolean hasProblems() {
+        return hasProblems;
+    }
+
+    private void enqueue(@NotNull Object message) {
+        synchronized (this) {
+            pending.add(message);
+            if (flushQueued) return;
+            flushQueued = true;
+        }
+        ApplicationManager.getApplication().invokeLater(flush);
+    }
+
+    private void print(@NotNull String msg) {
+        if (singleLine) msg = msg.replace('\n', ' ');
+        console.print(msg + "\n", ConsoleViewContentType.NORMAL_OUTPUT);
+        hasOutput = true;
+    }
+}
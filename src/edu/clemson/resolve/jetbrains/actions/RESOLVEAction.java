@@ -1,28 +1,39 @@
 package edu.clemson.resolve.jetbrains.actions;
 
+import com.intellij.execution.ui.ConsoleView;
+import com.intellij.execution.ui.ConsoleViewContentType;
 import com.intellij.openapi.actionSystem.AnAction;
 import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.actionSystem.LangDataKeys;
+import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.fileEditor.FileDocumentManager;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.module.ModuleUtilCore;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
 import com.intellij.openapi.project.DumbAware;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ContentIterator;
+import com.intellij.openapi.roots.ProjectFileIndex;
 import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.Computable;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiDocumentManager;
+import com.intellij.util.Consumer;
 import edu.clemson.resolve.RESOLVECompiler;
 import edu.clemson.resolve.jetbrains.RESOLVEFileType;
+import edu.clemson.resolve.jetbrains.RESOLVEPluginController;
+import edu.clemson.resolve.jetbrains.compiler.RESOLVEModuleRun;
+import edu.clemson.resolve.jetbrains.compiler.RESOLVEResultCache;
+import edu.clemson.resolve.jetbrains.compiler.RESOLVEWorkerPool;
 import edu.clemson.resolve.jetbrains.sdk.RESOLVESdkService;
+import edu.clemson.resolve.misc.Utils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
-import java.util.Calendar;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 abstract class RESOLVEAction extends AnAction implements DumbAware {
 
@@ -33,6 +44,7 @@ abstract class RESOLVEAction extends AnAction implements DumbAware {
 
     private void setPresentationVisible(@NotNull AnActionEvent e) {
         VirtualFile vfile = getRESOLVEFileFromEvent(e);
+        if (vfile == null) vfile = getDirectoryFromEvent(e);
         if (vfile == null || e.getProject() == null) {
             e.getPresentation().setEnabled(false);
             return;
@@ -60,6 +72,137 @@ abstract class RESOLVEAction extends AnAction implements DumbAware {
         return null;
     }
 
+    @Nullable
+    private static VirtualFile getDirectoryFromEvent(@NotNull AnActionEvent e) {
+        VirtualFile[] files = LangDataKeys.VIRTUAL_FILE_ARRAY.getData(e.getDataContext());
+        if (files == null) return null;
+        for (VirtualFile file : files) {
+            if (file.isDirectory()) return file;
+        }
+        return null;
+    }
+
+    /**
+     * Returns {@code true} if more than a single RESOLVE file is selected (several files, or a directory); such
+     * selections are run as a batch, see {@link #runBatch}.
+     */
+    protected static boolean isBatchSelection(@NotNull AnActionEvent e) {
+        VirtualFile[] files = LangDataKeys.VIRTUAL_FILE_ARRAY.getData(e.getDataContext());
+        return files != null && (files.length > 1 || (files.length == 1 && files[0].isDirectory()));
+    }
+
+    /** The files and directories selected; see {@link #collectRESOLVEFiles}. */
+    @NotNull
+    protected static VirtualFile[] getSelectionFromEvent(@NotNull AnActionEvent e) {
+        VirtualFile[] selected = LangDataKeys.VIRTUAL_FILE_ARRAY.getData(e.getDataContext());
+        return selected != null ? selected : VirtualFile.EMPTY_ARRAY;
+    }
+
+    /**
+     * Every RESOLVE file in {@code selected}, including those anywhere under a selected directory that are part of
+     * the project's content; excluded and ignored directories (output, {@code .git}, etc.) aren't gone into. Needs a
+     * read action.
+     */
+    @NotNull
+    static List<VirtualFile> collectRESOLVEFiles(@NotNull Project project,
+                                                 @NotNull VirtualFile[] selected,
+                                                 @NotNull final ProgressIndicator indicator) {
+        ProjectFileIndex index = ProjectRootManager.getInstance(project).getFileIndex();
+        final Set<VirtualFile> result = new LinkedHashSet<>();
+        for (VirtualFile root : selected) {
+            if (!root.isValid()) continue;
+            if (!root.isDirectory()) {
+                if (root.getFileType() == RESOLVEFileType.INSTANCE) result.add(root);
+                continue;
+            }
+            index.iterateContentUnderDirectory(root, new ContentIterator() {
+                @Override
+                public boolean processFile(VirtualFile file) {
+                    indicator.checkCanceled();
+                    if (!file.isDirectory() && file.getFileType() == RESOLVEFileType.INSTANCE) result.add(file);
+                    return true;
+                }
+            });
+        }
+        return new ArrayList<>(result);
+    }
+
+    /**
+     * Compiles each RESOLVE file in {@code selected} (see {@link #collectRESOLVEFiles}) in the background, side by
+     * side on a {@link RESOLVEWorkerPool}, passing each {@code extraArgs} after the usual target and {@code -lib},
+     * and reports how each went in one table on the console. Unlike the single file actions, this reads every file as
+     * it is on disk.
+     */
+    protected static void runBatch(@NotNull final Project project,
+                                   @NotNull final VirtualFile[] selected,
+                                   @NotNull final List<String> extraArgs,
+                                   @NotNull String title) {
+        final ConsoleView console = RESOLVEPluginController.getInstance(project).getConsole();
+        console.clear();
+        final String timeStamp = getTimeStamp();
+
+        new Task.Backgroundable(project, title, true) {
+            private final List<RESOLVEModuleRun> runs = new ArrayList<>();
+            private volatile int total;
+            private long millis;
+
+            @Override
+            public void run(@NotNull final ProgressIndicator indicator) {
+                long start = System.currentTimeMillis();
+                indicator.setText("Collecting RESOLVE files");
+                Map<VirtualFile, List<String>> jobs = ApplicationManager.getApplication().runReadAction(
+                        new Computable<Map<VirtualFile, List<String>>>() {
+                            @Override
+                            public Map<VirtualFile, List<String>> compute() {
+                                Map<VirtualFile, List<String>> result = new LinkedHashMap<>();
+                                for (VirtualFile file : collectRESOLVEFiles(project, selected, indicator)) {
+                                    if (!file.isValid()) continue;
+                                    List<String> args = new ArrayList<>();
+                                    args.add(file.getPath());
+                                    args.add("-lib");
+                                    args.add(getContentRoot(project, file).getPath());
+                                    args.addAll(extraArgs);
+                                    result.put(file, args);
+                                }
+                                return result;
+                            }
+                        });
+                total = jobs.size();
+                console.print(timeStamp + ": resolve " + Utils.join(extraArgs, " ") + " (" + total + " files)\n",
+                        ConsoleViewContentType.SYSTEM_OUTPUT);
+                indicator.setText(getTitle());
+                RESOLVEWorkerPool pool = new RESOLVEWorkerPool(project, total);
+                RESOLVEResultCache cache = RESOLVEResultCache.getInstance(project);
+                try {
+                    pool.compileAll(jobs, cache, indicator, new Consumer<RESOLVEModuleRun>() {
+                        @Override
+                        public void consume(RESOLVEModuleRun run) {
+                            runs.add(run);
+                            indicator.setFraction((double) runs.size() / total);
+                            indicator.setText2(run.getFile().getName());
+                        }
+                    });
+                }
+                finally {
+                    pool.shutdown();
+                }
+                millis = System.currentTimeMillis() - start;
+            }
+
+            @Override
+            public void onCancel() {
+                console.print(timeStamp + ": resolve canceled after " + runs.size() + " of " + total +
+                        " files\n", ConsoleViewContentType.SYSTEM_OUTPUT);
+            }
+
+            @Override
+            public void onSuccess() {
+                if (project.isDisposed()) return;
+                BatchReport.print(project, console, runs, millis);
+            }
+        }.queue();
+    }
+
     @NotNull
     public static RESOLVECompiler getDefaultCompiler(@NotNull Map<String, String> argMap) {
         return getDefaultCompiler(getArgMapAsList(argMap));
@@ -93,16 +236,14 @@ abstract class RESOLVEAction extends AnAction implements DumbAware {
         return result;
     }
 
+    /**
+     * Commits {@code file}'s document so the psi (which the compiler session walks to find a run's inputs) is up to
+     * date. There's no need to save it: the session compiles unsaved documents from their text.
+     */
     void commitDoc(Project project, VirtualFile file) {
         PsiDocumentManager psiMgr = PsiDocumentManager.getInstance(project);
-        FileDocumentManager docMgr = FileDocumentManager.getInstance();
-        Document doc = docMgr.getDocument(file);
+        Document doc = FileDocumentManager.getInstance().getDocument(file);
         if (doc == null) return;
-
-        boolean unsaved = !psiMgr.isCommitted(doc) || docMgr.isDocumentUnsaved(doc);
-        if (unsaved) {
-            psiMgr.commitDocument(doc);
-            docMgr.saveDocument(doc);
-        }
+        if (!psiMgr.isCommitted(doc)) psiMgr.commitDocument(doc);
     }
 }
@@ -5,23 +5,27 @@ import com.intellij.execution.ui.ConsoleViewContentType;
 import edu.clemson.resolve.RESOLVECompiler;
 import edu.clemson.resolve.compiler.RESOLVECompilerListener;
 import edu.clemson.resolve.compiler.RESOLVEMessage;
+import edu.clemson.resolve.jetbrains.compiler.RESOLVEDiagnostic;
+import edu.clemson.resolve.jetbrains.verifier.ProblemsPanel;
 import org.antlr.v4.tool.ANTLRMessage;
 import org.jetbrains.annotations.NotNull;
-import org.stringtemplate.v4.ST;
 
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Listens for information coming back from the resolve compiler. Captures warnings, errors, and general informational
- * printouts emitted by the compiler. This class, like {@link RunRESOLVEOnLanguageFile} follows very closely the tool
- * listener written for this purpose in the ANTLRv4 plugin written by Terence Parr and others, found here:
+ * printouts emitted by the compiler. Informational printouts go straight to the console; errors and warnings are
+ * collected in {@link #problems}, for the problems window (see {@link ProblemsPanel}). This class, like
+ * {@link RunRESOLVEOnLanguageFile} follows very closely the tool listener written for this purpose in the ANTLRv4
+ * plugin written by Terence Parr and others, found here:
  * <p>
  * <a href="https://github.com/antlr/intellij-plugin-v4">https://github.com/antlr/intellij-plugin-v4/a>
  */
 public class RunRESOLVEListener implements RESOLVECompilerListener {
 
     public final List<String> all = new ArrayList<String>();
+    public final List<RESOLVEDiagnostic> problems = new ArrayList<>();
     private final RESOLVECompiler compiler;
     private final ConsoleView console;
     public boolean hasOutput = false;
@@ -43,21 +47,11 @@ public class RunRESOLVEListener implements RESOLVECompilerListener {
 
     @Override
     public void error(RESOLVEMessage msg) {
-        track(msg, ConsoleViewContentType.ERROR_OUTPUT);
+        problems.add(RESOLVEDiagnostic.of(compiler, msg, true));
     }
 
     @Override
     public void warning(RESOLVEMessage msg) {
-        track(msg, ConsoleViewContentType.NORMAL_OUTPUT);
-    }
-
-    private void track(RESOLVEMessage msg, ConsoleViewContentType errType) {
-        ST msgST = compiler.errMgr.getMessageTemplate(msg);
-        String outputMsg = msgST.render();
-        if (compiler.errMgr.formatWantsSingleLineMessage()) {
-            outputMsg = outputMsg.replace('\n', ' ');
-        }
-        console.print(outputMsg + "\n", errType);
-        hasOutput = true;
+        problems.add(RESOLVEDiagnostic.of(compiler, msg, false));
     }
 }
@@ -7,6 +7,7 @@ import com.intellij.execution.ui.ConsoleViewContentType;
 import com.intellij.notification.Notification;
 import com.intellij.notification.NotificationType;
 import com.intellij.notification.Notifications;
+import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.progress.Task;
@@ -14,6 +15,7 @@ import com.intellij.openapi.project.Project;
 import com.intellij.openapi.roots.ProjectRootManager;
 import com.intellij.openapi.util.SystemInfo;
 import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.LocalFileSystem;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.util.EnvironmentUtil;
 import com.intellij.util.containers.*;
@@ -21,7 +23,9 @@ import com.intellij.util.containers.HashMap;
 import edu.clemson.resolve.RESOLVECompiler;
 import edu.clemson.resolve.compiler.RESOLVECompilerListener;
 import edu.clemson.resolve.jetbrains.RESOLVEPluginController;
+import edu.clemson.resolve.jetbrains.compiler.RESOLVECompilerSession;
 import edu.clemson.resolve.jetbrains.sdk.RESOLVESdkService;
+import edu.clemson.resolve.jetbrains.verifier.ProblemsPanel;
 import edu.clemson.resolve.misc.Utils;
 import edu.clemson.resolve.proving.Metrics;
 import edu.clemson.resolve.proving.PerVCProverModel;
@@ -63,7 +67,7 @@ public class RunRESOLVEOnLanguageFile extends Task.WithResult<Boolean, Exception
     public RunRESOLVEOnLanguageFile(String targetFile,
                                     @Nullable final Project project,
                                     @NotNull final String title) {
-        this(targetFile, project, title, false, true);
+        this(targetFile, project, title, true, true);
     }
 
     public RunRESOLVEOnLanguageFile(String targetFilePath,
@@ -89,7 +93,7 @@ public class RunRESOLVEOnLanguageFile extends Task.WithResult<Boolean, Exception
 
     @Override
     protected Boolean compute(@NotNull ProgressIndicator indicator) throws Exception {
-        return resolve(targetFilePath);
+        return resolve(targetFilePath, indicator);
     }
 
     //See "ImplementMethodsFix" in the intellij sources
@@ -99,13 +103,21 @@ public class RunRESOLVEOnLanguageFile extends Task.WithResult<Boolean, Exception
      * Writes set of generated files or empty set if error.
      */
     public Boolean resolve(String targetFilePath) {
+        return resolve(targetFilePath, null);
+    }
+
+    /**
+     * Same as {@link #resolve(String)}, but gives up as soon as {@code indicator} is canceled. The run isn't
+     * remembered by the {@link RESOLVECompilerSession}: what's wanted here is usually what it writes to disk, which a
+     * replayed run wouldn't.
+     */
+    public Boolean resolve(String targetFilePath, @Nullable ProgressIndicator indicator) {
         if (targetFilePath == null) return false;
         LOG.info("resolve(\"" + targetFilePath + "\")");
 
         // String sourcePath = ConfigRESOLVEPerLanguageFile.getParentDir(vfile);
 
         LOG.info("args: " + Utils.join(args, " "));
-        this.compiler = new RESOLVECompiler(args.toArray(new String[args.size()]));
         ConsoleView console = RESOLVEPluginController.getInstance(project).getConsole();
         RESOLVEPluginController.getInstance(project).console.clear(); //clear it for the current run
 
@@ -113,19 +125,28 @@ public class RunRESOLVEOnLanguageFile extends Task.WithResult<Boolean, Exception
 
         console.print(timeStamp + ": resolve " + Utils.join(args, " ") + "\n", ConsoleViewContentType.SYSTEM_OUTPUT);
 
-        compiler.removeListeners();
-        RunRESOLVEListener defaultListener = new RunRESOLVEListener(compiler, console);
-        compiler.addListener(defaultListener);
-        //add any additional listeners specified
-        if (!listeners.isEmpty()) {
-            for (RESOLVECompilerListener l : listeners) {
-                compiler.addListener(l);
+        RESOLVECompilerSession.Run run = RESOLVECompilerSession.getInstance(project).run(null, args, indicator);
+        this.compiler = run.getCompiler();
+        final RunRESOLVEListener defaultListener = new RunRESOLVEListener(compiler, console);
+        //replay to any additional listeners specified as well
+        List<RESOLVECompilerListener> all = new ArrayList<>();
+        all.add(defaultListener);
+        all.addAll(listeners);
+        run.replay(all.toArray(new RESOLVECompilerListener[all.size()]));
+        final VirtualFile target = LocalFileSystem.getInstance().findFileByPath(targetFilePath);
+        ApplicationManager.getApplication().invokeLater(new Runnable() {
+            @Override
+            public void run() {
+                if (project.isDisposed()) return;
+                ProblemsPanel problems = RESOLVEPluginController.getInstance(project).getProblemsPanel();
+                problems.clear();
+                problems.add(target, defaultListener.problems);
+                if (problems.hasProblems()) RESOLVEPluginController.showProblemsWindow(project);
             }
-        }
+        });
 
-        try {
-            compiler.processCommandLineTargets();
-        } catch (Throwable e) {
+        if (run.getFailure() != null) {
+            Throwable e = run.getFailure();
             StringWriter sw = new StringWriter();
             PrintWriter pw = new PrintWriter(sw);
             e.printStackTrace(pw);
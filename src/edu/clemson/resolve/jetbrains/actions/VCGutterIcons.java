@@ -0,0 +1,151 @@
+package edu.clemson.resolve.jetbrains.actions;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.actionSystem.ActionGroup;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.DefaultActionGroup;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.editor.EditorFactory;
+import com.intellij.openapi.editor.event.*;
+import com.intellij.openapi.editor.markup.GutterIconRenderer;
+import com.intellij.openapi.editor.markup.HighlighterLayer;
+import com.intellij.openapi.editor.markup.MarkupModel;
+import com.intellij.openapi.editor.markup.RangeHighlighter;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Disposer;
+import com.intellij.openapi.util.Key;
+import edu.clemson.resolve.jetbrains.RESOLVEIcons;
+import edu.clemson.resolve.jetbrains.RESOLVEPluginController;
+import edu.clemson.resolve.jetbrains.compiler.RESOLVEModuleRun;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The gutter icons the last VC generation left in one editor, one per line with verification conditions, each
+ * listing that line's vcs. Like {@link IssueHighlighter} there's at most one per editor (see {@link #getInstance});
+ * it lives until the editor is released or the project closes, and listens to the document just once. The first edit
+ * after the icons go up takes them down again, and puts the verifier panel back to how it started.
+ */
+final class VCGutterIcons implements Disposable {
+
+    private static final Key<VCGutterIcons> VC_GUTTER_ICONS = Key.create("RESOLVE_VC_GUTTER_ICONS");
+
+    @NotNull private final Editor editor;
+    @NotNull private final List<RangeHighlighter> highlighters = new ArrayList<>();
+
+    private final DocumentListener documentListener = new DocumentListener() {
+        @Override
+        public void beforeDocumentChange(DocumentEvent event) {
+        }
+
+        @Override
+        public void documentChanged(DocumentEvent event) {
+            if (highlighters.isEmpty()) return;
+            clear();
+            Project project = editor.getProject();
+            if (project == null || project.isDisposed()) return;
+            RESOLVEPluginController.getInstance(project).getVerifierPanel().revertToBaseGUI();
+        }
+    };
+
+    private VCGutterIcons(@NotNull Editor editor) {
+        this.editor = editor;
+        editor.getDocument().addDocumentListener(documentListener, this);
+    }
+
+    /** The vc gutter icons of {@code editor}, installed (on the event dispatch thread) the first time it's asked. */
+    @NotNull
+    static VCGutterIcons getInstance(@NotNull final Editor editor) {
+        VCGutterIcons result = editor.getUserData(VC_GUTTER_ICONS);
+        if (result != null) return result;
+        final VCGutterIcons created = new VCGutterIcons(editor);
+        editor.putUserData(VC_GUTTER_ICONS, created);
+        EditorFactory.getInstance().addEditorFactoryListener(new EditorFactoryAdapter() {
+            @Override
+            public void editorReleased(@NotNull EditorFactoryEvent event) {
+                if (event.getEditor() == editor) Disposer.dispose(created);
+            }
+        }, created);
+        Project project = editor.getProject();
+        if (project != null) Disposer.register(project, created);
+        return created;
+    }
+
+    /** Replaces the icons shown with one for each line that has some of {@code vcs}. */
+    void show(@NotNull List<RESOLVEModuleRun.VCInfo> vcs) {
+        clear();
+        Map<Integer, List<RESOLVEModuleRun.VCInfo>> byLine = new LinkedHashMap<>();
+        for (RESOLVEModuleRun.VCInfo vc : vcs) {
+            List<RESOLVEModuleRun.VCInfo> onLine = byLine.get(vc.getLine());
+            if (onLine == null) byLine.put(vc.getLine(), onLine = new ArrayList<>());
+            onLine.add(vc);
+        }
+        MarkupModel markup = editor.getMarkupModel();
+        for (Map.Entry<Integer, List<RESOLVEModuleRun.VCInfo>> vcsByLine : byLine.entrySet()) {
+            final List<AnAction> actionsPerVC = new ArrayList<>();
+            //create clickable actions for each vc
+            for (RESOLVEModuleRun.VCInfo vc : vcsByLine.getValue()) {
+                actionsPerVC.add(new GenerateVCsAction.VCNavigationAction(vc.getNumber(), vc.getExplanation()));
+            }
+            RangeHighlighter highlighter =
+                    markup.addLineHighlighter(vcsByLine.getKey() - 1, HighlighterLayer.ELEMENT_UNDER_CARET, null);
+            highlighter.setGutterIconRenderer(new GutterIconRenderer() {
+                @NotNull
+                @Override
+                public Icon getIcon() {
+                    return RESOLVEIcons.VC;
+                }
+
+                @Override
+                public boolean equals(Object obj) {
+                    return false;
+                }
+
+                @Override
+                public int hashCode() {
+                    return 0;
+                }
+
+                @Override
+                public boolean isNavigateAction() {
+                    return true;
+                }
+
+                @Nullable
+                public ActionGroup getPopupMenuActions() {
+                    DefaultActionGroup g = new DefaultActionGroup();
+                    g.addAll(actionsPerVC);
+                    return g;
+                }
+
+                @Nullable
+                public AnAction getClickAction() {
+                    return null;
+                }
+            });
+            highlighters.add(highlighter);
+        }
+    }
+
+    /** Removes every icon this shows; only our own, since the issues of the same run share the markup model. */
+    void clear() {
+        MarkupModel markup = editor.getMarkupModel();
+        for (RangeHighlighter h : highlighters) {
+            if (h.isValid()) markup.removeHighlighter(h);
+        }
+        highlighters.clear();
+    }
+
+    @Override
+    public void dispose() {
+        if (!editor.isDisposed()) clear();
+        highlighters.clear();
+        editor.putUserData(VC_GUTTER_ICONS, null);
+    }
+}
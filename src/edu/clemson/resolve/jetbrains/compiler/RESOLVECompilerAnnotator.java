@@ -0,0 +1,125 @@
+package edu.clemson.resolve.jetbrains.compiler;
+
+import com.intellij.lang.annotation.Annotation;
+import com.intellij.lang.annotation.AnnotationHolder;
+import com.intellij.lang.annotation.ExternalAnnotator;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleUtilCore;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import edu.clemson.resolve.jetbrains.psi.ResFile;
+import edu.clemson.resolve.jetbrains.sdk.RESOLVESdkService;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Shows the compiler's errors and warnings for a file as regular highlighting, without anyone having to ask for an
+ * analysis. The daemon decides when to run (once typing has paused), throws the results away if the file changes
+ * while the compiler is still at it, and clears them on its own once they no longer apply.
+ * <p>
+ * Runs go through the project's {@link RESOLVECompilerSession} with the same arguments {@code Analyze} uses, so the
+ * two share a warm compiler and each other's results. Results are also kept in the {@link RESOLVEResultCache}, so a
+ * file that hasn't changed since the ide last looked at it is highlighted without running the compiler at all.</p>
+ */
+public class RESOLVECompilerAnnotator
+        extends ExternalAnnotator<RESOLVECompilerAnnotator.Request, List<RESOLVEDiagnostic>> {
+
+    private static final Logger LOG = Logger.getInstance("RESOLVECompilerAnnotator");
+
+    @Nullable
+    @Override
+    public Request collectInformation(@NotNull PsiFile file, @NotNull Editor editor, boolean hasErrors) {
+        //no point asking the compiler about a file we already know won't parse
+        if (hasErrors || !(file instanceof ResFile)) return null;
+        VirtualFile vfile = file.getVirtualFile();
+        Project project = file.getProject();
+        if (vfile == null || !vfile.isInLocalFileSystem() || vfile.getCanonicalPath() == null) return null;
+
+        Module module = ModuleUtilCore.findModuleForFile(vfile, project);
+        if (!RESOLVESdkService.getInstance(project).isRESOLVEModule(module)) return null;
+
+        VirtualFile root = ProjectRootManager.getInstance(project).getFileIndex().getContentRootForFile(vfile);
+        if (root == null) root = vfile.getParent();
+        return new Request(project, vfile, Arrays.asList(vfile.getCanonicalPath(), "-lib", root.getPath()));
+    }
+
+    @Nullable
+    @Override
+    public List<RESOLVEDiagnostic> doAnnotate(@Nullable Request request) {
+        if (request == null || request.project.isDisposed()) return null;
+        RESOLVEResultCache cache = RESOLVEResultCache.getInstance(request.project);
+        String key = cache.computeKey(request.file, request.args);
+        RESOLVEModuleRun result = cache.get(key, request.file);
+        if (result == null) {
+            result = compile(request);
+            if (result == null) return null;
+            //only keep it if nothing changed while the compiler was at it
+            if (key.equals(cache.computeKey(request.file, request.args))) cache.put(key, result);
+        }
+        List<RESOLVEDiagnostic> diagnostics = new ArrayList<>();
+        for (RESOLVEDiagnostic d : result.getDiagnostics()) {
+            //those about the modules it uses aren't shown here
+            if (d.getSourcePath() == null || isPathOf(request.file, d.getSourcePath())) diagnostics.add(d);
+        }
+        return diagnostics;
+    }
+
+    @Override
+    public void apply(@NotNull PsiFile file,
+                      @Nullable List<RESOLVEDiagnostic> diagnostics,
+                      @NotNull AnnotationHolder holder) {
+        if (diagnostics == null) return;
+        int length = file.getTextLength();
+        for (RESOLVEDiagnostic d : diagnostics) {
+            TextRange range = d.getRange();
+            if (range == null) {
+                Annotation annotation = d.isError() ?
+                        holder.createErrorAnnotation(file, d.getText()) :
+                        holder.createWarningAnnotation(file, d.getText());
+                annotation.setFileLevelAnnotation(true);
+                continue;
+            }
+            if (range.getEndOffset() > length) continue; //stale; the daemon will be back with a fresh run
+            if (d.isError()) holder.createErrorAnnotation(range, d.getText());
+            else holder.createWarningAnnotation(range, d.getText());
+        }
+    }
+
+    @Nullable
+    private static RESOLVEModuleRun compile(@NotNull Request request) {
+        RESOLVEModuleRun run = RESOLVECompilerSession.getInstance(request.project)
+                .runDetached(request.file, request.args, ProgressManager.getInstance().getProgressIndicator());
+        if (run.getFailure() != null) {
+            LOG.info("compiler failed on " + request.file.getPath(), run.getFailure());
+            return null;
+        }
+        return run;
+    }
+
+    private static boolean isPathOf(@NotNull VirtualFile file, @NotNull String path) {
+        return path.equals(file.getPath()) || path.equals(file.getCanonicalPath());
+    }
+
+    /** What {@link #doAnnotate} needs, gathered under the read action {@link #collectInformation} runs in. */
+    static final class Request {
+        @NotNull final Project project;
+        @NotNull final VirtualFile file;
+        @NotNull final List<String> args;
+
+        Request(@NotNull Project project, @NotNull VirtualFile file, @NotNull List<String> args) {
+            this.project = project;
+            this.file = file;
+            this.args = args;
+        }
+    }
+}
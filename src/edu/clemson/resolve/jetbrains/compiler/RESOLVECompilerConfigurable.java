@@ -0,0 +1,83 @@
+package edu.clemson.resolve.jetbrains.compiler;
+
+import com.intellij.openapi.options.Configurable;
+import com.intellij.openapi.options.ConfigurationException;
+import com.intellij.util.ui.FormBuilder;
+import org.jetbrains.annotations.Nls;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+
+/** Settings | Tools | RESOLVE Compiler: whether compiles go to a {@link RESOLVECompilerDaemon}, and its heap. */
+public class RESOLVECompilerConfigurable implements Configurable {
+
+    private JCheckBox useDaemon;
+    private JSpinner heapMb;
+
+    @Nls
+    @Override
+    public String getDisplayName() {
+        return "RESOLVE Compiler";
+    }
+
+    @Nullable
+    @Override
+    public String getHelpTopic() {
+        return null;
+    }
+
+    @Nullable
+    @Override
+    public JComponent createComponent() {
+        useDaemon = new JCheckBox("Run the compiler in a separate process");
+        heapMb = new JSpinner(new SpinnerNumberModel(RESOLVECompilerSettings.getInstance().getDaemonHeapMb(),
+                RESOLVECompilerSettings.MIN_DAEMON_HEAP_MB, RESOLVECompilerSettings.MAX_DAEMON_HEAP_MB, 128));
+        useDaemon.addChangeListener(new ChangeListener() {
+            @Override
+            public void stateChanged(ChangeEvent e) {
+                heapMb.setEnabled(useDaemon.isSelected());
+            }
+        });
+        reset();
+        return FormBuilder.createFormBuilder()
+                .addComponent(useDaemon)
+                .addLabeledComponent("Maximum heap size (MB):", heapMb)
+                .addComponentFillVertically(new JPanel(), 0)
+                .getPanel();
+    }
+
+    @Override
+    public boolean isModified() {
+        RESOLVECompilerSettings settings = RESOLVECompilerSettings.getInstance();
+        return useDaemon.isSelected() != settings.isUseDaemon() || getHeapMb() != settings.getDaemonHeapMb();
+    }
+
+    @Override
+    public void apply() throws ConfigurationException {
+        RESOLVECompilerSettings settings = RESOLVECompilerSettings.getInstance();
+        settings.setUseDaemon(useDaemon.isSelected());
+        settings.setDaemonHeapMb(getHeapMb());
+        //a running daemon has the old heap (or isn't wanted anymore); the next compile starts one as configured
+        RESOLVECompilerDaemon.getInstance().stop();
+    }
+
+    @Override
+    public void reset() {
+        RESOLVECompilerSettings settings = RESOLVECompilerSettings.getInstance();
+        useDaemon.setSelected(settings.isUseDaemon());
+        heapMb.setValue(settings.getDaemonHeapMb());
+        heapMb.setEnabled(settings.isUseDaemon());
+    }
+
+    @Override
+    public void disposeUIResources() {
+        useDaemon = null;
+        heapMb = null;
+    }
+
+    private int getHeapMb() {
+        return ((Number) heapMb.getValue()).intValue();
+    }
+}
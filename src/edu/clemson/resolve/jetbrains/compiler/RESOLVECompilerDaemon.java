@@ -0,0 +1,381 @@
+package edu.clemson.resolve.jetbrains.compiler;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.util.SystemInfo;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.util.PathUtil;
+import edu.clemson.resolve.RESOLVECompiler;
+import org.antlr.v4.runtime.Token;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.stringtemplate.v4.ST;
+
+import java.io.*;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * A RESOLVE compiler running in a jvm of its own, for when {@link RESOLVECompilerSettings#isUseDaemon()} is set: its
+ * heap is capped (and kept apart from the editor's), and a runaway compile can't take the ide down with it. The
+ * daemon is started on the first compile and then kept warm for as long as the ide runs; if it dies (say, out of
+ * memory) the next compile starts a fresh one.
+ * <p>
+ * Compiles are streamed over a loopback socket (see {@link RESOLVEDaemonProtocol}), each on a connection of its own,
+ * so the daemon serves several at once. Its results come back detached, as {@link RESOLVEModuleRun}s, and each message
+ * is passed on as it arrives. Giving up on a compile (through its {@link ProgressIndicator}) hangs up on the daemon
+ * straight away; the compile itself finishes there, unheard. So does a compile the daemon goes quiet on for longer
+ * than {@link #IDLE_TIMEOUT_MS}, since a daemon that's hung would otherwise hang its caller too.</p>
+ */
+public class RESOLVECompilerDaemon implements Disposable {
+
+    private static final Logger LOG = Logger.getInstance("RESOLVECompilerDaemon");
+
+    private static final long START_TIMEOUT_MS = 30 * 1000;
+    private static final int CANCEL_CHECK_INTERVAL_MS = 50;
+    private static final long IDLE_TIMEOUT_MS = 5 * 60 * 1000;
+
+    //guarded by this
+    @Nullable private Process process;
+    @Nullable private Writer processInput;
+    @Nullable private Endpoint endpoint;
+
+    public static RESOLVECompilerDaemon getInstance() {
+        return ServiceManager.getService(RESOLVECompilerDaemon.class);
+    }
+
+    /** Returns {@code true} if compiles should go to the daemon rather than run inside the ide. */
+    public static boolean isEnabled() {
+        return RESOLVECompilerSettings.getInstance().isUseDaemon();
+    }
+
+    /**
+     * Compiles {@code file} with {@code args} (which should name {@code file} itself) in the daemon, starting it if it
+     * isn't running. Never throws on a compiler (or daemon) failure; see {@link RESOLVEModuleRun#getFailure()}.
+     */
+    @NotNull
+    public RESOLVEModuleRun compile(@NotNull VirtualFile file,
+                                    @NotNull List<String> args,
+                                    @Nullable ProgressIndicator indicator) {
+        return compile(file, args, indicator, null);
+    }
+
+    /** Same as {@link #compile(VirtualFile, List, ProgressIndicator)}, passing each message on to {@code listener}. */
+    @NotNull
+    public RESOLVEModuleRun compile(@NotNull VirtualFile file,
+                                    @NotNull List<String> args,
+                                    @Nullable ProgressIndicator indicator,
+                                    @Nullable RESOLVEModuleRun.Listener listener) {
+        long start = System.currentTimeMillis();
+        try {
+            Reply reply = request(args, indicator, listener);
+            return new RESOLVEModuleRun(file, reply.errorCount, reply.diagnostics, reply.vcs, reply.failure,
+                    System.currentTimeMillis() - start, false);
+        }
+        catch (IOException e) {
+            LOG.info("compiler daemon failed on " + file.getPath(), e);
+            return new RESOLVEModuleRun(file, 0, Collections.<RESOLVEDiagnostic>emptyList(), null, e,
+                    System.currentTimeMillis() - start, false);
+        }
+    }
+
+    /**
+     * Sends one compile to the daemon and collects everything it streams back, passing each message on to
+     * {@code listener} as it arrives.
+     */
+    @NotNull
+    Reply request(@NotNull List<String> args,
+                  @Nullable ProgressIndicator indicator,
+                  @Nullable RESOLVEModuleRun.Listener listener) throws IOException {
+        Endpoint target = ensureRunning();
+        Socket socket;
+        try {
+            socket = new Socket(InetAddress.getLoopbackAddress(), target.port);
+        }
+        catch (IOException e) {
+            //it may have died since the last compile without anyone noticing; one more go, on a fresh one
+            LOG.info("compiler daemon unreachable, restarting it", e);
+            stop();
+            target = ensureRunning();
+            socket = new Socket(InetAddress.getLoopbackAddress(), target.port);
+        }
+        try (Socket s = socket) {
+            s.setSoTimeout(CANCEL_CHECK_INTERVAL_MS);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream()));
+            RESOLVEDaemonProtocol.writeString(out, target.secret);
+            out.writeInt(args.size());
+            for (String arg : args) {
+                RESOLVEDaemonProtocol.writeString(out, arg);
+            }
+            out.flush();
+            DataInputStream in = new DataInputStream(new BufferedInputStream(
+                    new CancellableInputStream(s.getInputStream(), indicator)));
+            return readReply(in, indicator, listener);
+        }
+    }
+
+    @NotNull
+    static Reply readReply(@NotNull DataInputStream in,
+                           @Nullable ProgressIndicator indicator,
+                           @Nullable RESOLVEModuleRun.Listener listener) throws IOException {
+        Reply result = new Reply();
+        try {
+            while (!readFrame(in, result, indicator, listener)) ;
+        }
+        catch (EOFException e) {
+            throw new IOException("the compiler daemon quit partway through the compile", e);
+        }
+        return result;
+    }
+
+    /**
+     * Reads one frame from {@code in} into {@code reply}, passing it on to {@code listener} as well; returns whether
+     * it was the {@link RESOLVEDaemonProtocol#END} frame. Throws {@link EOFException} if {@code in} runs out first,
+     * leaving {@code reply} as it was.
+     */
+    static boolean readFrame(@NotNull DataInputStream in,
+                             @NotNull Reply reply,
+                             @Nullable ProgressIndicator indicator,
+                             @Nullable RESOLVEModuleRun.Listener listener) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case RESOLVEDaemonProtocol.INFO:
+                String info = RESOLVEDaemonProtocol.readString(in);
+                if (indicator != null) indicator.setText2(info);
+                if (listener != null) listener.info(info);
+                return false;
+            case RESOLVEDaemonProtocol.DIAGNOSTIC:
+                boolean error = in.readBoolean();
+                String text = RESOLVEDaemonProtocol.readString(in);
+                String sourcePath = StringUtil.nullize(RESOLVEDaemonProtocol.readString(in));
+                int start = in.readInt();
+                int end = in.readInt();
+                RESOLVEDiagnostic diagnostic = new RESOLVEDiagnostic(text, sourcePath, start, end, error);
+                reply.diagnostics.add(diagnostic);
+                if (listener != null) listener.diagnostic(diagnostic);
+                return false;
+            case RESOLVEDaemonProtocol.VC:
+                String number = RESOLVEDaemonProtocol.readString(in);
+                int line = in.readInt();
+                String explanation = RESOLVEDaemonProtocol.readString(in);
+                String vc = RESOLVEDaemonProtocol.readString(in);
+                if (reply.vcs == null) reply.vcs = new ArrayList<>();
+                RESOLVEModuleRun.VCInfo vcInfo = new RESOLVEModuleRun.VCInfo(number, line, explanation, vc);
+                reply.vcs.add(vcInfo);
+                if (listener != null) listener.vc(vcInfo);
+                return false;
+            case RESOLVEDaemonProtocol.END:
+                int errorCount = in.readInt();
+                boolean vcsGenerated = in.readBoolean();
+                String failure = RESOLVEDaemonProtocol.readString(in);
+                reply.errorCount = errorCount;
+                if (vcsGenerated && reply.vcs == null) reply.vcs = new ArrayList<>();
+                if (!failure.isEmpty()) reply.failure = new CompilerFailure(failure);
+                return true;
+            default:
+                throw new IOException("unexpected frame from the compiler daemon: " + tag);
+        }
+    }
+
+    @NotNull
+    private synchronized Endpoint ensureRunning() throws IOException {
+        if (process != null && endpoint != null && process.isAlive()) return endpoint;
+        if (process != null && !process.isAlive()) {
+            LOG.info("compiler daemon exited with " + process.exitValue() + ", starting a new one");
+        }
+        stop();
+
+        String secret = new BigInteger(130, new SecureRandom()).toString(32);
+        List<String> command = new ArrayList<>();
+        command.add(getJavaExecutable());
+        command.add("-Xmx" + RESOLVECompilerSettings.getInstance().getDaemonHeapMb() + "m");
+        command.add("-Djava.awt.headless=true");
+        command.add("-cp");
+        command.add(getClassPath());
+        command.add(RESOLVEDaemonMain.class.getName());
+        final Process started = new ProcessBuilder(command).start();
+        Writer input = new OutputStreamWriter(started.getOutputStream(), StandardCharsets.UTF_8);
+        input.write(secret + "\n");
+        input.flush();
+        drain(started.getErrorStream());
+
+        final BufferedReader output = new BufferedReader(
+                new InputStreamReader(started.getInputStream(), StandardCharsets.UTF_8));
+        Future<String> firstLine = ApplicationManager.getApplication().executeOnPooledThread(new Callable<String>() {
+            @Override
+            public String call() throws IOException {
+                return output.readLine();
+            }
+        });
+        String line;
+        try {
+            line = firstLine.get(START_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        }
+        catch (InterruptedException | ExecutionException | TimeoutException e) {
+            started.destroy();
+            throw new IOException("the compiler daemon didn't start", e);
+        }
+        if (line == null || !line.startsWith(RESOLVEDaemonProtocol.PORT_PREFIX)) {
+            started.destroy();
+            throw new IOException("the compiler daemon didn't start: " + line);
+        }
+        drain(output);
+        process = started;
+        processInput = input;
+        endpoint = new Endpoint(Integer.parseInt(line.substring(RESOLVEDaemonProtocol.PORT_PREFIX.length()).trim()),
+                secret);
+        LOG.info("compiler daemon started on port " + endpoint.port);
+        return endpoint;
+    }
+
+    /** Shuts the daemon down; the next compile starts a new one (with whatever the settings say by then). */
+    public synchronized void stop() {
+        if (processInput != null) {
+            try {
+                processInput.close();
+            }
+            catch (IOException ignored) {
+            }
+        }
+        if (process != null) process.destroy();
+        process = null;
+        processInput = null;
+        endpoint = null;
+    }
+
+    @Override
+    public void dispose() {
+        stop();
+    }
+
+    //logs whatever the daemon prints, mostly so its pipes never fill up
+    private static void drain(@NotNull InputStream stream) {
+        drain(new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8)));
+    }
+
+    private static void drain(@NotNull final BufferedReader reader) {
+        ApplicationManager.getApplication().executeOnPooledThread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        LOG.info("daemon: " + line);
+                    }
+                }
+                catch (IOException ignored) {
+                }
+            }
+        });
+    }
+
+    @NotNull
+    private static String getJavaExecutable() {
+        String java = SystemInfo.isWindows ? "java.exe" : "java";
+        return System.getProperty("java.home") + File.separator + "bin" + File.separator + java;
+    }
+
+    //the daemon's own class, and the compiler along with what it needs
+    @NotNull
+    private static String getClassPath() {
+        Set<String> entries = new LinkedHashSet<>();
+        entries.add(PathUtil.getJarPathForClass(RESOLVEDaemonMain.class));
+        entries.add(PathUtil.getJarPathForClass(RESOLVECompiler.class));
+        entries.add(PathUtil.getJarPathForClass(Token.class));
+        entries.add(PathUtil.getJarPathForClass(ST.class));
+        return StringUtil.join(entries, File.pathSeparator);
+    }
+
+    private static final class Endpoint {
+        final int port;
+        @NotNull final String secret;
+
+        Endpoint(int port, @NotNull String secret) {
+            this.port = port;
+            this.secret = secret;
+        }
+    }
+
+    /** Everything the daemon said about one compile. */
+    static final class Reply {
+        int errorCount;
+        @NotNull final List<RESOLVEDiagnostic> diagnostics = new ArrayList<>();
+        @Nullable List<RESOLVEModuleRun.VCInfo> vcs;
+        @Nullable Throwable failure;
+    }
+
+    /** The exception the compiler bailed out with in the daemon, as it described itself there. */
+    public static final class CompilerFailure extends Exception {
+        CompilerFailure(@NotNull String description) {
+            super(description);
+        }
+
+        @Override
+        public String toString() {
+            return getMessage();
+        }
+    }
+
+    /**
+     * Waits on the daemon in short slices, checking an indicator in between, so a canceled compile gives up without
+     * waiting on the daemon to finish it. A timed out read consumes nothing, so it's simply tried again, unless the
+     * daemon hasn't sent anything for {@link #IDLE_TIMEOUT_MS}.
+     */
+    private static final class CancellableInputStream extends FilterInputStream {
+        @Nullable private final ProgressIndicator indicator;
+        private long lastRead = System.currentTimeMillis();
+
+        CancellableInputStream(@NotNull InputStream in, @Nullable ProgressIndicator indicator) {
+            super(in);
+            this.indicator = indicator;
+        }
+
+        @Override
+        public int read() throws IOException {
+            while (true) {
+                try {
+                    int result = super.read();
+                    lastRead = System.currentTimeMillis();
+                    return result;
+                }
+                catch (SocketTimeoutException e) {
+                    waited(e);
+                }
+            }
+        }
+
+        @Override
+        public int read(@NotNull byte[] b, int off, int len) throws IOException {
+            while (true) {
+                try {
+                    int result = super.read(b, off, len);
+                    lastRead = System.currentTimeMillis();
+                    return result;
+                }
+                catch (SocketTimeoutException e) {
+                    waited(e);
+                }
+            }
+        }
+
+        private void waited(@NotNull SocketTimeoutException e) throws SocketTimeoutException {
+            if (indicator != null) indicator.checkCanceled();
+            if (System.currentTimeMillis() - lastRead > IDLE_TIMEOUT_MS) {
+                SocketTimeoutException quiet = new SocketTimeoutException(
+                        "the compiler daemon sent nothing for " + IDLE_TIMEOUT_MS + " ms");
+                quiet.initCause(e);
+                throw quiet;
+            }
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package edu.clemson.resolve.jetbrains.compiler;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.util.PathUtil;
+import edu.clemson.resolve.RESOLVECompiler;
+import org.antlr.v4.runtime.Token;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.stringtemplate.v4.ST;
+
+import java.io.*;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Runs the compiler an sdk ships with, for modules whose sdk has one other than the compiler bundled with the plugin
+ * (see {@link edu.clemson.resolve.jetbrains.sdk.RESOLVESdkService#getSdkCompilerJarPath}). Each such compiler gets a
+ * class loader of its own, apart from the ide's and the plugin's, and that loader is kept for as long as the ide runs,
+ * shared by every project on that sdk, so its classes are loaded (and its code compiled) once rather than on every
+ * run. Its classes are loaded in the background as soon as it's made, so the first analysis doesn't have to.
+ * <p>
+ * The ide can't touch another compiler's objects (its classes aren't the plugin's), so the compile itself goes through
+ * {@link RESOLVEDaemonMain#compile(String[], OutputStream)}, loaded alongside it, and comes back in the frames of the
+ * {@link RESOLVEDaemonProtocol}, as a detached {@link RESOLVEModuleRun}.</p>
+ */
+public class RESOLVECompilerLoader implements Disposable {
+
+    private static final Logger LOG = Logger.getInstance("RESOLVECompilerLoader");
+
+    /** Where the classes worth loading ahead of the first compile live in a compiler jar. */
+    private static final String[] PRELOADED_PACKAGES = {"edu/clemson/resolve/", "org/antlr/v4/runtime/"};
+
+    //guarded by this; by describe(jar), so a rebuilt jar gets a fresh loader
+    @NotNull private final Map<String, URLClassLoader> loaders = new HashMap<>();
+    private volatile boolean disposed = false;
+
+    public static RESOLVECompilerLoader getInstance() {
+        return ServiceManager.getService(RESOLVECompilerLoader.class);
+    }
+
+    /** The path of the compiler jar bundled with the plugin; what's used when an sdk doesn't say otherwise. */
+    @NotNull
+    public static String getBundledJarPath() {
+        return PathUtil.getJarPathForClass(RESOLVECompiler.class);
+    }
+
+    /**
+     * Returns {@code true} if {@code jarPath} names a compiler to run in a loader of its own: one that's there, and
+     * isn't the one the plugin bundles.
+     */
+    public static boolean isSeparateCompiler(@Nullable String jarPath) {
+        if (jarPath == null || !new File(jarPath).isFile()) return false;
+        File bundled = new File(getBundledJarPath());
+        return !FileUtil.pathsEqual(new File(jarPath).getAbsolutePath(), bundled.getAbsolutePath());
+    }
+
+    /** Tells one build of a compiler jar from another: its path, size and timestamp. */
+    @NotNull
+    public static String describe(@NotNull File jar) {
+        return jar.getPath() + ":" + jar.length() + ":" + jar.lastModified();
+    }
+
+    /**
+     * Compiles {@code file} with {@code args} (which should name {@code file} itself) on the compiler in
+     * {@code jarPath}, passing its messages on to {@code listener} (and {@code indicator}) as the compiler comes out
+     * with them. Never throws on a compiler failure; see {@link RESOLVEModuleRun#getFailure()}.
+     */
+    @NotNull
+    public RESOLVEModuleRun compile(@NotNull VirtualFile file,
+                                    @NotNull List<String> args,
+                                    @NotNull String jarPath,
+                                    @Nullable ProgressIndicator indicator,
+                                    @Nullable RESOLVEModuleRun.Listener listener) {
+        long start = System.currentTimeMillis();
+        Thread thread = Thread.currentThread();
+        ClassLoader contextLoader = thread.getContextClassLoader();
+        try {
+            ClassLoader loader = getClassLoader(new File(jarPath));
+            Method compile = loader.loadClass(RESOLVEDaemonMain.class.getName())
+                    .getMethod("compile", String[].class, OutputStream.class);
+            FrameDecoder frames = new FrameDecoder(indicator, listener);
+            //the compiler (or its templates) may look for resources through the context loader
+            thread.setContextClassLoader(loader);
+            compile.invoke(null, args.toArray(new String[args.size()]), frames);
+            RESOLVECompilerDaemon.Reply reply = frames.finish();
+            return new RESOLVEModuleRun(file, reply.errorCount, reply.diagnostics, reply.vcs, reply.failure,
+                    System.currentTimeMillis() - start, false);
+        }
+        catch (InvocationTargetException e) {
+            if (e.getCause() instanceof ProcessCanceledException) throw (ProcessCanceledException) e.getCause();
+            return failed(file, jarPath, e.getCause(), start);
+        }
+        catch (ReflectiveOperationException | IOException | LinkageError e) {
+            return failed(file, jarPath, e, start);
+        }
+        finally {
+            thread.setContextClassLoader(contextLoader);
+        }
+    }
+
+    @NotNull
+    private static RESOLVEModuleRun failed(@NotNull VirtualFile file,
+                                           @NotNull String jarPath,
+                                           @NotNull Throwable e,
+                                           long start) {
+        LOG.info("compiler " + jarPath + " failed on " + file.getPath(), e);
+        return new RESOLVEModuleRun(file, 0, Collections.<RESOLVEDiagnostic>emptyList(), null, e,
+                System.currentTimeMillis() - start, false);
+    }
+
+    /**
+     * The loader for the compiler in {@code jar}, made (and its classes loaded in the background) the first time it's
+     * asked for. Everything comes from the jar first; the plugin's own jar supplies {@link RESOLVEDaemonMain}, and the
+     * bundled antlr and stringtemplate anything the jar doesn't have itself. Nothing comes from the ide's loaders.
+     */
+    @NotNull
+    public synchronized ClassLoader getClassLoader(@NotNull File jar) throws IOException {
+        String version = describe(jar);
+        URLClassLoader result = loaders.get(version);
+        if (result != null) return result;
+        //an earlier build of the same jar is of no use anymore; compiles still on it keep it alive until they're done
+        String prefix = jar.getPath() + ":";
+        for (Iterator<String> it = loaders.keySet().iterator(); it.hasNext(); ) {
+            if (it.next().startsWith(prefix)) it.remove();
+        }
+        Set<URL> urls = new LinkedHashSet<>();
+        urls.add(jar.toURI().toURL());
+        urls.add(new File(PathUtil.getJarPathForClass(RESOLVEDaemonMain.class)).toURI().toURL());
+        urls.add(new File(PathUtil.getJarPathForClass(Token.class)).toURI().toURL());
+        urls.add(new File(PathUtil.getJarPathForClass(ST.class)).toURI().toURL());
+        result = new URLClassLoader(urls.toArray(new URL[urls.size()]), ClassLoader.getSystemClassLoader().getParent());
+        loaders.put(version, result);
+        LOG.info("loading compiler " + version);
+        preloadInBackground(jar, result);
+        return result;
+    }
+
+    @Override
+    public synchronized void dispose() {
+        disposed = true;
+        for (URLClassLoader loader : loaders.values()) {
+            try {
+                loader.close();
+            }
+            catch (IOException ignored) {
+            }
+        }
+        loaders.clear();
+    }
+
+    //loads (without initializing) the compiler's classes, so the first compile finds them ready
+    private void preloadInBackground(@NotNull final File jar, @NotNull final ClassLoader loader) {
+        ApplicationManager.getApplication().executeOnPooledThread(new Runnable() {
+            @Override
+            public void run() {
+                long start = System.currentTimeMillis();
+                int count = 0;
+                try (JarFile contents = new JarFile(jar)) {
+                    for (Enumeration<JarEntry> entries = contents.entries(); entries.hasMoreElements(); ) {
+                        if (disposed) return;
+                        String name = entries.nextElement().getName();
+                        if (!name.endsWith(".class") || !isPreloaded(name)) continue;
+                        try {
+                            Class.forName(name.substring(0, name.length() - ".class".length()).replace('/', '.'),
+                                    false, loader);
+                            count++;
+                        }
+                        catch (ClassNotFoundException | LinkageError ignored) {
+                            //something the compiler never uses without a library we don't have; not our concern
+                        }
+                    }
+                }
+                catch (IOException e) {
+                    LOG.info("couldn't preload compiler " + jar, e);
+                    return;
+                }
+                LOG.info("preloaded " + count + " classes of " + jar + " in " +
+                        (System.currentTimeMillis() - start) + " ms");
+            }
+        });
+    }
+
+    private static boolean isPreloaded(@NotNull String entry) {
+        for (String prefix : PRELOADED_PACKAGES) {
+            if (entry.startsWith(prefix)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Decodes the frames the compiler writes each time it flushes (it does after every frame), so they're passed on
+     * while it's still compiling rather than once it's done. Checks the indicator whenever the compiler has something
+     * to say, so a canceled compile stops at its next word.
+     */
+    private static final class FrameDecoder extends OutputStream {
+        @Nullable private final ProgressIndicator indicator;
+        @Nullable private final RESOLVEModuleRun.Listener listener;
+        @NotNull private final RESOLVECompilerDaemon.Reply reply = new RESOLVECompilerDaemon.Reply();
+        @NotNull private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+        private boolean ended = false;
+
+        FrameDecoder(@Nullable ProgressIndicator indicator, @Nullable RESOLVEModuleRun.Listener listener) {
+            this.indicator = indicator;
+            this.listener = listener;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (indicator != null) indicator.checkCanceled();
+            pending.write(b);
+        }
+
+        @Override
+        public void write(@NotNull byte[] b, int off, int len) throws IOException {
+            if (indicator != null) indicator.checkCanceled();
+            pending.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            decode();
+        }
+
+        /** Decodes whatever's left, and returns everything decoded; the compiler must have ended its reply. */
+        @NotNull
+        RESOLVECompilerDaemon.Reply finish() throws IOException {
+            decode();
+            if (!ended) throw new IOException("the compiler stopped partway through the compile");
+            return reply;
+        }
+
+        //decodes every complete frame pending, keeping the start of one still being written for next time
+        private void decode() throws IOException {
+            byte[] bytes = pending.toByteArray();
+            ByteArrayInputStream buffer = new ByteArrayInputStream(bytes);
+            DataInputStream in = new DataInputStream(buffer);
+            int consumed = 0;
+            while (!ended && consumed < bytes.length) {
+                try {
+                    ended = RESOLVECompilerDaemon.readFrame(in, reply, indicator, listener);
+                }
+                catch (EOFException e) {
+                    break;
+                }
+                consumed = bytes.length - buffer.available();
+            }
+            pending.reset();
+            pending.write(bytes, consumed, bytes.length - consumed);
+        }
+    }
+}
@@ -0,0 +1,930 @@
+package edu.clemson.resolve.jetbrains.compiler;
+
+import com.intellij.concurrency.JobScheduler;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.EditorFactory;
+import com.intellij.openapi.editor.event.DocumentAdapter;
+import com.intellij.openapi.editor.event.DocumentEvent;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleManager;
+import com.intellij.openapi.module.ModuleUtilCore;
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Computable;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.util.Function;
+import edu.clemson.resolve.RESOLVECompiler;
+import edu.clemson.resolve.compiler.RESOLVECompilerListener;
+import edu.clemson.resolve.compiler.RESOLVEMessage;
+import edu.clemson.resolve.jetbrains.psi.*;
+import edu.clemson.resolve.jetbrains.sdk.RESOLVESdkService;
+import edu.clemson.resolve.misc.Utils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * The one place in a project compiler runs go through. Two things are kept around between runs:
+ * <ul>
+ * <li>the last run itself, keyed by its arguments: if nothing that went into it has changed since (the target, every
+ * module it transitively uses, the realizations of the facilities it declares, and the sdk), the next identical
+ * request gets that run back, its messages replayed, instead of a fresh compile. Only the one is kept, since a run
+ * holds on to its whole compiler (the asts and symbol table of every module it read); and</li>
+ * <li>a warm compiler: the first run in a fresh ide otherwise pays for loading the compiler and running it
+ * interpreted, so {@link #warmUpInBackground()} gets that out of the way when a project with RESOLVE modules opens
+ * (in the {@link RESOLVECompilerDaemon}, if that's where compiles go).</li>
+ * </ul>
+ * Unsaved documents are compiled as they read in the editor, without saving them; see {@link RESOLVEShadowSources}.
+ * A request identical to one already in flight joins it instead of queuing a second compile, whichever compiler it's
+ * for, and a run whose inputs change before it's done is given up on. No more than one compile per core goes at once,
+ * compiles outside the session ({@link #compileModule}) included; runs that read unsaved documents also take turns,
+ * since they share the one mirror of them.
+ */
+public class RESOLVECompilerSession implements Disposable {
+
+    private static final Logger LOG = Logger.getInstance("RESOLVECompilerSession");
+
+    private static final int WARM_UP_RUNS = 3;
+    private static final String WARM_UP_MODULE = "Warm_Up";
+    private static final long WARM_UP_TIMEOUT_MS = 2 * 60 * 1000;
+    private static final long CANCEL_CHECK_INTERVAL_MS = 50;
+    private static final int MAX_CONCURRENT_COMPILES = Math.max(1, Runtime.getRuntime().availableProcessors());
+
+    @NotNull private final Project project;
+    /** Held by a run from mirroring its unsaved inputs until it's done compiling them. */
+    @NotNull private final Object mirrorLock = new Object();
+    @NotNull private final RESOLVEShadowSources shadowSources = new RESOLVEShadowSources();
+    @NotNull private final Semaphore slots = new Semaphore(MAX_CONCURRENT_COMPILES);
+    /** The runs being compiled (or waiting to be), by key; guarded by itself. */
+    @NotNull private final Map<String, Flight<Run>> flights = new HashMap<>();
+    /** As {@link #flights}, for runs on an sdk's compiler or in the daemon (see {@link #runDetached}); ditto. */
+    @NotNull private final Map<String, Flight<RESOLVEModuleRun>> detachedFlights = new HashMap<>();
+    /** The last run with a target, and its key; guarded by this. */
+    @Nullable private String lastRunKey;
+    @Nullable private Run lastRun;
+
+    public RESOLVECompilerSession(@NotNull Project project) {
+        this.project = project;
+        EditorFactory.getInstance().getEventMulticaster().addDocumentListener(new DocumentAdapter() {
+            @Override
+            public void documentChanged(DocumentEvent e) {
+                VirtualFile file = FileDocumentManager.getInstance().getFile(e.getDocument());
+                if (file != null) supersedeRunsReading(file);
+            }
+        }, this);
+    }
+
+    public static RESOLVECompilerSession getInstance(@NotNull Project project) {
+        return ServiceManager.getService(project, RESOLVECompilerSession.class);
+    }
+
+    /**
+     * Runs the compiler over {@code target} with {@code args} (which should name {@code target} itself), or hands
+     * back the last run with the same arguments if none of its inputs have changed since. Never throws on a compiler
+     * failure; see {@link Run#getFailure()}.
+     */
+    @NotNull
+    public Run run(@NotNull VirtualFile target, @NotNull List<String> args) {
+        return run(target, args, null);
+    }
+
+    /**
+     * Same as {@link #run(VirtualFile, List)}, but reports progress to {@code indicator} and gives up (with a
+     * {@link ProcessCanceledException}) as soon as it's canceled. The compiler itself can't be stopped partway, so a
+     * canceled run is left to finish on its own thread, where it's still remembered for the next identical request
+     * (unless some other run has come along since).
+     * It gives up the same way if the run it's waiting on is superseded (see {@link Flight}): by then its result would
+     * be out of date anyway.
+     * <p>
+     * A {@code null} target runs the compiler without remembering the result, for callers with nothing in the vfs to
+     * fingerprint.</p>
+     */
+    @NotNull
+    public Run run(@Nullable VirtualFile target,
+                   @NotNull List<String> args,
+                   @Nullable ProgressIndicator indicator) {
+        return run(target, args, indicator, null);
+    }
+
+    /**
+     * Same as {@link #run(VirtualFile, List, ProgressIndicator)}, but also tells {@code observer} about the run's
+     * messages as the compiler produces them, so callers can show the first errors while the rest of the run is still
+     * going. If this joins a run already underway (or gets an earlier one back) the observer hears what was said
+     * before it came along first.
+     */
+    @NotNull
+    public Run run(@Nullable VirtualFile target,
+                   @NotNull final List<String> args,
+                   @Nullable final ProgressIndicator indicator,
+                   @Nullable Observer observer) {
+        if (indicator != null) indicator.setText("Collecting compiler inputs");
+        final String key = Utils.join(args, " ");
+        final Inputs inputs = target != null ? collectInputs(target) : null;
+        if (indicator != null) {
+            indicator.checkCanceled();
+            indicator.setText("Waiting for the compiler");
+        }
+        if (inputs == null) {
+            final Broadcast broadcast = new Broadcast();
+            if (observer != null) broadcast.subscribe(observer);
+            return await(new Callable<Run>() {
+                @Override
+                public Run call() {
+                    return runInFlight(key, args, null, null, broadcast, indicator);
+                }
+            }, indicator);
+        }
+        Flight<Run> flight = join(flights, key, inputs, observer, new Function<Flight<Run>, Run>() {
+            @Override
+            public Run fun(Flight<Run> started) {
+                return runInFlight(key, args, inputs, started, started.broadcast, indicator);
+            }
+        });
+        return await(flight, indicator);
+    }
+
+    /**
+     * Same as {@link #run(VirtualFile, List, ProgressIndicator)}, but hands back a detached result whose diagnostics
+     * already name the project's files (see {@link #toSourcePath(String)}). When {@code target}'s sdk has a compiler
+     * of its own (see {@link RESOLVECompilerLoader}), or the {@link RESOLVECompilerDaemon} is enabled, the compile goes
+     * there instead; it still sees unsaved documents as they read in the editor, and identical requests still join
+     * the one compile (and give up on it once it's superseded) as they would in this process.
+     */
+    @NotNull
+    public RESOLVEModuleRun runDetached(@NotNull VirtualFile target,
+                                       @NotNull List<String> args,
+                                       @Nullable ProgressIndicator indicator) {
+        return runDetached(target, args, indicator, null);
+    }
+
+    /**
+     * Same as {@link #runDetached(VirtualFile, List, ProgressIndicator)}, but also tells {@code observer} about the
+     * run's messages as they come, as {@link #run(VirtualFile, List, ProgressIndicator, Observer)} does, wherever the
+     * compile goes.
+     */
+    @NotNull
+    public RESOLVEModuleRun runDetached(@NotNull final VirtualFile target,
+                                       @NotNull final List<String> args,
+                                       @Nullable final ProgressIndicator indicator,
+                                       @Nullable Observer observer) {
+        final String compilerJar = ApplicationManager.getApplication().runReadAction(new Computable<String>() {
+            @Override
+            public String compute() {
+                return getCompilerJar(project, target);
+            }
+        });
+        if (compilerJar == null && !RESOLVECompilerDaemon.isEnabled()) {
+            return detach(target, run(target, args, indicator, observer));
+        }
+        if (indicator != null) indicator.setText("Collecting compiler inputs");
+        final Inputs inputs = collectInputs(target);
+        if (indicator != null) {
+            indicator.checkCanceled();
+            indicator.setText(compilerJar != null ? "Running the sdk's compiler" : "Running the compiler daemon");
+        }
+        String key = Utils.join(args, " ");
+        Flight<RESOLVEModuleRun> flight = join(detachedFlights, key, inputs, observer,
+                new Function<Flight<RESOLVEModuleRun>, RESOLVEModuleRun>() {
+                    @Override
+                    public RESOLVEModuleRun fun(final Flight<RESOLVEModuleRun> started) {
+                        //nobody wants it anymore; don't bother
+                        if (started.superseded) throw new ProcessCanceledException();
+                        return compileReading(args, inputs, new Function<List<String>, RESOLVEModuleRun>() {
+                            @Override
+                            public RESOLVEModuleRun fun(List<String> compilerArgs) {
+                                acquireSlot(started.indicator);
+                                try {
+                                    RESOLVEModuleRun run = RESOLVEModuleRun.compile(target, compilerArgs, compilerJar,
+                                            started.indicator, new ForwardingListener(started.broadcast));
+                                    return run.withDiagnostics(toSourcePaths(run.getDiagnostics()));
+                                }
+                                finally {
+                                    slots.release();
+                                }
+                            }
+                        });
+                    }
+                });
+        return await(flight, indicator);
+    }
+
+    /**
+     * Joins the flight in {@code table} under {@code key} if it's reading the same {@code inputs}, otherwise starts
+     * (and files there) a new one, superseding the old, that does {@code task} on a pooled thread.
+     */
+    @NotNull
+    private <T> Flight<T> join(@NotNull final Map<String, Flight<T>> table,
+                               @NotNull final String key,
+                               @NotNull Inputs inputs,
+                               @Nullable Observer observer,
+                               @NotNull final Function<Flight<T>, T> task) {
+        synchronized (flights) {
+            Flight<T> flight = table.get(key);
+            if (flight != null && !flight.superseded && flight.inputs.fingerprint == inputs.fingerprint) {
+                LOG.info("joining in-flight run of: " + key);
+                if (observer != null) flight.broadcast.subscribe(observer);
+                return flight;
+            }
+            if (flight != null) flight.supersede();
+            final Flight<T> started = new Flight<>(inputs, new Broadcast());
+            if (observer != null) started.broadcast.subscribe(observer);
+            table.put(key, started);
+            started.result = ApplicationManager.getApplication().executeOnPooledThread(new Callable<T>() {
+                @Override
+                public T call() {
+                    try {
+                        return task.fun(started);
+                    }
+                    finally {
+                        synchronized (flights) {
+                            table.remove(key, started);
+                        }
+                    }
+                }
+            });
+            return started;
+        }
+    }
+
+    /**
+     * Does {@code compile} with {@code args}, redirected to the mirror of unsaved sources if any of {@code inputs} are
+     * unsaved. Runs that read the mirror take turns, since each rewrites it; the rest go straight ahead.
+     */
+    @NotNull
+    private <T> T compileReading(@NotNull List<String> args,
+                                 @Nullable Inputs inputs,
+                                 @NotNull Function<List<String>, T> compile) {
+        if (inputs == null || !inputs.unsaved) return compile.fun(args);
+        synchronized (mirrorLock) {
+            List<String> compilerArgs = args;
+            try {
+                compilerArgs = shadowSources.redirect(args, snapshot(inputs.files));
+            }
+            catch (IOException e) {
+                LOG.info("couldn't mirror unsaved sources, compiling what's on disk", e);
+            }
+            return compile.fun(compilerArgs);
+        }
+    }
+
+    //runs task on a pooled thread, giving up on it as soon as indicator is canceled
+    @NotNull
+    private static <T> T await(@NotNull Callable<T> task, @Nullable ProgressIndicator indicator) {
+        return await(ApplicationManager.getApplication().executeOnPooledThread(task), null, indicator);
+    }
+
+    //waits on flight, giving up as soon as indicator is canceled or something newer supersedes it
+    @NotNull
+    private static <T> T await(@NotNull Flight<T> flight, @Nullable ProgressIndicator indicator) {
+        return await(flight.result, flight, indicator);
+    }
+
+    @NotNull
+    private static <T> T await(@NotNull Future<T> pending,
+                               @Nullable Flight<T> flight,
+                               @Nullable ProgressIndicator indicator) {
+        while (true) {
+            if (indicator != null) indicator.checkCanceled();
+            if (flight != null && flight.superseded) throw new ProcessCanceledException();
+            try {
+                return pending.get(CANCEL_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            }
+            catch (TimeoutException ignored) {
+            }
+            catch (InterruptedException e) {
+                throw new ProcessCanceledException(e);
+            }
+            catch (ExecutionException e) {
+                if (e.getCause() instanceof ProcessCanceledException) throw (ProcessCanceledException) e.getCause();
+                throw new RuntimeException(e.getCause());
+            }
+        }
+    }
+
+    @NotNull
+    private RESOLVEModuleRun detach(@NotNull VirtualFile target, @NotNull Run run) {
+        final RESOLVECompiler compiler = run.getCompiler();
+        final List<RESOLVEDiagnostic> diagnostics = new ArrayList<>();
+        run.replay(new RESOLVECompilerListener() {
+            @Override
+            public void info(String msg) {
+            }
+
+            @Override
+            public void error(RESOLVEMessage msg) {
+                diagnostics.add(RESOLVEDiagnostic.of(compiler, msg, true));
+            }
+
+            @Override
+            public void warning(RESOLVEMessage msg) {
+                diagnostics.add(RESOLVEDiagnostic.of(compiler, msg, false));
+            }
+        });
+        return RESOLVEModuleRun.of(target, compiler, toSourcePaths(diagnostics), run.getFailure(), 0);
+    }
+
+    @NotNull
+    private List<RESOLVEDiagnostic> toSourcePaths(@NotNull List<RESOLVEDiagnostic> diagnostics) {
+        List<RESOLVEDiagnostic> result = new ArrayList<>(diagnostics.size());
+        for (RESOLVEDiagnostic d : diagnostics) {
+            String path = d.getSourcePath();
+            result.add(path != null ? d.withSourcePath(toSourcePath(path)) : d);
+        }
+        return result;
+    }
+
+    @NotNull
+    private Run runInFlight(@NotNull String key,
+                            @NotNull List<String> args,
+                            @Nullable final Inputs inputs,
+                            @Nullable final Flight<Run> flight,
+                            @NotNull final Broadcast broadcast,
+                            @Nullable final ProgressIndicator indicator) {
+        //nobody wants it anymore; don't bother
+        if (flight != null && flight.superseded) throw new ProcessCanceledException();
+        if (inputs != null) {
+            Run previous = getRemembered(key);
+            if (previous != null && previous.fingerprint == inputs.fingerprint) {
+                LOG.info("reusing previous run of: " + key);
+                broadcast.replay(previous);
+                return previous.reused();
+            }
+        }
+        Run run = compileReading(args, inputs, new Function<List<String>, Run>() {
+            @Override
+            public Run fun(List<String> compilerArgs) {
+                acquireSlot(flight != null ? flight.indicator : null);
+                if (indicator != null) indicator.setText("Running the compiler");
+                try {
+                    return compile(compilerArgs, inputs != null ? inputs.fingerprint : 0, indicator, broadcast);
+                }
+                finally {
+                    slots.release();
+                }
+            }
+        });
+        if (inputs != null) remember(key, run.getFailure() == null ? run : null);
+        return run;
+    }
+
+    /**
+     * Compiles {@code file} with {@code args} on its own (not through the session's cache or mirror; it reads what's on
+     * disk), once one of the project's compiler slots is free, on its sdk's compiler if that has one of its own.
+     * Batch runs and builds go through here, so that however many are going at once they don't run more compiles side
+     * by side than the project has slots for.
+     */
+    @NotNull
+    public RESOLVEModuleRun compileModule(@NotNull final VirtualFile file,
+                                          @NotNull List<String> args,
+                                          @NotNull ProgressIndicator indicator) {
+        String compilerJar = ApplicationManager.getApplication().runReadAction(new Computable<String>() {
+            @Override
+            public String compute() {
+                return getCompilerJar(project, file);
+            }
+        });
+        acquireSlot(indicator);
+        try {
+            return RESOLVEModuleRun.compile(file, args, compilerJar, indicator);
+        }
+        finally {
+            slots.release();
+        }
+    }
+
+    private void acquireSlot(@Nullable ProgressIndicator indicator) {
+        if (indicator == null) {
+            slots.acquireUninterruptibly();
+            return;
+        }
+        while (true) {
+            indicator.checkCanceled();
+            try {
+                if (slots.tryAcquire(CANCEL_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS)) return;
+            }
+            catch (InterruptedException e) {
+                throw new ProcessCanceledException(e);
+            }
+        }
+    }
+
+    /**
+     * Returns the path of the file the compiler read as {@code path}; the two differ when a run read some of its
+     * inputs from unsaved documents (see {@link RESOLVEShadowSources}). Anything that compares the source names of
+     * the compiler's tokens against files in the project should go through this.
+     */
+    @NotNull
+    public String toSourcePath(@NotNull String path) {
+        return shadowSources.toSourcePath(path);
+    }
+
+    @Override
+    public void dispose() {
+        shadowSources.dispose();
+    }
+
+    /** Forgets the remembered run; the next request compiles from scratch. */
+    public synchronized void clear() {
+        lastRunKey = null;
+        lastRun = null;
+    }
+
+    @Nullable
+    private synchronized Run getRemembered(@NotNull String key) {
+        return key.equals(lastRunKey) ? lastRun : null;
+    }
+
+    //a null run just forgets whatever was remembered under key
+    private synchronized void remember(@NotNull String key, @Nullable Run run) {
+        if (run == null && !key.equals(lastRunKey)) return;
+        lastRunKey = run != null ? key : null;
+        lastRun = run;
+    }
+
+    //whatever these come up with would be out of date before anyone saw it
+    private void supersedeRunsReading(@NotNull VirtualFile file) {
+        synchronized (flights) {
+            List<Flight<?>> all = new ArrayList<Flight<?>>(flights.values());
+            all.addAll(detachedFlights.values());
+            for (Flight<?> flight : all) {
+                if (flight.inputs.files.contains(file)) flight.supersede();
+            }
+        }
+    }
+
+    public void warmUpInBackground() {
+        ApplicationManager.getApplication().executeOnPooledThread(new Runnable() {
+            @Override
+            public void run() {
+                warmUp();
+            }
+        });
+    }
+
+    @NotNull
+    private static Run compile(@NotNull List<String> args,
+                               long fingerprint,
+                               @Nullable ProgressIndicator indicator,
+                               @Nullable Broadcast broadcast) {
+        RESOLVECompiler compiler = new RESOLVECompiler(args.toArray(new String[args.size()]));
+        if (broadcast != null) broadcast.started(compiler);
+        RecordingListener recorder = new RecordingListener(indicator, broadcast);
+        compiler.removeListeners();
+        compiler.addListener(recorder);
+        Throwable failure = null;
+        try {
+            compiler.processCommandLineTargets();
+        }
+        catch (Throwable e) {
+            failure = e;
+        }
+        return new Run(compiler, recorder.events, failure, fingerprint, false);
+    }
+
+    //compiles a throwaway module a few times over, so the compiler's classes are loaded and its hot paths compiled;
+    //only for projects with a module on a RESOLVE sdk, and given up on (daemon and all) if it takes too long
+    private void warmUp() {
+        if (!usesRESOLVESdk()) return;
+        //an sdk's own compiler just has its classes loaded; there's no telling what its modules should look like
+        for (String jar : getSdkCompilerJars()) {
+            try {
+                RESOLVECompilerLoader.getInstance().getClassLoader(new File(jar));
+            }
+            catch (IOException e) {
+                LOG.info("couldn't load compiler " + jar, e);
+            }
+        }
+        File dir = null;
+        final ProgressIndicator indicator = new EmptyProgressIndicator();
+        ScheduledFuture<?> timeout = JobScheduler.getScheduler().schedule(new Runnable() {
+            @Override
+            public void run() {
+                indicator.cancel();
+            }
+        }, WARM_UP_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        try {
+            dir = FileUtil.createTempDirectory("resolve-warm-up", null, false);
+            File module = new File(dir, WARM_UP_MODULE + ".resolve");
+            FileUtil.writeToFile(module, "Precis " + WARM_UP_MODULE + ";\n" +
+                    "    Definition f(x : N) : N;\n" +
+                    "    Definition g(x, y : N) : B is f(x) = f(y);\n" +
+                    "end " + WARM_UP_MODULE + ";\n");
+            List<String> args = Arrays.asList(module.getPath(), "-lib", dir.getPath());
+            for (int i = 0; i < WARM_UP_RUNS && !project.isDisposed(); i++) {
+                indicator.checkCanceled();
+                if (RESOLVECompilerDaemon.isEnabled()) {
+                    RESOLVECompilerDaemon.getInstance().request(args, indicator, null);
+                    continue;
+                }
+                acquireSlot(indicator);
+                try {
+                    compile(args, 0, null, null);
+                }
+                finally {
+                    slots.release();
+                }
+            }
+        }
+        catch (ProcessCanceledException e) {
+            LOG.info("compiler warm up took over " + WARM_UP_TIMEOUT_MS + " ms, giving up on it");
+        }
+        catch (IOException | RuntimeException e) {
+            LOG.info("compiler warm up failed", e);
+        }
+        finally {
+            timeout.cancel(false);
+            if (dir != null) FileUtil.delete(dir);
+        }
+    }
+
+    //whether any of the project's modules is a RESOLVE module with a RESOLVE sdk
+    private boolean usesRESOLVESdk() {
+        return ApplicationManager.getApplication().runReadAction(new Computable<Boolean>() {
+            @Override
+            public Boolean compute() {
+                if (project.isDisposed()) return false;
+                RESOLVESdkService sdkService = RESOLVESdkService.getInstance(project);
+                for (Module module : ModuleManager.getInstance(project).getModules()) {
+                    if (sdkService.isRESOLVEModule(module) && sdkService.getSdkHomePath(module) != null) return true;
+                }
+                return false;
+            }
+        });
+    }
+
+    //the compilers of their own the sdks of the project's modules have
+    @NotNull
+    private Set<String> getSdkCompilerJars() {
+        return ApplicationManager.getApplication().runReadAction(new Computable<Set<String>>() {
+            @Override
+            public Set<String> compute() {
+                Set<String> result = new LinkedHashSet<>();
+                if (project.isDisposed()) return result;
+                RESOLVESdkService sdkService = RESOLVESdkService.getInstance(project);
+                for (Module module : ModuleManager.getInstance(project).getModules()) {
+                    String jar = sdkService.getSdkCompilerJarPath(module);
+                    if (RESOLVECompilerLoader.isSeparateCompiler(jar)) result.add(jar);
+                }
+                return result;
+            }
+        });
+    }
+
+    /**
+     * The compiler jar of {@code file}'s sdk, if that's a compiler of its own (see {@link RESOLVECompilerLoader});
+     * {@code null} if runs of {@code file} are for the plugin's compiler. Needs a read action.
+     */
+    @Nullable
+    static String getCompilerJar(@NotNull Project project, @NotNull VirtualFile file) {
+        Module module = ModuleUtilCore.findModuleForFile(file, project);
+        String jar = RESOLVESdkService.getInstance(project).getSdkCompilerJarPath(module);
+        return RESOLVECompilerLoader.isSeparateCompiler(jar) ? jar : null;
+    }
+
+    /**
+     * Gathers everything a run of {@code target} reads: it and every module it reaches through uses clauses and
+     * facility declarations, hashed (along with the sdk's modification count) into a fingerprint. An input that's open
+     * with unsaved changes counts by its document rather than the file on disk, since that's what the run will see.
+     */
+    @NotNull
+    private Inputs collectInputs(@NotNull final VirtualFile target) {
+        return ApplicationManager.getApplication().runReadAction(new Computable<Inputs>() {
+            @Override
+            public Inputs compute() {
+                FileDocumentManager docMgr = FileDocumentManager.getInstance();
+                long fingerprint = RESOLVESdkService.getInstance(project).getModificationCount();
+                boolean unsaved = false;
+                Collection<VirtualFile> files = collectInputFiles(project, target);
+                for (VirtualFile file : files) {
+                    Document doc = docMgr.getCachedDocument(file);
+                    fingerprint = 31 * fingerprint + file.getPath().hashCode();
+                    if (doc != null && docMgr.isDocumentUnsaved(doc)) {
+                        fingerprint = 31 * fingerprint - doc.getModificationStamp();
+                        unsaved = true;
+                    }
+                    else {
+                        fingerprint = 31 * fingerprint + file.getModificationStamp();
+                    }
+                }
+                return new Inputs(new ArrayList<>(files), fingerprint, unsaved);
+            }
+        });
+    }
+
+    //captures what each input reads as right now: the text of unsaved documents, and which version of the rest
+    @NotNull
+    private static List<RESOLVEShadowSources.Source> snapshot(@NotNull final List<VirtualFile> files) {
+        return ApplicationManager.getApplication().runReadAction(
+                new Computable<List<RESOLVEShadowSources.Source>>() {
+                    @Override
+                    public List<RESOLVEShadowSources.Source> compute() {
+                        FileDocumentManager docMgr = FileDocumentManager.getInstance();
+                        List<RESOLVEShadowSources.Source> result = new ArrayList<>();
+                        for (VirtualFile file : files) {
+                            if (!file.isValid() || !file.isInLocalFileSystem()) continue;
+                            Document doc = docMgr.getCachedDocument(file);
+                            if (doc != null && docMgr.isDocumentUnsaved(doc)) {
+                                result.add(new RESOLVEShadowSources.Source(file.getPath(), doc.getText(),
+                                        "document:" + doc.getModificationStamp()));
+                            }
+                            else {
+                                result.add(new RESOLVEShadowSources.Source(file.getPath(), null,
+                                        "file:" + file.getModificationStamp()));
+                            }
+                        }
+                        return result;
+                    }
+                });
+    }
+
+    /**
+     * {@code target} and every module it reaches through uses clauses and facility declarations: the files a run of
+     * {@code target} reads. Needs a read action.
+     */
+    @NotNull
+    static Collection<VirtualFile> collectInputFiles(@NotNull Project project, @NotNull VirtualFile target) {
+        Set<VirtualFile> result = new LinkedHashSet<>();
+        result.add(target);
+        PsiFile psiFile = PsiManager.getInstance(project).findFile(target);
+        if (!(psiFile instanceof ResFile)) return result;
+
+        Deque<ResFile> worklist = new ArrayDeque<>();
+        Set<ResFile> seen = new HashSet<>();
+        worklist.add((ResFile) psiFile);
+        while (!worklist.isEmpty()) {
+            ResFile file = worklist.removeFirst();
+            if (!seen.add(file)) continue;
+            addFile(result, file);
+            for (ResImportClosure.Entry e : file.getImportClosure().getEntries()) {
+                worklist.add(e.getFile());
+            }
+            ResModuleDecl module = file.getEnclosedModule();
+            if (module == null) continue;
+            for (ResFacilityDecl facility : module.getFacilities()) {
+                ResFile impl = facility.resolveImplementation();
+                if (impl != null) worklist.add(impl);
+            }
+        }
+        return result;
+    }
+
+    private static void addFile(@NotNull Set<VirtualFile> result, @NotNull ResFile file) {
+        VirtualFile vfile = file.getVirtualFile();
+        if (vfile != null) result.add(vfile);
+    }
+
+    private static final class Inputs {
+        @NotNull final List<VirtualFile> files;
+        final long fingerprint;
+        final boolean unsaved;
+
+        Inputs(@NotNull List<VirtualFile> files, long fingerprint, boolean unsaved) {
+            this.files = files;
+            this.fingerprint = fingerprint;
+            this.unsaved = unsaved;
+        }
+    }
+
+    /**
+     * A run being compiled (or waiting on the compiler), which identical requests join rather than start another. It's
+     * superseded once a newer request with the same arguments but different inputs comes along, or one of its inputs
+     * is edited: anyone still waiting on it gives up, and if it hasn't started yet, it never does. Its own indicator is
+     * canceled then too, which stops it waiting on a compiler slot, and stops a compile in the daemon.
+     */
+    private static final class Flight<T> {
+        @NotNull final Inputs inputs;
+        @NotNull final Broadcast broadcast;
+        @NotNull final ProgressIndicator indicator = new EmptyProgressIndicator();
+        Future<T> result;
+        volatile boolean superseded;
+
+        Flight(@NotNull Inputs inputs, @NotNull Broadcast broadcast) {
+            this.inputs = inputs;
+            this.broadcast = broadcast;
+        }
+
+        void supersede() {
+            superseded = true;
+            indicator.cancel();
+        }
+    }
+
+    /**
+     * Hears about a run's messages as the compiler produces them; see
+     * {@link #run(VirtualFile, List, ProgressIndicator, Observer)}. Called on whichever thread the run is on.
+     */
+    public interface Observer {
+        /**
+         * The run is starting on {@code compiler}; called once, before anything else, and only for runs compiled in
+         * this process. Don't hold on to it.
+         */
+        void started(@NotNull RESOLVECompiler compiler);
+
+        void info(@NotNull String msg);
+
+        /** An error or warning, rendered, and naming the project's file (see {@link #toSourcePath(String)}). */
+        void diagnostic(@NotNull RESOLVEDiagnostic diagnostic);
+    }
+
+    /** Passes a run's messages on to its observers as they come, telling late subscribers what they missed. */
+    private final class Broadcast {
+        @NotNull private final List<Event> events = new ArrayList<>();
+        @NotNull private final List<Observer> observers = new ArrayList<>();
+        @Nullable private RESOLVECompiler compiler;
+
+        synchronized void subscribe(@NotNull Observer observer) {
+            observers.add(observer);
+            if (compiler != null) observer.started(compiler);
+            for (Event event : events) {
+                deliver(event, observer);
+            }
+        }
+
+        synchronized void started(@NotNull RESOLVECompiler compiler) {
+            this.compiler = compiler;
+            for (Observer observer : observers) {
+                observer.started(compiler);
+            }
+        }
+
+        synchronized void add(@NotNull Event event) {
+            events.add(event);
+            for (Observer observer : observers) {
+                deliver(event, observer);
+            }
+        }
+
+        void replay(@NotNull Run run) {
+            started(run.compiler);
+            for (Event event : run.events) {
+                add(event);
+            }
+        }
+
+        private void deliver(@NotNull Event event, @NotNull Observer observer) {
+            if (event.msg == null && event.rendered == null) {
+                if (event.info != null) observer.info(event.info);
+                return;
+            }
+            if (event.rendered == null && compiler != null) {
+                RESOLVEDiagnostic d = RESOLVEDiagnostic.of(compiler, event.msg, event.error);
+                event.rendered = d.getSourcePath() != null ? d.withSourcePath(toSourcePath(d.getSourcePath())) : d;
+            }
+            if (event.rendered != null) observer.diagnostic(event.rendered);
+        }
+    }
+
+    /** The outcome of a compiler run: the compiler it was done with and every message it produced. */
+    public static final class Run {
+        @NotNull private final RESOLVECompiler compiler;
+        @NotNull private final List<Event> events;
+        @Nullable private final Throwable failure;
+        private final long fingerprint;
+        private final boolean reused;
+
+        private Run(@NotNull RESOLVECompiler compiler,
+                    @NotNull List<Event> events,
+                    @Nullable Throwable failure,
+                    long fingerprint,
+                    boolean reused) {
+            this.compiler = compiler;
+            this.events = events;
+            this.failure = failure;
+            this.fingerprint = fingerprint;
+            this.reused = reused;
+        }
+
+        @NotNull
+        private Run reused() {
+            return new Run(compiler, events, failure, fingerprint, true);
+        }
+
+        @NotNull
+        public RESOLVECompiler getCompiler() {
+            return compiler;
+        }
+
+        /** The exception the compiler bailed out with, if it did. */
+        @Nullable
+        public Throwable getFailure() {
+            return failure;
+        }
+
+        /** Returns {@code true} if this run was handed back from an earlier, identical request. */
+        public boolean isReused() {
+            return reused;
+        }
+
+        /** Feeds every message of this run, in the order the compiler produced them, to {@code listeners}. */
+        public void replay(@NotNull RESOLVECompilerListener... listeners) {
+            for (Event event : events) {
+                for (RESOLVECompilerListener listener : listeners) {
+                    if (event.msg == null) listener.info(event.info);
+                    else if (event.error) listener.error(event.msg);
+                    else listener.warning(event.msg);
+                }
+            }
+        }
+    }
+
+    /**
+     * An info line (when {@code msg} is null) or an error or warning, as the compiler reported it; or, from a compile
+     * outside this process, one already rendered.
+     */
+    private static final class Event {
+        @Nullable final String info;
+        @Nullable final RESOLVEMessage msg;
+        final boolean error;
+        /** {@link #msg}, rendered, once some observer has wanted it. */
+        @Nullable volatile RESOLVEDiagnostic rendered;
+
+        Event(@Nullable String info, @Nullable RESOLVEMessage msg, boolean error) {
+            this.info = info;
+            this.msg = msg;
+            this.error = error;
+        }
+
+        Event(@NotNull RESOLVEDiagnostic rendered) {
+            this(null, null, rendered.isError());
+            this.rendered = rendered;
+        }
+    }
+
+    /**
+     * Passes what a compile outside this process says on to a {@link Broadcast}, its diagnostics renamed for the
+     * project's files (see {@link #toSourcePath(String)}).
+     */
+    private final class ForwardingListener implements RESOLVEModuleRun.Listener {
+        @NotNull private final Broadcast broadcast;
+
+        ForwardingListener(@NotNull Broadcast broadcast) {
+            this.broadcast = broadcast;
+        }
+
+        @Override
+        public void info(@NotNull String msg) {
+            broadcast.add(new Event(msg, null, false));
+        }
+
+        @Override
+        public void diagnostic(@NotNull RESOLVEDiagnostic d) {
+            String path = d.getSourcePath();
+            broadcast.add(new Event(path != null ? d.withSourcePath(toSourcePath(path)) : d));
+        }
+
+        @Override
+        public void vc(@NotNull RESOLVEModuleRun.VCInfo vc) {
+        }
+    }
+
+    /**
+     * Records everything the compiler says, passing each message on to the run's {@link Broadcast} as it comes. Its
+     * info lines are the only sign of how far along it is (which phase, which module), so they're also passed on to
+     * the indicator of whoever's waiting.
+     */
+    private static class RecordingListener implements RESOLVECompilerListener {
+        final List<Event> events = new ArrayList<>();
+        @Nullable private final ProgressIndicator indicator;
+        @Nullable private final Broadcast broadcast;
+
+        RecordingListener(@Nullable ProgressIndicator indicator, @Nullable Broadcast broadcast) {
+            this.indicator = indicator;
+            this.broadcast = broadcast;
+        }
+
+        @Override
+        public void info(String msg) {
+            record(new Event(msg, null, false));
+            if (indicator != null && msg != null) indicator.setText2(msg);
+        }
+
+        @Override
+        public void error(RESOLVEMessage msg) {
+            record(new Event(null, msg, true));
+        }
+
+        @Override
+        public void warning(RESOLVEMessage msg) {
+            record(new Event(null, msg, false));
+        }
+
+        private void record(@NotNull Event event) {
+            events.add(event);
+            if (broadcast != null) broadcast.add(event);
+        }
+    }
+}
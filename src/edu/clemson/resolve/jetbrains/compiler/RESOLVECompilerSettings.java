@@ -0,0 +1,62 @@
+package edu.clemson.resolve.jetbrains.compiler;
+
+import com.intellij.openapi.components.PersistentStateComponent;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.components.State;
+import com.intellij.openapi.components.Storage;
+import com.intellij.openapi.components.StoragePathMacros;
+import com.intellij.util.xmlb.XmlSerializerUtil;
+import edu.clemson.resolve.jetbrains.RESOLVEConstants;
+import org.jetbrains.annotations.NotNull;
+
+/** How (and where) the ide runs the RESOLVE compiler; see {@link RESOLVECompilerDaemon}. */
+@State(
+        name = RESOLVEConstants.RESOLVE_COMPILER_SETTINGS_NAME,
+        storages = @Storage(file = StoragePathMacros.APP_CONFIG + "/" +
+                RESOLVEConstants.RESOLVE_COMPILER_CONFIG_FILE)
+)
+public class RESOLVECompilerSettings implements PersistentStateComponent<RESOLVECompilerSettings.SettingsState> {
+
+    public static final int MIN_DAEMON_HEAP_MB = 128;
+    public static final int MAX_DAEMON_HEAP_MB = 32 * 1024;
+
+    @NotNull private final SettingsState state = new SettingsState();
+
+    public static RESOLVECompilerSettings getInstance() {
+        return ServiceManager.getService(RESOLVECompilerSettings.class);
+    }
+
+    @NotNull
+    @Override
+    public SettingsState getState() {
+        return state;
+    }
+
+    @Override
+    public void loadState(SettingsState state) {
+        XmlSerializerUtil.copyBean(state, this.state);
+    }
+
+    /** Returns {@code true} if compiles should go to a compiler daemon rather than run inside the ide. */
+    public boolean isUseDaemon() {
+        return state.useDaemon;
+    }
+
+    public void setUseDaemon(boolean useDaemon) {
+        state.useDaemon = useDaemon;
+    }
+
+    /** The maximum heap of the daemon's jvm, in megabytes. */
+    public int getDaemonHeapMb() {
+        return Math.max(MIN_DAEMON_HEAP_MB, Math.min(MAX_DAEMON_HEAP_MB, state.daemonHeapMb));
+    }
+
+    public void setDaemonHeapMb(int daemonHeapMb) {
+        state.daemonHeapMb = daemonHeapMb;
+    }
+
+    public static class SettingsState {
+        public boolean useDaemon = false;
+        public int daemonHeapMb = 1024;
+    }
+}
@@ -0,0 +1,233 @@
+package edu.clemson.resolve.jetbrains.compiler;
+
+import edu.clemson.resolve.RESOLVECompiler;
+import edu.clemson.resolve.compiler.RESOLVECompilerListener;
+import edu.clemson.resolve.compiler.RESOLVEMessage;
+import edu.clemson.resolve.vcgen.VC;
+import edu.clemson.resolve.vcgen.VCOutputFile;
+import org.antlr.v4.runtime.Token;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * The entry point of the compiler daemon the ide starts (see {@link RESOLVECompilerDaemon}): a plain jvm with just the
+ * compiler and this class on its classpath, serving compiles over a loopback port until the ide goes away (its
+ * standard input closes). Each connection gets a fresh compiler on a thread of its own, so the daemon keeps nothing
+ * between compiles but warm code. Like {@link RESOLVEDaemonProtocol}, this must not touch anything but the jdk and the
+ * compiler.
+ * <p>
+ * It's also how the ide runs a compiler other than its own (an sdk's) in process: loaded alongside that compiler in a
+ * class loader of their own (see {@link RESOLVECompilerLoader}), {@link #compile(String[], OutputStream)} streams the
+ * same frames a connection would, for the ide's own classes to read.</p>
+ */
+public final class RESOLVEDaemonMain {
+
+    private static final int EXIT_OUT_OF_MEMORY = 3;
+
+    private final byte[] secret;
+
+    private RESOLVEDaemonMain(byte[] secret) {
+        this.secret = secret;
+    }
+
+    public static void main(String[] args) throws IOException {
+        final BufferedReader stdin = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        String secret = stdin.readLine();
+        if (secret == null) return;
+
+        ServerSocket server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        System.out.println(RESOLVEDaemonProtocol.PORT_PREFIX + server.getLocalPort());
+        System.out.flush();
+
+        //the ide holds our stdin open for as long as it wants us around
+        Thread watchdog = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    while (stdin.readLine() != null) ;
+                }
+                catch (IOException ignored) {
+                }
+                System.exit(0);
+            }
+        }, "RESOLVE daemon watchdog");
+        watchdog.setDaemon(true);
+        watchdog.start();
+
+        RESOLVEDaemonMain daemon = new RESOLVEDaemonMain(secret.getBytes(StandardCharsets.UTF_8));
+        ExecutorService workers = Executors.newCachedThreadPool(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread result = new Thread(r, "RESOLVE daemon worker");
+                result.setDaemon(true);
+                return result;
+            }
+        });
+        while (true) {
+            final Socket socket = server.accept();
+            workers.execute(daemon.new Connection(socket));
+        }
+    }
+
+    /**
+     * Compiles with {@code args} right here, writing what it finds to {@code out} as a connection would, up to and
+     * including the {@link RESOLVEDaemonProtocol#END} frame. Only jdk types in the signature: it's called reflectively,
+     * from outside the class loader this was loaded in.
+     */
+    public static void compile(String[] args, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        new Compilation(data).run(Arrays.asList(args));
+        data.flush();
+    }
+
+    private final class Connection implements Runnable {
+        private final Socket socket;
+
+        Connection(Socket socket) {
+            this.socket = socket;
+        }
+
+        @Override
+        public void run() {
+            try (Socket s = socket) {
+                DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream()));
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream()));
+                byte[] given = RESOLVEDaemonProtocol.readString(in).getBytes(StandardCharsets.UTF_8);
+                if (!MessageDigest.isEqual(secret, given)) return;
+                int argCount = in.readInt();
+                List<String> args = new ArrayList<>();
+                for (int i = 0; i < argCount; i++) {
+                    args.add(RESOLVEDaemonProtocol.readString(in));
+                }
+                Compilation compilation = new Compilation(out);
+                try {
+                    compilation.run(args);
+                }
+                finally {
+                    //whatever's left of the heap can't be trusted; the ide starts a fresh daemon on its next compile
+                    if (compilation.outOfMemory) System.exit(EXIT_OUT_OF_MEMORY);
+                }
+            }
+            catch (IOException ignored) {
+                //the ide hung up; nothing to tell anyone
+            }
+        }
+    }
+
+    /** One compile, its results written to {@link #out} as they come. */
+    private static final class Compilation {
+        private final DataOutputStream out;
+        private boolean clientGone = false;
+        boolean outOfMemory = false;
+
+        Compilation(DataOutputStream out) {
+            this.out = out;
+        }
+
+        void run(List<String> args) throws IOException {
+            final RESOLVECompiler compiler = new RESOLVECompiler(args.toArray(new String[args.size()]));
+            compiler.removeListeners();
+            compiler.addListener(new RESOLVECompilerListener() {
+                @Override
+                public void info(String msg) {
+                    if (msg != null) send(RESOLVEDaemonProtocol.INFO, msg);
+                }
+
+                @Override
+                public void error(RESOLVEMessage msg) {
+                    sendDiagnostic(compiler, msg, true);
+                }
+
+                @Override
+                public void warning(RESOLVEMessage msg) {
+                    sendDiagnostic(compiler, msg, false);
+                }
+            });
+            String failure = "";
+            try {
+                compiler.processCommandLineTargets();
+            }
+            catch (OutOfMemoryError e) {
+                failure = e.toString();
+                outOfMemory = true;
+            }
+            catch (Throwable e) {
+                failure = e.toString();
+            }
+            VCOutputFile vco = failure.isEmpty() && !compiler.commandlineTargets.isEmpty() ?
+                    compiler.commandlineTargets.get(0).getVCOutput() : null;
+            synchronized (this) {
+                if (vco != null) {
+                    for (Map.Entry<Integer, List<VC>> byLine : vco.getVCsGroupedByLineNumber().entrySet()) {
+                        for (VC vc : byLine.getValue()) {
+                            out.writeByte(RESOLVEDaemonProtocol.VC);
+                            RESOLVEDaemonProtocol.writeString(out, vc.getNumber() + "");
+                            out.writeInt(byLine.getKey());
+                            RESOLVEDaemonProtocol.writeString(out,
+                                    vc.getExplanation() != null ? vc.getExplanation() : "");
+                            RESOLVEDaemonProtocol.writeString(out, vc.toString());
+                        }
+                    }
+                }
+                out.writeByte(RESOLVEDaemonProtocol.END);
+                out.writeInt(compiler.errMgr.getErrorCount());
+                out.writeBoolean(vco != null);
+                RESOLVEDaemonProtocol.writeString(out, failure);
+                out.flush();
+            }
+        }
+
+        private void sendDiagnostic(RESOLVECompiler compiler, RESOLVEMessage msg, boolean error) {
+            String text = compiler.errMgr.getMessageTemplate(msg).render();
+            Token token = (Token) msg.offendingToken;
+            String sourceName = "";
+            int start = -1, end = -1;
+            if (token != null && token.getStartIndex() >= 0) {
+                if (token.getTokenSource() != null && token.getTokenSource().getSourceName() != null) {
+                    sourceName = token.getTokenSource().getSourceName();
+                }
+                start = token.getStartIndex();
+                end = Math.max(start, token.getStopIndex() + 1);
+            }
+            synchronized (this) {
+                if (clientGone) return;
+                try {
+                    out.writeByte(RESOLVEDaemonProtocol.DIAGNOSTIC);
+                    out.writeBoolean(error);
+                    RESOLVEDaemonProtocol.writeString(out, text);
+                    RESOLVEDaemonProtocol.writeString(out, sourceName);
+                    out.writeInt(start);
+                    out.writeInt(end);
+                    out.flush();
+                }
+                catch (IOException e) {
+                    clientGone = true;
+                }
+            }
+        }
+
+        private synchronized void send(byte tag, String text) {
+            if (clientGone) return;
+            try {
+                out.writeByte(tag);
+                RESOLVEDaemonProtocol.writeString(out, text);
+                out.flush();
+            }
+            catch (IOException e) {
+                clientGone = true;
+            }
+        }
+    }
+}
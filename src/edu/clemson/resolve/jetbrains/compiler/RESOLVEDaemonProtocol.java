@@ -0,0 +1,51 @@
+package edu.clemson.resolve.jetbrains.compiler;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * What the ide and a {@link RESOLVEDaemonMain} say to each other. This is loaded in the daemon too, so it must not
+ * touch anything but the jdk.
+ * <p>
+ * On start up the daemon reads a secret off its standard input, binds a loopback port, and prints
+ * {@link #PORT_PREFIX} followed by the port. Each compile is then a connection of its own: the ide sends the secret
+ * and the compiler's arguments, and the daemon streams back frames as the compiler produces them (a tag byte, then
+ * its fields), ending with an {@link #END} frame:</p>
+ * <ul>
+ * <li>{@link #INFO}: text</li>
+ * <li>{@link #DIAGNOSTIC}: error (boolean), text, source path ({@code ""} if none), start and end offsets</li>
+ * <li>{@link #VC}: number, line, explanation, text</li>
+ * <li>{@link #END}: error count, whether vcs were generated (boolean), failure ({@code ""} if none)</li>
+ * </ul>
+ */
+final class RESOLVEDaemonProtocol {
+
+    static final String PORT_PREFIX = "RESOLVE compiler daemon listening on port ";
+
+    static final byte INFO = 'I';
+    static final byte DIAGNOSTIC = 'D';
+    static final byte VC = 'V';
+    static final byte END = 'E';
+
+    private static final int MAX_STRING_BYTES = 64 * 1024 * 1024;
+
+    private RESOLVEDaemonProtocol() {
+    }
+
+    //DataOutput.writeUTF caps strings at 64k, which a vc can outgrow
+    static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > MAX_STRING_BYTES) throw new IOException("bad string length: " + length);
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,121 @@
+package edu.clemson.resolve.jetbrains.compiler;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Which modules depend on which: an edge from a module to each one it names in a uses clause or declares a facility
+ * over. Kept in both directions, so the modules affected by a change ({@link #withDependents}) are as cheap to find as
+ * the ones a module needs.
+ */
+public class RESOLVEDependencyGraph<T> {
+
+    private final Map<T, Set<T>> dependencies = new HashMap<>();
+    private final Map<T, Set<T>> dependents = new HashMap<>();
+
+    /** Replaces whatever {@code node} was recorded as depending on with {@code newDependencies}. */
+    public synchronized void setDependencies(@NotNull T node, @NotNull Collection<T> newDependencies) {
+        removeEdgesFrom(node);
+        Set<T> deps = new LinkedHashSet<>(newDependencies);
+        deps.remove(node);
+        dependencies.put(node, deps);
+        for (T dep : deps) {
+            getOrCreate(dependents, dep).add(node);
+        }
+    }
+
+    /** Forgets {@code node}'s own dependencies; edges from modules that depend on it are kept until they're redone. */
+    public synchronized void remove(@NotNull T node) {
+        removeEdgesFrom(node);
+        dependencies.remove(node);
+    }
+
+    public synchronized boolean contains(@NotNull T node) {
+        return dependencies.containsKey(node);
+    }
+
+    @NotNull
+    public synchronized Set<T> getDependencies(@NotNull T node) {
+        Set<T> result = dependencies.get(node);
+        return result != null ? new LinkedHashSet<>(result) : Collections.<T>emptySet();
+    }
+
+    @NotNull
+    public synchronized Set<T> getDependents(@NotNull T node) {
+        Set<T> result = dependents.get(node);
+        return result != null ? new LinkedHashSet<>(result) : Collections.<T>emptySet();
+    }
+
+    /** Returns {@code nodes} along with everything that (transitively) depends on one of them. */
+    @NotNull
+    public synchronized Set<T> withDependents(@NotNull Collection<T> nodes) {
+        Set<T> result = new LinkedHashSet<>();
+        Deque<T> worklist = new ArrayDeque<>(nodes);
+        while (!worklist.isEmpty()) {
+            T node = worklist.removeFirst();
+            if (!result.add(node)) continue;
+            Set<T> users = dependents.get(node);
+            if (users != null) worklist.addAll(users);
+        }
+        return result;
+    }
+
+    /**
+     * Splits {@code nodes} into levels, such that every dependency a node has within {@code nodes} sits in an
+     * earlier level; the nodes of one level are independent of one another and can be processed side by side. Nodes
+     * on a dependency cycle (which the compiler will reject anyway) are put together in one last level.
+     */
+    @NotNull
+    public synchronized List<List<T>> levels(@NotNull Collection<T> nodes) {
+        Set<T> remaining = new LinkedHashSet<>(nodes);
+        Map<T, Integer> pending = new HashMap<>();
+        List<T> ready = new ArrayList<>();
+        for (T node : remaining) {
+            int count = 0;
+            for (T dep : getDependencies(node)) {
+                if (remaining.contains(dep)) count++;
+            }
+            pending.put(node, count);
+            if (count == 0) ready.add(node);
+        }
+        List<List<T>> result = new ArrayList<>();
+        while (!ready.isEmpty()) {
+            result.add(ready);
+            remaining.removeAll(ready);
+            List<T> next = new ArrayList<>();
+            for (T node : ready) {
+                for (T user : getDependents(node)) {
+                    Integer count = pending.get(user);
+                    if (count == null || !remaining.contains(user)) continue;
+                    pending.put(user, count - 1);
+                    if (count == 1) next.add(user);
+                }
+            }
+            ready = next;
+        }
+        if (!remaining.isEmpty()) result.add(new ArrayList<>(remaining));
+        return result;
+    }
+
+    private void removeEdgesFrom(@NotNull T node) {
+        Set<T> old = dependencies.get(node);
+        if (old == null) return;
+        for (T dep : old) {
+            Set<T> users = dependents.get(dep);
+            if (users == null) continue;
+            users.remove(node);
+            if (users.isEmpty()) dependents.remove(dep);
+        }
+    }
+
+    @NotNull
+    private static <T> Set<T> getOrCreate(@NotNull Map<T, Set<T>> map, @NotNull T key) {
+        Set<T> result = map.get(key);
+        if (result == null) {
+            result = new LinkedHashSet<>();
+            map.put(key, result);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,74 @@
+package edu.clemson.resolve.jetbrains.compiler;
+
+import com.intellij.openapi.util.TextRange;
+import edu.clemson.resolve.RESOLVECompiler;
+import edu.clemson.resolve.compiler.RESOLVEMessage;
+import org.antlr.v4.runtime.Token;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A compiler error or warning, rendered and detached from the compiler that reported it, so it can outlive the run
+ * (and be written to the {@link RESOLVEResultCache}).
+ */
+public final class RESOLVEDiagnostic {
+
+    @NotNull private final String text;
+    @Nullable private final String sourcePath;
+    private final int start;
+    private final int end;
+    private final boolean error;
+
+    public RESOLVEDiagnostic(@NotNull String text, @Nullable String sourcePath, int start, int end, boolean error) {
+        this.text = text;
+        this.sourcePath = sourcePath;
+        this.start = start;
+        this.end = end;
+        this.error = error;
+    }
+
+    /** Renders {@code msg} with {@code compiler}'s templates and notes where its offending token (if any) was. */
+    @NotNull
+    public static RESOLVEDiagnostic of(@NotNull RESOLVECompiler compiler, @NotNull RESOLVEMessage msg, boolean error) {
+        String text = compiler.errMgr.getMessageTemplate(msg).render();
+        Token token = (Token) msg.offendingToken;
+        if (token == null || token.getStartIndex() < 0) return new RESOLVEDiagnostic(text, null, -1, -1, error);
+        String sourceName = token.getTokenSource() != null ? token.getTokenSource().getSourceName() : null;
+        int start = token.getStartIndex();
+        return new RESOLVEDiagnostic(text, sourceName, start, Math.max(start, token.getStopIndex() + 1), error);
+    }
+
+    @NotNull
+    public String getText() {
+        return text;
+    }
+
+    /** The path of the file the diagnostic is in, as the compiler named it; {@code null} if it has no location. */
+    @Nullable
+    public String getSourcePath() {
+        return sourcePath;
+    }
+
+    @NotNull
+    public RESOLVEDiagnostic withSourcePath(@Nullable String path) {
+        return new RESOLVEDiagnostic(text, path, start, end, error);
+    }
+
+    /** The offsets of the offending token within {@link #getSourcePath()}, or {@code null} if there wasn't one. */
+    @Nullable
+    public TextRange getRange() {
+        return start >= 0 ? new TextRange(start, end) : null;
+    }
+
+    public boolean isError() {
+        return error;
+    }
+
+    int getStart() {
+        return start;
+    }
+
+    int getEnd() {
+        return end;
+    }
+}
@@ -0,0 +1,257 @@
+package edu.clemson.resolve.jetbrains.compiler;
+
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.vfs.VirtualFile;
+import edu.clemson.resolve.RESOLVECompiler;
+import edu.clemson.resolve.compiler.RESOLVECompilerListener;
+import edu.clemson.resolve.compiler.RESOLVEMessage;
+import edu.clemson.resolve.vcgen.VC;
+import edu.clemson.resolve.vcgen.VCOutputFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The outcome of compiling one module, detached from the compiler that did it: what batch runs and builds hand back
+ * per module, and what the {@link RESOLVEResultCache} stores. Only rendered diagnostics and a summary of each
+ * verification condition are kept, not the compiler, so a run over a whole library doesn't hold on to every module's
+ * symbol table.
+ */
+public final class RESOLVEModuleRun {
+
+    private static final Logger LOG = Logger.getInstance("RESOLVEModuleRun");
+
+    @NotNull private final VirtualFile file;
+    private final int errorCount;
+    @NotNull private final List<RESOLVEDiagnostic> diagnostics;
+    @Nullable private final List<VCInfo> vcs;
+    @Nullable private final Throwable failure;
+    private final long millis;
+    private final boolean cached;
+
+    RESOLVEModuleRun(@NotNull VirtualFile file,
+                     int errorCount,
+                     @NotNull List<RESOLVEDiagnostic> diagnostics,
+                     @Nullable List<VCInfo> vcs,
+                     @Nullable Throwable failure,
+                     long millis,
+                     boolean cached) {
+        this.file = file;
+        this.errorCount = errorCount;
+        this.diagnostics = diagnostics;
+        this.vcs = vcs;
+        this.failure = failure;
+        this.millis = millis;
+        this.cached = cached;
+    }
+
+    /**
+     * Compiles {@code file} with {@code args} (which should name {@code file} itself): in the
+     * {@link RESOLVECompilerDaemon} if it's enabled, otherwise on a fresh compiler in this process.
+     */
+    @NotNull
+    public static RESOLVEModuleRun compile(@NotNull VirtualFile file,
+                                           @NotNull List<String> args,
+                                           @Nullable ProgressIndicator indicator) {
+        return compile(file, args, null, indicator);
+    }
+
+    /**
+     * Same as {@link #compile(VirtualFile, List, ProgressIndicator)}, but on the compiler in {@code compilerJar}, if
+     * that's one other than the plugin's own (see {@link RESOLVECompilerLoader}).
+     */
+    @NotNull
+    public static RESOLVEModuleRun compile(@NotNull VirtualFile file,
+                                           @NotNull List<String> args,
+                                           @Nullable String compilerJar,
+                                           @Nullable ProgressIndicator indicator) {
+        return compile(file, args, compilerJar, indicator, null);
+    }
+
+    /**
+     * Same as {@link #compile(VirtualFile, List, String, ProgressIndicator)}, but also tells {@code listener} about
+     * the run's messages as they come, wherever it's compiled.
+     */
+    @NotNull
+    public static RESOLVEModuleRun compile(@NotNull VirtualFile file,
+                                           @NotNull List<String> args,
+                                           @Nullable String compilerJar,
+                                           @Nullable ProgressIndicator indicator,
+                                           @Nullable final Listener listener) {
+        if (compilerJar != null && RESOLVECompilerLoader.isSeparateCompiler(compilerJar)) {
+            return RESOLVECompilerLoader.getInstance().compile(file, args, compilerJar, indicator, listener);
+        }
+        if (RESOLVECompilerDaemon.isEnabled()) {
+            return RESOLVECompilerDaemon.getInstance().compile(file, args, indicator, listener);
+        }
+        long start = System.currentTimeMillis();
+        final RESOLVECompiler compiler = new RESOLVECompiler(args.toArray(new String[args.size()]));
+        final List<RESOLVEDiagnostic> diagnostics = new ArrayList<>();
+        compiler.removeListeners();
+        compiler.addListener(new RESOLVECompilerListener() {
+            @Override
+            public void info(String msg) {
+                if (listener != null && msg != null) listener.info(msg);
+            }
+
+            @Override
+            public void error(RESOLVEMessage msg) {
+                add(RESOLVEDiagnostic.of(compiler, msg, true));
+            }
+
+            @Override
+            public void warning(RESOLVEMessage msg) {
+                add(RESOLVEDiagnostic.of(compiler, msg, false));
+            }
+
+            private void add(RESOLVEDiagnostic d) {
+                diagnostics.add(d);
+                if (listener != null) listener.diagnostic(d);
+            }
+        });
+        Throwable failure = null;
+        try {
+            compiler.processCommandLineTargets();
+        }
+        catch (Throwable e) {
+            LOG.info("compiler failed on " + file.getPath(), e);
+            failure = e;
+        }
+        RESOLVEModuleRun result = of(file, compiler, diagnostics, failure, System.currentTimeMillis() - start);
+        //the compiler only hands its vcs over once it's done with them
+        if (listener != null && result.vcs != null) {
+            for (VCInfo vc : result.vcs) {
+                listener.vc(vc);
+            }
+        }
+        return result;
+    }
+
+    /** Detaches what {@code compiler} found out about {@code file} from it. */
+    @NotNull
+    static RESOLVEModuleRun of(@NotNull VirtualFile file,
+                               @NotNull RESOLVECompiler compiler,
+                               @NotNull List<RESOLVEDiagnostic> diagnostics,
+                               @Nullable Throwable failure,
+                               long millis) {
+        List<VCInfo> vcs = null;
+        if (failure == null && !compiler.commandlineTargets.isEmpty()) {
+            VCOutputFile vco = compiler.commandlineTargets.get(0).getVCOutput();
+            if (vco != null) {
+                vcs = new ArrayList<>();
+                for (Map.Entry<Integer, List<VC>> byLine : vco.getVCsGroupedByLineNumber().entrySet()) {
+                    for (VC vc : byLine.getValue()) {
+                        String explanation = vc.getExplanation() != null ? vc.getExplanation() : "";
+                        vcs.add(new VCInfo(vc.getNumber() + "", byLine.getKey(), explanation, vc.toString()));
+                    }
+                }
+            }
+        }
+        return new RESOLVEModuleRun(file, compiler.errMgr.getErrorCount(), diagnostics, vcs, failure, millis, false);
+    }
+
+    /** This run with its diagnostics replaced by {@code diagnostics}. */
+    @NotNull
+    RESOLVEModuleRun withDiagnostics(@NotNull List<RESOLVEDiagnostic> diagnostics) {
+        return new RESOLVEModuleRun(file, errorCount, diagnostics, vcs, failure, millis, cached);
+    }
+
+    @NotNull
+    public VirtualFile getFile() {
+        return file;
+    }
+
+    public int getErrorCount() {
+        return errorCount;
+    }
+
+    public int getWarningCount() {
+        int result = 0;
+        for (RESOLVEDiagnostic d : diagnostics) {
+            if (!d.isError()) result++;
+        }
+        return result;
+    }
+
+    /** The errors and warnings, in the order the compiler reported them. */
+    @NotNull
+    public List<RESOLVEDiagnostic> getDiagnostics() {
+        return diagnostics;
+    }
+
+    /** The verification conditions generated, or {@code null} if the run didn't generate any. */
+    @Nullable
+    public List<VCInfo> getVCs() {
+        return vcs;
+    }
+
+    /** The exception the compiler bailed out with, if it did. */
+    @Nullable
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    /** How long the run took, in milliseconds of wall time; 0 if it came out of the cache. */
+    public long getMillis() {
+        return millis;
+    }
+
+    /** Returns {@code true} if this run was read back from the {@link RESOLVEResultCache} rather than compiled. */
+    public boolean isCached() {
+        return cached;
+    }
+
+    public boolean isClean() {
+        return errorCount == 0 && failure == null;
+    }
+
+    /**
+     * Hears about a run's messages as they come, before the run is done; called on whichever thread is waiting on the
+     * compile. Diagnostics name the files the compiler read, which may be mirrors (see {@link RESOLVEShadowSources}).
+     */
+    public interface Listener {
+        void info(@NotNull String msg);
+
+        void diagnostic(@NotNull RESOLVEDiagnostic diagnostic);
+
+        void vc(@NotNull VCInfo vc);
+    }
+
+    /** What's kept of a verification condition: enough to list it and say where it came from. */
+    public static final class VCInfo {
+        @NotNull private final String number;
+        private final int line;
+        @NotNull private final String explanation;
+        @NotNull private final String text;
+
+        VCInfo(@NotNull String number, int line, @NotNull String explanation, @NotNull String text) {
+            this.number = number;
+            this.line = line;
+            this.explanation = explanation;
+            this.text = text;
+        }
+
+        @NotNull
+        public String getNumber() {
+            return number;
+        }
+
+        public int getLine() {
+            return line;
+        }
+
+        @NotNull
+        public String getExplanation() {
+            return explanation;
+        }
+
+        @NotNull
+        public String getText() {
+            return text;
+        }
+    }
+}
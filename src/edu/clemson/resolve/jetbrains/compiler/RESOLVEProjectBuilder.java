@@ -0,0 +1,262 @@
+package edu.clemson.resolve.jetbrains.compiler;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.Computable;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.search.FileTypeIndex;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.Consumer;
+import edu.clemson.resolve.jetbrains.RESOLVEFileType;
+import edu.clemson.resolve.jetbrains.psi.*;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.util.*;
+
+/**
+ * Builds (analyzes and generates code for) the RESOLVE modules of a project, incrementally. A module is dirty if it,
+ * or any module it depends on through its uses clause or facility declarations, changed on disk since it was last
+ * built cleanly; a build only touches dirty modules. Everything starts out dirty, so the first build in a session
+ * covers the whole project.
+ * <p>
+ * Dirty modules are built one {@link RESOLVEDependencyGraph#levels level} of the dependency graph at a time, the
+ * modules within a level in parallel on a {@link RESOLVEWorkerPool}.</p>
+ */
+public class RESOLVEProjectBuilder implements Disposable {
+
+    public static final String OUTPUT_DIR_NAME = "gen";
+
+    @NotNull private final Project project;
+    @NotNull private final RESOLVEDependencyGraph<VirtualFile> graph = new RESOLVEDependencyGraph<>();
+    /** Dirty modules, each with the generation it was last marked in; guarded by itself. */
+    @NotNull private final Map<VirtualFile, Long> dirty = new LinkedHashMap<>();
+    private long generation = 0;
+    private boolean everythingDirty = true;
+
+    public RESOLVEProjectBuilder(@NotNull Project project) {
+        this.project = project;
+        project.getMessageBus().connect(this).subscribe(VirtualFileManager.VFS_CHANGES, new BulkFileListener.Adapter() {
+            @Override
+            public void after(@NotNull List<? extends VFileEvent> events) {
+                for (VFileEvent event : events) {
+                    VirtualFile file = event.getFile();
+                    if (file != null && isResolveFile(file.getName()) && isOurs(file)) markDirty(file);
+                }
+            }
+        });
+    }
+
+    public static RESOLVEProjectBuilder getInstance(@NotNull Project project) {
+        return ServiceManager.getService(project, RESOLVEProjectBuilder.class);
+    }
+
+    /** The modules the next build would touch: the dirty ones and everything depending on them. */
+    @NotNull
+    public Set<VirtualFile> getOutOfDate() {
+        return ApplicationManager.getApplication().runReadAction(new Computable<Set<VirtualFile>>() {
+            @Override
+            public Set<VirtualFile> compute() {
+                return collectOutOfDate();
+            }
+        });
+    }
+
+    /**
+     * Builds every out of date module, giving up between modules if {@code indicator} is canceled. Modules that built
+     * without errors are clean afterwards; those with errors (or that weren't gotten to) stay dirty. Returns how each
+     * module went, in the order they were built.
+     */
+    @NotNull
+    public List<RESOLVEModuleRun> build(@NotNull final ProgressIndicator indicator) {
+        indicator.setText("Collecting dependencies");
+        final Map<VirtualFile, Long> dirtyAtStart = new HashMap<>();
+        List<List<VirtualFile>> levels = ApplicationManager.getApplication().runReadAction(
+                new Computable<List<List<VirtualFile>>>() {
+                    @Override
+                    public List<List<VirtualFile>> compute() {
+                        Set<VirtualFile> outOfDate = collectOutOfDate();
+                        //dependents of what changed are dirty too, until they build cleanly
+                        synchronized (dirty) {
+                            for (VirtualFile file : outOfDate) {
+                                if (!dirty.containsKey(file)) dirty.put(file, generation);
+                            }
+                            dirtyAtStart.putAll(dirty);
+                        }
+                        return graph.levels(outOfDate);
+                    }
+                });
+        int total = 0;
+        for (List<VirtualFile> level : levels) {
+            total += level.size();
+        }
+        final List<RESOLVEModuleRun> built = new ArrayList<>();
+        if (total == 0) return built;
+
+        final int totalModules = total;
+        RESOLVEWorkerPool pool = new RESOLVEWorkerPool(project, total);
+        try {
+            for (final List<VirtualFile> level : levels) {
+                Map<VirtualFile, List<String>> jobs = ApplicationManager.getApplication().runReadAction(
+                        new Computable<Map<VirtualFile, List<String>>>() {
+                            @Override
+                            public Map<VirtualFile, List<String>> compute() {
+                                Map<VirtualFile, List<String>> result = new LinkedHashMap<>();
+                                for (VirtualFile file : level) {
+                                    result.put(file, getArgs(file));
+                                }
+                                return result;
+                            }
+                        });
+                pool.compileAll(jobs, null, indicator, new Consumer<RESOLVEModuleRun>() {
+                    @Override
+                    public void consume(RESOLVEModuleRun module) {
+                        built.add(module);
+                        if (module.isClean()) markClean(module.getFile(), dirtyAtStart.get(module.getFile()));
+                        indicator.setFraction((double) built.size() / totalModules);
+                        indicator.setText2(module.getFile().getName());
+                    }
+                });
+            }
+        }
+        finally {
+            pool.shutdown();
+        }
+        return built;
+    }
+
+    @Override
+    public void dispose() {
+    }
+
+    /**
+     * The directories {@code runs} generated code into (each module's content root's {@link #OUTPUT_DIR_NAME}), for
+     * refreshing just those afterwards. Needs a read action.
+     */
+    @NotNull
+    public Set<File> getOutputDirs(@NotNull Collection<RESOLVEModuleRun> runs) {
+        Set<File> result = new LinkedHashSet<>();
+        for (RESOLVEModuleRun run : runs) {
+            if (run.getFile().isValid()) result.add(new File(getRoot(run.getFile()).getPath(), OUTPUT_DIR_NAME));
+        }
+        return result;
+    }
+
+    @NotNull
+    private VirtualFile getRoot(@NotNull VirtualFile file) {
+        VirtualFile root = ProjectRootManager.getInstance(project).getFileIndex().getContentRootForFile(file);
+        return root != null ? root : file.getParent();
+    }
+
+    @NotNull
+    private List<String> getArgs(@NotNull VirtualFile file) {
+        VirtualFile root = getRoot(file);
+        List<String> args = new ArrayList<>(Arrays.asList(file.getPath(), "-lib", root.getPath()));
+        PsiFile psiFile = PsiManager.getInstance(project).findFile(file);
+        ResModuleDecl module = psiFile instanceof ResFile ? ((ResFile) psiFile).getEnclosedModule() : null;
+        //precis (and their extensions) are mathematics only, there's no code to generate for them
+        if (module != null && !(module instanceof ResPrecisModuleDecl) &&
+                !(module instanceof ResPrecisExtensionModuleDecl)) {
+            args.addAll(Arrays.asList("-genCode", "Java", "-o", root.getPath() + "/" + OUTPUT_DIR_NAME));
+        }
+        return args;
+    }
+
+    //refreshes the graph edges of every dirty module (their uses may have changed), then follows them to dependents;
+    //a dirty module that's gone (or left the project's content) is forgotten, though what depended on it isn't
+    @NotNull
+    private Set<VirtualFile> collectOutOfDate() {
+        Set<VirtualFile> changed = new LinkedHashSet<>();
+        synchronized (dirty) {
+            if (everythingDirty) {
+                generation++;
+                for (VirtualFile file : FileTypeIndex.getFiles(RESOLVEFileType.INSTANCE,
+                        GlobalSearchScope.projectScope(project))) {
+                    dirty.put(file, generation);
+                }
+                everythingDirty = false;
+            }
+            changed.addAll(dirty.keySet());
+        }
+        Set<VirtualFile> seeds = new LinkedHashSet<>();
+        for (VirtualFile file : changed) {
+            if (!file.isValid() || !isInContent(file)) {
+                seeds.addAll(graph.getDependents(file));
+                graph.remove(file);
+                synchronized (dirty) {
+                    dirty.remove(file);
+                }
+            }
+            else {
+                graph.setDependencies(file, collectDependencies(file));
+                seeds.add(file);
+            }
+        }
+        Set<VirtualFile> result = new LinkedHashSet<>();
+        for (VirtualFile file : graph.withDependents(seeds)) {
+            if (file.isValid() && isInContent(file)) result.add(file);
+        }
+        return result;
+    }
+
+    @NotNull
+    private Set<VirtualFile> collectDependencies(@NotNull VirtualFile file) {
+        Set<VirtualFile> result = new LinkedHashSet<>();
+        PsiFile psiFile = PsiManager.getInstance(project).findFile(file);
+        if (!(psiFile instanceof ResFile)) return result;
+        ResFile resFile = (ResFile) psiFile;
+        for (ResImportClosure.Entry e : resFile.getImportClosure().getEntries()) {
+            addFile(result, e.getFile());
+        }
+        ResModuleDecl module = resFile.getEnclosedModule();
+        if (module == null) return result;
+        for (ResFacilityDecl facility : module.getFacilities()) {
+            addFile(result, facility.resolveImplementation());
+        }
+        return result;
+    }
+
+    private static void addFile(@NotNull Set<VirtualFile> result, @Nullable ResFile file) {
+        VirtualFile vfile = file != null ? file.getVirtualFile() : null;
+        if (vfile != null) result.add(vfile);
+    }
+
+    private boolean isInContent(@NotNull VirtualFile file) {
+        ProjectFileIndex index = ProjectRootManager.getInstance(project).getFileIndex();
+        return index.isInContent(file);
+    }
+
+    //the vfs listener hears about every project's files; a file already gone counts if this project knew it
+    private boolean isOurs(@NotNull VirtualFile file) {
+        return file.isValid() ? isInContent(file) : graph.contains(file);
+    }
+
+    private void markDirty(@NotNull VirtualFile file) {
+        synchronized (dirty) {
+            dirty.put(file, ++generation);
+        }
+    }
+
+    //a module that changed again while it was being built stays dirty
+    private void markClean(@NotNull VirtualFile file, @Nullable Long generationBuilt) {
+        synchronized (dirty) {
+            Long current = dirty.get(file);
+            if (current == null || current.equals(generationBuilt)) dirty.remove(file);
+        }
+    }
+
+    private static boolean isResolveFile(@NotNull String name) {
+        return name.endsWith("." + RESOLVEFileType.INSTANCE.getDefaultExtension());
+    }
+}
@@ -0,0 +1,323 @@
+package edu.clemson.resolve.jetbrains.compiler;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Computable;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.IOUtil;
+import edu.clemson.resolve.jetbrains.sdk.RESOLVESdkService;
+import edu.clemson.resolve.misc.Utils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Analysis and VC results that survive the ide, kept under the project's system directory. An entry is keyed by a
+ * hash over the compiler (its jar and the sdk it's pointed at), the run's arguments, and the contents of every file the
+ * run reads (the target plus its transitive uses and facility realizations), so it can only be found again by a run
+ * that would see exactly the same inputs; nothing is ever invalidated, entries just stop being asked for.
+ * <p>
+ * Entries are small binary files (one per key) holding a {@link RESOLVEModuleRun}'s diagnostics and verification
+ * conditions. The cache is bounded by total size: when it grows past {@link #MAX_BYTES} the least recently used
+ * entries are dropped. Runs that failed, or that write anything (code generation), aren't cached.</p>
+ */
+public class RESOLVEResultCache {
+
+    private static final Logger LOG = Logger.getInstance("RESOLVEResultCache");
+
+    private static final int FORMAT_VERSION = 1;
+    private static final long MAX_BYTES = 32 * 1024 * 1024;
+    private static final String SUFFIX = ".bin";
+    private static final int MAX_CONTENT_HASHES = 1024;
+
+    @NotNull private final Project project;
+    @NotNull private final File dir;
+
+    /** Entry name to size, least recently used first; guarded by itself. */
+    @NotNull private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes = -1;
+
+    /**
+     * Content hashes of the files read most recently, by the modification stamp they were read at (negated for
+     * unsaved documents); guarded by itself.
+     */
+    @NotNull private final LinkedHashMap<VirtualFile, ContentHash> contentHashes =
+            new LinkedHashMap<VirtualFile, ContentHash>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<VirtualFile, ContentHash> eldest) {
+                    return size() > MAX_CONTENT_HASHES;
+                }
+            };
+    @Nullable private String compilerVersion;
+
+    public RESOLVEResultCache(@NotNull Project project) {
+        this.project = project;
+        this.dir = new File(PathManager.getSystemPath(), "resolve/results/" + project.getLocationHash());
+    }
+
+    public static RESOLVEResultCache getInstance(@NotNull Project project) {
+        return ServiceManager.getService(project, RESOLVEResultCache.class);
+    }
+
+    /** Returns {@code true} if runs with {@code args} can be served from the cache, i.e. they don't write anything. */
+    public static boolean isCacheable(@NotNull List<String> args) {
+        return !args.contains("-genCode") && !args.contains("-o");
+    }
+
+    /**
+     * The key a run of {@code target} with {@code args} would be stored under, with every input read as it is right
+     * now (unsaved documents included).
+     */
+    @NotNull
+    public String computeKey(@NotNull VirtualFile target, @NotNull List<String> args) {
+        return computeKey(target, args, false);
+    }
+
+    /**
+     * As {@link #computeKey(VirtualFile, List)}, but if {@code onDisk}, every input is read as it is on disk, unsaved
+     * documents or not; that's what runs that compile from disk (see {@link RESOLVECompilerSession#compileModule})
+     * see, so it's what their results have to be stored under.
+     */
+    @NotNull
+    public String computeKey(@NotNull final VirtualFile target, @NotNull final List<String> args,
+                             final boolean onDisk) {
+        return ApplicationManager.getApplication().runReadAction(new Computable<String>() {
+            @Override
+            public String compute() {
+                MessageDigest digest = newDigest();
+                update(digest, getCompilerVersion(RESOLVECompilerSession.getCompilerJar(project, target)));
+                update(digest, String.valueOf(RESOLVESdkService.getInstance(project).getSdkHomePath(null)));
+                update(digest, Utils.join(args, " "));
+                List<VirtualFile> inputs = new ArrayList<>(RESOLVECompilerSession.collectInputFiles(project, target));
+                Collections.sort(inputs, new Comparator<VirtualFile>() {
+                    @Override
+                    public int compare(VirtualFile o1, VirtualFile o2) {
+                        return o1.getPath().compareTo(o2.getPath());
+                    }
+                });
+                for (VirtualFile input : inputs) {
+                    update(digest, input.getPath());
+                    update(digest, hashContent(input, onDisk));
+                }
+                return StringUtil.toHexString(digest.digest());
+            }
+        });
+    }
+
+    /**
+     * Returns the run stored under {@code key}, as a cached run of {@code file}, or null if there isn't one. Entries
+     * are read and written under the same lock, so one isn't seen half written or after it's been evicted.
+     */
+    @Nullable
+    public RESOLVEModuleRun get(@NotNull String key, @NotNull VirtualFile file) {
+        File entry = new File(dir, key + SUFFIX);
+        synchronized (entries) {
+            loadIndex();
+            if (entries.get(key) == null) return null;
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(entry)))) {
+                RESOLVEModuleRun result = read(in, file);
+                //the lru order survives restarts through the files' timestamps
+                if (!entry.setLastModified(System.currentTimeMillis())) LOG.debug("couldn't touch " + entry);
+                return result;
+            }
+            catch (IOException e) {
+                LOG.info("dropping unreadable cache entry " + entry, e);
+                remove(key);
+                return null;
+            }
+        }
+    }
+
+    public void put(@NotNull String key, @NotNull RESOLVEModuleRun run) {
+        if (run.getFailure() != null) return;
+        File entry = new File(dir, key + SUFFIX);
+        synchronized (entries) {
+            loadIndex();
+            try {
+                FileUtil.createParentDirs(entry);
+                try (DataOutputStream out =
+                             new DataOutputStream(new BufferedOutputStream(new FileOutputStream(entry)))) {
+                    write(out, run);
+                }
+            }
+            catch (IOException e) {
+                LOG.info("couldn't write cache entry " + entry, e);
+                remove(key);
+                return;
+            }
+            Long old = entries.put(key, entry.length());
+            totalBytes += entry.length() - (old != null ? old : 0);
+            Iterator<Map.Entry<String, Long>> it = entries.entrySet().iterator();
+            while (totalBytes > MAX_BYTES && it.hasNext()) {
+                Map.Entry<String, Long> eldest = it.next();
+                if (eldest.getKey().equals(key)) continue;
+                FileUtil.delete(new File(dir, eldest.getKey() + SUFFIX));
+                totalBytes -= eldest.getValue();
+                it.remove();
+            }
+        }
+    }
+
+    /** Drops every entry. */
+    public void clear() {
+        synchronized (entries) {
+            FileUtil.delete(dir);
+            entries.clear();
+            totalBytes = 0;
+        }
+        synchronized (contentHashes) {
+            contentHashes.clear();
+        }
+    }
+
+    private void remove(@NotNull String key) {
+        synchronized (entries) {
+            Long size = entries.remove(key);
+            if (size != null) totalBytes -= size;
+        }
+        FileUtil.delete(new File(dir, key + SUFFIX));
+    }
+
+    //the first time round, picks up what earlier sessions left, oldest first
+    private void loadIndex() {
+        if (totalBytes >= 0) return;
+        totalBytes = 0;
+        File[] files = dir.listFiles();
+        if (files == null) return;
+        Arrays.sort(files, new Comparator<File>() {
+            @Override
+            public int compare(File o1, File o2) {
+                return Long.compare(o1.lastModified(), o2.lastModified());
+            }
+        });
+        for (File file : files) {
+            if (!file.getName().endsWith(SUFFIX)) continue;
+            entries.put(StringUtil.trimEnd(file.getName(), SUFFIX), file.length());
+            totalBytes += file.length();
+        }
+    }
+
+    @NotNull
+    private String hashContent(@NotNull VirtualFile file, boolean onDisk) {
+        FileDocumentManager docMgr = FileDocumentManager.getInstance();
+        Document doc = onDisk ? null : docMgr.getCachedDocument(file);
+        boolean unsaved = doc != null && docMgr.isDocumentUnsaved(doc);
+        long stamp = unsaved ? -doc.getModificationStamp() : file.getModificationStamp();
+        ContentHash known;
+        synchronized (contentHashes) {
+            known = contentHashes.get(file);
+        }
+        if (known != null && known.stamp == stamp) return known.hash;
+
+        MessageDigest digest = newDigest();
+        try {
+            digest.update(unsaved ? doc.getText().getBytes(StandardCharsets.UTF_8) : file.contentsToByteArray());
+        }
+        catch (IOException e) {
+            //can't read it, so this key will never be found again; that's fine
+            update(digest, file.getPath() + "@" + System.nanoTime());
+        }
+        String hash = StringUtil.toHexString(digest.digest());
+        synchronized (contentHashes) {
+            contentHashes.put(file, new ContentHash(stamp, hash));
+        }
+        return hash;
+    }
+
+    //of the compiler in compilerJar, or else the plugin's own
+    @NotNull
+    private String getCompilerVersion(@Nullable String compilerJar) {
+        if (compilerJar != null) return RESOLVECompilerLoader.describe(new File(compilerJar));
+        if (compilerVersion == null) {
+            compilerVersion = RESOLVECompilerLoader.describe(new File(RESOLVECompilerLoader.getBundledJarPath()));
+        }
+        return compilerVersion;
+    }
+
+    private static void write(@NotNull DataOutputStream out, @NotNull RESOLVEModuleRun run) throws IOException {
+        DataInputOutputUtil.writeINT(out, FORMAT_VERSION);
+        DataInputOutputUtil.writeINT(out, run.getErrorCount());
+        List<RESOLVEDiagnostic> diagnostics = run.getDiagnostics();
+        DataInputOutputUtil.writeINT(out, diagnostics.size());
+        for (RESOLVEDiagnostic d : diagnostics) {
+            out.writeBoolean(d.isError());
+            IOUtil.writeUTF(out, d.getText());
+            IOUtil.writeUTF(out, StringUtil.notNullize(d.getSourcePath()));
+            DataInputOutputUtil.writeINT(out, d.getStart() + 1);
+            DataInputOutputUtil.writeINT(out, d.getEnd() + 1);
+        }
+        List<RESOLVEModuleRun.VCInfo> vcs = run.getVCs();
+        DataInputOutputUtil.writeINT(out, vcs != null ? vcs.size() + 1 : 0);
+        if (vcs == null) return;
+        for (RESOLVEModuleRun.VCInfo vc : vcs) {
+            IOUtil.writeUTF(out, vc.getNumber());
+            DataInputOutputUtil.writeINT(out, vc.getLine());
+            IOUtil.writeUTF(out, vc.getExplanation());
+            IOUtil.writeUTF(out, vc.getText());
+        }
+    }
+
+    @NotNull
+    private static RESOLVEModuleRun read(@NotNull DataInputStream in, @NotNull VirtualFile file) throws IOException {
+        if (DataInputOutputUtil.readINT(in) != FORMAT_VERSION) throw new IOException("old cache format");
+        int errorCount = DataInputOutputUtil.readINT(in);
+        int diagnosticCount = DataInputOutputUtil.readINT(in);
+        List<RESOLVEDiagnostic> diagnostics = new ArrayList<>(diagnosticCount);
+        for (int i = 0; i < diagnosticCount; i++) {
+            boolean error = in.readBoolean();
+            String text = IOUtil.readUTF(in);
+            String sourcePath = StringUtil.nullize(IOUtil.readUTF(in));
+            int start = DataInputOutputUtil.readINT(in) - 1;
+            int end = DataInputOutputUtil.readINT(in) - 1;
+            diagnostics.add(new RESOLVEDiagnostic(text, sourcePath, start, end, error));
+        }
+        int vcCount = DataInputOutputUtil.readINT(in) - 1;
+        List<RESOLVEModuleRun.VCInfo> vcs = vcCount >= 0 ? new ArrayList<RESOLVEModuleRun.VCInfo>(vcCount) : null;
+        for (int i = 0; i < vcCount; i++) {
+            String number = IOUtil.readUTF(in);
+            int line = DataInputOutputUtil.readINT(in);
+            String explanation = IOUtil.readUTF(in);
+            String text = IOUtil.readUTF(in);
+            vcs.add(new RESOLVEModuleRun.VCInfo(number, line, explanation, text));
+        }
+        return new RESOLVEModuleRun(file, errorCount, diagnostics, vcs, null, 0, true);
+    }
+
+    @NotNull
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void update(@NotNull MessageDigest digest, @NotNull String s) {
+        digest.update(s.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static final class ContentHash {
+        final long stamp;
+        @NotNull final String hash;
+
+        ContentHash(long stamp, @NotNull String hash) {
+            this.stamp = stamp;
+            this.hash = hash;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package edu.clemson.resolve.jetbrains.compiler;
+
+import com.intellij.openapi.util.io.FileUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Where the compiler reads sources from when some of a run's inputs are open with unsaved changes. The compiler only
+ * knows how to read a module from disk, by path, so rather than saving the user's documents out from under them a run
+ * like that is pointed at a mirror of its {@code -lib} root instead. Mirrors live in a private temp directory, outside
+ * of any project, so no vfs refresh, vcs or file watcher ever sees them; they hold the run's inputs under that root,
+ * the unsaved ones as they read in the editor. A mirrored file is only rewritten when its source has changed since,
+ * and one that isn't among a run's inputs is dropped from the mirror, so the compiler never resolves a {@code uses}
+ * against a copy of a module that's since been deleted, renamed or changed on disk.
+ * <p>
+ * Paths the compiler reports for mirrored files can be mapped back with {@link #toSourcePath(String)}.</p>
+ */
+final class RESOLVEShadowSources {
+
+    private static final String LIB_OPTION = "-lib";
+
+    @Nullable private File base;
+    private final Map<String, File> mirrors = new LinkedHashMap<>();   //lib root -> its mirror
+    private final Map<File, String> written = new HashMap<>();          //mirrored file -> version of what's in it
+
+    /** One of a run's inputs: the text of its unsaved document, or (if {@code text} is null) the file on disk. */
+    static final class Source {
+        @NotNull final String path;
+        @Nullable final String text;
+        @NotNull final String version;
+
+        Source(@NotNull String path, @Nullable String text, @NotNull String version) {
+            this.path = path;
+            this.text = text;
+            this.version = version;
+        }
+    }
+
+    /**
+     * Brings the mirror of {@code args}' lib root up to date with {@code sources} (and only those; anything else
+     * mirrored under that root before goes) and returns {@code args} with every path under that root moved over to
+     * the mirror. Arguments without a lib root come back untouched.
+     */
+    @NotNull
+    synchronized List<String> redirect(@NotNull List<String> args, @NotNull Collection<Source> sources)
+            throws IOException {
+        int lib = args.indexOf(LIB_OPTION);
+        if (lib < 0 || lib + 1 >= args.size()) return args;
+        String root = FileUtil.toSystemIndependentName(args.get(lib + 1));
+        File mirror = getMirror(root);
+
+        Set<File> targets = new HashSet<>();
+        for (Source source : sources) {
+            String relative = FileUtil.getRelativePath(root, FileUtil.toSystemIndependentName(source.path), '/');
+            if (relative == null || relative.startsWith("..")) continue;
+            File target = new File(mirror, relative);
+            targets.add(target);
+            if (source.version.equals(written.get(target))) continue;
+            if (source.text != null) FileUtil.writeToFile(target, source.text);
+            else FileUtil.copy(new File(source.path), target);
+            written.put(target, source.version);
+        }
+        for (Iterator<File> it = written.keySet().iterator(); it.hasNext(); ) {
+            File file = it.next();
+            if (targets.contains(file) || !FileUtil.isAncestor(mirror, file, true)) continue;
+            FileUtil.delete(file);
+            it.remove();
+        }
+        List<String> result = new ArrayList<>(args.size());
+        for (String arg : args) {
+            String path = FileUtil.toSystemIndependentName(arg);
+            String relative = FileUtil.isAncestor(root, path, false) ?
+                    FileUtil.getRelativePath(root, path, '/') : null;
+            if (relative == null) result.add(arg);
+            else result.add(relative.equals(".") ? mirror.getPath() : new File(mirror, relative).getPath());
+        }
+        return result;
+    }
+
+    /** Maps a path inside one of the mirrors back to the file it mirrors; any other path is returned as is. */
+    @NotNull
+    synchronized String toSourcePath(@NotNull String path) {
+        String independent = FileUtil.toSystemIndependentName(path);
+        for (Map.Entry<String, File> e : mirrors.entrySet()) {
+            String mirror = FileUtil.toSystemIndependentName(e.getValue().getPath());
+            if (!FileUtil.isAncestor(mirror, independent, true)) continue;
+            return e.getKey() + "/" + FileUtil.getRelativePath(mirror, independent, '/');
+        }
+        return path;
+    }
+
+    synchronized void dispose() {
+        if (base != null) FileUtil.delete(base);
+        base = null;
+        mirrors.clear();
+        written.clear();
+    }
+
+    @NotNull
+    private File getMirror(@NotNull String root) throws IOException {
+        File result = mirrors.get(root);
+        if (result != null) return result;
+        if (base == null) base = FileUtil.createTempDirectory("resolve-sources", null, true);
+        result = new File(base, "root" + mirrors.size());
+        FileUtil.createDirectory(result);
+        mirrors.put(root, result);
+        return result;
+    }
+}
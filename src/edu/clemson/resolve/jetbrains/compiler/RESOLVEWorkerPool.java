@@ -0,0 +1,113 @@
+package edu.clemson.resolve.jetbrains.compiler;
+
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.util.ConcurrencyUtil;
+import com.intellij.util.Consumer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * A bounded set of workers for compiling many modules side by side, each on a compiler of its own (see
+ * {@link RESOLVEModuleRun}). Waiting on the workers honors a {@link ProgressIndicator}: once it's canceled no more
+ * modules are started, and the caller gets a {@link ProcessCanceledException} straight away.
+ */
+public final class RESOLVEWorkerPool {
+
+    private static final long CANCEL_CHECK_INTERVAL_MS = 50;
+
+    @NotNull private final RESOLVECompilerSession session;
+    @NotNull private final ExecutorService executor;
+
+    /**
+     * A pool of at most one worker per core, and no more workers than there are {@code jobs} to go around. Its
+     * compiles also count against {@code project}'s cap on concurrent compiles (see
+     * {@link RESOLVECompilerSession#compileModule}), so two pools at once don't run twice as many.
+     */
+    public RESOLVEWorkerPool(@NotNull Project project, int jobs) {
+        this.session = RESOLVECompilerSession.getInstance(project);
+        int workers = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), jobs));
+        this.executor = Executors.newFixedThreadPool(workers,
+                ConcurrencyUtil.newNamedThreadFactory("RESOLVE compiler worker", true, Thread.NORM_PRIORITY));
+    }
+
+    /**
+     * Compiles every file in {@code jobs} with the arguments it's mapped to, returning the runs in the order of
+     * {@code jobs}. {@code onDone} is called (on the calling thread) as each run is collected. If a {@code cache}
+     * is given, jobs it already has results for (with every input unchanged on disk) aren't compiled at all, and new
+     * results are added to it.
+     */
+    @NotNull
+    public List<RESOLVEModuleRun> compileAll(@NotNull Map<VirtualFile, List<String>> jobs,
+                                             @Nullable final RESOLVEResultCache cache,
+                                             @NotNull final ProgressIndicator indicator,
+                                             @NotNull Consumer<RESOLVEModuleRun> onDone) {
+        List<Future<RESOLVEModuleRun>> pending = new ArrayList<>();
+        for (final Map.Entry<VirtualFile, List<String>> job : jobs.entrySet()) {
+            pending.add(executor.submit(new Callable<RESOLVEModuleRun>() {
+                @Override
+                public RESOLVEModuleRun call() {
+                    VirtualFile file = job.getKey();
+                    List<String> args = job.getValue();
+                    if (cache == null || !RESOLVEResultCache.isCacheable(args)) {
+                        return session.compileModule(file, args, indicator);
+                    }
+                    //compileModule reads from disk, so the key has to as well
+                    String key = cache.computeKey(file, args, true);
+                    RESOLVEModuleRun cached = cache.get(key, file);
+                    if (cached != null) return cached;
+                    RESOLVEModuleRun result = session.compileModule(file, args, indicator);
+                    //an input saved while compiling may or may not have been seen, so this result belongs to no key
+                    if (key.equals(cache.computeKey(file, args, true))) cache.put(key, result);
+                    return result;
+                }
+            }));
+        }
+        List<RESOLVEModuleRun> result = new ArrayList<>();
+        try {
+            for (Future<RESOLVEModuleRun> future : pending) {
+                RESOLVEModuleRun run = await(future, indicator);
+                result.add(run);
+                onDone.consume(run);
+            }
+        }
+        catch (ProcessCanceledException e) {
+            for (Future<RESOLVEModuleRun> future : pending) {
+                future.cancel(false);
+            }
+            throw e;
+        }
+        return result;
+    }
+
+    /** Lets the workers go; modules already being compiled run to completion. */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @NotNull
+    private static RESOLVEModuleRun await(@NotNull Future<RESOLVEModuleRun> future,
+                                          @NotNull ProgressIndicator indicator) {
+        while (true) {
+            indicator.checkCanceled();
+            try {
+                return future.get(CANCEL_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            }
+            catch (TimeoutException ignored) {
+            }
+            catch (InterruptedException e) {
+                throw new ProcessCanceledException(e);
+            }
+            catch (ExecutionException e) {
+                throw new RuntimeException(e.getCause());
+            }
+        }
+    }
+}
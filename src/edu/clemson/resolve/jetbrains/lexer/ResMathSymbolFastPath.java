@@ -0,0 +1,126 @@
+package edu.clemson.resolve.jetbrains.lexer;
+
+import com.intellij.lexer.FlexLexer;
+import com.intellij.psi.tree.IElementType;
+import edu.clemson.resolve.jetbrains.ResTypes;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.BitSet;
+
+/**
+ * Sits between {@link com.intellij.lexer.FlexAdapter} and {@link _ResLexer}, answering for the (very common) single
+ * code point math symbols -- the {@code MSYM} macro in {@code ResLexer.flex} -- straight off of a bit set instead of
+ * running them through the generated DFA's character class and transition tables. Anything else, along with any
+ * symbol that could turn out to be the start of a longer token, is handed to the generated lexer as usual.
+ * <p>
+ * Skipping past a symbol is just a {@link _ResLexer#reset} of the generated lexer's read position, which is safe
+ * because a symbol only ever starts a token in {@link _ResLexer#YYINITIAL}. {@link #SYMBOLS} must be kept in step
+ * with {@code MSYM}; {@code RESOLVELexerTest} checks that both paths agree on every one of them.</p>
+ */
+class ResMathSymbolFastPath implements FlexLexer {
+
+    /** Every code point matched by {@code MSYM} other than the greek block, which is added as a range below. */
+    static final String SYMBOLS =
+            //U_ARROW
+            "←⇐⟵⟸→⇒⟶⟹↔⇔⟷⟺↩↪↽⇁↼⇀⇌↝⇃⇂↿↾↑⇑↓⇓↕⇕↤↦↢↣" +
+            //U_LOGIC
+            "∧⋀∨⋁¬⋄" +
+            //U_LETTER
+            "𝔹ℂℕℚℝℤ℘" +
+            //U_OPERATOR
+            "∩⋂∪⋃⊔⨆⊓⨅∝⊎⨄±∓×÷⋅⋆∙∘⊕⨁⊗⨂⊙⨀⊖⊘⟕⟖⟗∑∏⨿∐⋈⋉⋊⊠⊡∎⨪∸" +
+            //U_RELATION
+            "⊢⊨⊩⊫⊣≤≥≪≫≲≳⪅⪆∈∉⊂⊃⊆⊇⊏⊐⊑⊒∼≐≃≈≍≠≅≡≼≽⊲⊳⊴⊵△≜";
+
+    private static final int GREEK_START = 0x0370;
+    private static final int GREEK_END = 0x03FF;
+
+    private static final BitSet MATH_SYMBOLS = new BitSet();
+
+    static {
+        for (int i = 0; i < SYMBOLS.length(); ) {
+            int cp = SYMBOLS.codePointAt(i);
+            MATH_SYMBOLS.set(cp);
+            i += Character.charCount(cp);
+        }
+        MATH_SYMBOLS.set(GREEK_START, GREEK_END + 1);
+        MATH_SYMBOLS.clear('λ'); //has a rule of its own
+    }
+
+    @NotNull private final FlexLexer delegate;
+    private CharSequence buffer;
+    private int endOffset;
+    private int tokenStart;
+    private int tokenEnd;
+
+    ResMathSymbolFastPath(@NotNull FlexLexer delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void yybegin(int state) {
+        delegate.yybegin(state);
+    }
+
+    @Override
+    public int yystate() {
+        return delegate.yystate();
+    }
+
+    @Override
+    public int getTokenStart() {
+        return tokenStart;
+    }
+
+    @Override
+    public int getTokenEnd() {
+        return tokenEnd;
+    }
+
+    @Override
+    public IElementType advance() throws IOException {
+        if (tokenEnd < endOffset && delegate.yystate() == _ResLexer.YYINITIAL) {
+            int length = mathSymbolLength(buffer, tokenEnd, endOffset);
+            if (length > 0) {
+                tokenStart = tokenEnd;
+                tokenEnd += length;
+                delegate.reset(buffer, tokenEnd, endOffset, _ResLexer.YYINITIAL);
+                return ResTypes.MATHSYMBOL;
+            }
+        }
+        IElementType result = delegate.advance();
+        tokenStart = delegate.getTokenStart();
+        tokenEnd = delegate.getTokenEnd();
+        return result;
+    }
+
+    @Override
+    public void reset(CharSequence buf, int start, int end, int initialState) {
+        buffer = buf;
+        endOffset = end;
+        tokenStart = tokenEnd = start;
+        delegate.reset(buf, start, end, initialState);
+    }
+
+    /**
+     * Returns the length (in chars) of the lone math symbol at {@code offset}, or 0 if there isn't one there. A
+     * symbol that's also a letter (greek, or one of the number systems) followed by something that could continue an
+     * identifier is reported as 0 too, since the generated lexer would take the whole thing as an identifier.
+     */
+    static int mathSymbolLength(@NotNull CharSequence buffer, int offset, int endOffset) {
+        int cp = Character.codePointAt(buffer, offset);
+        if (!MATH_SYMBOLS.get(cp)) return 0;
+        int length = Character.charCount(cp);
+        if (Character.isLetter(cp) || (cp >= GREEK_START && cp <= GREEK_END)) {
+            int next = offset + length;
+            if (next < endOffset && continuesIdentifier(Character.codePointAt(buffer, next))) return 0;
+        }
+        return length;
+    }
+
+    //errs on the side of saying yes: a false positive just means the generated lexer handles it
+    private static boolean continuesIdentifier(int cp) {
+        return cp == '_' || Character.isLetterOrDigit(cp) || Character.isJavaIdentifierPart(cp);
+    }
+}
@@ -6,8 +6,21 @@ import com.intellij.psi.tree.TokenSet;
 import edu.clemson.resolve.jetbrains.RESOLVEParserDefinition;
 import edu.clemson.resolve.jetbrains.lexer._ResLexer;
 
+/**
+ * The lexer used for both parsing and highlighting. Runs of whitespace and comments coming out of {@link _ResLexer}
+ * are merged into single tokens; lone math symbols are picked off ahead of it by {@link ResMathSymbolFastPath}.
+ * <p>
+ * The editor relexes incrementally: after a change it restarts from the nearest token boundary before the damage
+ * whose {@link #getState()} is the initial state, and stops as soon as it's back in sync with the old tokens. For
+ * this to only touch the damaged region, the state must capture everything needed to resume at any token boundary.
+ * {@link _ResLexer} currently has just the one lexical state (multiline comments and math are single-token rules),
+ * so this holds trivially; if a state is ever added (say, for nested comments) it has to be encoded in
+ * {@code getState()} too. {@code RESOLVELexerTest#testRestartConsistency} checks this across all of the lexer test
+ * data.</p>
+ */
 public class ResolveLexer extends MergingLexerAdapter {
     public ResolveLexer() {
-        super(new FlexAdapter(new _ResLexer()), TokenSet.orSet(RESOLVEParserDefinition.COMMENTS, RESOLVEParserDefinition.WHITESPACES));
+        super(new FlexAdapter(new ResMathSymbolFastPath(new _ResLexer())),
+                TokenSet.orSet(RESOLVEParserDefinition.COMMENTS, RESOLVEParserDefinition.WHITESPACES));
     }
 }
@@ -0,0 +1,38 @@
+package edu.clemson.resolve.jetbrains.psi;
+
+import com.intellij.lang.Language;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.tree.IElementType;
+import edu.clemson.resolve.jetbrains.ResTypes;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * A {@code requires}, {@code ensures} or {@code maintaining} clause. The new text can be reparsed in place so long as
+ * it still opens with the clause's keyword and its one and only {@code ;} is the last thing in it. Math expressions
+ * can have a {@code ;} of their own (after each alternative of a {@code MathAlternativeItemExp}), but we don't try
+ * to tell those apart: a clause with alternatives in it is simply always left to a full reparse.
+ */
+class ResClauseElementType extends ResReparseableElementType {
+
+    ResClauseElementType(@NotNull String debug) {
+        super(debug);
+    }
+
+    @Override
+    public boolean isParsable(@NotNull CharSequence buffer, @NotNull Language fileLanguage, @NotNull Project project) {
+        List<IElementType> tokens = lexSignificantTokens(buffer);
+        if (tokens.isEmpty() || tokens.get(0) != getKeyword()) return false;
+        int last = tokens.size() - 1;
+        return tokens.indexOf(ResTypes.SEMICOLON) == last;
+    }
+
+    //not looked up in the constructor: we're created while ResTypes itself is still being initialized
+    @NotNull
+    private IElementType getKeyword() {
+        if (this == ResTypes.REQUIRES_CLAUSE) return ResTypes.REQUIRES;
+        if (this == ResTypes.ENSURES_CLAUSE) return ResTypes.ENSURES;
+        return ResTypes.MAINTAINING;
+    }
+}
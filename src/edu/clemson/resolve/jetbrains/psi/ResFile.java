@@ -4,11 +4,15 @@ import com.intellij.extapi.psi.PsiFileBase;
 import com.intellij.openapi.fileTypes.FileType;
 import com.intellij.psi.FileViewProvider;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
 import com.intellij.psi.util.PsiTreeUtil;
 import edu.clemson.resolve.jetbrains.RESOLVEConstants;
 import edu.clemson.resolve.jetbrains.RESOLVEFileType;
 import edu.clemson.resolve.jetbrains.RESOLVEIcons;
 import edu.clemson.resolve.jetbrains.RESOLVELanguage;
+import edu.clemson.resolve.jetbrains.stubs.ResFileStub;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -34,8 +38,17 @@ public class ResFile extends PsiFileBase {
         return super.getChildren();
     }
 
+    @Nullable
+    @Override
+    public ResFileStub getStub() {
+        StubElement stub = super.getStub();
+        return stub instanceof ResFileStub ? (ResFileStub) stub : null;
+    }
+
     @Nullable
     public ResModuleDecl getEnclosedModule() {
+        ResFileStub stub = getStub();
+        if (stub != null) return stub.getEnclosedModule();
         return PsiTreeUtil.findChildOfType(this, ResModuleDecl.class);
     }
 
@@ -52,6 +65,16 @@ public class ResFile extends PsiFileBase {
                 new ArrayList<ResModuleIdentifierSpec>();
     }
 
+    @NotNull
+    public ResImportClosure getImportClosure() {
+        return CachedValuesManager.getCachedValue(this, new CachedValueProvider<ResImportClosure>() {
+            @Override
+            public Result<ResImportClosure> compute() {
+                return ResImportClosure.compute(ResFile.this);
+            }
+        });
+    }
+
    /* @NotNull
     public List<ResModuleIdentifier> getSuperModuleModuleIdentifierList() {
         ResModuleDecl enclosedModule = getEnclosedModule();
@@ -0,0 +1,228 @@
+package edu.clemson.resolve.jetbrains.psi;
+
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.util.ArrayUtil;
+import com.intellij.util.containers.ContainerUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * The ordered list of modules whose module-level entities are visible from some {@link ResFile}: those it names in
+ * its uses clause, those named in the uses clauses of the modules it uses, and the specifications of every facility
+ * it (or one of the modules it uses) declares.
+ * <p>
+ * Built once per file and kept until the uses lists, module headers or facility declarations of one of the files
+ * that went into it change (or a module file is added, moved or removed), see {@link ResFile#getImportClosure()}.</p>
+ */
+public final class ResImportClosure {
+
+    public enum Origin {
+        /** A module named in one of the uses clauses of the modules we use. */
+        SUPER_MODULE_USES,
+        /** A module named directly in our uses clause. */
+        USES,
+        /** The specification of a facility (or of one of its extensions). */
+        FACILITY
+    }
+
+    public static final class Entry {
+        @NotNull private final ResFile file;
+        @NotNull private final Origin origin;
+        @Nullable private final String usesName;
+        private final boolean local;
+
+        Entry(@NotNull ResFile file, @NotNull Origin origin, @Nullable String usesName, boolean local) {
+            this.file = file;
+            this.origin = origin;
+            this.usesName = usesName;
+            this.local = local;
+        }
+
+        @NotNull
+        public ResFile getFile() {
+            return file;
+        }
+
+        @NotNull
+        public Origin getOrigin() {
+            return origin;
+        }
+
+        /** The name the module was referred to by in a uses clause; {@code null} unless this is a {@link Origin#USES}. */
+        @Nullable
+        public String getUsesName() {
+            return usesName;
+        }
+
+        /**
+         * Returns {@code true} if all of the module's entities are visible, not just the uses-clause visible ones;
+         * this is the case for the modules named in our header and for facility specifications.
+         */
+        public boolean isLocal() {
+            return local;
+        }
+    }
+
+    @NotNull private final List<Entry> entries;
+
+    /** The files whose uses lists and facilities were read to build this closure. */
+    @NotNull private final Set<ResFile> inputs;
+
+    private ResImportClosure(@NotNull List<Entry> entries, @NotNull Set<ResFile> inputs) {
+        this.entries = entries;
+        this.inputs = inputs;
+    }
+
+    @NotNull
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    @NotNull
+    public List<Entry> getEntries(@NotNull Origin origin) {
+        List<Entry> result = new ArrayList<>();
+        for (Entry e : entries) {
+            if (e.getOrigin() == origin) result.add(e);
+        }
+        return result;
+    }
+
+    @NotNull
+    static CachedValueProvider.Result<ResImportClosure> compute(@NotNull ResFile file) {
+        ResImportClosure closure = build(file);
+        List<Object> dependencies = ContainerUtil.newArrayList();
+        for (ResFile input : closure.inputs) {
+            dependencies.add(importsTracker(input));
+        }
+        dependencies.add(VirtualFileManager.VFS_STRUCTURE_MODIFICATIONS);
+        dependencies.add(ProjectRootManager.getInstance(file.getProject()));
+        return CachedValueProvider.Result.create(closure, ArrayUtil.toObjectArray(dependencies));
+    }
+
+    @NotNull
+    private static ResImportClosure build(@NotNull ResFile file) {
+        List<Entry> entries = new ArrayList<>();
+        Set<ResFile> inputs = new LinkedHashSet<>();
+        inputs.add(file);
+        ResModuleDecl module = file.getEnclosedModule();
+        if (module == null) return new ResImportClosure(entries, inputs);
+
+        List<String> headerNames = new ArrayList<>();
+        for (ResReferenceExp e : module.getModuleHeaderReferences()) {
+            headerNames.add(e.getIdentifier().getText());
+        }
+        //the specs of facilities declared here and in the modules we use; a facility is skipped if it's malformed
+        //(i.e. missing either its spec or impl)
+        Set<ResFile> facilitySpecs = new LinkedHashSet<>();
+        List<ResModuleDecl> superModules = new ArrayList<>();
+
+        for (ResModuleIdentifierSpec usesItem : module.getModuleIdentifierSpecs()) {
+            ResFile used = resolve(usesItem.getModuleIdentifier());
+            if (used == null) continue;
+            inputs.add(used);
+            if (!headerNames.isEmpty()) {
+                for (ResModuleIdentifierSpec superUsesItem : used.getModuleIdentifierSpecs()) {
+                    ResFile superUsed = resolve(superUsesItem.getModuleIdentifier());
+                    if (superUsed != null) entries.add(new Entry(superUsed, Origin.SUPER_MODULE_USES, null, false));
+                }
+            }
+            boolean forSuperModule = headerNames.contains(usesItem.getName());
+            entries.add(new Entry(used, Origin.USES, usesItem.getModuleIdentifier().getText(), forSuperModule));
+
+            ResModuleDecl usedModule = used.getEnclosedModule();
+            if (usedModule == null) continue;
+            if (forSuperModule) superModules.add(usedModule);
+            addFacilitySpecs(usedModule.getFacilities(), facilitySpecs, false);
+        }
+        for (ResModuleDecl superModule : superModules) {
+            for (ResModuleIdentifierSpec usesItem : superModule.getModuleIdentifierSpecs()) {
+                ResFile used = resolve(usesItem.getModuleIdentifier());
+                ResModuleDecl usedModule = used != null ? used.getEnclosedModule() : null;
+                if (usedModule == null) continue;
+                inputs.add(used);
+                addFacilitySpecs(usedModule.getFacilities(), facilitySpecs, false);
+            }
+        }
+        addFacilitySpecs(module.getFacilities(), facilitySpecs, true);
+
+        for (ResFile spec : facilitySpecs) {
+            entries.add(new Entry(spec, Origin.FACILITY, null, true));
+        }
+        return new ResImportClosure(entries, inputs);
+    }
+
+    private static void addFacilitySpecs(@NotNull List<ResFacilityDecl> facilities,
+                                         @NotNull Set<ResFile> result,
+                                         boolean withExtensions) {
+        for (ResFacilityDecl facility : facilities) {
+            if (facility.getModuleIdentifierList().size() != 2) continue;
+            ResFile spec = resolve(facility.getModuleIdentifierList().get(0));
+            if (spec != null) result.add(spec);
+            if (!withExtensions) continue;
+            for (ResExtensionPairing ext : facility.getExtensionPairingList()) {
+                if (ext.getModuleIdentifierList().size() != 2) continue;
+                ResFile extSpec = resolve(ext.getModuleIdentifierList().get(0));
+                if (extSpec != null) result.add(extSpec);
+            }
+        }
+    }
+
+    @Nullable
+    private static ResFile resolve(@NotNull ResModuleIdentifier identifier) {
+        PsiElement resolve = identifier.resolve();
+        return resolve instanceof ResFile ? (ResFile) resolve : null;
+    }
+
+    /**
+     * A tracker that only moves when the parts of {@code file} that feed into a closure change: its header, uses list
+     * and facility declarations. Edits anywhere else in the file leave it (and so any closure built from it) alone.
+     */
+    @NotNull
+    private static ModificationTracker importsTracker(@NotNull final ResFile file) {
+        return new ModificationTracker() {
+            @Override
+            public long getModificationCount() {
+                if (!file.isValid()) return -1;
+                return CachedValuesManager.getCachedValue(file, new CachedValueProvider<Long>() {
+                    @Override
+                    public Result<Long> compute() {
+                        return Result.create(computeImportsSignature(file), file);
+                    }
+                });
+            }
+        };
+    }
+
+    private static long computeImportsSignature(@NotNull ResFile file) {
+        ResModuleDecl module = file.getEnclosedModule();
+        if (module == null) return 0;
+        StringBuilder sb = new StringBuilder();
+        for (ResReferenceExp e : module.getModuleHeaderReferences()) {
+            sb.append(e.getText()).append(';');
+        }
+        sb.append('|');
+        for (ResModuleIdentifierSpec spec : module.getModuleIdentifierSpecs()) {
+            sb.append(spec.getText()).append(';');
+        }
+        sb.append('|');
+        for (ResFacilityDecl facility : module.getFacilities()) {
+            for (ResModuleIdentifier identifier : facility.getModuleIdentifierList()) {
+                sb.append(identifier.getText()).append(',');
+            }
+            for (ResExtensionPairing ext : facility.getExtensionPairingList()) {
+                for (ResModuleIdentifier identifier : ext.getModuleIdentifierList()) {
+                    sb.append(identifier.getText()).append(',');
+                }
+            }
+            sb.append(';');
+        }
+        return sb.toString().hashCode();
+    }
+}
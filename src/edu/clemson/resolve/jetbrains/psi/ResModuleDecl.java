@@ -62,4 +62,8 @@ public interface ResModuleDecl extends ResNamedElement {
     @NotNull
     public List<ResOperationLikeNode> getOperationLikeThings();
 
+    /** Returns the (cached) table of every module-level name declared in this module, keyed by name. */
+    @NotNull
+    public ResModuleSymbolTable getSymbolTable();
+
 }
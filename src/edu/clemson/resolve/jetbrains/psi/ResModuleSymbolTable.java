@@ -0,0 +1,84 @@
+package edu.clemson.resolve.jetbrains.psi;
+
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.util.containers.ContainerUtil;
+import com.intellij.util.containers.MultiMap;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * The names a {@link ResModuleDecl} makes available to references, keyed by name.
+ * <p>
+ * Entries are bucketed by {@link Kind} and by whether or not they're visible to modules that merely name this one in
+ * a uses clause. Within each name the entries appear in {@link Kind} order, which is the same order resolve has always
+ * walked a module's declarations in, so the first hit for a name doesn't change.</p>
+ */
+public final class ResModuleSymbolTable {
+
+    public enum Kind {
+        OPERATION_LIKE, FACILITY, TYPE, GENERIC_TYPE_PARAM, CONSTANT_PARAM, DEFINITION_PARAM, MATH_DEFN_SIG
+    }
+
+    private final Map<Kind, List<ResNamedElement>> byKind = new EnumMap<>(Kind.class);
+    private final MultiMap<String, ResNamedElement> allByName = MultiMap.createLinked();
+    private final MultiMap<String, ResNamedElement> visibleByName = MultiMap.createLinked();
+
+    private ResModuleSymbolTable() {
+    }
+
+    @NotNull
+    public static ResModuleSymbolTable build(@NotNull ResModuleDecl module) {
+        ResModuleSymbolTable result = new ResModuleSymbolTable();
+        result.addAll(Kind.OPERATION_LIKE, module.getOperationLikeThings());
+        result.addAll(Kind.FACILITY, module.getFacilities());
+        result.addAll(Kind.TYPE, module.getTypes());
+        result.addAll(Kind.GENERIC_TYPE_PARAM, module.getGenericTypeParams());
+        result.addAll(Kind.CONSTANT_PARAM, module.getConstantParamDefs());
+        result.addAll(Kind.DEFINITION_PARAM, module.getDefinitionParamSigs());
+        result.addAll(Kind.MATH_DEFN_SIG, module.getMathDefnSigs());
+        return result;
+    }
+
+    private void addAll(@NotNull Kind kind, @NotNull Collection<? extends ResNamedElement> elements) {
+        List<ResNamedElement> bucket = ContainerUtil.newArrayList(elements);
+        byKind.put(kind, bucket);
+        for (ResNamedElement e : bucket) {
+            String name = e.getName();
+            if (StringUtil.isEmpty(name)) continue;
+            allByName.putValue(name, e);
+            if (e.isUsesClauseVisible()) visibleByName.putValue(name, e);
+        }
+    }
+
+    /**
+     * Returns the entries named {@code name}, in {@link Kind} order; if {@code visibleOnly} is set, only those
+     * visible through a uses clause are returned.
+     */
+    @NotNull
+    public Collection<ResNamedElement> get(@NotNull String name, boolean visibleOnly) {
+        return (visibleOnly ? visibleByName : allByName).get(name);
+    }
+
+    /** Returns every entry of the given {@code kind}, in declaration order. */
+    @NotNull
+    public List<ResNamedElement> get(@NotNull Kind kind) {
+        List<ResNamedElement> result = byKind.get(kind);
+        return result != null ? result : Collections.<ResNamedElement>emptyList();
+    }
+
+    /**
+     * Returns every entry in this table grouped by {@link Kind}, or all those visible through a uses clause if
+     * {@code visibleOnly} is set. Meant for completion, which has no single name to look up.
+     */
+    @NotNull
+    public List<ResNamedElement> getAll(boolean visibleOnly) {
+        List<ResNamedElement> result = new ArrayList<>();
+        for (Kind kind : Kind.values()) {
+            for (ResNamedElement e : get(kind)) {
+                if (!visibleOnly || e.isUsesClauseVisible()) result.add(e);
+            }
+        }
+        return result;
+    }
+}
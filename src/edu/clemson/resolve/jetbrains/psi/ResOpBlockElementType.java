@@ -0,0 +1,41 @@
+package edu.clemson.resolve.jetbrains.psi;
+
+import com.intellij.lang.Language;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.TokenType;
+import com.intellij.psi.tree.IElementType;
+import edu.clemson.resolve.jetbrains.ResTypes;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The body of a procedure or operation-procedure. Edits inside a body can be reparsed without touching the rest of
+ * the module so long as every {@code If} and {@code While} in the new text is still closed by its own {@code end}
+ * (an extra {@code end} would close the enclosing procedure) and no new item keyword has appeared: statement recovery
+ * stops at {@code Operation}, {@code Procedure}, {@code Recursive}, {@code Facility}, {@code Type} and
+ * {@code Definition} in a full parse, so a body with one of those in it doesn't parse the same on its own.
+ */
+class ResOpBlockElementType extends ResReparseableElementType {
+
+    ResOpBlockElementType(@NotNull String debug) {
+        super(debug);
+    }
+
+    @Override
+    public boolean isParsable(@NotNull CharSequence buffer, @NotNull Language fileLanguage, @NotNull Project project) {
+        int depth = 0;
+        for (IElementType t : lexSignificantTokens(buffer)) {
+            if (t == ResTypes.PROG_IF || t == ResTypes.WHILE) {
+                depth++;
+            }
+            else if (t == ResTypes.END) {
+                if (--depth < 0) return false;
+            }
+            else if (t == ResTypes.OPERATION || t == ResTypes.PROCEDURE || t == ResTypes.RECURSIVE ||
+                    t == ResTypes.FACILITY || t == ResTypes.FAMILY_TYPE || t == ResTypes.DEFINITION ||
+                    t == TokenType.BAD_CHARACTER) {
+                return false;
+            }
+        }
+        return depth == 0;
+    }
+}
@@ -0,0 +1,55 @@
+package edu.clemson.resolve.jetbrains.psi;
+
+import com.intellij.lexer.Lexer;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.IReparseableElementType;
+import edu.clemson.resolve.jetbrains.RESOLVELanguage;
+import edu.clemson.resolve.jetbrains.RESOLVEParserDefinition;
+import edu.clemson.resolve.jetbrains.lexer.ResolveLexer;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The base for element types whose nodes can be reparsed on their own. When an edit falls entirely within one of
+ * these, the platform asks {@link #isParsable} whether the new text still makes up a well formed node of this type;
+ * if so, only that subtree gets reparsed (by running {@link edu.clemson.resolve.jetbrains.parser.ResParser} with this
+ * type as the root) and the rest of the file's psi, along with anything cached against it, is left alone.
+ * <p>
+ * Referenced from the {@code elementTypeFactory} attribute in {@code Resolve.bnf}.</p>
+ */
+public abstract class ResReparseableElementType extends IReparseableElementType {
+
+    ResReparseableElementType(@NotNull String debug) {
+        super(debug, RESOLVELanguage.INSTANCE);
+    }
+
+    @NotNull
+    public static IElementType factory(@NotNull String name) {
+        switch (name) {
+            case "OP_BLOCK":
+                return new ResOpBlockElementType(name);
+            case "REQUIRES_CLAUSE":
+            case "ENSURES_CLAUSE":
+            case "MAINTAINING_CLAUSE":
+                return new ResClauseElementType(name);
+        }
+        throw new RuntimeException("Unknown element type: " + name);
+    }
+
+    /** Returns the types of the tokens in {@code buffer}, less any whitespace and comments. */
+    @NotNull
+    static List<IElementType> lexSignificantTokens(@NotNull CharSequence buffer) {
+        List<IElementType> result = new ArrayList<>();
+        Lexer lexer = new ResolveLexer();
+        lexer.start(buffer);
+        for (IElementType t = lexer.getTokenType(); t != null; lexer.advance(), t = lexer.getTokenType()) {
+            if (RESOLVEParserDefinition.WHITESPACES.contains(t) || RESOLVEParserDefinition.COMMENTS.contains(t)) {
+                continue;
+            }
+            result.add(t);
+        }
+        return result;
+    }
+}
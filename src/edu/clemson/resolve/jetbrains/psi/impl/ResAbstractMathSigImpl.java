@@ -2,14 +2,22 @@ package edu.clemson.resolve.jetbrains.psi.impl;
 
 import com.intellij.lang.ASTNode;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.stubs.IStubElementType;
 import com.intellij.psi.util.PsiTreeUtil;
 import edu.clemson.resolve.jetbrains.psi.*;
+import edu.clemson.resolve.jetbrains.stubs.ResMathDefnSigStub;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 
-public abstract class ResAbstractMathSigImpl extends ResMathNamedElementImpl implements ResMathDefnSig {
+public abstract class ResAbstractMathSigImpl
+        extends
+        ResMathNamedElementImpl<ResMathDefnSigStub> implements ResMathDefnSig {
+
+    public ResAbstractMathSigImpl(@NotNull ResMathDefnSigStub stub, @NotNull IStubElementType nodeType) {
+        super(stub, nodeType);
+    }
 
     public ResAbstractMathSigImpl(@NotNull ASTNode node) {
         super(node);
@@ -7,6 +7,9 @@ import com.intellij.openapi.module.ModuleUtilCore;
 import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.psi.PsiDirectory;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.StubBasedPsiElement;
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.stubs.StubElement;
 import com.intellij.psi.util.CachedValueProvider;
 import com.intellij.psi.util.CachedValuesManager;
 import com.intellij.psi.util.PsiTreeUtil;
@@ -16,12 +19,17 @@ import com.intellij.util.containers.ContainerUtil;
 import com.intellij.util.containers.MultiMap;
 import edu.clemson.resolve.jetbrains.ResTypes;
 import edu.clemson.resolve.jetbrains.psi.*;
+import edu.clemson.resolve.jetbrains.stubs.ResModuleDeclStub;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 
-public abstract class ResAbstractModuleImpl extends ResNamedElementImpl implements ResModuleDecl {
+public abstract class ResAbstractModuleImpl extends ResNamedElementImpl<ResModuleDeclStub> implements ResModuleDecl {
+
+    ResAbstractModuleImpl(@NotNull ResModuleDeclStub stub, @NotNull IStubElementType nodeType) {
+        super(stub, nodeType);
+    }
 
     ResAbstractModuleImpl(@NotNull ASTNode node) {
         super(node);
@@ -99,7 +107,7 @@ public abstract class ResAbstractModuleImpl extends ResNamedElementImpl implemen
 
     @Nullable
     public ResModuleParameters getModuleParameters() {
-        return PsiTreeUtil.findChildOfType(this, ResModuleParameters.class);
+        return PsiTreeUtil.getStubChildOfType(this, ResModuleParameters.class);
     }
 
     @NotNull
@@ -131,7 +139,11 @@ public abstract class ResAbstractModuleImpl extends ResNamedElementImpl implemen
     public List<ResParamDef> getConstantParamDefs() {
         List<ResParamDef> result = new ArrayList<>();
         ResModuleParameters params = getModuleParameters();
-        if (params instanceof ResSpecModuleParameters) {
+        if (params instanceof ResSpecModuleParameters && hasStub(params)) {
+            //param decls aren't stubbed, so the defs sit directly beneath the parameter list in the stub tree
+            result.addAll(PsiTreeUtil.getStubChildrenOfTypeAsList(params, ResParamDef.class));
+        }
+        else if (params instanceof ResSpecModuleParameters) {
             for (ResParamDecl paramGroup : (((ResSpecModuleParameters) params).getParamDeclList())) {
                 result.addAll(paramGroup.getParamDefList());
             }
@@ -144,7 +156,10 @@ public abstract class ResAbstractModuleImpl extends ResNamedElementImpl implemen
     public List<ResMathDefnSig> getDefinitionParamSigs() {
         List<ResMathDefnSig> result = new ArrayList<>();
         ResModuleParameters params = getModuleParameters();
-        if (params instanceof ResSpecModuleParameters) {
+        if (params instanceof ResSpecModuleParameters && hasStub(params)) {
+            result.addAll(PsiTreeUtil.getStubChildrenOfTypeAsList(params, ResMathDefnSig.class));
+        }
+        else if (params instanceof ResSpecModuleParameters) {
             for (ResMathStandardDefnDecl paramGroup : (((ResSpecModuleParameters) params).getMathStandardDefnDeclList())) {
                 result.addAll(paramGroup.getSignatures());
             }
@@ -152,6 +167,10 @@ public abstract class ResAbstractModuleImpl extends ResNamedElementImpl implemen
         return result;
     }
 
+    /**
+     * Definition decls aren't stubbed (only their signatures are, see {@link #getMathDefnSigs()}), so this always reads
+     * them off of the AST, loading it if we were built from a stub.
+     */
     @NotNull
     @Override
     public List<ResMathDefnDecl> getMathDefinitionDecls() {
@@ -159,7 +178,7 @@ public abstract class ResAbstractModuleImpl extends ResNamedElementImpl implemen
                 new CachedValueProvider<List<ResMathDefnDecl>>() {
                     @Override
                     public Result<List<ResMathDefnDecl>> compute() {
-                        return Result.create(calc(ResMathDefnDecl.class),
+                        return Result.create(calcFromAst(ResMathDefnDecl.class),
                                 ResAbstractModuleImpl.this);
                     }
                 });
@@ -168,6 +187,7 @@ public abstract class ResAbstractModuleImpl extends ResNamedElementImpl implemen
     @NotNull
     @Override
     public List<ResMathDefnSig> getMathDefnSigs() {
+        if (getStub() != null) return PsiTreeUtil.getStubChildrenOfTypeAsList(this, ResMathDefnSig.class);
         List<ResMathDefnSig> signatures = new ArrayList<>();
         for (ResMathDefnDecl def : getMathDefinitionDecls()) {
             List<ResMathDefnSig> sigs = def.getSignatures();
@@ -212,8 +232,40 @@ public abstract class ResAbstractModuleImpl extends ResNamedElementImpl implemen
                 });
     }
 
+    @NotNull
+    public ResModuleSymbolTable getSymbolTable() {
+        return CachedValuesManager.getCachedValue(this,
+                new CachedValueProvider<ResModuleSymbolTable>() {
+                    @Override
+                    public Result<ResModuleSymbolTable> compute() {
+                        return Result.create(ResModuleSymbolTable.build(ResAbstractModuleImpl.this),
+                                ResAbstractModuleImpl.this);
+                    }
+                });
+    }
+
+    /**
+     * Collects the items of {@code type} declared in this module's block. If we were built from a stub, the block
+     * items are read straight off of the stub tree (the block itself isn't stubbed, so they show up as direct
+     * children of the module's stub) and the AST is left alone; so {@code type} must be a stubbed one, or use
+     * {@link #calcFromAst} instead.
+     */
     @NotNull
     private <T extends ResCompositeElement> List<T> calc(final Class<? extends T> type) {
+        final List<T> result = ContainerUtil.newArrayList();
+        ResModuleDeclStub stub = getStub();
+        if (stub != null) {
+            for (StubElement child : stub.getChildrenStubs()) {
+                PsiElement e = child.getPsi();
+                if (type.isInstance(e)) result.add(type.cast(e));
+            }
+            return result;
+        }
+        return calcFromAst(type);
+    }
+
+    @NotNull
+    private <T extends ResCompositeElement> List<T> calcFromAst(final Class<? extends T> type) {
         final List<T> result = ContainerUtil.newArrayList();
         processChildrenDummyAware(this.getBlock(), new Processor<PsiElement>() {
             @Override
@@ -242,6 +294,10 @@ public abstract class ResAbstractModuleImpl extends ResNamedElementImpl implemen
         }.process(module);
     }
 
+    private static boolean hasStub(@NotNull PsiElement e) {
+        return e instanceof StubBasedPsiElement && ((StubBasedPsiElement) e).getStub() != null;
+    }
+
     @NotNull
     private List<ResModuleIdentifierSpec> calcImports() {
         List<ResModuleIdentifierSpec> result = ContainerUtil.newArrayList();
@@ -2,12 +2,20 @@ package edu.clemson.resolve.jetbrains.psi.impl;
 
 import com.intellij.lang.ASTNode;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.stubs.IStubElementType;
 import edu.clemson.resolve.jetbrains.ResTypes;
 import edu.clemson.resolve.jetbrains.psi.*;
+import edu.clemson.resolve.jetbrains.stubs.ResOperationLikeNodeStub;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-public abstract class ResAbstractOperationLikeNode extends ResNamedElementImpl implements ResOperationLikeNode {
+public abstract class ResAbstractOperationLikeNode
+        extends
+        ResNamedElementImpl<ResOperationLikeNodeStub> implements ResOperationLikeNode {
+
+    public ResAbstractOperationLikeNode(@NotNull ResOperationLikeNodeStub stub, @NotNull IStubElementType nodeType) {
+        super(stub, nodeType);
+    }
 
     public ResAbstractOperationLikeNode(@NotNull ASTNode node) {
         super(node);
@@ -17,7 +25,7 @@ public abstract class ResAbstractOperationLikeNode extends ResNamedElementImpl i
     //instead
     @Nullable
     public ResProgSymbolName getSugaredName() {
-        return findChildByType(ResTypes.PROG_SYMBOL_NAME);
+        return findChildByClass(ResProgSymbolName.class);
     }
 
     @NotNull
@@ -3,12 +3,20 @@ package edu.clemson.resolve.jetbrains.psi.impl;
 import com.intellij.lang.ASTNode;
 import com.intellij.openapi.project.ProjectManager;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.stubs.IStubElementType;
 import edu.clemson.resolve.jetbrains.ResTypes;
 import edu.clemson.resolve.jetbrains.psi.*;
+import edu.clemson.resolve.jetbrains.stubs.ResTypeLikeNodeDeclStub;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-public abstract class ResAbstractTypeDeclLikeNodeImpl extends ResNamedElementImpl implements ResTypeLikeNodeDecl {
+public abstract class ResAbstractTypeDeclLikeNodeImpl
+        extends
+        ResNamedElementImpl<ResTypeLikeNodeDeclStub> implements ResTypeLikeNodeDecl {
+
+    public ResAbstractTypeDeclLikeNodeImpl(@NotNull ResTypeLikeNodeDeclStub stub, @NotNull IStubElementType nodeType) {
+        super(stub, nodeType);
+    }
 
     public ResAbstractTypeDeclLikeNodeImpl(@NotNull ASTNode node) {
         super(node);
@@ -31,6 +31,10 @@ public class ResElementFactory {
 
     //TODO: I don't want this to be navigatble.. Figure out how to accomplish this. (or at least make the module
     //navigatable, but obfuscate the body)
+    /**
+     * Parses a fresh copy of the builtin class theory; don't call this from resolve, go through
+     * {@link edu.clemson.resolve.jetbrains.sdk.RESOLVEBuiltinTheoryService} instead, which holds on to one.
+     */
     @NotNull
     public static ResFile getHardCodedMathFile(@NotNull Project project) {
         final String hardcoded =
@@ -0,0 +1,21 @@
+package edu.clemson.resolve.jetbrains.psi.impl;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
+import edu.clemson.resolve.jetbrains.psi.ResMathSymbolName;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/** {@link ResMathNamedElementImpl}'s counterpart for the math named elements that are never stubbed. */
+public abstract class ResMathNamedCompositeElementImpl extends ResNamedCompositeElementImpl {
+
+    public ResMathNamedCompositeElementImpl(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    @Nullable
+    @Override
+    public PsiElement getIdentifier() {
+        return findChildByClass(ResMathSymbolName.class);
+    }
+}
@@ -2,11 +2,17 @@ package edu.clemson.resolve.jetbrains.psi.impl;
 
 import com.intellij.lang.ASTNode;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.stubs.IStubElementType;
 import edu.clemson.resolve.jetbrains.psi.ResMathSymbolName;
+import edu.clemson.resolve.jetbrains.stubs.ResNamedStub;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-public abstract class ResMathNamedElementImpl extends ResNamedElementImpl {
+public abstract class ResMathNamedElementImpl<T extends ResNamedStub<?>> extends ResNamedElementImpl<T> {
+
+    public ResMathNamedElementImpl(@NotNull T stub, @NotNull IStubElementType nodeType) {
+        super(stub, nodeType);
+    }
 
     public ResMathNamedElementImpl(@NotNull ASTNode node) {
         super(node);
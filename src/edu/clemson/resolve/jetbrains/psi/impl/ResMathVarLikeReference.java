@@ -10,6 +10,7 @@ import com.intellij.util.ArrayUtil;
 import com.intellij.util.containers.ContainerUtil;
 import com.intellij.util.containers.OrderedSet;
 import edu.clemson.resolve.jetbrains.psi.*;
+import edu.clemson.resolve.jetbrains.sdk.RESOLVEBuiltinTheoryService;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -195,7 +196,7 @@ public class ResMathVarLikeReference
     private boolean processBuiltin(@NotNull ResScopeProcessor processor,
                                    @NotNull ResolveState state,
                                    @NotNull ResCompositeElement element) {
-        ResFile f = ResElementFactory.getHardCodedMathFile(element.getProject());
+        ResFile f = RESOLVEBuiltinTheoryService.getInstance(element.getProject()).getBuiltinFile();
         return processModuleLevelEntities(f, processor, state, true);
     }
 
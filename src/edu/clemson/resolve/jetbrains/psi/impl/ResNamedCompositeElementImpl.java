@@ -0,0 +1,123 @@
+package edu.clemson.resolve.jetbrains.psi.impl;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.ResolveState;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.IncorrectOperationException;
+import edu.clemson.resolve.jetbrains.psi.ResMathExp;
+import edu.clemson.resolve.jetbrains.psi.ResNamedElement;
+import edu.clemson.resolve.jetbrains.psi.ResType;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+
+/**
+ * The named elements that are never stubbed (variables, fields, theorems and the like, none of which are visible
+ * outside the module that declares them); the stub-based ones extend {@link ResNamedElementImpl}. Both behave the
+ * same as far as anyone resolving against them can tell.
+ */
+public abstract class ResNamedCompositeElementImpl extends ResCompositeElementImpl implements ResNamedElement {
+
+    public ResNamedCompositeElementImpl(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    @Nullable
+    @Override
+    public PsiElement getNameIdentifier() {
+        return getIdentifier();
+    }
+
+    @Override
+    public boolean isUsesClauseVisible() {
+        return ResNamedElementImpl.isUsesClauseVisible(this);
+    }
+
+    @Nullable
+    @Override
+    public String getName() {
+        PsiElement identifier = getIdentifier();
+        return identifier != null ? identifier.getText() : null;
+    }
+
+    @NotNull
+    @Override
+    public PsiElement setName(@NonNls @NotNull String newName) throws IncorrectOperationException {
+        PsiElement identifier = getIdentifier();
+        if (identifier != null) {
+            identifier.replace(ResElementFactory.createIdentifierFromText(getProject(), newName));
+        }
+        return this;
+    }
+
+    @Override
+    public int getTextOffset() {
+        PsiElement identifier = getIdentifier();
+        return identifier != null ? identifier.getTextOffset() : super.getTextOffset();
+    }
+
+    @Nullable
+    @Override
+    public ResType getResType(@Nullable ResolveState context) {
+        if (context != null) return getResTypeInner(context);
+        return CachedValuesManager.getCachedValue(this,
+                new CachedValueProvider<ResType>() {
+                    @Nullable
+                    @Override
+                    public Result<ResType> compute() {
+                        return Result.create(getResTypeInner(null),
+                                PsiModificationTracker.MODIFICATION_COUNT);
+                    }
+                });
+    }
+
+    @Nullable
+    @Override
+    public ResMathExp getResMathMetaTypeExp(@Nullable ResolveState context) {
+        if (context != null) return getResMathMetaTypeExpInner(context);
+        return CachedValuesManager.getCachedValue(this,
+                new CachedValueProvider<ResMathExp>() {
+                    @Nullable
+                    @Override
+                    public Result<ResMathExp> compute() {
+                        return Result.create(getResMathMetaTypeExpInner(null),
+                                PsiModificationTracker.MODIFICATION_COUNT);
+                    }
+                });
+    }
+
+    @Nullable
+    protected ResType getResTypeInner(@Nullable ResolveState context) {
+        return findSiblingType();
+    }
+
+    @Nullable
+    @Override
+    public ResType findSiblingType() {
+        return PsiTreeUtil.getNextSiblingOfType(this, ResType.class);
+    }
+
+    @Nullable
+    protected ResMathExp getResMathMetaTypeExpInner(@Nullable ResolveState context) {
+        return findSiblingMathMetaType();
+    }
+
+    @Nullable
+    @Override
+    public ResMathExp findSiblingMathMetaType() {
+        return ResNamedElementImpl.findSiblingMathMetaType(this);
+    }
+
+    @Nullable
+    @Override
+    public Icon getIcon(int flags) {
+        Icon icon = ResNamedElementImpl.getIcon(this, flags);
+        return icon != null ? icon : super.getIcon(flags);
+    }
+}
@@ -6,6 +6,7 @@ import com.intellij.psi.PsiElement;
 import com.intellij.psi.ResolveState;
 import com.intellij.psi.impl.ElementBase;
 import com.intellij.psi.scope.PsiScopeProcessor;
+import com.intellij.psi.stubs.IStubElementType;
 import com.intellij.psi.util.CachedValueProvider;
 import com.intellij.psi.util.CachedValuesManager;
 import com.intellij.psi.util.PsiModificationTracker;
@@ -15,15 +16,24 @@ import com.intellij.util.IncorrectOperationException;
 import com.intellij.util.PlatformIcons;
 import edu.clemson.resolve.jetbrains.RESOLVEIcons;
 import edu.clemson.resolve.jetbrains.psi.*;
+import edu.clemson.resolve.jetbrains.stubs.ResNamedStub;
 import org.jetbrains.annotations.NonNls;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
 
-public abstract class ResNamedElementImpl
+/**
+ * The stub-based named elements. Those never stubbed extend {@link ResNamedCompositeElementImpl} instead, and share
+ * what they can with these through the static helpers here.
+ */
+public abstract class ResNamedElementImpl<T extends ResNamedStub<?>>
         extends
-        ResCompositeElementImpl implements ResCompositeElement, ResNamedElement {
+        ResStubbedElementImpl<T> implements ResCompositeElement, ResNamedElement {
+
+    public ResNamedElementImpl(@NotNull T stub, @NotNull IStubElementType nodeType) {
+        super(stub, nodeType);
+    }
 
     public ResNamedElementImpl(@NotNull ASTNode node) {
         super(node);
@@ -41,9 +51,13 @@ public abstract class ResNamedElementImpl
      * @return whether or not this element should be visible from a uses clause.
      */
     public boolean isUsesClauseVisible() {
-        return (!(this instanceof ResOperationDecl) &&
-                !(this instanceof ResProcedureDecl) &&
-                !(this instanceof ResParamDef));
+        return isUsesClauseVisible(this);
+    }
+
+    static boolean isUsesClauseVisible(@NotNull ResNamedElement o) {
+        return (!(o instanceof ResOperationDecl) &&
+                !(o instanceof ResProcedureDecl) &&
+                !(o instanceof ResParamDef));
     }
 
     @Override
@@ -54,6 +68,8 @@ public abstract class ResNamedElementImpl
     @Nullable
     @Override
     public String getName() {
+        T stub = getStub();
+        if (stub != null) return stub.getName();
         PsiElement identifier = getIdentifier();
         return identifier != null ? identifier.getText() : null;
     }
@@ -139,11 +155,16 @@ public abstract class ResNamedElementImpl
     @Nullable
     @Override
     public ResMathExp findSiblingMathMetaType() {
-        ResMathExp purelyMathTypeExp = PsiTreeUtil.getNextSiblingOfType(this, ResMathExp.class);
+        return findSiblingMathMetaType(this);
+    }
+
+    @Nullable
+    static ResMathExp findSiblingMathMetaType(@NotNull ResNamedElement o) {
+        ResMathExp purelyMathTypeExp = PsiTreeUtil.getNextSiblingOfType(o, ResMathExp.class);
         if (purelyMathTypeExp != null) return purelyMathTypeExp;
 
         //ok, maybe we're dealing with a programmatic type or something...
-        ResType progType = findSiblingType();
+        ResType progType = o.findSiblingType();
         if (progType != null && progType.getTypeReferenceExp() != null) {
             PsiElement resolvedProgramType = progType.getTypeReferenceExp().getReference().resolve();
             if (resolvedProgramType instanceof ResTypeLikeNodeDecl) {
@@ -156,32 +177,39 @@ public abstract class ResNamedElementImpl
     @Nullable
     @Override
     public Icon getIcon(int flags) {
+        Icon icon = getIcon(this, flags);
+        return icon != null ? icon : super.getIcon(flags);
+    }
+
+    //null if o is of a kind without an icon of its own
+    @Nullable
+    static Icon getIcon(@NotNull ResNamedElement o, int flags) {
         Icon icon = null;
-        if (this instanceof ResPrecisModuleDecl) icon = RESOLVEIcons.PRECIS;
-        else if (this instanceof ResPrecisExtensionModuleDecl) icon = RESOLVEIcons.PRECIS_EXT;
-        else if (this instanceof ResConceptModuleDecl) icon = RESOLVEIcons.CONCEPT;
-        else if (this instanceof ResConceptExtensionModuleDecl) icon = RESOLVEIcons.CONCEPT_EXT;
-        else if (this instanceof ResImplModuleDecl) icon = RESOLVEIcons.IMPL;
-        else if (this instanceof ResFacilityModuleDecl) icon = RESOLVEIcons.FACILITY;
-        else if (this instanceof ResTypeModelDecl) icon = RESOLVEIcons.TYPE_MODEL;
-        else if (this instanceof ResTypeReprDecl) icon = RESOLVEIcons.TYPE_REPR;
-        else if (this instanceof ResFacilityDecl) icon = RESOLVEIcons.FACILITY;
-        else if (this instanceof ResTypeParamDecl) icon = RESOLVEIcons.GENERIC_TYPE;
-        else if (this instanceof ResMathVarDef) icon = RESOLVEIcons.VARIABLE;
-        else if (this instanceof ResOperationDecl) icon = RESOLVEIcons.FUNCTION_DECL;
-        else if (this instanceof ResOperationProcedureDecl) icon = RESOLVEIcons.FUNCTION_IMPL;
-        else if (this instanceof ResProcedureDecl) icon = RESOLVEIcons.FUNCTION_IMPL;
-        else if (this instanceof ResParamDef) icon = RESOLVEIcons.PARAMETER;
+        if (o instanceof ResPrecisModuleDecl) icon = RESOLVEIcons.PRECIS;
+        else if (o instanceof ResPrecisExtensionModuleDecl) icon = RESOLVEIcons.PRECIS_EXT;
+        else if (o instanceof ResConceptModuleDecl) icon = RESOLVEIcons.CONCEPT;
+        else if (o instanceof ResConceptExtensionModuleDecl) icon = RESOLVEIcons.CONCEPT_EXT;
+        else if (o instanceof ResImplModuleDecl) icon = RESOLVEIcons.IMPL;
+        else if (o instanceof ResFacilityModuleDecl) icon = RESOLVEIcons.FACILITY;
+        else if (o instanceof ResTypeModelDecl) icon = RESOLVEIcons.TYPE_MODEL;
+        else if (o instanceof ResTypeReprDecl) icon = RESOLVEIcons.TYPE_REPR;
+        else if (o instanceof ResFacilityDecl) icon = RESOLVEIcons.FACILITY;
+        else if (o instanceof ResTypeParamDecl) icon = RESOLVEIcons.GENERIC_TYPE;
+        else if (o instanceof ResMathVarDef) icon = RESOLVEIcons.VARIABLE;
+        else if (o instanceof ResOperationDecl) icon = RESOLVEIcons.FUNCTION_DECL;
+        else if (o instanceof ResOperationProcedureDecl) icon = RESOLVEIcons.FUNCTION_IMPL;
+        else if (o instanceof ResProcedureDecl) icon = RESOLVEIcons.FUNCTION_IMPL;
+        else if (o instanceof ResParamDef) icon = RESOLVEIcons.PARAMETER;
         //TODO: complete the icon list here as you go along
 
         if (icon != null) {
             if ((flags & Iconable.ICON_FLAG_VISIBILITY) != 0) {
-                RowIcon rowIcon = ElementBase.createLayeredIcon(this, icon, flags);
-                rowIcon.setIcon(isUsesClauseVisible() ? PlatformIcons.PUBLIC_ICON : PlatformIcons.PRIVATE_ICON, 1);
+                RowIcon rowIcon = ElementBase.createLayeredIcon(o, icon, flags);
+                rowIcon.setIcon(o.isUsesClauseVisible() ? PlatformIcons.PUBLIC_ICON : PlatformIcons.PRIVATE_ICON, 1);
                 return rowIcon;
             }
             return icon;
         }
-        return super.getIcon(flags);
+        return null;
     }
 }
@@ -65,6 +65,12 @@ public class ResReference extends PsiPolyVariantReferenceBase<ResReferenceExpBas
                 }
                 return true;
             }
+
+            @Nullable
+            @Override
+            public String getName() {
+                return o.getIdentifier().getText();
+            }
         };
     }
 
@@ -262,130 +268,32 @@ public class ResReference extends PsiPolyVariantReferenceBase<ResReferenceExpBas
         return true;
     }
 
-    // TODO: Not sure why the logic here needs to be so complicated.. clean it up.
     /** Searches the specifications of any facility modules accessible from {@code file}. */
     public static boolean processFacilityImports(@NotNull ResFile file,
                                                  @NotNull ResScopeProcessor processor,
                                                  @NotNull ResolveState state) {
-        List<ResModuleIdentifierSpec> usesItems = file.getModuleIdentifierSpecs();
-        Set<ResModuleIdentifier> v = new LinkedHashSet<>();
-        List<String> superModuleRefs = new ArrayList<>();
-        if (file.getEnclosedModule() != null) {
-            for (ResReferenceExp e : file.getEnclosedModule().getModuleHeaderReferences()) {
-                superModuleRefs.add(e.getText());
-            }
-        }
-        List<ResModuleDecl> superModuleDecls = new ArrayList<>();
-        //get ModuleIdentifiers from facilities visible through any named uses items (remember: uses items currently
-        //explicitly include header modules)
-        for (ResModuleIdentifierSpec usesItem : usesItems) {
-            PsiElement resolve = usesItem.getModuleIdentifier().resolve();
-
-            if (resolve != null && resolve instanceof ResFile) {
-
-                ResModuleDecl moduleDecl = ((ResFile) resolve).getEnclosedModule();
-                if (moduleDecl == null) continue;
-                if (superModuleRefs.contains(usesItem.getName())) {
-                    superModuleDecls.add(moduleDecl);
-                }
-                for (ResFacilityDecl f : moduleDecl.getFacilities()) {
-                    if (f.getModuleIdentifierList().size() != 2) continue;
-                    v.add(f.getModuleIdentifierList().get(0));
-                }
-            }
-        }
-
-        //resolve into the ModuleIdentifiers named in each of the super modules' useslists looking for facilities.
-        for (ResModuleDecl superModule : superModuleDecls) {
-            for (ResModuleIdentifierSpec usesItem : superModule.getModuleIdentifierSpecs()) {
-                PsiElement resolve = usesItem.getModuleIdentifier().resolve();
-                if (resolve != null && resolve instanceof ResFile) {
-
-                    ResModuleDecl moduleDecl = ((ResFile) resolve).getEnclosedModule();
-                    if (moduleDecl == null) continue;
-                    for (ResFacilityDecl f : moduleDecl.getFacilities()) {
-                        if (f.getModuleIdentifierList().size() != 2) continue;
-                        v.add(f.getModuleIdentifierList().get(0));
-                    }
-                }
-            }
-        }
-
-        //now get ModuleIdentifiers from any local facilities
-        for (ResFacilityDecl facility : file.getFacilities()) {
-            //skip this facility if for some reason it's malformed: i.e. missing the spec or impl;
-            //size 2 implies both are present and accounted for
-            if (facility.getModuleIdentifierList().size() != 2) continue;
-            v.add(facility.getModuleIdentifierList().get(0));
-            if (!facility.getExtensionPairingList().isEmpty()) {
-                for (ResExtensionPairing ext : facility.getExtensionPairingList()) {
-                    if (ext.getModuleIdentifierList().size() == 2) {
-                        v.add(ext.getModuleIdentifierList().get(0));
-                    }
-                }
-            }
-        }
-
-        //resolve through their specifications
-        for (ResModuleIdentifier identifier : v) {
-            PsiElement resolve = identifier.resolve();
-            if (resolve == null || !(resolve instanceof ResFile)) continue;
-            if (!processModuleLevelEntities((ResFile) resolve, processor, state, true)) return false;
+        for (ResImportClosure.Entry e : file.getImportClosure().getEntries(ResImportClosure.Origin.FACILITY)) {
+            if (!processModuleLevelEntities(e.getFile(), processor, state, e.isLocal())) return false;
         }
         return true;
     }
 
+    /**
+     * Searches the modules named in {@code file}'s uses clause (along with those named in their own uses clauses);
+     * for the super module(s) named in {@code file}'s header, everything is visible -- otherwise only the uses-clause
+     * visible entities are.
+     */
     public static boolean processUsesImports(@NotNull ResFile file,
                                              @NotNull ResScopeProcessor processor,
                                              @NotNull ResolveState state) {
-        if (file.getEnclosedModule() == null) return true;
-        return processUsesImports(file.getEnclosedModule(), processor, state);
-    }
-
-    //OK: So it looks like this is the method that's going to have to initiate the search into the super modules...
-    //Update: Ok so at least this method is doing what I *think* it needs to be doing right now. Don't get me wrong its a godawful
-    //mess, but at least its working as I expect for the moment. TODO: Clean it up, improve names etc.
-    private static boolean processUsesImports(@NotNull ResModuleDecl moduleDecl,
-                                              @NotNull ResScopeProcessor processor,
-                                              @NotNull ResolveState state) {
-        List<ResModuleIdentifierSpec> usesItems = moduleDecl.getModuleIdentifierSpecs();
-
-        List<ResReferenceExp> headerModules = moduleDecl.getModuleHeaderReferences();
-        for (ResModuleIdentifierSpec o : usesItems) {
-            //if (o.getAlias() != null) {
-            //    if (!processor.execute(o, state.put(ACTUAL_NAME, o.getAlias().getText()))) return false;
-            //}
-            //else {
-                PsiElement resolve = o.getModuleIdentifier().resolve();
-                if (resolve != null && resolve instanceof ResFile) {
-                    for (ResReferenceExp e : headerModules) {
-                        //process the super module's uses clauses
-                        List<ResModuleIdentifierSpec> superModuleUses = ((ResFile) resolve).getModuleIdentifierSpecs();
-
-                        for (ResModuleIdentifierSpec e1 : superModuleUses) {
-                            PsiElement eRes = e1.getModuleIdentifier().resolve();
-                            if (eRes != null) {
-                                if (!processModuleLevelEntities((ResFile) eRes, processor, state, false)) return false;
-                            }
-                        }
-                    }
-                    processor.execute(resolve, state.put(ACTUAL_NAME, o.getModuleIdentifier().getText()));
-                    boolean forSuperModule = forSuperModule(moduleDecl, o.getName());
-                    if (!processModuleLevelEntities((ResFile) resolve, processor, state, forSuperModule)) return false;
-                }
-            //}
+        for (ResImportClosure.Entry e : file.getImportClosure().getEntries()) {
+            if (e.getOrigin() == ResImportClosure.Origin.FACILITY) continue;
+            if (e.getUsesName() != null) processor.execute(e.getFile(), state.put(ACTUAL_NAME, e.getUsesName()));
+            if (!processModuleLevelEntities(e.getFile(), processor, state, e.isLocal())) return false;
         }
         return true;
     }
 
-    /** Returns true if {@code currentUsesName} is named in a module's first line as a spec being implemented. */
-    private static boolean forSuperModule(@NotNull ResModuleDecl module, @NotNull String currentUsesName) {
-        for (ResReferenceExp e : module.getModuleHeaderReferences()) {
-            if (e.getIdentifier().getText().equals(currentUsesName)) return true;
-        }
-        return false;
-    }
-
     static boolean processModuleLevelEntities(@NotNull ResFile file,
                                               @NotNull ResScopeProcessor processor,
                                               @NotNull ResolveState state,
@@ -410,17 +318,13 @@ public class ResReference extends PsiPolyVariantReferenceBase<ResReferenceExpBas
                                               @NotNull ResolveState state,
                                               boolean localProcessing,
                                               boolean fromFacility) {
-        if (!processNamedElements(processor, state, module.getOperationLikeThings(), localProcessing, fromFacility)) return false;
-        if (!processNamedElements(processor, state, module.getFacilities(), localProcessing, fromFacility)) return false;
-        if (!processNamedElements(processor, state, module.getTypes(), localProcessing, fromFacility)) return false;
-
-        //module parameter-like-things
-        if (!processNamedElements(processor, state, module.getGenericTypeParams(), localProcessing, fromFacility)) return false;
-        if (!processNamedElements(processor, state, module.getConstantParamDefs(), localProcessing, fromFacility)) return false;
-        if (!processNamedElements(processor, state, module.getDefinitionParamSigs(), localProcessing, fromFacility)) return false;
-
-        //TODO: Math defns, opers
-        if (!processNamedElements(processor, state, module.getMathDefnSigs(), localProcessing, fromFacility)) return false;
+        ResModuleSymbolTable table = module.getSymbolTable();
+        boolean visibleOnly = !localProcessing && !fromFacility;
+        String name = processor.getName();
+        Collection<ResNamedElement> elements = name != null ? table.get(name, visibleOnly) : table.getAll(visibleOnly);
+        for (ResNamedElement e : elements) {
+            if (!processor.execute(e, state)) return false;
+        }
         return true;
     }
 
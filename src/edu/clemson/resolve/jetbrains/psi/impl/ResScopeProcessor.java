@@ -1,9 +1,20 @@
 package edu.clemson.resolve.jetbrains.psi.impl;
 
 import com.intellij.psi.scope.BaseScopeProcessor;
+import org.jetbrains.annotations.Nullable;
 
 public abstract class ResScopeProcessor extends BaseScopeProcessor {
     public boolean isCompletion() {
         return false;
     }
+
+    /**
+     * Returns the one name this processor is interested in, or {@code null} if it wants to see everything (as in
+     * completion). Lets module-level processing go straight to a {@link edu.clemson.resolve.jetbrains.psi.ResModuleSymbolTable}
+     * entry rather than offering up every declaration in the module.
+     */
+    @Nullable
+    public String getName() {
+        return null;
+    }
 }
@@ -52,6 +52,12 @@ public abstract class ResScopeProcessorBase extends ResScopeProcessor {
         return add((ResNamedElement) psiElement) || isCompletion;
     }
 
+    @Nullable
+    @Override
+    public String getName() {
+        return isCompletion ? null : requestedNameElement.getText();
+    }
+
     protected boolean add(@NotNull ResNamedElement psiElement) {
         return !myResult.add(psiElement);
     }
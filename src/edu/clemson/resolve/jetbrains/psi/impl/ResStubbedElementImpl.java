@@ -0,0 +1,48 @@
+package edu.clemson.resolve.jetbrains.psi.impl;
+
+import com.intellij.extapi.psi.StubBasedPsiElementBase;
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.ResolveState;
+import com.intellij.psi.scope.PsiScopeProcessor;
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.stubs.StubBase;
+import edu.clemson.resolve.jetbrains.psi.ResCompositeElement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The stub-aware counterpart to {@link ResCompositeElementImpl}. Elements extending this can be built either from a
+ * full parse tree node or from a (much lighter) deserialized stub, the latter being what we get for every file that
+ * isn't currently open in an editor.
+ */
+public abstract class ResStubbedElementImpl<T extends StubBase<?>>
+        extends
+        StubBasedPsiElementBase<T> implements ResCompositeElement {
+
+    public ResStubbedElementImpl(@NotNull T stub, @NotNull IStubElementType nodeType) {
+        super(stub, nodeType);
+    }
+
+    public ResStubbedElementImpl(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    @Override
+    public String toString() {
+        return getElementType().toString();
+    }
+
+    @Override
+    public boolean processDeclarations(@NotNull PsiScopeProcessor processor,
+                                       @NotNull ResolveState state,
+                                       @Nullable PsiElement lastParent,
+                                       @NotNull PsiElement place) {
+        return ResCompositeElementImpl.processDeclarationsDefault(this, processor, state, lastParent, place);
+    }
+
+    @Override
+    public boolean shouldGoDeeper() {
+        return true;
+    }
+}
@@ -6,17 +6,14 @@ import com.intellij.openapi.module.ModuleUtilCore;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.Condition;
 import com.intellij.openapi.util.TextRange;
+import com.intellij.openapi.util.io.FileUtil;
 import com.intellij.openapi.vfs.VfsUtilCore;
 import com.intellij.openapi.vfs.VirtualFile;
-import com.intellij.openapi.vfs.VirtualFileManager;
-import com.intellij.openapi.vfs.VirtualFileVisitor;
 import com.intellij.psi.*;
 import com.intellij.psi.impl.source.resolve.reference.impl.providers.FileReference;
 import com.intellij.psi.impl.source.resolve.reference.impl.providers.FileReferenceCompletionImpl;
 import com.intellij.psi.impl.source.resolve.reference.impl.providers.FileReferenceSet;
-import com.intellij.psi.search.FilenameIndex;
 import com.intellij.psi.search.GlobalSearchScope;
-import com.intellij.psi.search.PsiFileSystemItemProcessor;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.util.ArrayUtil;
 import com.intellij.util.IncorrectOperationException;
@@ -26,6 +23,7 @@ import edu.clemson.resolve.jetbrains.completion.RESOLVECompletionUtil;
 import edu.clemson.resolve.jetbrains.psi.ResFile;
 import edu.clemson.resolve.jetbrains.psi.*;
 import edu.clemson.resolve.jetbrains.sdk.RESOLVESdkUtil;
+import edu.clemson.resolve.jetbrains.stubs.index.ResModuleFileIndex;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -63,23 +61,57 @@ public class ResModuleReference extends FileReference {
     @NotNull
     @Override
     protected ResolveResult[] innerResolve(boolean caseSensitive, @NotNull PsiFile file) {
-        //there's got to be a real way of searching for extensioned filetypes... geez
-        String referenceText = getText();
-
-        Set<ResolveResult> result = ContainerUtil.newLinkedHashSet();
-        Set<ResolveResult> innerResult = ContainerUtil.newLinkedHashSet();
-        Collection<PsiFileSystemItem> ctxs = getContexts();
-
-        for (PsiFileSystemItem context : ctxs) {
-            innerResolveInContext(referenceText, context, innerResult, caseSensitive);
-            for (ResolveResult resolveResult : innerResult) {
-                PsiElement element = resolveResult.getElement();
-                if (element instanceof ResFile) {
-                    result.add(resolveResult);
-                }
+        String moduleName = FileUtil.getNameWithoutExtension(getText());
+        List<ResFile> files = findModuleFiles(moduleName, getContexts());
+        if (files.isEmpty()) return ResolveResult.EMPTY_ARRAY;
+        ResolveResult[] result = new ResolveResult[files.size()];
+        for (int i = 0; i < files.size(); i++) {
+            result[i] = new PsiElementResolveResult(files.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Offers every indexed module living beneath one of our contexts, as opposed to the default
+     * {@link FileReference} behavior of listing the immediate children of each context.
+     */
+    @NotNull
+    @Override
+    public Object[] getVariants() {
+        Collection<PsiFileSystemItem> contexts = getContexts();
+        List<Object> variants = ContainerUtil.newArrayList();
+        for (String moduleName : ResModuleFileIndex.getAllModuleNames(getElement().getProject())) {
+            for (ResFile file : findModuleFiles(moduleName, contexts)) {
+                variants.add(createLookupItem(file));
             }
         }
-        return result.isEmpty() ? ResolveResult.EMPTY_ARRAY : result.toArray(new ResolveResult[result.size()]);
+        return ArrayUtil.toObjectArray(variants);
+    }
+
+    /**
+     * Returns the files declaring {@code moduleName} that sit somewhere beneath one of the {@code contexts}
+     * (searched in order). Candidates come straight out of {@link ResModuleFileIndex} so nothing here walks the
+     * directory tree.
+     */
+    @NotNull
+    private List<ResFile> findModuleFiles(@NotNull String moduleName,
+                                          @NotNull Collection<PsiFileSystemItem> contexts) {
+        Project project = getElement().getProject();
+        Collection<VirtualFile> candidates = ResModuleFileIndex.find(moduleName, GlobalSearchScope.allScope(project));
+        if (candidates.isEmpty()) return Collections.emptyList();
+
+        PsiManager psiManager = PsiManager.getInstance(project);
+        List<ResFile> result = ContainerUtil.newArrayList();
+        for (PsiFileSystemItem context : contexts) {
+            VirtualFile root = context.getVirtualFile();
+            if (root == null) continue;
+            for (VirtualFile candidate : candidates) {
+                if (!VfsUtilCore.isAncestor(root, candidate, false)) continue;
+                PsiFile psiFile = psiManager.findFile(candidate);
+                if (psiFile instanceof ResFile && !result.contains(psiFile)) result.add((ResFile) psiFile);
+            }
+        }
+        return result;
     }
 
     @Override
@@ -190,40 +222,22 @@ public class ResModuleReference extends FileReference {
                 desiredLib = PsiTreeUtil.getNextSiblingOfType(e, ResModuleLibraryIdentifier.class);
             }
 
+            //note that these are just the roots: modules anywhere beneath them are found via ResModuleFileIndex
             if (desiredLib != null) {
                 PsiElement ele = desiredLib.resolve();
                 if (ele != null && ele instanceof PsiDirectory) {
-                    addContexts(sourceRoots, ((PsiDirectory) ele).getVirtualFile());
-                    //sourceRoots.add(((PsiDirectory) ele).getVirtualFile());
+                    sourceRoots.add(((PsiDirectory) ele).getVirtualFile());
                 }
             }
             else {
                 VirtualFile rootSdkDir = RESOLVESdkUtil.getSdkSrcDir(project, module);
-                if (rootSdkDir != null) addContexts(sourceRoots, rootSdkDir);
+                if (rootSdkDir != null) sourceRoots.add(rootSdkDir);
                 //now do the curr proj.
-                if (module != null) addContexts(sourceRoots, project.getBaseDir());
+                if (module != null && project.getBaseDir() != null) sourceRoots.add(project.getBaseDir());
             }
             return ContainerUtil.mapNotNull(sourceRoots, psiManager::findDirectory);
         }
 
-        /**
-         * Adds all subdirectories of {@code dirToSearchRecursively} to {@code sourceRoots}.
-         *
-         * @param sourceRoots an accumulator set that collects all subdirectories of {@code dirToSearchRecursively}.
-         * @param dirToSearchRecursively
-         */
-        private void addContexts(LinkedHashSet<VirtualFile> sourceRoots, VirtualFile dirToSearchRecursively) {
-            if (!dirToSearchRecursively.isDirectory()) return;
-            if (dirToSearchRecursively.getName().startsWith(".")) return; //don't care about intellij IDEA private folders
-            VfsUtilCore.visitChildrenRecursively(dirToSearchRecursively, new VirtualFileVisitor() {
-                @Override
-                public boolean visitFile(@NotNull VirtualFile file) {
-                    if (file.isDirectory()) sourceRoots.add(file);
-                    return super.visitFile(file);
-                }
-            });
-        }
-
         @Override
         protected Condition<PsiFileSystemItem> getReferenceCompletionFilter() {
             return RES_FILE_FILTER;
@@ -0,0 +1,143 @@
+package edu.clemson.resolve.jetbrains.runconfig.program;
+
+import com.intellij.execution.ExecutionException;
+import com.intellij.execution.process.ProcessAdapter;
+import com.intellij.execution.process.ProcessEvent;
+import com.intellij.execution.process.ProcessHandler;
+import com.intellij.execution.process.ProcessOutputTypes;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.OutputStream;
+
+/**
+ * Stands in for a RESOLVE program while it's still being built. Once started, it runs {@link #launch} (generating
+ * and compiling the java) in a cancellable background task, so the ide stays usable meanwhile; then starts the
+ * handler that returns and passes on its output and exit code. Stopping it before then cancels the build.
+ */
+abstract class RESOLVEProgramProcessHandler extends ProcessHandler {
+
+    @NotNull private final Project project;
+    @NotNull private final String title;
+    @Nullable private volatile ProgressIndicator indicator;
+    @Nullable private volatile ProcessHandler program;
+    private volatile boolean stopped;
+
+    RESOLVEProgramProcessHandler(@NotNull Project project, @NotNull String title) {
+        this.project = project;
+        this.title = title;
+    }
+
+    /**
+     * Builds the program and returns a handler (not yet started) for running it, or for showing why it couldn't be
+     * built; called off the event dispatch thread, and expected to give up once {@code indicator} is canceled.
+     */
+    @NotNull
+    protected abstract ProcessHandler launch(@NotNull ProgressIndicator indicator) throws ExecutionException;
+
+    @Override
+    public void startNotify() {
+        super.startNotify();
+        new Task.Backgroundable(project, title, true) {
+            @Nullable private ProcessHandler launched;
+            @Nullable private ExecutionException failure;
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                RESOLVEProgramProcessHandler.this.indicator = indicator;
+                if (stopped) indicator.cancel();
+                indicator.checkCanceled();
+                try {
+                    launched = launch(indicator);
+                }
+                catch (ExecutionException e) {
+                    failure = e;
+                }
+            }
+
+            @Override
+            public void onCancel() {
+                finish(title + " canceled\n", ProcessOutputTypes.SYSTEM);
+            }
+
+            @Override
+            public void onSuccess() {
+                ProcessHandler launched = this.launched;
+                if (failure != null || launched == null) {
+                    finish(failure != null ? failure.getMessage() + "\n" : title + " failed\n",
+                            ProcessOutputTypes.STDERR);
+                }
+                else if (stopped) {
+                    launched.destroyProcess();
+                    finish(title + " canceled\n", ProcessOutputTypes.SYSTEM);
+                }
+                else {
+                    attach(launched);
+                }
+            }
+
+            @Override
+            public void onThrowable(@NotNull Throwable error) {
+                super.onThrowable(error);
+                finish(title + " failed: " + error + "\n", ProcessOutputTypes.STDERR);
+            }
+        }.queue();
+    }
+
+    private void attach(@NotNull ProcessHandler launched) {
+        launched.addProcessListener(new ProcessAdapter() {
+            @Override
+            public void onTextAvailable(ProcessEvent event, Key outputType) {
+                notifyTextAvailable(event.getText(), outputType);
+            }
+
+            @Override
+            public void processTerminated(ProcessEvent event) {
+                if (!isProcessTerminated()) notifyProcessTerminated(event.getExitCode());
+            }
+        });
+        program = launched;
+        launched.startNotify();
+    }
+
+    private void finish(@NotNull String message, @NotNull Key outputType) {
+        if (isProcessTerminated()) return;
+        notifyTextAvailable(message, outputType);
+        notifyProcessTerminated(1);
+    }
+
+    @Override
+    protected void destroyProcessImpl() {
+        stopped = true;
+        ProcessHandler program = this.program;
+        ProgressIndicator indicator = this.indicator;
+        if (program != null) program.destroyProcess();
+        else if (indicator != null) indicator.cancel();
+    }
+
+    @Override
+    protected void detachProcessImpl() {
+        stopped = true;
+        ProcessHandler program = this.program;
+        ProgressIndicator indicator = this.indicator;
+        if (program != null) program.detachProcess();
+        else if (indicator != null) indicator.cancel();
+        notifyProcessDetached();
+    }
+
+    @Override
+    public boolean detachIsDefault() {
+        return false;
+    }
+
+    @Nullable
+    @Override
+    public OutputStream getProcessInput() {
+        ProcessHandler program = this.program;
+        return program != null ? program.getProcessInput() : null;
+    }
+}
@@ -7,7 +7,8 @@ import com.intellij.execution.process.KillableColoredProcessHandler;
 import com.intellij.execution.process.ProcessHandler;
 import com.intellij.execution.runners.ExecutionEnvironment;
 import com.intellij.openapi.module.Module;
-import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.io.FileUtil;
 import edu.clemson.resolve.jetbrains.RESOLVEPluginController;
@@ -43,39 +44,50 @@ public class RESOLVEProgramRunningState extends CommandLineState {
         return configuration;
     }
 
+    /**
+     * Returns at once with a handler that generates and compiles the java in the background (see
+     * {@link RESOLVEProgramProcessHandler}) before running it, so a run doesn't hold up the ide.
+     */
     @NotNull
     @Override
     protected ProcessHandler startProcess() throws ExecutionException {
         final Project project = configuration.getProject();
-        String filePath = configuration.getFilePath();
-        String outputPath = project.getBasePath() + File.separator + "out";
-        String classPath = RESOLVESdkService.getInstance(project).getSdkCompilerJarPath(module) + ":" + outputPath;
-        String className = getClassName(project, filePath);
-
-        //cross compile from RESOLVE to java
-        boolean successfullyGeneratedJava = generateAndWriteJava(project, filePath, outputPath);
-
-        if (!successfullyGeneratedJava) {
-            ProcessHandler p = new KillableColoredProcessHandler(new GeneralCommandLine());
-            //hmm, not sure about the line below..
-            RESOLVEPluginController.getInstance(project).console.attachToProcess(p);
-            return p;
-        }
+        final String filePath = configuration.getFilePath();
+        final String outputPath = project.getBasePath() + File.separator + "out";
+        final String classPath =
+                RESOLVESdkService.getInstance(project).getSdkCompilerJarPath(module) + ":" + outputPath;
+        final String className = getClassName(project, filePath);
+
+        return new RESOLVEProgramProcessHandler(project, "Building " + new File(filePath).getName()) {
+            @NotNull
+            @Override
+            protected ProcessHandler launch(@NotNull ProgressIndicator indicator) throws ExecutionException {
+                //cross compile from RESOLVE to java
+                indicator.setText("Generating Java");
+                if (!generateAndWriteJava(project, filePath, outputPath, indicator)) {
+                    indicator.checkCanceled();
+                    throw new ExecutionException("couldn't generate java for " + filePath +
+                            "; see the RESOLVE console");
+                }
 
-        //Compile Java to bytecode and store in /out/ directory
-        ProcessHandler javac = compileGeneratedJava(project, classPath, outputPath, filePath);
-        if (javac != null) {
-            return javac;
-        }
+                //Compile Java to bytecode and store in /out/ directory
+                indicator.setText("Compiling Java");
+                ProcessHandler javac = compileGeneratedJava(project, classPath, outputPath, filePath, indicator);
+                if (javac != null) {
+                    return javac;
+                }
 
-        //Execute bytecode
-        final KillableColoredProcessHandler processHandler = new KillableColoredProcessHandler(new GeneralCommandLine(
-                "java",
-                "-cp", classPath,
-                className
-        ));
-        processHandler.setShouldDestroyProcessRecursively(true);
-        return processHandler;
+                //Execute bytecode
+                KillableColoredProcessHandler processHandler = new KillableColoredProcessHandler(
+                        new GeneralCommandLine(
+                                "java",
+                                "-cp", classPath,
+                                className
+                        ));
+                processHandler.setShouldDestroyProcessRecursively(true);
+                return processHandler;
+            }
+        };
     }
 
     @NotNull public File getOuputDirForFile(@NotNull Project project,
@@ -93,8 +105,9 @@ public class RESOLVEProgramRunningState extends CommandLineState {
         return result.replaceAll(File.separator, ".");
     }
 
-    public boolean generateAndWriteJava(Project project, String filePath, String outputPath) {
-        RunRESOLVEOnLanguageFile g = new RunRESOLVEOnLanguageFile(configuration.getFilePath(), project, "gencode");
+    public boolean generateAndWriteJava(Project project, String filePath, String outputPath,
+                                        @NotNull ProgressIndicator indicator) {
+        RunRESOLVEOnLanguageFile g = new RunRESOLVEOnLanguageFile(configuration.getFilePath(), project, "Generating Java");
         g.outputDir = outputPath;
         Map<String, String> argMap = new LinkedHashMap<>();
         argMap.put("-lib", project.getBasePath());
@@ -103,14 +116,17 @@ public class RESOLVEProgramRunningState extends CommandLineState {
         g.addArgs(argMap);
         boolean success = false;
         try {
-            success = ProgressManager.getInstance().run(g);
+            success = g.resolve(filePath, indicator);
+        } catch (ProcessCanceledException e) {
+            return false;
         } catch (Exception e) {
             e.printStackTrace();
         }
         return success;
     }
 
-    public ProcessHandler compileGeneratedJava(Project project, String effectiveClassPath, String outputPath, String filePath)
+    public ProcessHandler compileGeneratedJava(Project project, String effectiveClassPath, String outputPath,
+                                               String filePath, @NotNull ProgressIndicator indicator)
             throws ExecutionException {
         List<String> fileNames = new ArrayList<>();
         File baseOutFile = new File(outputPath);
@@ -129,6 +145,8 @@ public class RESOLVEProgramRunningState extends CommandLineState {
             }
         }
         for (String file : fileNames) {
+            indicator.checkCanceled();
+            indicator.setText2(new File(file).getName());
             KillableColoredProcessHandler kcp = new KillableColoredProcessHandler(
                     new GeneralCommandLine("javac", "-cp", effectiveClassPath, "-d", baseOutFile.getPath(), file));
             try {
@@ -0,0 +1,85 @@
+package edu.clemson.resolve.jetbrains.sdk;
+
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.search.GlobalSearchScopesCore;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.util.ArrayUtil;
+import edu.clemson.resolve.jetbrains.psi.ResFile;
+import edu.clemson.resolve.jetbrains.psi.impl.ResElementFactory;
+import edu.clemson.resolve.jetbrains.stubs.index.ResModuleFileIndex;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Holds the one parsed copy of the builtin class theory (the home of {@code Cls}, {@code SSet}, {@code B}, etc) that
+ * every math reference in the project falls back on. If the configured sdk ships its own
+ * {@value #BUILTIN_MODULE_NAME} module, that's what we hand out; otherwise it's the copy embedded in
+ * {@link ResElementFactory#getHardCodedMathFile(Project)}, parsed at most once per project.
+ * <p>
+ * Names are looked up through the builtin module's own (cached)
+ * {@link edu.clemson.resolve.jetbrains.psi.ResModuleSymbolTable}, so repeated lookups cost a map probe.</p>
+ */
+public class RESOLVEBuiltinTheoryService {
+
+    public static final String BUILTIN_MODULE_NAME = "Builtin_Class_Theory";
+
+    @NotNull private final Project project;
+    @NotNull private final CachedValue<ResFile> builtinFile;
+    @Nullable private ResFile embeddedFile;
+
+    public RESOLVEBuiltinTheoryService(@NotNull final Project project) {
+        this.project = project;
+        this.builtinFile = CachedValuesManager.getManager(project).createCachedValue(
+                new CachedValueProvider<ResFile>() {
+                    @Override
+                    public Result<ResFile> compute() {
+                        ResFile sdkFile = findSdkBuiltinFile();
+                        Object[] dependencies = {RESOLVESdkService.getInstance(project),
+                                ProjectRootManager.getInstance(project),
+                                VirtualFileManager.VFS_STRUCTURE_MODIFICATIONS};
+                        if (sdkFile != null) return Result.create(sdkFile, ArrayUtil.append(dependencies, sdkFile));
+                        return Result.create(getEmbeddedFile(), dependencies);
+                    }
+                }, false);
+    }
+
+    public static RESOLVEBuiltinTheoryService getInstance(@NotNull Project project) {
+        return ServiceManager.getService(project, RESOLVEBuiltinTheoryService.class);
+    }
+
+    @NotNull
+    public ResFile getBuiltinFile() {
+        //the module file index isn't available while indexing, so make do with the embedded copy until it is
+        if (DumbService.isDumb(project)) return getEmbeddedFile();
+        return builtinFile.getValue();
+    }
+
+    @Nullable
+    private ResFile findSdkBuiltinFile() {
+        VirtualFile srcDir = RESOLVESdkUtil.getSdkSrcDir(project, null);
+        if (srcDir == null) return null;
+        for (VirtualFile file : ResModuleFileIndex.find(BUILTIN_MODULE_NAME,
+                GlobalSearchScopesCore.directoryScope(project, srcDir, true))) {
+            PsiFile psiFile = PsiManager.getInstance(project).findFile(file);
+            if (psiFile instanceof ResFile) return (ResFile) psiFile;
+        }
+        return null;
+    }
+
+    @NotNull
+    private synchronized ResFile getEmbeddedFile() {
+        if (embeddedFile == null) {
+            embeddedFile = ResElementFactory.getHardCodedMathFile(project);
+        }
+        return embeddedFile;
+    }
+}
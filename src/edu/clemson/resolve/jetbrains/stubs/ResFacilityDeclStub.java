@@ -0,0 +1,20 @@
+package edu.clemson.resolve.jetbrains.stubs;
+
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.util.io.StringRef;
+import edu.clemson.resolve.jetbrains.psi.ResFacilityDecl;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/** Stub for a facility declared within a module block. */
+public class ResFacilityDeclStub extends ResNamedStub<ResFacilityDecl> {
+
+    public ResFacilityDeclStub(StubElement parent, @NotNull IStubElementType elementType, StringRef name) {
+        super(parent, elementType, name);
+    }
+
+    public ResFacilityDeclStub(StubElement parent, @NotNull IStubElementType elementType, @Nullable String name) {
+        super(parent, elementType, name);
+    }
+}
@@ -0,0 +1,64 @@
+package edu.clemson.resolve.jetbrains.stubs;
+
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.StubBuilder;
+import com.intellij.psi.stubs.DefaultStubBuilder;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.psi.stubs.StubInputStream;
+import com.intellij.psi.stubs.StubOutputStream;
+import com.intellij.psi.tree.IStubFileElementType;
+import edu.clemson.resolve.jetbrains.RESOLVELanguage;
+import edu.clemson.resolve.jetbrains.psi.ResFile;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+/**
+ * The file element type for RESOLVE sources. Swapping this in for the plain {@code IFileElementType} is what allows
+ * the platform to build, serialize and later hand us back a {@link ResFileStub} in place of a fully parsed tree.
+ * <p>
+ * Bump {@link #VERSION} whenever the shape of any stub (or the set of stubbed elements in {@code Resolve.bnf})
+ * changes so that existing indexes are rebuilt.</p>
+ */
+public class ResFileElementType extends IStubFileElementType<ResFileStub> {
+
+    public static final IStubFileElementType INSTANCE = new ResFileElementType();
+    public static final int VERSION = 1;
+
+    private ResFileElementType() {
+        super("RESOLVE_FILE", RESOLVELanguage.INSTANCE);
+    }
+
+    @Override
+    public StubBuilder getBuilder() {
+        return new DefaultStubBuilder() {
+            @NotNull
+            @Override
+            protected StubElement createStubForFile(@NotNull PsiFile file) {
+                if (file instanceof ResFile) return new ResFileStub((ResFile) file);
+                return super.createStubForFile(file);
+            }
+        };
+    }
+
+    @Override
+    public int getStubVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public void serialize(@NotNull ResFileStub stub, @NotNull StubOutputStream dataStream) throws IOException {
+    }
+
+    @NotNull
+    @Override
+    public ResFileStub deserialize(@NotNull StubInputStream dataStream, StubElement parentStub) throws IOException {
+        return new ResFileStub(null);
+    }
+
+    @NotNull
+    @Override
+    public String getExternalId() {
+        return "resolve.FILE";
+    }
+}
@@ -0,0 +1,40 @@
+package edu.clemson.resolve.jetbrains.stubs;
+
+import com.intellij.psi.stubs.PsiFileStubImpl;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.psi.tree.IStubFileElementType;
+import edu.clemson.resolve.jetbrains.psi.ResFile;
+import edu.clemson.resolve.jetbrains.psi.ResModuleDecl;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The root of a serialized {@link ResFile}. The only child we ever expect to find here is the
+ * {@link ResModuleDeclStub} for the file's enclosed module.
+ */
+public class ResFileStub extends PsiFileStubImpl<ResFile> {
+
+    public ResFileStub(@Nullable ResFile file) {
+        super(file);
+    }
+
+    @NotNull
+    @Override
+    public IStubFileElementType getType() {
+        return ResFileElementType.INSTANCE;
+    }
+
+    @Nullable
+    public ResModuleDeclStub getModuleStub() {
+        for (StubElement child : getChildrenStubs()) {
+            if (child instanceof ResModuleDeclStub) return (ResModuleDeclStub) child;
+        }
+        return null;
+    }
+
+    @Nullable
+    public ResModuleDecl getEnclosedModule() {
+        ResModuleDeclStub stub = getModuleStub();
+        return stub != null ? stub.getPsi() : null;
+    }
+}
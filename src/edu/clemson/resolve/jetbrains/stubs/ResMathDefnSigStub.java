@@ -0,0 +1,23 @@
+package edu.clemson.resolve.jetbrains.stubs;
+
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.util.io.StringRef;
+import edu.clemson.resolve.jetbrains.psi.ResMathDefnSig;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Stub for a mathematical definition signature. Note that the name stored here is the plain name (first symbol) of
+ * the signature, not the canonical {@code l..r} form of an outfix definition.
+ */
+public class ResMathDefnSigStub extends ResNamedStub<ResMathDefnSig> {
+
+    public ResMathDefnSigStub(StubElement parent, @NotNull IStubElementType elementType, StringRef name) {
+        super(parent, elementType, name);
+    }
+
+    public ResMathDefnSigStub(StubElement parent, @NotNull IStubElementType elementType, @Nullable String name) {
+        super(parent, elementType, name);
+    }
+}
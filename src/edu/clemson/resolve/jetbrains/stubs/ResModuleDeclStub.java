@@ -0,0 +1,20 @@
+package edu.clemson.resolve.jetbrains.stubs;
+
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.util.io.StringRef;
+import edu.clemson.resolve.jetbrains.psi.ResModuleDecl;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/** Stub for each of the six flavors of {@link ResModuleDecl}; the element type says which one. */
+public class ResModuleDeclStub extends ResNamedStub<ResModuleDecl> {
+
+    public ResModuleDeclStub(StubElement parent, @NotNull IStubElementType elementType, StringRef name) {
+        super(parent, elementType, name);
+    }
+
+    public ResModuleDeclStub(StubElement parent, @NotNull IStubElementType elementType, @Nullable String name) {
+        super(parent, elementType, name);
+    }
+}
@@ -0,0 +1,18 @@
+package edu.clemson.resolve.jetbrains.stubs;
+
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.stubs.StubBase;
+import com.intellij.psi.stubs.StubElement;
+import edu.clemson.resolve.jetbrains.psi.ResModuleParameters;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Carries no data of its own; exists so that the generic type params, constant params and definition params of
+ * a module end up grouped together (and apart from the module's block items) in the stub tree.
+ */
+public class ResModuleParametersStub extends StubBase<ResModuleParameters> {
+
+    public ResModuleParametersStub(StubElement parent, @NotNull IStubElementType elementType) {
+        super(parent, elementType);
+    }
+}
@@ -0,0 +1,29 @@
+package edu.clemson.resolve.jetbrains.stubs;
+
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.stubs.NamedStubBase;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.util.io.StringRef;
+import edu.clemson.resolve.jetbrains.psi.ResNamedElement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Base stub for any {@link ResNamedElement}; the name is all that the serialized form of most of our
+ * declarations needs to carry for resolve to work without touching the underlying AST.
+ */
+public abstract class ResNamedStub<T extends ResNamedElement> extends NamedStubBase<T> {
+
+    public ResNamedStub(StubElement parent, @NotNull IStubElementType elementType, StringRef name) {
+        super(parent, elementType, name);
+    }
+
+    public ResNamedStub(StubElement parent, @NotNull IStubElementType elementType, @Nullable String name) {
+        super(parent, elementType, name);
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() + ": " + getName();
+    }
+}
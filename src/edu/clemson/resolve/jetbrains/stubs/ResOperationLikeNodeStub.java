@@ -0,0 +1,20 @@
+package edu.clemson.resolve.jetbrains.stubs;
+
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.util.io.StringRef;
+import edu.clemson.resolve.jetbrains.psi.ResOperationLikeNode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/** Stub for operations, procedures and operation-procedures. */
+public class ResOperationLikeNodeStub extends ResNamedStub<ResOperationLikeNode> {
+
+    public ResOperationLikeNodeStub(StubElement parent, @NotNull IStubElementType elementType, StringRef name) {
+        super(parent, elementType, name);
+    }
+
+    public ResOperationLikeNodeStub(StubElement parent, @NotNull IStubElementType elementType, @Nullable String name) {
+        super(parent, elementType, name);
+    }
+}
@@ -0,0 +1,40 @@
+package edu.clemson.resolve.jetbrains.stubs.index;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.stubs.StringStubIndexExtension;
+import com.intellij.psi.stubs.StubIndex;
+import com.intellij.psi.stubs.StubIndexKey;
+import edu.clemson.resolve.jetbrains.psi.ResNamedElement;
+import edu.clemson.resolve.jetbrains.stubs.ResFileElementType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+
+/**
+ * Maps names to every module-level declaration that a client module could see by way of its uses list
+ * (types, facilities, operation-procedures and math definitions).
+ */
+public class ResAllPublicNamesIndex extends StringStubIndexExtension<ResNamedElement> {
+
+    public static final StubIndexKey<String, ResNamedElement> ALL_PUBLIC_NAMES =
+            StubIndexKey.createIndexKey("resolve.all.name");
+
+    @Override
+    public int getVersion() {
+        return ResFileElementType.VERSION;
+    }
+
+    @NotNull
+    @Override
+    public StubIndexKey<String, ResNamedElement> getKey() {
+        return ALL_PUBLIC_NAMES;
+    }
+
+    @NotNull
+    public static Collection<ResNamedElement> find(@NotNull String name,
+                                                   @NotNull Project project,
+                                                   @NotNull GlobalSearchScope scope) {
+        return StubIndex.getElements(ALL_PUBLIC_NAMES, name, project, scope, ResNamedElement.class);
+    }
+}
@@ -0,0 +1,83 @@
+package edu.clemson.resolve.jetbrains.stubs.index;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import edu.clemson.resolve.jetbrains.RESOLVEFileType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Maps a module name to the {@link VirtualFile}(s) declaring it. Since module names always match the name of the
+ * file they live in, this only ever looks at file names; no file content is read.
+ * <p>
+ * Used in place of walking every directory beneath the sdk and project roots whenever a uses clause or facility
+ * needs to find the file for some module. The {@code from} library half of the lookup is handled by the caller by
+ * checking that a candidate sits beneath the library's directory, see
+ * {@link edu.clemson.resolve.jetbrains.psi.impl.imports.ResModuleReference}.</p>
+ */
+public class ResModuleFileIndex extends ScalarIndexExtension<String> {
+
+    public static final ID<String, Void> NAME = ID.create("resolve.module.file");
+
+    private static final int VERSION = 1;
+
+    private static final DataIndexer<String, Void, FileContent> INDEXER = new DataIndexer<String, Void, FileContent>() {
+        @NotNull
+        @Override
+        public Map<String, Void> map(@NotNull FileContent inputData) {
+            return Collections.singletonMap(inputData.getFile().getNameWithoutExtension(), null);
+        }
+    };
+
+    @NotNull
+    @Override
+    public ID<String, Void> getName() {
+        return NAME;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, Void, FileContent> getIndexer() {
+        return INDEXER;
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return new DefaultFileTypeSpecificInputFilter(RESOLVEFileType.INSTANCE);
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return false;
+    }
+
+    @Override
+    public int getVersion() {
+        return VERSION;
+    }
+
+    @NotNull
+    public static Collection<VirtualFile> find(@NotNull String moduleName,
+                                               @NotNull GlobalSearchScope scope) {
+        return FileBasedIndex.getInstance().getContainingFiles(NAME, moduleName, scope);
+    }
+
+    @NotNull
+    public static Collection<String> getAllModuleNames(@NotNull Project project) {
+        return FileBasedIndex.getInstance().getAllKeys(NAME, project);
+    }
+}
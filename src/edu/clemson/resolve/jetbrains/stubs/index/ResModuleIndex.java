@@ -0,0 +1,36 @@
+package edu.clemson.resolve.jetbrains.stubs.index;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.stubs.StringStubIndexExtension;
+import com.intellij.psi.stubs.StubIndex;
+import com.intellij.psi.stubs.StubIndexKey;
+import edu.clemson.resolve.jetbrains.psi.ResModuleDecl;
+import edu.clemson.resolve.jetbrains.stubs.ResFileElementType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+
+/** Maps the name of a module to its declaration(s). */
+public class ResModuleIndex extends StringStubIndexExtension<ResModuleDecl> {
+
+    public static final StubIndexKey<String, ResModuleDecl> KEY = StubIndexKey.createIndexKey("resolve.module");
+
+    @Override
+    public int getVersion() {
+        return ResFileElementType.VERSION;
+    }
+
+    @NotNull
+    @Override
+    public StubIndexKey<String, ResModuleDecl> getKey() {
+        return KEY;
+    }
+
+    @NotNull
+    public static Collection<ResModuleDecl> find(@NotNull String name,
+                                                 @NotNull Project project,
+                                                 @NotNull GlobalSearchScope scope) {
+        return StubIndex.getElements(KEY, name, project, scope, ResModuleDecl.class);
+    }
+}
@@ -0,0 +1,68 @@
+package edu.clemson.resolve.jetbrains.stubs.types;
+
+import com.intellij.psi.stubs.IStubElementType;
+import edu.clemson.resolve.jetbrains.psi.impl.*;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Referenced from the {@code elementTypeFactory} attribute in {@code Resolve.bnf}: Grammar-Kit routes the creation of
+ * every rule marked with a {@code stubClass} through here instead of instantiating a plain
+ * {@link edu.clemson.resolve.jetbrains.psi.ResCompositeElementType}.
+ */
+public class ResElementTypeFactory {
+
+    private ResElementTypeFactory() {
+    }
+
+    @NotNull
+    public static IStubElementType stubFactory(@NotNull String name) {
+        switch (name) {
+            case "PRECIS_MODULE_DECL":
+                return new ResModuleDeclStubElementType(name, ResPrecisModuleDeclImpl::new);
+            case "PRECIS_EXTENSION_MODULE_DECL":
+                return new ResModuleDeclStubElementType(name, ResPrecisExtensionModuleDeclImpl::new);
+            case "CONCEPT_MODULE_DECL":
+                return new ResModuleDeclStubElementType(name, ResConceptModuleDeclImpl::new);
+            case "CONCEPT_EXTENSION_MODULE_DECL":
+                return new ResModuleDeclStubElementType(name, ResConceptExtensionModuleDeclImpl::new);
+            case "IMPL_MODULE_DECL":
+                return new ResModuleDeclStubElementType(name, ResImplModuleDeclImpl::new);
+            case "FACILITY_MODULE_DECL":
+                return new ResModuleDeclStubElementType(name, ResFacilityModuleDeclImpl::new);
+
+            case "OPERATION_DECL":
+                return new ResOperationLikeNodeStubElementType(name, ResOperationDeclImpl::new, false);
+            case "OPERATION_PROCEDURE_DECL":
+                return new ResOperationLikeNodeStubElementType(name, ResOperationProcedureDeclImpl::new, true);
+            case "PROCEDURE_DECL":
+                return new ResOperationLikeNodeStubElementType(name, ResProcedureDeclImpl::new, false);
+
+            case "TYPE_MODEL_DECL":
+                return new ResTypeLikeNodeDeclStubElementType(name, ResTypeModelDeclImpl::new);
+            case "TYPE_REPR_DECL":
+                return new ResTypeLikeNodeDeclStubElementType(name, ResTypeReprDeclImpl::new);
+
+            case "MATH_PREFIX_DEFN_SIG":
+                return new ResMathDefnSigStubElementType(name, ResMathPrefixDefnSigImpl::new);
+            case "MATH_INFIX_DEFN_SIG":
+                return new ResMathDefnSigStubElementType(name, ResMathInfixDefnSigImpl::new);
+            case "MATH_OUTFIX_DEFN_SIG":
+                return new ResMathDefnSigStubElementType(name, ResMathOutfixDefnSigImpl::new);
+            case "MATH_POSTFIX_DEFN_SIG":
+                return new ResMathDefnSigStubElementType(name, ResMathPostfixDefnSigImpl::new);
+
+            case "SPEC_MODULE_PARAMETERS":
+                return new ResModuleParametersStubElementType(name, ResSpecModuleParametersImpl::new);
+            case "IMPL_MODULE_PARAMETERS":
+                return new ResModuleParametersStubElementType(name, ResImplModuleParametersImpl::new);
+
+            case "FACILITY_DECL":
+                return new ResFacilityDeclStubElementType(name);
+            case "TYPE_PARAM_DECL":
+                return new ResTypeParamDeclStubElementType(name);
+            case "PARAM_DEF":
+                return new ResParamDefStubElementType(name);
+        }
+        throw new RuntimeException("Unknown element type: " + name);
+    }
+}
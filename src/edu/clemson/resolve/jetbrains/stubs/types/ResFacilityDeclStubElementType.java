@@ -0,0 +1,34 @@
+package edu.clemson.resolve.jetbrains.stubs.types;
+
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.util.io.StringRef;
+import edu.clemson.resolve.jetbrains.psi.ResFacilityDecl;
+import edu.clemson.resolve.jetbrains.psi.impl.ResFacilityDeclImpl;
+import edu.clemson.resolve.jetbrains.stubs.ResFacilityDeclStub;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+public class ResFacilityDeclStubElementType extends ResNamedStubElementType<ResFacilityDeclStub, ResFacilityDecl> {
+
+    public ResFacilityDeclStubElementType(@NotNull String name) {
+        super(name);
+    }
+
+    @NotNull
+    @Override
+    public ResFacilityDecl createPsi(@NotNull ResFacilityDeclStub stub) {
+        return new ResFacilityDeclImpl(stub, this);
+    }
+
+    @NotNull
+    @Override
+    protected ResFacilityDeclStub createStub(StubElement parentStub, @Nullable String name) {
+        return new ResFacilityDeclStub(parentStub, this, name);
+    }
+
+    @NotNull
+    @Override
+    protected ResFacilityDeclStub createStub(StubElement parentStub, @Nullable StringRef name) {
+        return new ResFacilityDeclStub(parentStub, this, name);
+    }
+}
@@ -0,0 +1,38 @@
+package edu.clemson.resolve.jetbrains.stubs.types;
+
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.util.io.StringRef;
+import edu.clemson.resolve.jetbrains.psi.ResMathDefnSig;
+import edu.clemson.resolve.jetbrains.stubs.ResMathDefnSigStub;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+public class ResMathDefnSigStubElementType extends ResNamedStubElementType<ResMathDefnSigStub, ResMathDefnSig> {
+
+    @NotNull
+    private final PsiFactory<ResMathDefnSigStub, ResMathDefnSig> factory;
+
+    public ResMathDefnSigStubElementType(@NotNull String name,
+                                         @NotNull PsiFactory<ResMathDefnSigStub, ResMathDefnSig> factory) {
+        super(name);
+        this.factory = factory;
+    }
+
+    @NotNull
+    @Override
+    public ResMathDefnSig createPsi(@NotNull ResMathDefnSigStub stub) {
+        return factory.create(stub, this);
+    }
+
+    @NotNull
+    @Override
+    protected ResMathDefnSigStub createStub(StubElement parentStub, @Nullable String name) {
+        return new ResMathDefnSigStub(parentStub, this, name);
+    }
+
+    @NotNull
+    @Override
+    protected ResMathDefnSigStub createStub(StubElement parentStub, @Nullable StringRef name) {
+        return new ResMathDefnSigStub(parentStub, this, name);
+    }
+}
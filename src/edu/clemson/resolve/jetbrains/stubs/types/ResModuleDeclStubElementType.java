@@ -0,0 +1,47 @@
+package edu.clemson.resolve.jetbrains.stubs.types;
+
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.stubs.IndexSink;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.util.io.StringRef;
+import edu.clemson.resolve.jetbrains.psi.ResModuleDecl;
+import edu.clemson.resolve.jetbrains.stubs.ResModuleDeclStub;
+import edu.clemson.resolve.jetbrains.stubs.index.ResModuleIndex;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+public class ResModuleDeclStubElementType extends ResNamedStubElementType<ResModuleDeclStub, ResModuleDecl> {
+
+    @NotNull
+    private final PsiFactory<ResModuleDeclStub, ResModuleDecl> factory;
+
+    public ResModuleDeclStubElementType(@NotNull String name,
+                                        @NotNull PsiFactory<ResModuleDeclStub, ResModuleDecl> factory) {
+        super(name);
+        this.factory = factory;
+    }
+
+    @NotNull
+    @Override
+    public ResModuleDecl createPsi(@NotNull ResModuleDeclStub stub) {
+        return factory.create(stub, this);
+    }
+
+    @NotNull
+    @Override
+    protected ResModuleDeclStub createStub(StubElement parentStub, @Nullable String name) {
+        return new ResModuleDeclStub(parentStub, this, name);
+    }
+
+    @NotNull
+    @Override
+    protected ResModuleDeclStub createStub(StubElement parentStub, @Nullable StringRef name) {
+        return new ResModuleDeclStub(parentStub, this, name);
+    }
+
+    @Override
+    public void indexStub(@NotNull ResModuleDeclStub stub, @NotNull IndexSink sink) {
+        String name = stub.getName();
+        if (StringUtil.isNotEmpty(name)) sink.occurrence(ResModuleIndex.KEY, name);
+    }
+}
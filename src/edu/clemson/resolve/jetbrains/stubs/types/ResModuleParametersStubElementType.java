@@ -0,0 +1,48 @@
+package edu.clemson.resolve.jetbrains.stubs.types;
+
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.psi.stubs.StubInputStream;
+import com.intellij.psi.stubs.StubOutputStream;
+import edu.clemson.resolve.jetbrains.psi.ResModuleParameters;
+import edu.clemson.resolve.jetbrains.stubs.ResModuleParametersStub;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+public class ResModuleParametersStubElementType
+        extends
+        ResStubElementType<ResModuleParametersStub, ResModuleParameters> {
+
+    @NotNull
+    private final PsiFactory<ResModuleParametersStub, ResModuleParameters> factory;
+
+    public ResModuleParametersStubElementType(@NotNull String name,
+                                              @NotNull PsiFactory<ResModuleParametersStub, ResModuleParameters> factory) {
+        super(name);
+        this.factory = factory;
+    }
+
+    @NotNull
+    @Override
+    public ResModuleParameters createPsi(@NotNull ResModuleParametersStub stub) {
+        return factory.create(stub, this);
+    }
+
+    @NotNull
+    @Override
+    public ResModuleParametersStub createStub(@NotNull ResModuleParameters psi, StubElement parentStub) {
+        return new ResModuleParametersStub(parentStub, this);
+    }
+
+    @Override
+    public void serialize(@NotNull ResModuleParametersStub stub,
+                          @NotNull StubOutputStream dataStream) throws IOException {
+    }
+
+    @NotNull
+    @Override
+    public ResModuleParametersStub deserialize(@NotNull StubInputStream dataStream,
+                                               StubElement parentStub) throws IOException {
+        return new ResModuleParametersStub(parentStub, this);
+    }
+}
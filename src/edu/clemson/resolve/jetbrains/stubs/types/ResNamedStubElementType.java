@@ -0,0 +1,66 @@
+package edu.clemson.resolve.jetbrains.stubs.types;
+
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.stubs.IndexSink;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.psi.stubs.StubInputStream;
+import com.intellij.psi.stubs.StubOutputStream;
+import com.intellij.util.io.StringRef;
+import edu.clemson.resolve.jetbrains.psi.ResNamedElement;
+import edu.clemson.resolve.jetbrains.stubs.ResModuleDeclStub;
+import edu.clemson.resolve.jetbrains.stubs.ResNamedStub;
+import edu.clemson.resolve.jetbrains.stubs.index.ResAllPublicNamesIndex;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+
+public abstract class ResNamedStubElementType<S extends ResNamedStub<T>, T extends ResNamedElement>
+        extends
+        ResStubElementType<S, T> {
+
+    public ResNamedStubElementType(@NonNls @NotNull String debugName) {
+        super(debugName);
+    }
+
+    @NotNull
+    @Override
+    public S createStub(@NotNull T psi, StubElement parentStub) {
+        return createStub(parentStub, psi.getName());
+    }
+
+    @NotNull
+    protected abstract S createStub(StubElement parentStub, @Nullable String name);
+
+    @NotNull
+    protected abstract S createStub(StubElement parentStub, @Nullable StringRef name);
+
+    @Override
+    public void serialize(@NotNull S stub, @NotNull StubOutputStream dataStream) throws IOException {
+        dataStream.writeName(stub.getName());
+    }
+
+    @NotNull
+    @Override
+    public S deserialize(@NotNull StubInputStream dataStream, StubElement parentStub) throws IOException {
+        return createStub(parentStub, dataStream.readName());
+    }
+
+    /**
+     * Returns {@code true} if declarations of this type are module-level and visible to any module that names the
+     * enclosing module in its uses list (so, for instance, not the {@code Operation}s of a concept).
+     */
+    protected boolean isUsesClauseVisible() {
+        return true;
+    }
+
+    @Override
+    public void indexStub(@NotNull S stub, @NotNull IndexSink sink) {
+        String name = stub.getName();
+        if (isUsesClauseVisible() && stub.getParentStub() instanceof ResModuleDeclStub &&
+                StringUtil.isNotEmpty(name)) {
+            sink.occurrence(ResAllPublicNamesIndex.ALL_PUBLIC_NAMES, name);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package edu.clemson.resolve.jetbrains.stubs.types;
+
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.util.io.StringRef;
+import edu.clemson.resolve.jetbrains.psi.ResOperationLikeNode;
+import edu.clemson.resolve.jetbrains.stubs.ResOperationLikeNodeStub;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+public class ResOperationLikeNodeStubElementType
+        extends
+        ResNamedStubElementType<ResOperationLikeNodeStub, ResOperationLikeNode> {
+
+    @NotNull
+    private final PsiFactory<ResOperationLikeNodeStub, ResOperationLikeNode> factory;
+    private final boolean usesClauseVisible;
+
+    public ResOperationLikeNodeStubElementType(@NotNull String name,
+                                               @NotNull PsiFactory<ResOperationLikeNodeStub, ResOperationLikeNode> factory,
+                                               boolean usesClauseVisible) {
+        super(name);
+        this.factory = factory;
+        this.usesClauseVisible = usesClauseVisible;
+    }
+
+    @NotNull
+    @Override
+    public ResOperationLikeNode createPsi(@NotNull ResOperationLikeNodeStub stub) {
+        return factory.create(stub, this);
+    }
+
+    @NotNull
+    @Override
+    protected ResOperationLikeNodeStub createStub(StubElement parentStub, @Nullable String name) {
+        return new ResOperationLikeNodeStub(parentStub, this, name);
+    }
+
+    @NotNull
+    @Override
+    protected ResOperationLikeNodeStub createStub(StubElement parentStub, @Nullable StringRef name) {
+        return new ResOperationLikeNodeStub(parentStub, this, name);
+    }
+
+    @Override
+    protected boolean isUsesClauseVisible() {
+        return usesClauseVisible;
+    }
+}
@@ -0,0 +1,50 @@
+package edu.clemson.resolve.jetbrains.stubs.types;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.util.io.StringRef;
+import edu.clemson.resolve.jetbrains.ResTypes;
+import edu.clemson.resolve.jetbrains.psi.ResParamDef;
+import edu.clemson.resolve.jetbrains.psi.impl.ResParamDefImpl;
+import edu.clemson.resolve.jetbrains.stubs.ResParamDefStub;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+public class ResParamDefStubElementType extends ResNamedStubElementType<ResParamDefStub, ResParamDef> {
+
+    public ResParamDefStubElementType(@NotNull String name) {
+        super(name);
+    }
+
+    @NotNull
+    @Override
+    public ResParamDef createPsi(@NotNull ResParamDefStub stub) {
+        return new ResParamDefImpl(stub, this);
+    }
+
+    @NotNull
+    @Override
+    protected ResParamDefStub createStub(StubElement parentStub, @Nullable String name) {
+        return new ResParamDefStub(parentStub, this, name);
+    }
+
+    @NotNull
+    @Override
+    protected ResParamDefStub createStub(StubElement parentStub, @Nullable StringRef name) {
+        return new ResParamDefStub(parentStub, this, name);
+    }
+
+    /**
+     * Only the parameters of a module are of any interest outside of the module itself; the (far more numerous)
+     * formal parameters of operations and procedures are left to the AST.
+     */
+    @Override
+    public boolean shouldCreateStub(ASTNode node) {
+        ASTNode paramDecl = node.getTreeParent();
+        ASTNode owner = paramDecl != null ? paramDecl.getTreeParent() : null;
+        if (owner == null) return false;
+        IElementType ownerType = owner.getElementType();
+        return ownerType == ResTypes.SPEC_MODULE_PARAMETERS || ownerType == ResTypes.IMPL_MODULE_PARAMETERS;
+    }
+}
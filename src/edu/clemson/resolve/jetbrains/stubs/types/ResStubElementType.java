@@ -0,0 +1,36 @@
+package edu.clemson.resolve.jetbrains.stubs.types;
+
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.stubs.IndexSink;
+import com.intellij.psi.stubs.StubBase;
+import edu.clemson.resolve.jetbrains.RESOLVELanguage;
+import edu.clemson.resolve.jetbrains.psi.ResCompositeElement;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+
+public abstract class ResStubElementType<S extends StubBase<T>, T extends ResCompositeElement>
+        extends
+        IStubElementType<S, T> {
+
+    /**
+     * Several of our stubbed rules (the six module decls, the three operation-like decls, etc) share a single stub
+     * class but each have their own generated psi impl; this is how an element type knows which one to build.
+     */
+    public interface PsiFactory<S, T> {
+        T create(@NotNull S stub, @NotNull IStubElementType type);
+    }
+
+    public ResStubElementType(@NonNls @NotNull String debugName) {
+        super(debugName, RESOLVELanguage.INSTANCE);
+    }
+
+    @Override
+    @NotNull
+    public String getExternalId() {
+        return "resolve." + super.toString();
+    }
+
+    @Override
+    public void indexStub(@NotNull S stub, @NotNull IndexSink sink) {
+    }
+}
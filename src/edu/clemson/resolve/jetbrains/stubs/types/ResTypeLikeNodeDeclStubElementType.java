@@ -0,0 +1,40 @@
+package edu.clemson.resolve.jetbrains.stubs.types;
+
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.util.io.StringRef;
+import edu.clemson.resolve.jetbrains.psi.ResTypeLikeNodeDecl;
+import edu.clemson.resolve.jetbrains.stubs.ResTypeLikeNodeDeclStub;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+public class ResTypeLikeNodeDeclStubElementType
+        extends
+        ResNamedStubElementType<ResTypeLikeNodeDeclStub, ResTypeLikeNodeDecl> {
+
+    @NotNull
+    private final PsiFactory<ResTypeLikeNodeDeclStub, ResTypeLikeNodeDecl> factory;
+
+    public ResTypeLikeNodeDeclStubElementType(@NotNull String name,
+                                              @NotNull PsiFactory<ResTypeLikeNodeDeclStub, ResTypeLikeNodeDecl> factory) {
+        super(name);
+        this.factory = factory;
+    }
+
+    @NotNull
+    @Override
+    public ResTypeLikeNodeDecl createPsi(@NotNull ResTypeLikeNodeDeclStub stub) {
+        return factory.create(stub, this);
+    }
+
+    @NotNull
+    @Override
+    protected ResTypeLikeNodeDeclStub createStub(StubElement parentStub, @Nullable String name) {
+        return new ResTypeLikeNodeDeclStub(parentStub, this, name);
+    }
+
+    @NotNull
+    @Override
+    protected ResTypeLikeNodeDeclStub createStub(StubElement parentStub, @Nullable StringRef name) {
+        return new ResTypeLikeNodeDeclStub(parentStub, this, name);
+    }
+}
@@ -0,0 +1,36 @@
+package edu.clemson.resolve.jetbrains.stubs.types;
+
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.util.io.StringRef;
+import edu.clemson.resolve.jetbrains.psi.ResTypeParamDecl;
+import edu.clemson.resolve.jetbrains.psi.impl.ResTypeParamDeclImpl;
+import edu.clemson.resolve.jetbrains.stubs.ResTypeParamDeclStub;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+public class ResTypeParamDeclStubElementType
+        extends
+        ResNamedStubElementType<ResTypeParamDeclStub, ResTypeParamDecl> {
+
+    public ResTypeParamDeclStubElementType(@NotNull String name) {
+        super(name);
+    }
+
+    @NotNull
+    @Override
+    public ResTypeParamDecl createPsi(@NotNull ResTypeParamDeclStub stub) {
+        return new ResTypeParamDeclImpl(stub, this);
+    }
+
+    @NotNull
+    @Override
+    protected ResTypeParamDeclStub createStub(StubElement parentStub, @Nullable String name) {
+        return new ResTypeParamDeclStub(parentStub, this, name);
+    }
+
+    @NotNull
+    @Override
+    protected ResTypeParamDeclStub createStub(StubElement parentStub, @Nullable StringRef name) {
+        return new ResTypeParamDeclStub(parentStub, this, name);
+    }
+}
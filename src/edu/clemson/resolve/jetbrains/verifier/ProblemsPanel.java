@@ -0,0 +1,194 @@
+package edu.clemson.resolve.jetbrains.verifier;
+
+import com.intellij.icons.AllIcons;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.fileEditor.OpenFileDescriptor;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.ui.ColoredTreeCellRenderer;
+import com.intellij.ui.SimpleTextAttributes;
+import com.intellij.ui.components.JBLabel;
+import com.intellij.ui.components.JBPanel;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.treeStructure.Tree;
+import com.intellij.util.PathUtil;
+import com.intellij.util.ui.JBUI;
+import edu.clemson.resolve.jetbrains.RESOLVEIcons;
+import edu.clemson.resolve.jetbrains.compiler.RESOLVEDiagnostic;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import javax.swing.event.TreeModelEvent;
+import javax.swing.event.TreeModelListener;
+import javax.swing.tree.TreePath;
+import java.awt.*;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.List;
+
+/**
+ * Lists the errors and warnings of the last run, grouped by file and severity (see {@link ProblemsTreeModel}).
+ * Clicking a problem shows where it is in the editor; double-clicking it (or pressing enter) goes there.
+ * <p>
+ * The tree has a fixed row height and a large model, so Swing only asks for (and the renderer only formats) the rows
+ * in view; working out a problem's line, say, is done for the few dozen visible, not for every problem a run had.
+ * Everything here is to be called on the event dispatch thread.</p>
+ */
+public class ProblemsPanel extends JBPanel {
+
+    @NotNull private final Project project;
+    @NotNull private final ProblemsTreeModel model = new ProblemsTreeModel();
+    @NotNull private final Tree tree = new Tree(model);
+    @NotNull private final JBLabel summary = new JBLabel();
+
+    public ProblemsPanel(@NotNull Project project) {
+        super(new BorderLayout());
+        this.project = project;
+        tree.setRootVisible(false);
+        tree.setShowsRootHandles(true);
+        tree.setCellRenderer(new ProblemRenderer());
+        tree.setRowHeight(Math.max(JBUI.scale(18), tree.getFontMetrics(tree.getFont()).getHeight() + JBUI.scale(2)));
+        tree.setLargeModel(true);
+        ToolTipManager.sharedInstance().registerComponent(tree);
+        model.addTreeModelListener(new TreeModelListener() {
+            @Override
+            public void treeNodesInserted(TreeModelEvent e) {
+                //open up new files, and their errors; warnings wait until asked for
+                for (Object child : e.getChildren()) {
+                    if (child instanceof ProblemsTreeModel.FileGroup) {
+                        ProblemsTreeModel.FileGroup group = (ProblemsTreeModel.FileGroup) child;
+                        TreePath path = e.getTreePath().pathByAddingChild(group);
+                        tree.expandPath(path);
+                        if (!group.errors.isEmpty()) tree.expandPath(path.pathByAddingChild(group.errorsNode));
+                    }
+                    else if (child instanceof ProblemsTreeModel.SeverityGroup &&
+                            ((ProblemsTreeModel.SeverityGroup) child).error) {
+                        tree.expandPath(e.getTreePath().pathByAddingChild(child));
+                    }
+                }
+                updateSummary();
+            }
+
+            @Override
+            public void treeNodesChanged(TreeModelEvent e) {
+            }
+
+            @Override
+            public void treeNodesRemoved(TreeModelEvent e) {
+            }
+
+            @Override
+            public void treeStructureChanged(TreeModelEvent e) {
+                updateSummary();
+            }
+        });
+        tree.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getButton() != MouseEvent.BUTTON1) return;
+                TreePath path = tree.getPathForLocation(e.getX(), e.getY());
+                if (path != null) navigate(path, e.getClickCount() >= 2);
+            }
+        });
+        tree.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                if (e.getKeyCode() != KeyEvent.VK_ENTER) return;
+                TreePath path = tree.getSelectionPath();
+                if (path != null) navigate(path, true);
+            }
+        });
+        summary.setBorder(JBUI.Borders.empty(2, 5));
+        add(summary, BorderLayout.NORTH);
+        add(new JBScrollPane(tree), BorderLayout.CENTER);
+        updateSummary();
+    }
+
+    /** Adds {@code diagnostics}, reported for a run over {@code target} (if it's known). */
+    public void add(@Nullable VirtualFile target, @NotNull List<RESOLVEDiagnostic> diagnostics) {
+        if (!diagnostics.isEmpty()) model.add(target, diagnostics);
+    }
+
+    /** Forgets every problem shown; called as a new run starts. */
+    public void clear() {
+        model.clear();
+    }
+
+    public boolean hasProblems() {
+        return model.getErrorCount() + model.getWarningCount() > 0;
+    }
+
+    private void updateSummary() {
+        int errors = model.getErrorCount();
+        int warnings = model.getWarningCount();
+        summary.setText(errors + warnings == 0 ? "No problems" :
+                StringUtil.pluralize(errors + " error", errors) + ", " +
+                        StringUtil.pluralize(warnings + " warning", warnings));
+    }
+
+    private void navigate(@NotNull TreePath path, boolean requestFocus) {
+        Object node = path.getLastPathComponent();
+        if (!(node instanceof RESOLVEDiagnostic)) return;
+        RESOLVEDiagnostic d = (RESOLVEDiagnostic) node;
+        VirtualFile file = ((ProblemsTreeModel.FileGroup) path.getPathComponent(1)).getFile();
+        if (file == null || !file.isValid()) return;
+        TextRange range = d.getRange();
+        new OpenFileDescriptor(project, file, range != null ? range.getStartOffset() : 0).navigate(requestFocus);
+    }
+
+    private final class ProblemRenderer extends ColoredTreeCellRenderer {
+        @Override
+        public void customizeCellRenderer(@NotNull JTree tree, Object value, boolean selected, boolean expanded,
+                                          boolean leaf, int row, boolean hasFocus) {
+            if (value instanceof ProblemsTreeModel.FileGroup) {
+                ProblemsTreeModel.FileGroup group = (ProblemsTreeModel.FileGroup) value;
+                VirtualFile file = group.getFile();
+                setIcon(RESOLVEIcons.FILE);
+                if (group.path.isEmpty()) {
+                    append("(no file)", SimpleTextAttributes.GRAYED_ATTRIBUTES);
+                    return;
+                }
+                append(file != null ? file.getName() : PathUtil.getFileName(group.path),
+                        SimpleTextAttributes.REGULAR_BOLD_ATTRIBUTES);
+                String shown = file != null && project.getBaseDir() != null ?
+                        VfsUtilCore.getRelativePath(file, project.getBaseDir(), '/') : null;
+                append("  " + (shown != null ? shown : group.path), SimpleTextAttributes.GRAYED_ATTRIBUTES);
+            }
+            else if (value instanceof ProblemsTreeModel.SeverityGroup) {
+                ProblemsTreeModel.SeverityGroup group = (ProblemsTreeModel.SeverityGroup) value;
+                int count = group.getProblems().size();
+                setIcon(group.error ? AllIcons.General.Error : AllIcons.General.Warning);
+                append(group.error ? StringUtil.pluralize(count + " error", count) :
+                        StringUtil.pluralize(count + " warning", count));
+            }
+            else if (value instanceof RESOLVEDiagnostic) {
+                RESOLVEDiagnostic d = (RESOLVEDiagnostic) value;
+                setIcon(d.isError() ? AllIcons.General.Error : AllIcons.General.Warning);
+                String text = d.getText();
+                int newline = text.indexOf('\n');
+                append(newline < 0 ? text : text.substring(0, newline) + " ...");
+                int line = getLine(tree, row, d);
+                if (line >= 0) append("  line " + (line + 1), SimpleTextAttributes.GRAYED_ATTRIBUTES);
+                setToolTipText(newline < 0 ? null : text);
+            }
+        }
+
+        //only from an already loaded document; a problem's line isn't worth reading the file in for
+        private int getLine(@NotNull JTree tree, int row, @NotNull RESOLVEDiagnostic d) {
+            TreePath path = tree.getPathForRow(row);
+            TextRange range = d.getRange();
+            if (path == null || path.getPathCount() < 2 || range == null) return -1;
+            VirtualFile file = ((ProblemsTreeModel.FileGroup) path.getPathComponent(1)).getFile();
+            Document doc = file != null ? FileDocumentManager.getInstance().getCachedDocument(file) : null;
+            if (doc == null || range.getStartOffset() > doc.getTextLength()) return -1;
+            return doc.getLineNumber(range.getStartOffset());
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package edu.clemson.resolve.jetbrains.verifier;
+
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VirtualFile;
+import edu.clemson.resolve.jetbrains.compiler.RESOLVEDiagnostic;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.event.TreeModelEvent;
+import javax.swing.event.TreeModelListener;
+import javax.swing.tree.TreeModel;
+import javax.swing.tree.TreePath;
+import java.util.*;
+
+/**
+ * The problems of the last run, as a tree: a node per file, under it one per severity (errors, then warnings), and
+ * under those the diagnostics themselves. The diagnostics are the leaves as they are, kept in plain lists, so there's
+ * no node object per problem and a child is found by index; together with a tree that only paints the rows in view
+ * (see {@link ProblemsPanel}), a run with thousands of warnings costs about what one with a handful does.
+ * <p>
+ * Problems are only ever added (as a run reports them) or all cleared at once; listeners hear about each addition as
+ * an insertion, so whatever was expanded stays that way.</p>
+ */
+final class ProblemsTreeModel implements TreeModel {
+
+    private final Object root = new Object();
+    @NotNull private final List<FileGroup> files = new ArrayList<>();
+    @NotNull private final Map<String, FileGroup> filesByPath = new HashMap<>();
+    @NotNull private final List<TreeModelListener> listeners = new ArrayList<>();
+    private int errorCount = 0;
+    private int warningCount = 0;
+
+    /**
+     * Adds {@code diagnostics}. Those without a location, or naming {@code target} as the compiler knew it (by its
+     * path or, for a target given to the compiler by name, just that), are filed under {@code target}.
+     */
+    void add(@Nullable VirtualFile target, @NotNull List<RESOLVEDiagnostic> diagnostics) {
+        Map<FileGroup, Integer> oldErrors = new LinkedHashMap<>();
+        Map<FileGroup, Integer> oldWarnings = new HashMap<>();
+        Set<FileGroup> created = new LinkedHashSet<>();
+        for (RESOLVEDiagnostic d : diagnostics) {
+            FileGroup group = getGroup(target, d.getSourcePath(), created);
+            if (!oldErrors.containsKey(group)) {
+                oldErrors.put(group, group.errors.size());
+                oldWarnings.put(group, group.warnings.size());
+            }
+            if (d.isError()) {
+                group.errors.add(d);
+                errorCount++;
+            }
+            else {
+                group.warnings.add(d);
+                warningCount++;
+            }
+        }
+        for (FileGroup group : oldErrors.keySet()) {
+            if (created.contains(group)) {
+                fireInserted(new TreePath(root), files.indexOf(group), group);
+                continue;
+            }
+            TreePath path = new TreePath(new Object[]{root, group});
+            fireChanged(new TreePath(root), files.indexOf(group), group);
+            added(path, group.errorsNode, group.errors, oldErrors.get(group));
+            added(path, group.warningsNode, group.warnings, oldWarnings.get(group));
+        }
+    }
+
+    void clear() {
+        files.clear();
+        filesByPath.clear();
+        errorCount = 0;
+        warningCount = 0;
+        TreeModelEvent event = new TreeModelEvent(this, new TreePath(root));
+        for (TreeModelListener l : new ArrayList<>(listeners)) {
+            l.treeStructureChanged(event);
+        }
+    }
+
+    int getErrorCount() {
+        return errorCount;
+    }
+
+    int getWarningCount() {
+        return warningCount;
+    }
+
+    @Override
+    public Object getRoot() {
+        return root;
+    }
+
+    @Override
+    public Object getChild(Object parent, int index) {
+        if (parent == root) return files.get(index);
+        if (parent instanceof FileGroup) return ((FileGroup) parent).getChildren().get(index);
+        if (parent instanceof SeverityGroup) return ((SeverityGroup) parent).getProblems().get(index);
+        return null;
+    }
+
+    @Override
+    public int getChildCount(Object parent) {
+        if (parent == root) return files.size();
+        if (parent instanceof FileGroup) return ((FileGroup) parent).getChildren().size();
+        if (parent instanceof SeverityGroup) return ((SeverityGroup) parent).getProblems().size();
+        return 0;
+    }
+
+    @Override
+    public boolean isLeaf(Object node) {
+        return node instanceof RESOLVEDiagnostic;
+    }
+
+    @Override
+    public void valueForPathChanged(TreePath path, Object newValue) {
+    }
+
+    @Override
+    public int getIndexOfChild(Object parent, Object child) {
+        if (parent == root) return files.indexOf(child);
+        if (parent instanceof FileGroup) return ((FileGroup) parent).getChildren().indexOf(child);
+        if (parent instanceof SeverityGroup) {
+            //by identity: two problems may well read the same
+            List<RESOLVEDiagnostic> problems = ((SeverityGroup) parent).getProblems();
+            for (int i = 0; i < problems.size(); i++) {
+                if (problems.get(i) == child) return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void addTreeModelListener(TreeModelListener l) {
+        listeners.add(l);
+    }
+
+    @Override
+    public void removeTreeModelListener(TreeModelListener l) {
+        listeners.remove(l);
+    }
+
+    @NotNull
+    private FileGroup getGroup(@Nullable VirtualFile target, @Nullable String sourcePath,
+                               @NotNull Set<FileGroup> created) {
+        VirtualFile file = null;
+        String path = sourcePath;
+        if (target != null && (path == null || path.equals(target.getPath()) || path.equals(target.getName()))) {
+            file = target;
+            path = target.getPath();
+        }
+        if (path == null) path = "";
+        FileGroup result = filesByPath.get(path);
+        if (result == null) {
+            result = new FileGroup(path, file);
+            files.add(result);
+            filesByPath.put(path, result);
+            created.add(result);
+        }
+        return result;
+    }
+
+    //tells listeners about what was added under one severity, which may have just appeared itself
+    private void added(@NotNull TreePath filePath,
+                       @NotNull SeverityGroup node,
+                       @NotNull List<RESOLVEDiagnostic> problems,
+                       int oldSize) {
+        if (problems.size() == oldSize) return;
+        FileGroup group = (FileGroup) filePath.getLastPathComponent();
+        if (oldSize == 0) {
+            fireInserted(filePath, group.getChildren().indexOf(node), node);
+            return;
+        }
+        fireChanged(filePath, group.getChildren().indexOf(node), node);
+        int[] indices = new int[problems.size() - oldSize];
+        Object[] children = new Object[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = oldSize + i;
+            children[i] = problems.get(oldSize + i);
+        }
+        TreeModelEvent event = new TreeModelEvent(this, filePath.pathByAddingChild(node), indices, children);
+        for (TreeModelListener l : new ArrayList<>(listeners)) {
+            l.treeNodesInserted(event);
+        }
+    }
+
+    private void fireInserted(@NotNull TreePath parent, int index, @NotNull Object child) {
+        TreeModelEvent event = new TreeModelEvent(this, parent, new int[]{index}, new Object[]{child});
+        for (TreeModelListener l : new ArrayList<>(listeners)) {
+            l.treeNodesInserted(event);
+        }
+    }
+
+    //the node's label has counts in it
+    private void fireChanged(@NotNull TreePath parent, int index, @NotNull Object child) {
+        TreeModelEvent event = new TreeModelEvent(this, parent, new int[]{index}, new Object[]{child});
+        for (TreeModelListener l : new ArrayList<>(listeners)) {
+            l.treeNodesChanged(event);
+        }
+    }
+
+    /** The problems in one file, named by {@link #path}; that's empty for those that came without a location. */
+    static final class FileGroup {
+        @NotNull final String path;
+        @Nullable private VirtualFile file;
+        private boolean lookedUp;
+        @NotNull final List<RESOLVEDiagnostic> errors = new ArrayList<>();
+        @NotNull final List<RESOLVEDiagnostic> warnings = new ArrayList<>();
+        @NotNull final SeverityGroup errorsNode = new SeverityGroup(this, true);
+        @NotNull final SeverityGroup warningsNode = new SeverityGroup(this, false);
+
+        FileGroup(@NotNull String path, @Nullable VirtualFile file) {
+            this.path = path;
+            this.file = file;
+            this.lookedUp = file != null;
+        }
+
+        /** The file itself, looked up (once) the first time it's asked for; {@code null} if there's no such file. */
+        @Nullable
+        VirtualFile getFile() {
+            if (!lookedUp) {
+                lookedUp = true;
+                if (!path.isEmpty()) file = LocalFileSystem.getInstance().findFileByPath(path);
+            }
+            return file;
+        }
+
+        //only the severities there are problems of
+        @NotNull
+        List<SeverityGroup> getChildren() {
+            if (warnings.isEmpty()) return errors.isEmpty() ? Collections.<SeverityGroup>emptyList() :
+                    Collections.singletonList(errorsNode);
+            return errors.isEmpty() ? Collections.singletonList(warningsNode) : Arrays.asList(errorsNode, warningsNode);
+        }
+    }
+
+    static final class SeverityGroup {
+        @NotNull final FileGroup file;
+        final boolean error;
+
+        SeverityGroup(@NotNull FileGroup file, boolean error) {
+            this.file = file;
+            this.error = error;
+        }
+
+        @NotNull
+        List<RESOLVEDiagnostic> getProblems() {
+            return error ? file.errors : file.warnings;
+        }
+    }
+}
@@ -8,8 +8,8 @@ import com.intellij.ui.JBColor;
 import com.intellij.ui.components.JBScrollPane;
 import edu.clemson.resolve.jetbrains.RESOLVEIcons;
 import edu.clemson.resolve.jetbrains.RESOLVEPluginController;
+import edu.clemson.resolve.jetbrains.compiler.RESOLVEModuleRun;
 import edu.clemson.resolve.proving.absyn.PExp;
-import edu.clemson.resolve.vcgen.VC;
 import org.jetbrains.annotations.NotNull;
 
 import javax.swing.*;
@@ -40,7 +40,7 @@ public class VerificationConditionSelectorPanel extends JPanel {
     public final List<VerificationPreviewEditor> previewEditors = new ArrayList<>();
 
     public VerificationConditionSelectorPanel(@NotNull Project project,
-                                              @NotNull Collection<VC> vcs) {
+                                              @NotNull Collection<RESOLVEModuleRun.VCInfo> vcs) {
         super(new BorderLayout());
         JComponent selector = createVerificationConditionSelector(vcs);
 
@@ -104,7 +104,7 @@ public class VerificationConditionSelectorPanel extends JPanel {
         return buttonBar;
     }
 
-    protected JComponent createVerificationConditionSelector(@NotNull Collection<VC> vcs) {
+    protected JComponent createVerificationConditionSelector(@NotNull Collection<RESOLVEModuleRun.VCInfo> vcs) {
         JPanel selectorPanel = new JPanel();
 
         GridBagLayout gridbag = new GridBagLayout();
@@ -114,7 +114,7 @@ public class VerificationConditionSelectorPanel extends JPanel {
         c.fill = GridBagConstraints.HORIZONTAL;
         c.weightx = 1;
 
-        for (VC vc : vcs) {
+        for (RESOLVEModuleRun.VCInfo vc : vcs) {
             JPanel categoryPanel = new JPanel();
             categoryPanel.setLayout(new BorderLayout());
 
@@ -122,7 +122,7 @@ public class VerificationConditionSelectorPanel extends JPanel {
                     new ConditionCollapsiblePanel(categoryPanel,
                             "<html><font color='#404040'><b>VC #" + vc.getNumber() + "</b></html>",
                             "click to expand and view VC information");
-            vcTabs.put(vc.getNumber(), collapsePanel);
+            vcTabs.put(Integer.parseInt(vc.getNumber()), collapsePanel);
             collapsePanel.setExpanded(false);
 
             collapsePanel.setBorder(CATEGORY_BORDER);
@@ -175,8 +175,8 @@ public class VerificationConditionSelectorPanel extends JPanel {
         }
     }
 
-    public VerificationPreviewEditor getVCPreview(VC vc) {
-        String vcText = vc.toString();
+    public VerificationPreviewEditor getVCPreview(RESOLVEModuleRun.VCInfo vc) {
+        String vcText = vc.getText();
         VerificationPreviewEditor preview = new VerificationPreviewEditor(project, vcText);
         preview.setBackground(JBColor.WHITE);
         return preview;
@@ -7,7 +7,7 @@ import com.intellij.ui.components.JBLabel;
 import com.intellij.ui.components.JBPanel;
 import com.intellij.util.ui.JBFont;
 import com.intellij.util.ui.UIUtil;
-import edu.clemson.resolve.vcgen.VC;
+import edu.clemson.resolve.jetbrains.compiler.RESOLVEModuleRun;
 import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
@@ -70,7 +70,7 @@ public class VerifierPanel extends JBPanel {
         add(startingPanel);
     }
 
-    public void createVerifierView(Collection<VC> vcs) {
+    public void createVerifierView(Collection<RESOLVEModuleRun.VCInfo> vcs) {
         this.removeAll();
         vcSelectorPanel = new VerificationConditionSelectorPanel(project, vcs);
         add(vcSelectorPanel, BorderLayout.CENTER);
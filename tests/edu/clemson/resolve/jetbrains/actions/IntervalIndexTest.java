@@ -0,0 +1,53 @@
+package edu.clemson.resolve.jetbrains.actions;
+
+import com.intellij.openapi.util.TextRange;
+import com.intellij.util.Function;
+import junit.framework.TestCase;
+
+import java.util.*;
+
+public class IntervalIndexTest extends TestCase {
+
+    private static final Function<TextRange, TextRange> SELF = new Function<TextRange, TextRange>() {
+        @Override
+        public TextRange fun(TextRange range) {
+            return range;
+        }
+    };
+
+    public void testRangesAreHalfOpen() {
+        TextRange range = new TextRange(3, 7);
+        IntervalIndex<TextRange> index = new IntervalIndex<>(Collections.singletonList(range), SELF);
+        assertEquals(Collections.emptyList(), index.getContaining(2));
+        assertEquals(Collections.singletonList(range), index.getContaining(3));
+        assertEquals(Collections.singletonList(range), index.getContaining(6));
+        assertEquals(Collections.emptyList(), index.getContaining(7));
+    }
+
+    public void testNestedAndOverlappingRangesComeBackInStartOrder() {
+        TextRange outer = new TextRange(0, 100), inner = new TextRange(10, 20), overlap = new TextRange(15, 40);
+        IntervalIndex<TextRange> index = new IntervalIndex<>(Arrays.asList(overlap, outer, inner), SELF);
+        assertEquals(Arrays.asList(outer, inner, overlap), index.getContaining(15));
+        assertEquals(Arrays.asList(outer, overlap), index.getContaining(30));
+        assertEquals(Collections.singletonList(outer), index.getContaining(50));
+    }
+
+    public void testAgreesWithALinearScan() {
+        Random random = new Random(42);
+        List<TextRange> ranges = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            int start = random.nextInt(1000);
+            ranges.add(new TextRange(start, start + random.nextInt(50)));
+        }
+        IntervalIndex<TextRange> index = new IntervalIndex<>(ranges, SELF);
+        for (int offset = 0; offset < 1100; offset++) {
+            Set<TextRange> expected = Collections.newSetFromMap(new IdentityHashMap<TextRange, Boolean>());
+            for (TextRange range : ranges) {
+                if (range.getStartOffset() <= offset && offset < range.getEndOffset()) expected.add(range);
+            }
+            List<TextRange> actual = index.getContaining(offset);
+            assertEquals(expected.size(), actual.size());
+            assertTrue(expected.containsAll(actual));
+        }
+    }
+}
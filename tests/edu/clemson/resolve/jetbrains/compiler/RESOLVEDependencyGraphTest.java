@@ -0,0 +1,62 @@
+package edu.clemson.resolve.jetbrains.compiler;
+
+import junit.framework.TestCase;
+
+import java.util.*;
+
+public class RESOLVEDependencyGraphTest extends TestCase {
+
+    //Stack_Template <- Stack_Realiz <- Stack_Fac; Queue_Template <- Queue_Realiz; Stack_Fac also uses Queue_Template
+    private RESOLVEDependencyGraph<String> graph;
+
+    @Override protected void setUp() throws Exception {
+        super.setUp();
+        graph = new RESOLVEDependencyGraph<>();
+        graph.setDependencies("Stack_Template", Collections.<String>emptyList());
+        graph.setDependencies("Queue_Template", Collections.<String>emptyList());
+        graph.setDependencies("Stack_Realiz", Collections.singletonList("Stack_Template"));
+        graph.setDependencies("Queue_Realiz", Collections.singletonList("Queue_Template"));
+        graph.setDependencies("Stack_Fac", Arrays.asList("Stack_Template", "Stack_Realiz", "Queue_Template"));
+    }
+
+    public void testTouchingARealizationOnlyReachesItsDependents() {
+        assertEquals(set("Stack_Realiz", "Stack_Fac"), graph.withDependents(set("Stack_Realiz")));
+        assertEquals(set("Queue_Realiz"), graph.withDependents(set("Queue_Realiz")));
+    }
+
+    public void testTouchingASpecReachesEverythingAboveIt() {
+        assertEquals(set("Stack_Template", "Stack_Realiz", "Stack_Fac"), graph.withDependents(set("Stack_Template")));
+    }
+
+    public void testLevelsPutDependenciesFirst() {
+        List<List<String>> levels = graph.levels(set("Stack_Template", "Queue_Template", "Stack_Realiz",
+                "Queue_Realiz", "Stack_Fac"));
+        assertEquals(3, levels.size());
+        assertEquals(set("Stack_Template", "Queue_Template"), new HashSet<>(levels.get(0)));
+        assertEquals(set("Stack_Realiz", "Queue_Realiz"), new HashSet<>(levels.get(1)));
+        assertEquals(Collections.singletonList("Stack_Fac"), levels.get(2));
+    }
+
+    public void testLevelsOnlyCountDependenciesBeingBuilt() {
+        List<List<String>> levels = graph.levels(set("Stack_Realiz", "Stack_Fac"));
+        assertEquals(Arrays.asList(Collections.singletonList("Stack_Realiz"), Collections.singletonList("Stack_Fac")),
+                levels);
+    }
+
+    public void testChangedUsesReplaceOldEdges() {
+        graph.setDependencies("Stack_Fac", Collections.singletonList("Queue_Template"));
+        assertEquals(set("Stack_Realiz"), graph.withDependents(set("Stack_Realiz")));
+        assertEquals(set("Queue_Template", "Queue_Realiz", "Stack_Fac"), graph.withDependents(set("Queue_Template")));
+    }
+
+    public void testCyclesEndUpInOneLastLevel() {
+        graph.setDependencies("Stack_Template", Collections.singletonList("Stack_Fac"));
+        List<List<String>> levels = graph.levels(set("Stack_Template", "Stack_Realiz", "Stack_Fac", "Queue_Template"));
+        assertEquals(Collections.singletonList("Queue_Template"), levels.get(0));
+        assertEquals(set("Stack_Template", "Stack_Realiz", "Stack_Fac"), new HashSet<>(levels.get(1)));
+    }
+
+    private static Set<String> set(String... names) {
+        return new LinkedHashSet<>(Arrays.asList(names));
+    }
+}
@@ -0,0 +1,103 @@
+package edu.clemson.resolve.jetbrains.compiler;
+
+import com.intellij.openapi.util.io.FileUtil;
+import junit.framework.TestCase;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class RESOLVEShadowSourcesTest extends TestCase {
+
+    private File root;
+    private String a;
+    private String b;
+    private RESOLVEShadowSources shadows;
+
+    @Override protected void setUp() throws Exception {
+        super.setUp();
+        root = FileUtil.createTempDirectory("resolve-shadow-test", null, false);
+        a = path("A.resolve");
+        b = path("sub/B.resolve");
+        FileUtil.writeToFile(new File(a), "A on disk");
+        FileUtil.writeToFile(new File(b), "B on disk");
+        shadows = new RESOLVEShadowSources();
+    }
+
+    @Override protected void tearDown() throws Exception {
+        try {
+            shadows.dispose();
+            FileUtil.delete(root);
+        }
+        finally {
+            super.tearDown();
+        }
+    }
+
+    public void testPathsUnderTheLibRootMoveToTheMirror() throws IOException {
+        List<String> args = shadows.redirect(Arrays.asList(a, "-lib", path(""), "-vcs"),
+                Arrays.asList(unsaved(a, "A edited", 1), onDisk(b, 1)));
+
+        assertEquals(4, args.size());
+        assertFalse(args.get(0).equals(a));
+        assertEquals("-lib", args.get(1));
+        assertEquals("-vcs", args.get(3));
+        assertEquals("A edited", FileUtil.loadFile(new File(args.get(0))));
+        assertEquals("B on disk", FileUtil.loadFile(new File(args.get(2), "sub/B.resolve")));
+        assertEquals("B on disk", FileUtil.loadFile(new File(b)));
+    }
+
+    public void testMirroredPathsMapBack() throws IOException {
+        List<String> args = shadows.redirect(Arrays.asList(a, "-lib", path("")),
+                Collections.singletonList(unsaved(a, "A edited", 1)));
+
+        assertEquals(a, FileUtil.toSystemIndependentName(shadows.toSourcePath(args.get(0))));
+        assertEquals(b, FileUtil.toSystemIndependentName(
+                shadows.toSourcePath(new File(args.get(2), "sub/B.resolve").getPath())));
+        assertEquals("/elsewhere/C.resolve", shadows.toSourcePath("/elsewhere/C.resolve"));
+    }
+
+    public void testArgsWithoutALibRootAreLeftAlone() throws IOException {
+        List<String> args = Arrays.asList(a, "-vcs");
+        assertSame(args, shadows.redirect(args, Collections.singletonList(unsaved(a, "A edited", 1))));
+        assertEquals(a, shadows.toSourcePath(a));
+    }
+
+    public void testOnlyChangedSourcesAreRewritten() throws IOException {
+        List<String> args = shadows.redirect(Arrays.asList(a, "-lib", path("")),
+                Collections.singletonList(unsaved(a, "A edited", 1)));
+        File mirrored = new File(args.get(0));
+        FileUtil.writeToFile(mirrored, "scribbled on");
+
+        shadows.redirect(Arrays.asList(a, "-lib", path("")), Collections.singletonList(unsaved(a, "A edited", 1)));
+        assertEquals("scribbled on", FileUtil.loadFile(mirrored));
+        shadows.redirect(Arrays.asList(a, "-lib", path("")), Collections.singletonList(unsaved(a, "A again", 2)));
+        assertEquals("A again", FileUtil.loadFile(mirrored));
+    }
+
+    public void testSourcesNoLongerReadLeaveTheMirror() throws IOException {
+        List<String> args = shadows.redirect(Arrays.asList(a, "-lib", path("")),
+                Arrays.asList(unsaved(a, "A edited", 1), onDisk(b, 1)));
+        File mirroredB = new File(args.get(2), "sub/B.resolve");
+        assertTrue(mirroredB.exists());
+
+        shadows.redirect(Arrays.asList(a, "-lib", path("")), Collections.singletonList(unsaved(a, "A edited", 1)));
+        assertFalse(mirroredB.exists());
+        assertTrue(new File(args.get(0)).exists());
+    }
+
+    private String path(String relative) {
+        String result = FileUtil.toSystemIndependentName(root.getPath());
+        return relative.isEmpty() ? result : result + "/" + relative;
+    }
+
+    private static RESOLVEShadowSources.Source unsaved(String path, String text, int stamp) {
+        return new RESOLVEShadowSources.Source(path, text, "document:" + stamp);
+    }
+
+    private static RESOLVEShadowSources.Source onDisk(String path, int stamp) {
+        return new RESOLVEShadowSources.Source(path, null, "file:" + stamp);
+    }
+}
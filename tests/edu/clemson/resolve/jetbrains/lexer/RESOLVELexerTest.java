@@ -1,12 +1,18 @@
 package edu.clemson.resolve.jetbrains.lexer;
 
+import com.intellij.lexer.FlexAdapter;
 import com.intellij.lexer.Lexer;
+import com.intellij.lexer.MergingLexerAdapter;
 import com.intellij.openapi.util.io.FileUtil;
 import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.tree.TokenSet;
 import com.intellij.testFramework.LexerTestCase;
+import edu.clemson.resolve.jetbrains.RESOLVEParserDefinition;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 public class RESOLVELexerTest extends LexerTestCase {
 
@@ -20,6 +26,72 @@ public class RESOLVELexerTest extends LexerTestCase {
 //    public void testSet_Spec() { doTest(); }
 //    public void testSpiral_Spec() { doTest(); }
 //    public void testSample_Set_Impl() { doTest(); }
+
+    /**
+     * Lexing from any token boundary (in the state the lexer reported there) must produce exactly the tokens a full
+     * pass does from that point on; this is what lets the editor relex just the damaged region after an edit.
+     */
+    public void testRestartConsistency() throws IOException {
+        for (File file : listTestDataFiles()) {
+            String text = StringUtil.convertLineSeparators(FileUtil.loadFile(file));
+            List<String> expected = lex(text, 0, 0);
+            for (int i = 0; i < expected.size(); i++) {
+                //read from the back: the token type's own name might contain a ':'
+                String[] token = expected.get(i).split(":");
+                int start = Integer.parseInt(token[token.length - 3]);
+                int state = Integer.parseInt(token[token.length - 1]);
+                assertEquals(file.getName() + ": relexing from offset " + start + " diverged",
+                        expected.subList(i, expected.size()), lex(text, start, state));
+            }
+        }
+    }
+
+    /** The fast path must hand back exactly what the generated lexer would have, symbol for symbol. */
+    public void testMathSymbolFastPathAgreesWithGeneratedLexer() throws IOException {
+        StringBuilder sb = new StringBuilder("λ λx αβ α1 α_ x∧y ∧∨ 𝔹 𝔹x 𝔹𝔹 ℕ1 ℘S ≤≥ ");
+        String symbols = ResMathSymbolFastPath.SYMBOLS + "αβγΓΔ";
+        for (int i = 0; i < symbols.length(); ) {
+            int cp = symbols.codePointAt(i);
+            String sym = new String(Character.toChars(cp));
+            sb.append(sym).append(' ').append(sym).append("a ").append(sym).append(sym).append('\n');
+            i += Character.charCount(cp);
+        }
+        assertEquals(lex(createGeneratedLexer(), sb.toString(), 0, 0), lex(createLexer(), sb.toString(), 0, 0));
+
+        for (File file : listTestDataFiles()) {
+            String text = StringUtil.convertLineSeparators(FileUtil.loadFile(file));
+            assertEquals(file.getName(), lex(createGeneratedLexer(), text, 0, 0), lex(createLexer(), text, 0, 0));
+        }
+    }
+
+    /** The lexer as it'd be without {@link ResMathSymbolFastPath}. */
+    private static Lexer createGeneratedLexer() {
+        return new MergingLexerAdapter(new FlexAdapter(new _ResLexer()),
+                TokenSet.orSet(RESOLVEParserDefinition.COMMENTS, RESOLVEParserDefinition.WHITESPACES));
+    }
+
+    private static File[] listTestDataFiles() {
+        File[] files = new File("./testData/lexer").listFiles((dir, name) -> name.endsWith(".resolve"));
+        assertNotNull(files);
+        assertTrue(files.length > 0);
+        return files;
+    }
+
+    private List<String> lex(String text, int start, int state) {
+        return lex(createLexer(), text, start, state);
+    }
+
+    /** Returns each token as {@code type:start:end:state}. */
+    private static List<String> lex(Lexer lexer, String text, int start, int state) {
+        List<String> result = new ArrayList<>();
+        lexer.start(text, start, text.length(), state);
+        for (; lexer.getTokenType() != null; lexer.advance()) {
+            result.add(lexer.getTokenType() + ":" + lexer.getTokenStart() + ":" +
+                    lexer.getTokenEnd() + ":" + lexer.getState());
+        }
+        return result;
+    }
+
     private void doTest() {
         try {
             String text = FileUtil.loadFile(new File("./testData/lexer/"
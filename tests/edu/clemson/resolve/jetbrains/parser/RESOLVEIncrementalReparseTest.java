@@ -0,0 +1,85 @@
+package edu.clemson.resolve.jetbrains.parser;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiFileFactory;
+import com.intellij.psi.impl.DebugUtil;
+import com.intellij.psi.tree.IReparseableElementType;
+import com.intellij.testFramework.fixtures.LightPlatformCodeInsightFixtureTestCase;
+import edu.clemson.resolve.jetbrains.RESOLVEFileType;
+import edu.clemson.resolve.jetbrains.RESOLVELanguage;
+
+/**
+ * Edits inside procedure bodies and spec clauses, checking that the tree left after the (possibly lazy) reparse is
+ * the same one a full parse of the edited text gives.
+ */
+public class RESOLVEIncrementalReparseTest extends LightPlatformCodeInsightFixtureTestCase {
+
+    private static final String FILE_NAME = "Edited.resolve";
+
+    public void testEditInsideOpBlock() {
+        doTest("        x := 0;\n", "        y := x;\n", true);
+    }
+
+    public void testUnclosedIfInsideOpBlock() {
+        doTest("        x := 0;\n", "        If x = y then\n", false);
+    }
+
+    public void testItemKeywordsInsideOpBlock() {
+        for (String keyword : new String[]{"Operation", "Procedure", "Recursive", "Facility", "Type", "Definition"}) {
+            doTest("        x := 0;\n", "        " + keyword + "\n", false);
+        }
+    }
+
+    public void testEditInsideClause() {
+        doTest("ensures Q0 = Depth_Of(S)", " + 0", true);
+    }
+
+    public void testSecondSemicolonInsideClause() {
+        doTest("ensures Q0 = Depth_Of(S)", "; ensures true", false);
+    }
+
+    /**
+     * Inserts {@code inserted} just after the first {@code anchor}, which must fall inside a reparseable node, and
+     * checks whether that node would be reparsed on its own ({@code lazy}) before comparing with a full parse.
+     */
+    private void doTest(String anchor, final String inserted, boolean lazy) {
+        String text = RESOLVEParserRecoveryTest.buildRealization(2);
+        final int offset = text.indexOf(anchor) + anchor.length();
+        String expected = text.substring(0, offset) + inserted + text.substring(offset);
+
+        PsiFile file = myFixture.configureByText(FILE_NAME, text);
+        ASTNode node = getReparseableNode(file.findElementAt(offset - 1));
+        assertNotNull("no reparseable node at " + offset, node);
+        int start = node.getStartOffset();
+        String newNodeText =
+                text.substring(start, offset) + inserted + text.substring(offset, start + node.getTextLength());
+        assertEquals(lazy, ((IReparseableElementType) node.getElementType())
+                .isParsable(newNodeText, RESOLVELanguage.INSTANCE, getProject()));
+
+        final Document doc = myFixture.getEditor().getDocument();
+        WriteCommandAction.runWriteCommandAction(getProject(), new Runnable() {
+            @Override
+            public void run() {
+                doc.insertString(offset, inserted);
+                PsiDocumentManager.getInstance(getProject()).commitDocument(doc);
+            }
+        });
+        assertEquals(expected, myFixture.getFile().getText());
+        PsiFile full = PsiFileFactory.getInstance(getProject())
+                .createFileFromText(FILE_NAME, RESOLVEFileType.INSTANCE, expected);
+        assertEquals(DebugUtil.psiToString(full, false, false),
+                DebugUtil.psiToString(myFixture.getFile(), false, false));
+    }
+
+    private static ASTNode getReparseableNode(PsiElement e) {
+        for (; e != null; e = e.getParent()) {
+            if (e.getNode().getElementType() instanceof IReparseableElementType) return e.getNode();
+        }
+        return null;
+    }
+}
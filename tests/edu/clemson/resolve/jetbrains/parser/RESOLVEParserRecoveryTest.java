@@ -0,0 +1,127 @@
+package edu.clemson.resolve.jetbrains.parser;
+
+import com.intellij.lang.PsiBuilder;
+import com.intellij.lang.PsiBuilderFactory;
+import com.intellij.lang.impl.PsiBuilderAdapter;
+import com.intellij.psi.PsiFile;
+import com.intellij.testFramework.ParsingTestCase;
+import edu.clemson.resolve.jetbrains.RESOLVEParserDefinition;
+import edu.clemson.resolve.jetbrains.lexer.ResolveLexer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses a large realization with half-typed fragments dropped in at many different points, checking that the work
+ * it takes to recover grows with the size of the file and not faster. The kinds of breakage are the ones we see
+ * mid-keystroke in the editor: an unclosed call, set or if, a stray item keyword, etc.
+ * <p>
+ * Work is counted in tokens the parser advances over, rolled back ones included, so going back over the rest of the
+ * file after each failed alternative shows up the same on any machine (unlike time taken; timings are for the
+ * benchmarks module).</p>
+ */
+public class RESOLVEParserRecoveryTest extends ParsingTestCase {
+
+    private static final String[] FRAGMENTS = {
+            "f(", "f(g(h(", "{", "{{{", "{x : N", "(", "If x then", "While x", "Operation", "Var",
+            ":=", "end", ";", "⟨"};
+
+    /** How many positions (spread evenly over the file) each fragment gets injected at. */
+    private static final int INJECTION_POINTS = 40;
+
+    private static final int SMALL_PROCEDURE_COUNT = 20;
+    private static final int LARGE_PROCEDURE_COUNT = 8 * SMALL_PROCEDURE_COUNT;
+
+    /** Linear recovery puts the large file at ~8x the small one's advances; quadratic lands north of 60x. */
+    private static final double MAX_GROWTH = 12.0;
+
+    private final RESOLVEParserDefinition definition = new RESOLVEParserDefinition();
+
+    public RESOLVEParserRecoveryTest() {
+        super("parser", "resolve", new RESOLVEParserDefinition());
+    }
+
+    @Override protected String getTestDataPath() {
+        return "testData";
+    }
+
+    public void testCleanInputParsesWithoutErrors() {
+        PsiFile file = createPsiFile("Clean", buildRealization(3));
+        assertFalse("PsiFile contains error elements",
+                toParseTreeText(file, true, false).contains("PsiErrorElement"));
+    }
+
+    public void testRecoveryWorkGrowsLinearly() {
+        long small = countBrokenParseAdvances(buildRealization(SMALL_PROCEDURE_COUNT));
+        long large = countBrokenParseAdvances(buildRealization(LARGE_PROCEDURE_COUNT));
+        double growth = (double) large / Math.max(1, small);
+        assertTrue("recovery advanced x" + growth + " as far for an 8x larger file", growth <= MAX_GROWTH);
+    }
+
+    /** Returns the tokens advanced over parsing {@code text} once per fragment per injection point. */
+    private long countBrokenParseAdvances(String text) {
+        List<Integer> positions = injectionPoints(text);
+        long total = 0;
+        for (String fragment : FRAGMENTS) {
+            for (int position : positions) {
+                String broken = text.substring(0, position) + " " + fragment + " " + text.substring(position);
+                total += countAdvances(broken);
+            }
+        }
+        return total;
+    }
+
+    private long countAdvances(String text) {
+        PsiBuilder delegate = PsiBuilderFactory.getInstance().createBuilder(definition, new ResolveLexer(), text);
+        final long[] advances = {0};
+        PsiBuilder builder = new PsiBuilderAdapter(delegate) {
+            @Override
+            public void advanceLexer() {
+                advances[0]++;
+                super.advanceLexer();
+            }
+        };
+        new ResParser().parse(definition.getFileNodeType(), builder);
+        return advances[0];
+    }
+
+    //token boundaries (whitespace) spread evenly over the text, so both file sizes get the same number of parses
+    private static List<Integer> injectionPoints(String text) {
+        List<Integer> whitespace = new ArrayList<>();
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.isWhitespace(text.charAt(i))) whitespace.add(i);
+        }
+        List<Integer> result = new ArrayList<>();
+        for (int i = 0; i < INJECTION_POINTS; i++) {
+            result.add(whitespace.get(i * whitespace.size() / INJECTION_POINTS));
+        }
+        return result;
+    }
+
+    static String buildRealization(int procedureCount) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Realization Bench_Realiz for Bench_Template;\n");
+        sb.append("    uses Std_Integer_Fac;\n\n");
+        for (int i = 0; i < procedureCount; i++) {
+            sb.append("    Procedure P").append(i).append("(updates S : Stack; evaluates n : Integer);\n");
+            sb.append("        Var x, y : Integer;\n");
+            sb.append("        x := 0;\n");
+            sb.append("        While x < n\n");
+            sb.append("            changing x, y;\n");
+            sb.append("            maintaining x ≤ n ∧ y ∈ {x};\n");
+            sb.append("            decreasing n - x;\n");
+            sb.append("        do\n");
+            sb.append("            If x = y then y := f(x, g(y)); else x := x + 1; end;\n");
+            sb.append("            Push(x, S);\n");
+            sb.append("        end;\n");
+            sb.append("    end P").append(i).append(";\n\n");
+            sb.append("    Operation Q").append(i).append("(restores S : Stack) : Integer;\n");
+            sb.append("        ensures Q").append(i).append(" = Depth_Of(S) ∧ S ∈ {S};\n");
+            sb.append("    Procedure\n");
+            sb.append("        Q").append(i).append(" := Depth(S);\n");
+            sb.append("    end Q").append(i).append(";\n\n");
+        }
+        sb.append("end Bench_Realiz;\n");
+        return sb.toString();
+    }
+}
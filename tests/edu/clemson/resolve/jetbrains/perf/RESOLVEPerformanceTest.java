@@ -0,0 +1,161 @@
+package edu.clemson.resolve.jetbrains.perf;
+
+import com.intellij.codeInsight.lookup.LookupManager;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiPolyVariantReference;
+import com.intellij.psi.PsiReference;
+import com.intellij.psi.impl.source.resolve.ResolveCache;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.testFramework.PlatformTestUtil;
+import com.intellij.util.ThrowableRunnable;
+import edu.clemson.resolve.jetbrains.completion.RESOLVECompletionTestBase;
+import edu.clemson.resolve.jetbrains.psi.ResMathReferenceExp;
+import edu.clemson.resolve.jetbrains.psi.ResReferenceExp;
+import edu.clemson.resolve.jetbrains.psi.ResTypeReferenceExp;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Timing budgets for resolve, completion and highlighting over a {@link ResProjectGenerator} workspace. The budgets
+ * are set for the default 100 module workspace with plenty of headroom; what they're there to catch is something
+ * going quadratic (in the number of modules used, say) rather than a few percent here and there.
+ * <p>
+ * The workspace size can be raised with {@code -Dresolve.perf.modules=1000}, in which case the budgets scale along
+ * with it (linearly).</p>
+ */
+public class RESOLVEPerformanceTest extends RESOLVECompletionTestBase {
+
+    private static final int DEFAULT_MODULE_COUNT = 100;
+
+    private static final String REALIZATION = "realizations/Container_0_Realiz_0.resolve";
+    private static final String CONCEPT = "concepts/Container_0.resolve";
+    private static final String FACILITY = "facilities/Facility_0.resolve";
+
+    private int moduleCount;
+
+    @Override protected void setUp() throws Exception {
+        super.setUp();
+        moduleCount = Integer.getInteger("resolve.perf.modules", DEFAULT_MODULE_COUNT);
+        Map<String, String> workspace = ResProjectGenerator.ofSize(moduleCount).generate();
+        for (Map.Entry<String, String> e : workspace.entrySet()) {
+            myFixture.addFileToProject(e.getKey(), e.getValue());
+        }
+    }
+
+    public void testProgramReferenceResolve() {
+        final List<PsiReference> references = new ArrayList<>();
+        for (String path : new String[]{REALIZATION, FACILITY}) {
+            PsiFile file = myFixture.configureFromTempProjectFile(path);
+            references.addAll(collectReferences(file, ResReferenceExp.class));
+            references.addAll(collectReferences(file, ResTypeReferenceExp.class));
+        }
+        assertFalse(references.isEmpty());
+        timeResolve("multiResolve of program references", 1500, references);
+    }
+
+    public void testMathReferenceResolve() {
+        final List<PsiReference> references = new ArrayList<>();
+        for (String path : new String[]{CONCEPT, REALIZATION}) {
+            PsiFile file = myFixture.configureFromTempProjectFile(path);
+            references.addAll(collectReferences(file, ResMathReferenceExp.class));
+        }
+        assertFalse(references.isEmpty());
+        timeResolve("multiResolve of math references", 1500, references);
+    }
+
+    public void testProgramCompletion() {
+        //a procedure body in a module using every concept, so completion has the most modules to walk
+        StringBuilder sb = new StringBuilder("Facility Perf_Completion;\n    uses ");
+        int concepts = Math.max(1, moduleCount / 5);
+        for (int c = 0; c < concepts; c++) {
+            sb.append(c > 0 ? ", " : "").append(ResProjectGenerator.conceptName(c));
+        }
+        sb.append(";\n\n    Operation Main(updates S : Cont_0);\n    Procedure\n        <caret>\n    end Main;\n")
+                .append("end Perf_Completion;\n");
+        myFixture.configureByText("Perf_Completion.resolve", sb.toString());
+        timeCompletion("program reference completion", 2000);
+    }
+
+    public void testMathCompletion() {
+        myFixture.configureByText("Perf_Math_Completion.resolve",
+                "Precis Perf_Math_Completion;\n" +
+                "    uses " + ResProjectGenerator.precisName(0) + ", " + ResProjectGenerator.precisName(1) + ";\n" +
+                "    Definition Perf_f(x : N) : B is <caret>;\n" +
+                "end Perf_Math_Completion;\n");
+        timeCompletion("math reference completion", 2000);
+    }
+
+    public void testHighlighting() {
+        final String[] paths = {CONCEPT, REALIZATION, FACILITY};
+        startPerformanceTest("highlighting", 3000, new ThrowableRunnable() {
+            @Override
+            public void run() throws Throwable {
+                for (String path : paths) {
+                    myFixture.configureFromTempProjectFile(path);
+                    myFixture.doHighlighting();
+                }
+            }
+        }).assertTiming();
+    }
+
+    private void timeResolve(@NotNull String what, int budget, @NotNull final List<PsiReference> references) {
+        startPerformanceTest(what, budget, new ThrowableRunnable() {
+            @Override
+            public void run() throws Throwable {
+                for (PsiReference reference : references) {
+                    if (reference instanceof PsiPolyVariantReference) {
+                        ((PsiPolyVariantReference) reference).multiResolve(false);
+                    }
+                    else {
+                        reference.resolve();
+                    }
+                }
+            }
+        }).setup(new ThrowableRunnable() {
+            @Override
+            public void run() throws Throwable {
+                ResolveCache.getInstance(getProject()).clearCache(true);
+            }
+        }).assertTiming();
+    }
+
+    private void timeCompletion(@NotNull String what, int budget) {
+        startPerformanceTest(what, budget, new ThrowableRunnable() {
+            @Override
+            public void run() throws Throwable {
+                myFixture.completeBasic();
+            }
+        }).setup(new ThrowableRunnable() {
+            @Override
+            public void run() throws Throwable {
+                LookupManager.getInstance(getProject()).hideActiveLookup();
+                ResolveCache.getInstance(getProject()).clearCache(true);
+            }
+        }).assertTiming();
+        assertNotNull("expected a lookup list, not a single completed variant", myFixture.getLookupElementStrings());
+    }
+
+    @NotNull
+    private PlatformTestUtil.TestInfo startPerformanceTest(@NotNull String what, int budget,
+                                                           @NotNull ThrowableRunnable test) {
+        int scaledBudget = budget * Math.max(1, moduleCount / DEFAULT_MODULE_COUNT);
+        return PlatformTestUtil.startPerformanceTest(what + " (" + moduleCount + " modules)", scaledBudget, test)
+                .attempts(3)
+                .cpuBound();
+    }
+
+    @NotNull
+    private static List<PsiReference> collectReferences(@NotNull PsiFile file,
+                                                        @NotNull Class<? extends PsiElement> type) {
+        List<PsiReference> result = new ArrayList<>();
+        for (PsiElement e : PsiTreeUtil.findChildrenOfType(file, type)) {
+            PsiReference reference = e.getReference();
+            if (reference != null) result.add(reference);
+        }
+        return result;
+    }
+}
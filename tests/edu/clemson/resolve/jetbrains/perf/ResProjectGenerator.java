@@ -0,0 +1,458 @@
+package edu.clemson.resolve.jetbrains.perf;
+
+import com.intellij.openapi.util.io.FileUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Writes synthetic (but syntactically clean) RESOLVE workspaces for measuring resolve, completion and indexing at
+ * sizes {@code testData} doesn't come close to. Everything about the output is a function of the settings, so two
+ * runs with the same settings produce the same workspace.
+ * <p>
+ * The modules generated are wired together roughly the way a real library is:</p>
+ * <ul>
+ * <li>{@code precis/Theory_i}: precis arranged in {@link #usesDepth(int)} layers, each using
+ * {@link #fanOut(int)} precis from the layer beneath it, with {@link #definitionsPerPrecis(int)} definitions
+ * apiece (most of which refer to definitions from the precis it uses);</li>
+ * <li>{@code concepts/Container_i}: concepts using the top layer of precis, each modeling one type family and
+ * specifying {@link #operationsPerConcept(int)} operations over it;</li>
+ * <li>{@code enhancements/Container_i_Ext_j}: enhancements of those concepts;</li>
+ * <li>{@code realizations/*}: realizations of the concepts (and, once every concept has one, of the enhancements),
+ * with procedure bodies of {@link #statementsPerProcedure(int)} statements; and</li>
+ * <li>{@code facilities/Facility_i}: facility modules instantiating the concepts and calling their operations
+ * through the facility.</li>
+ * </ul>
+ * Program types the modules don't define themselves ({@code Integer}, etc) and helpers like {@code Are_Equal} are left
+ * unresolved; they parse all the same.
+ */
+public class ResProjectGenerator {
+
+    private int precisCount = 4;
+    private int conceptCount = 2;
+    private int enhancementCount = 2;
+    private int realizationCount = 2;
+    private int facilityCount = 2;
+    private int usesDepth = 2;
+    private int fanOut = 2;
+    private int definitionsPerPrecis = 4;
+    private int operationsPerConcept = 3;
+    private int statementsPerProcedure = 6;
+
+    /**
+     * Returns a generator for a workspace of roughly {@code moduleCount} modules, split evenly between the five
+     * kinds, with the uses graph getting deeper (but no wider) as the workspace grows.
+     */
+    @NotNull
+    public static ResProjectGenerator ofSize(int moduleCount) {
+        int share = Math.max(1, moduleCount / 5);
+        return new ResProjectGenerator()
+                .precis(share)
+                .concepts(share)
+                .enhancements(share)
+                .realizations(share)
+                .facilities(share)
+                .usesDepth(Math.max(1, (int) Math.round(Math.log10(moduleCount) * 2)))
+                .fanOut(3);
+    }
+
+    public ResProjectGenerator precis(int count) {
+        this.precisCount = count;
+        return this;
+    }
+
+    public ResProjectGenerator concepts(int count) {
+        this.conceptCount = count;
+        return this;
+    }
+
+    public ResProjectGenerator enhancements(int count) {
+        this.enhancementCount = count;
+        return this;
+    }
+
+    public ResProjectGenerator realizations(int count) {
+        this.realizationCount = count;
+        return this;
+    }
+
+    public ResProjectGenerator facilities(int count) {
+        this.facilityCount = count;
+        return this;
+    }
+
+    /** How many layers the precis are split into; 1 means no precis uses another. */
+    public ResProjectGenerator usesDepth(int depth) {
+        this.usesDepth = depth;
+        return this;
+    }
+
+    /** How many modules of the layer beneath each module names in its uses clause (at most). */
+    public ResProjectGenerator fanOut(int fanOut) {
+        this.fanOut = fanOut;
+        return this;
+    }
+
+    public ResProjectGenerator definitionsPerPrecis(int count) {
+        this.definitionsPerPrecis = count;
+        return this;
+    }
+
+    public ResProjectGenerator operationsPerConcept(int count) {
+        this.operationsPerConcept = count;
+        return this;
+    }
+
+    public ResProjectGenerator statementsPerProcedure(int count) {
+        this.statementsPerProcedure = count;
+        return this;
+    }
+
+    /** Writes the workspace to {@code root}, returning the files written. */
+    @NotNull
+    public List<File> writeTo(@NotNull File root) throws IOException {
+        List<File> result = new ArrayList<>();
+        for (Map.Entry<String, String> e : generate().entrySet()) {
+            File file = new File(root, e.getKey());
+            FileUtil.writeToFile(file, e.getValue());
+            result.add(file);
+        }
+        return result;
+    }
+
+    /** Returns the workspace as a map from (forward slash separated) relative path to file text. */
+    @NotNull
+    public Map<String, String> generate() {
+        if (conceptCount == 0 && (enhancementCount > 0 || realizationCount > 0 || facilityCount > 0)) {
+            throw new IllegalStateException("enhancements, realizations and facilities need at least one concept");
+        }
+        Map<String, String> result = new LinkedHashMap<>();
+        List<List<Integer>> layers = layerPrecis();
+        List<Integer> topLayer = layers.isEmpty() ? Collections.<Integer>emptyList() : layers.get(layers.size() - 1);
+
+        for (int layer = 0; layer < layers.size(); layer++) {
+            List<Integer> beneath = layer == 0 ? Collections.<Integer>emptyList() : layers.get(layer - 1);
+            for (int i : layers.get(layer)) {
+                result.put("precis/" + precisName(i) + ".resolve", precis(i, pick(beneath, i)));
+            }
+        }
+        for (int c = 0; c < conceptCount; c++) {
+            result.put("concepts/" + conceptName(c) + ".resolve", concept(c, pick(topLayer, c)));
+        }
+        //enhancements are dealt out to concepts round robin, so Container_c's j-th is enhancement c + j * concepts
+        for (int e = 0; e < enhancementCount; e++) {
+            result.put("enhancements/" + enhancementName(e) + ".resolve", enhancement(e, pick(topLayer, e)));
+        }
+        //concept realizations come first, so each facility has something to instantiate its concept with
+        Map<Integer, String> realizationByConcept = new HashMap<>();
+        for (int r = 0; r < realizationCount; r++) {
+            String name;
+            String text;
+            if (r < conceptCount || enhancementCount == 0) {
+                int c = r % conceptCount;
+                name = conceptName(c) + "_Realiz_" + (r / conceptCount);
+                text = conceptRealization(name, c, pick(topLayer, r));
+                if (!realizationByConcept.containsKey(c)) realizationByConcept.put(c, name);
+            }
+            else {
+                int e = (r - conceptCount) % enhancementCount;
+                name = enhancementName(e) + "_Realiz_" + ((r - conceptCount) / enhancementCount);
+                text = enhancementRealization(name, e, pick(topLayer, r));
+            }
+            result.put("realizations/" + name + ".resolve", text);
+        }
+        for (int f = 0; f < facilityCount; f++) {
+            int c = f % conceptCount;
+            result.put("facilities/" + facilityName(f) + ".resolve",
+                    facility(f, c, realizationByConcept.get(c), pick(topLayer, f)));
+        }
+        return result;
+    }
+
+    //layer k holds precis [k * n / depth, (k + 1) * n / depth); empty layers are dropped
+    private List<List<Integer>> layerPrecis() {
+        List<List<Integer>> layers = new ArrayList<>();
+        int depth = Math.max(1, Math.min(usesDepth, precisCount));
+        for (int k = 0; k < depth; k++) {
+            List<Integer> layer = new ArrayList<>();
+            for (int i = k * precisCount / depth; i < (k + 1) * precisCount / depth; i++) {
+                layer.add(i);
+            }
+            if (!layer.isEmpty()) layers.add(layer);
+        }
+        return layers;
+    }
+
+    //up to fanOut distinct members of candidates, spread out deterministically by seed
+    private List<Integer> pick(List<Integer> candidates, int seed) {
+        List<Integer> result = new ArrayList<>();
+        int count = Math.min(fanOut, candidates.size());
+        for (int k = 0; k < count; k++) {
+            result.add(candidates.get((seed * 7 + k) % candidates.size()));
+        }
+        Collections.sort(result);
+        return result;
+    }
+
+    // precis
+
+    private String precis(int i, List<Integer> uses) {
+        String name = precisName(i);
+        StringBuilder sb = new StringBuilder();
+        sb.append("Precis ").append(name).append(";\n");
+        appendUses(sb, precisNames(uses));
+        sb.append("\n");
+        for (int j = 0; j < definitionsPerPrecis; j++) {
+            sb.append("    Definition ").append(definitionName(i, j));
+            if (j == 0) {
+                sb.append("(x : N) : N;\n");
+                continue;
+            }
+            //refer to something from a used precis when there is one, to our own first definition otherwise
+            String other = uses.isEmpty() ? definitionName(i, 0) : definitionName(uses.get(j % uses.size()), 0);
+            sb.append("(x, y : N) : B is\n");
+            sb.append("        ").append(other).append("(x) = ").append(definitionName(i, 0)).append("(y);\n");
+        }
+        if (definitionsPerPrecis > 1) {
+            sb.append("\n    Theorem ").append(name).append("_T1: ∀ x : N, ")
+                    .append(definitionName(i, 1)).append("(x, x);\n");
+        }
+        sb.append("end ").append(name).append(";\n");
+        return sb.toString();
+    }
+
+    // concepts & enhancements
+
+    private String concept(int c, List<Integer> uses) {
+        String name = conceptName(c);
+        String type = typeName(c);
+        StringBuilder sb = new StringBuilder();
+        sb.append("Concept ").append(name).append("(type Entry; evaluates Max_Size : Integer);\n");
+        appendUses(sb, precisNames(uses));
+        sb.append("    requires 0 < Max_Size;\n\n");
+        sb.append("    Type Family ").append(type).append(" is modeled by Powerset(Entry);\n");
+        sb.append("        exemplar S;\n");
+        sb.append("        constraints Count_Of(S) ≤ Max_Size;\n");
+        sb.append("        initialization\n");
+        sb.append("            ensures S = {};\n\n");
+        for (int j = 0; j < operationsPerConcept; j++) {
+            sb.append("    Operation ").append(operationName(c, j))
+                    .append("(restores e : Entry; updates S : ").append(type).append(");\n");
+            sb.append("        requires Count_Of(S) < Max_Size");
+            if (!uses.isEmpty()) {
+                sb.append(" ∧ ").append(definitionName(uses.get(j % uses.size()), 0)).append("(Count_Of(S)) = 0");
+            }
+            sb.append(";\n");
+            sb.append("        ensures S = #S ∪ {e};\n\n");
+        }
+        sb.append("end ").append(name).append(";\n");
+        return sb.toString();
+    }
+
+    private String enhancement(int e, List<Integer> uses) {
+        int c = e % conceptCount;
+        String name = enhancementName(e);
+        List<String> usesNames = new ArrayList<>();
+        usesNames.add(conceptName(c));
+        usesNames.addAll(precisNames(uses));
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("Enhancement ").append(name).append(" for ").append(conceptName(c)).append(";\n");
+        appendUses(sb, usesNames);
+        sb.append("\n");
+        for (int j = 0; j < operationsPerConcept; j++) {
+            sb.append("    Operation ").append(extensionOperationName(e, j))
+                    .append("(updates S : ").append(typeName(c)).append("; replaces e : Entry);\n");
+            sb.append("        ensures S ⊆ #S ∧ e ∈ #S;\n\n");
+        }
+        sb.append("end ").append(name).append(";\n");
+        return sb.toString();
+    }
+
+    // realizations
+
+    private String conceptRealization(String name, int c, List<Integer> uses) {
+        List<String> usesNames = new ArrayList<>();
+        usesNames.add(conceptName(c));
+        usesNames.addAll(precisNames(uses));
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("Realization ").append(name).append(" for ").append(conceptName(c)).append(";\n");
+        appendUses(sb, usesNames);
+        sb.append("\n");
+        sb.append("    Type ").append(typeName(c)).append(" is Record\n");
+        sb.append("            Contents : Entry;\n");
+        sb.append("            Count : Integer;\n");
+        sb.append("        end;\n");
+        sb.append("        exemplar S;\n");
+        sb.append("        conventions 0 ≤ S.Count ∧ S.Count ≤ Max_Size;\n\n");
+        for (int j = 0; j < operationsPerConcept; j++) {
+            String operation = operationName(c, j);
+            sb.append("    Procedure ").append(operation)
+                    .append("(restores e : Entry; updates S : ").append(typeName(c)).append(");\n");
+            appendBody(sb, j, j + 1 < operationsPerConcept ? operationName(c, j + 1) : null);
+            sb.append("    end ").append(operation).append(";\n\n");
+        }
+        sb.append("end ").append(name).append(";\n");
+        return sb.toString();
+    }
+
+    private String enhancementRealization(String name, int e, List<Integer> uses) {
+        int c = e % conceptCount;
+        List<String> usesNames = new ArrayList<>();
+        usesNames.add(conceptName(c));
+        usesNames.add(enhancementName(e));
+        usesNames.addAll(precisNames(uses));
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("Realization ").append(name).append(" for ").append(enhancementName(e))
+                .append(" of ").append(conceptName(c)).append(";\n");
+        appendUses(sb, usesNames);
+        sb.append("\n");
+        for (int j = 0; j < operationsPerConcept; j++) {
+            String operation = extensionOperationName(e, j);
+            sb.append("    Procedure ").append(operation)
+                    .append("(updates S : ").append(typeName(c)).append("; replaces e : Entry);\n");
+            appendBody(sb, j, operationName(c, j % operationsPerConcept));
+            sb.append("    end ").append(operation).append(";\n\n");
+        }
+        sb.append("end ").append(name).append(";\n");
+        return sb.toString();
+    }
+
+    //a body of statementsPerProcedure statements cycling through the statement kinds; callee may be null
+    private void appendBody(StringBuilder sb, int seed, String callee) {
+        sb.append("        Var t : Entry;\n");
+        sb.append("        Var i : Integer;\n");
+        for (int k = 0; k < statementsPerProcedure; k++) {
+            switch ((seed + k) % 5) {
+                case 0:
+                    sb.append("        t :=: e;\n");
+                    break;
+                case 1:
+                    sb.append("        i := S.Count + 1;\n");
+                    break;
+                case 2:
+                    sb.append("        If Are_Equal(t, e) then\n");
+                    sb.append("            t :=: S.Contents;\n");
+                    sb.append("        else\n");
+                    sb.append("            e :=: t;\n");
+                    sb.append("        end;\n");
+                    break;
+                case 3:
+                    sb.append("        While i < S.Count\n");
+                    sb.append("            changing i;\n");
+                    sb.append("            maintaining i ≤ S.Count;\n");
+                    sb.append("            decreasing S.Count - i;\n");
+                    sb.append("        do\n");
+                    sb.append("            i := i + 1;\n");
+                    sb.append("        end;\n");
+                    break;
+                default:
+                    if (callee != null) sb.append("        ").append(callee).append("(t, S);\n");
+                    else sb.append("        Clear(t);\n");
+                    break;
+            }
+        }
+    }
+
+    // facilities
+
+    private String facility(int f, int c, String realization, List<Integer> uses) {
+        String name = facilityName(f);
+        String facility = "Fac" + f;
+        List<String> usesNames = new ArrayList<>();
+        usesNames.add(conceptName(c));
+        if (realization != null) usesNames.add(realization);
+        usesNames.addAll(precisNames(uses));
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("Facility ").append(name).append(";\n");
+        appendUses(sb, usesNames);
+        sb.append("\n");
+        if (realization != null) {
+            sb.append("    Facility ").append(facility).append(" is ").append(conceptName(c))
+                    .append("(Integer, 100)\n");
+            sb.append("        realized by ").append(realization).append(";\n\n");
+        }
+        for (int j = 0; j < operationsPerConcept; j++) {
+            String operation = name + "_Main_" + j;
+            String type = realization != null ? facility + "::" + typeName(c) : typeName(c);
+            sb.append("    Operation ").append(operation).append("(updates S : ").append(type)
+                    .append("; restores e : Integer);\n");
+            sb.append("    Procedure\n");
+            sb.append("        Var n : Integer;\n");
+            String call = realization != null ? facility + "::" + operationName(c, j) : operationName(c, j);
+            sb.append("        ").append(call).append("(e, S);\n");
+            sb.append("        n := e + 1;\n");
+            sb.append("    end ").append(operation).append(";\n\n");
+        }
+        sb.append("end ").append(name).append(";\n");
+        return sb.toString();
+    }
+
+    // names
+
+    private static void appendUses(StringBuilder sb, List<String> names) {
+        if (names.isEmpty()) return;
+        sb.append("    uses ");
+        for (int i = 0; i < names.size(); i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(names.get(i));
+        }
+        sb.append(";\n");
+    }
+
+    private static List<String> precisNames(List<Integer> indices) {
+        List<String> result = new ArrayList<>();
+        for (int i : indices) {
+            result.add(precisName(i));
+        }
+        return result;
+    }
+
+    static String precisName(int i) {
+        return "Theory_" + i;
+    }
+
+    static String definitionName(int precis, int j) {
+        return "Th" + precis + "_f" + j;
+    }
+
+    static String conceptName(int c) {
+        return "Container_" + c;
+    }
+
+    static String typeName(int c) {
+        return "Cont_" + c;
+    }
+
+    static String operationName(int c, int j) {
+        return "Op" + c + "_" + j;
+    }
+
+    private String enhancementName(int e) {
+        return conceptName(e % conceptCount) + "_Ext_" + (e / conceptCount);
+    }
+
+    private String extensionOperationName(int e, int j) {
+        return "Ext" + e + "_Op" + j;
+    }
+
+    static String facilityName(int f) {
+        return "Facility_" + f;
+    }
+
+    /** Writes a workspace of {@code args[1]} modules (100 by default) to the directory {@code args[0]}. */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("usage: ResProjectGenerator <output dir> [module count]");
+            return;
+        }
+        int modules = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        List<File> files = ofSize(modules).writeTo(new File(args[0]));
+        System.out.println("wrote " + files.size() + " modules to " + args[0]);
+    }
+}
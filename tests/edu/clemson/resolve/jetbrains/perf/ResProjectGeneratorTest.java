@@ -0,0 +1,46 @@
+package edu.clemson.resolve.jetbrains.perf;
+
+import com.intellij.psi.PsiFile;
+import com.intellij.testFramework.ParsingTestCase;
+import edu.clemson.resolve.jetbrains.RESOLVEParserDefinition;
+
+import java.util.Map;
+
+/** Checks that what {@link ResProjectGenerator} writes parses cleanly, so the perf suites aren't timing recovery. */
+public class ResProjectGeneratorTest extends ParsingTestCase {
+
+    public ResProjectGeneratorTest() {
+        super("parser", "resolve", new RESOLVEParserDefinition());
+    }
+
+    @Override protected String getTestDataPath() {
+        return "testData";
+    }
+
+    public void testDefaultWorkspaceParses() {
+        doTest(new ResProjectGenerator(), 14);
+    }
+
+    public void testHundredModuleWorkspaceParses() {
+        doTest(ResProjectGenerator.ofSize(100), 100);
+    }
+
+    public void testDeepNarrowWorkspaceParses() {
+        doTest(new ResProjectGenerator()
+                .precis(12).usesDepth(12).fanOut(1)
+                .enhancements(5).realizations(9)
+                .statementsPerProcedure(20), 30);
+    }
+
+    private void doTest(ResProjectGenerator generator, int expectedModules) {
+        Map<String, String> workspace = generator.generate();
+        assertEquals(expectedModules, workspace.size());
+        for (Map.Entry<String, String> e : workspace.entrySet()) {
+            String path = e.getKey();
+            String name = path.substring(path.lastIndexOf('/') + 1, path.length() - ".resolve".length());
+            PsiFile file = createPsiFile(name, e.getValue());
+            String tree = toParseTreeText(file, true, false);
+            assertFalse(path + " contains error elements:\n" + tree, tree.contains("PsiErrorElement"));
+        }
+    }
+}
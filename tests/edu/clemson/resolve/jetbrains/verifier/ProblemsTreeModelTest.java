@@ -0,0 +1,78 @@
+package edu.clemson.resolve.jetbrains.verifier;
+
+import edu.clemson.resolve.jetbrains.compiler.RESOLVEDiagnostic;
+import junit.framework.TestCase;
+
+import javax.swing.event.TreeModelEvent;
+import javax.swing.event.TreeModelListener;
+import java.util.*;
+
+public class ProblemsTreeModelTest extends TestCase {
+
+    public void testGroupsByFileThenSeverity() {
+        ProblemsTreeModel model = new ProblemsTreeModel();
+        RESOLVEDiagnostic w1 = warning("/p/A.resolve"), e1 = error("/p/A.resolve"), e2 = error("/p/B.resolve");
+        model.add(null, Arrays.asList(w1, e1, e2));
+
+        Object root = model.getRoot();
+        assertEquals(2, model.getChildCount(root));
+        Object a = model.getChild(root, 0);
+        assertEquals(2, model.getChildCount(a));
+        Object errors = model.getChild(a, 0), warnings = model.getChild(a, 1);
+        assertSame(e1, model.getChild(errors, 0));
+        assertSame(w1, model.getChild(warnings, 0));
+        assertTrue(model.isLeaf(w1));
+        assertEquals(1, model.getChildCount(model.getChild(root, 1)));
+        assertEquals(2, model.getErrorCount());
+        assertEquals(1, model.getWarningCount());
+    }
+
+    public void testUnlocatedProblemsGoTogether() {
+        ProblemsTreeModel model = new ProblemsTreeModel();
+        model.add(null, Arrays.asList(new RESOLVEDiagnostic("x", null, -1, -1, true),
+                new RESOLVEDiagnostic("y", null, -1, -1, false)));
+        assertEquals(1, model.getChildCount(model.getRoot()));
+    }
+
+    public void testAdditionsAreReportedAsInsertions() {
+        ProblemsTreeModel model = new ProblemsTreeModel();
+        model.add(null, Collections.singletonList(error("/p/A.resolve")));
+        final List<TreeModelEvent> inserted = new ArrayList<>();
+        model.addTreeModelListener(new TreeModelListener() {
+            @Override
+            public void treeNodesChanged(TreeModelEvent e) {
+            }
+
+            @Override
+            public void treeNodesInserted(TreeModelEvent e) {
+                inserted.add(e);
+            }
+
+            @Override
+            public void treeNodesRemoved(TreeModelEvent e) {
+            }
+
+            @Override
+            public void treeStructureChanged(TreeModelEvent e) {
+                fail("a structure change would collapse the tree");
+            }
+        });
+        RESOLVEDiagnostic e2 = error("/p/A.resolve"), w = warning("/p/A.resolve");
+        model.add(null, Arrays.asList(e2, w));
+
+        assertEquals(2, inserted.size());
+        assertTrue(Arrays.equals(new int[]{1}, inserted.get(0).getChildIndices()));
+        assertSame(e2, inserted.get(0).getChildren()[0]);
+        //the warnings node itself is new, after the errors
+        assertTrue(Arrays.equals(new int[]{1}, inserted.get(1).getChildIndices()));
+        assertEquals(3, inserted.get(0).getPath().length);
+    }
+
+    private static RESOLVEDiagnostic error(String path) {
+        return new RESOLVEDiagnostic("error", path, 0, 1, true);
+    }
+
+    private static RESOLVEDiagnostic warning(String path) {
+        return new RESOLVEDiagnostic("warning", path, 0, 1, false);
+    }
+}